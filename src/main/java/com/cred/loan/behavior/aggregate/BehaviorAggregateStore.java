@@ -0,0 +1,198 @@
+package com.cred.loan.behavior.aggregate;
+
+import com.cred.loan.core.cache.BoundedCache;
+import com.cred.loan.core.model.BehaviorData;
+import com.cred.loan.core.model.LoanCalculator;
+import com.cred.loan.core.model.OfferInteraction;
+import com.cred.loan.core.model.PageView;
+import com.cred.loan.data.repository.BehaviorRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Holds the behavioral aggregates of active users.
+ * Events are folded into the user's aggregate as they arrive, so reading the
+ * current statistics never touches event history. A user without an aggregate
+ * in memory has it rebuilt from the {@link BehaviorRepository}, if one is
+ * configured, on the first event or lookup; users without stored behavior are
+ * held as empty aggregates so they are not looked up again.
+ * The store is bounded: aggregates not used for longer than the retention
+ * period expire, and the least recently used ones are dropped when it is full.
+ * Event timestamps are interpreted as UTC.
+ */
+@Component
+public class BehaviorAggregateStore {
+    private final BoundedCache<String, UserBehaviorAggregate> aggregates;
+    private final Supplier<BehaviorRepository> repository;
+    private final double decayPerSecond;
+    private final Clock clock;
+
+    /**
+     * Creates a new BehaviorAggregateStore instance.
+     *
+     * The repository is resolved on the first lookup rather than here, since
+     * the repository itself rebuilds aggregates on save.
+     *
+     * @param repository Provides the stored behavior data aggregates are rebuilt from, if any
+     * @param halfLifeHours Time after which an event counts half as much
+     * @param retentionDays Idle time after which a user's aggregate is dropped
+     * @param maxUsers Maximum number of users whose aggregate is held
+     */
+    @Autowired
+    public BehaviorAggregateStore(
+            ObjectProvider<BehaviorRepository> repository,
+            @Value("${loan.behavior.aggregate.half-life-hours:168}") double halfLifeHours,
+            @Value("${loan.behavior.aggregate.retention-days:60}") long retentionDays,
+            @Value("${loan.behavior.aggregate.max-users:100000}") int maxUsers) {
+        this(repository::getIfAvailable, halfLifeHours, retentionDays, maxUsers, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a new BehaviorAggregateStore instance with an explicit clock.
+     *
+     * @param repository Stored behavior data aggregates are rebuilt from, or null to start empty
+     * @param halfLifeHours Time after which an event counts half as much
+     * @param retentionDays Idle time after which a user's aggregate is dropped
+     * @param maxUsers Maximum number of users whose aggregate is held
+     * @param clock Clock used to decay statistics and expire idle aggregates
+     * @throws IllegalArgumentException if the half-life, retention or size is not positive
+     */
+    public BehaviorAggregateStore(BehaviorRepository repository, double halfLifeHours, long retentionDays,
+                                  int maxUsers, Clock clock) {
+        this(() -> repository, halfLifeHours, retentionDays, maxUsers, clock);
+    }
+
+    private BehaviorAggregateStore(Supplier<BehaviorRepository> repository, double halfLifeHours,
+                                   long retentionDays, int maxUsers, Clock clock) {
+        if (halfLifeHours <= 0) {
+            throw new IllegalArgumentException("Half-life must be positive");
+        }
+        this.aggregates = new BoundedCache<>(maxUsers, Duration.ofDays(retentionDays), true,
+            () -> clock.millis() * 1_000_000L, (userId, aggregate) -> {
+            });
+        this.repository = repository;
+        this.decayPerSecond = Math.log(2) / (halfLifeHours * 3600.0);
+        this.clock = clock;
+    }
+
+    /**
+     * Records a page view.
+     *
+     * @param userId The ID of the user
+     * @param pageView The page view event
+     */
+    public void recordPageView(String userId, PageView pageView) {
+        recordPageView(aggregate(userId), pageView);
+    }
+
+    /**
+     * Records a calculator use.
+     *
+     * @param userId The ID of the user
+     * @param calculator The loan calculator event
+     */
+    public void recordCalculatorUse(String userId, LoanCalculator calculator) {
+        recordCalculatorUse(aggregate(userId), calculator);
+    }
+
+    /**
+     * Records an offer interaction. Interaction types outside the funnel are ignored.
+     *
+     * @param userId The ID of the user
+     * @param interaction The offer interaction event
+     */
+    public void recordOfferInteraction(String userId, OfferInteraction interaction) {
+        recordOfferInteraction(aggregate(userId), interaction);
+    }
+
+    /**
+     * Replaces a user's aggregate with one rebuilt from stored behavior data.
+     * Called whenever the data is saved, so that later lookups see it.
+     *
+     * @param behaviorData The user's stored behavior data
+     */
+    public void rebuild(BehaviorData behaviorData) {
+        aggregates.put(behaviorData.getUserId(), build(behaviorData));
+    }
+
+    /**
+     * Gets the current statistics of a user.
+     *
+     * @param userId The ID of the user
+     * @return The statistics decayed to now, or {@link BehaviorStats#EMPTY} for users without behavior
+     */
+    public BehaviorStats snapshot(String userId) {
+        return aggregate(userId).snapshot(clock.instant().getEpochSecond());
+    }
+
+    /**
+     * Gets the aggregate of a user, rebuilding it from stored behavior data if
+     * it is not held. The repository is read outside the cache's lock; if an
+     * event created the aggregate in the meantime, that one is kept. A failed
+     * read starts the user from an empty aggregate, so events are not lost.
+     */
+    private UserBehaviorAggregate aggregate(String userId) {
+        UserBehaviorAggregate aggregate = aggregates.get(userId);
+        if (aggregate != null) {
+            return aggregate;
+        }
+        Optional<BehaviorData> stored;
+        try {
+            BehaviorRepository behaviorRepository = repository.get();
+            stored = behaviorRepository != null ? behaviorRepository.findByUserId(userId) : Optional.empty();
+        } catch (RuntimeException e) {
+            stored = Optional.empty();
+        }
+        UserBehaviorAggregate loaded = stored.map(this::build)
+            .orElseGet(() -> new UserBehaviorAggregate(decayPerSecond));
+        return aggregates.computeIfAbsent(userId, id -> loaded);
+    }
+
+    private UserBehaviorAggregate build(BehaviorData behaviorData) {
+        UserBehaviorAggregate aggregate = new UserBehaviorAggregate(decayPerSecond);
+        if (behaviorData.getPageViews() != null) {
+            behaviorData.getPageViews().forEach(event -> recordPageView(aggregate, event));
+        }
+        if (behaviorData.getCalculatorUsage() != null) {
+            behaviorData.getCalculatorUsage().forEach(event -> recordCalculatorUse(aggregate, event));
+        }
+        if (behaviorData.getOfferInteractions() != null) {
+            behaviorData.getOfferInteractions().forEach(event -> recordOfferInteraction(aggregate, event));
+        }
+        return aggregate;
+    }
+
+    private void recordPageView(UserBehaviorAggregate aggregate, PageView pageView) {
+        aggregate.recordPageView(toEpochSeconds(pageView.getTimestamp()));
+    }
+
+    private void recordCalculatorUse(UserBehaviorAggregate aggregate, LoanCalculator calculator) {
+        aggregate.recordCalculatorUse(
+            toEpochSeconds(calculator.getTimestamp()),
+            calculator.getAmount() != null ? calculator.getAmount() : Double.NaN,
+            calculator.getTenure() != null ? calculator.getTenure() : Double.NaN
+        );
+    }
+
+    private void recordOfferInteraction(UserBehaviorAggregate aggregate, OfferInteraction interaction) {
+        FunnelStage stage = FunnelStage.fromInteractionType(interaction.getInteractionType());
+        if (stage != null) {
+            aggregate.recordInteraction(toEpochSeconds(interaction.getTimestamp()), stage);
+        }
+    }
+
+    private long toEpochSeconds(LocalDateTime timestamp) {
+        return timestamp != null
+            ? timestamp.toEpochSecond(ZoneOffset.UTC)
+            : clock.instant().getEpochSecond();
+    }
+}
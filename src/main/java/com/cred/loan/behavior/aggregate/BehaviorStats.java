@@ -0,0 +1,124 @@
+package com.cred.loan.behavior.aggregate;
+
+/**
+ * Point-in-time view of a user's behavioral aggregates.
+ * All counts are exponentially time-decayed, so recent activity weighs more
+ * than old activity. The blend methods combine a profile-based estimate with
+ * the behavioral evidence, trusting the evidence more as it accumulates.
+ *
+ * @param pageViews Decayed number of page views
+ * @param calculatorUses Decayed number of calculator uses
+ * @param offerViews Decayed number of offer views
+ * @param offerClicks Decayed number of offer clicks
+ * @param offerAccepts Decayed number of offer acceptances
+ * @param offerRejects Decayed number of offer rejections
+ * @param amountCentroid Decay-weighted mean calculator amount, or NaN without calculator use
+ * @param tenureCentroid Decay-weighted mean calculator tenure, or NaN without calculator use
+ */
+public record BehaviorStats(
+        double pageViews,
+        double calculatorUses,
+        double offerViews,
+        double offerClicks,
+        double offerAccepts,
+        double offerRejects,
+        double amountCentroid,
+        double tenureCentroid) {
+
+    /**
+     * Statistics of a user without recorded behavior.
+     */
+    public static final BehaviorStats EMPTY = new BehaviorStats(0, 0, 0, 0, 0, 0, Double.NaN, Double.NaN);
+
+    // Pseudo-observations at which behavioral evidence and the prior weigh equally
+    private static final double EVIDENCE_HALF_WEIGHT = 5.0;
+    private static final double LONG_TERM_VALUE_SHARE = 0.2;
+    private static final double ENGAGEMENT_SCALE = 10.0;
+
+    /**
+     * Gets the total decayed engagement across all event types.
+     *
+     * @return The engagement count
+     */
+    public double engagement() {
+        return pageViews + calculatorUses + offerViews + offerClicks + offerAccepts + offerRejects;
+    }
+
+    /**
+     * Gets how much the behavioral signals should be trusted.
+     *
+     * @return The evidence weight (0.0 to 1.0)
+     */
+    public double evidenceWeight() {
+        return evidenceWeight(calculatorUses + offerViews + offerClicks + offerAccepts + offerRejects);
+    }
+
+    /**
+     * Gets the share of decisive interactions that signal price shopping:
+     * calculator use and rejections versus clicks and acceptances.
+     *
+     * @return The price shopping rate (0.0 to 1.0)
+     */
+    public double priceShoppingRate() {
+        double shopping = calculatorUses + offerRejects;
+        return shopping / (shopping + offerClicks + offerAccepts + 1.0);
+    }
+
+    /**
+     * Gets the smoothed rate at which viewed offers are accepted.
+     *
+     * @param prior The rate assumed without evidence
+     * @return The acceptance rate (0.0 to 1.0)
+     */
+    public double acceptanceRate(double prior) {
+        double exposures = Math.max(offerViews, offerClicks + offerAccepts + offerRejects);
+        return (offerAccepts + prior * EVIDENCE_HALF_WEIGHT) / (exposures + EVIDENCE_HALF_WEIGHT);
+    }
+
+    /**
+     * Checks whether calculator centroids are available.
+     *
+     * @return true if the user has used the calculator
+     */
+    public boolean hasCalculatorUsage() {
+        return !Double.isNaN(amountCentroid);
+    }
+
+    /**
+     * Blends a profile-based price sensitivity with the price shopping rate.
+     *
+     * @param profileSensitivity The profile-based sensitivity
+     * @return The blended sensitivity (0.0 to 1.0)
+     */
+    public double blendPriceSensitivity(double profileSensitivity) {
+        double weight = evidenceWeight(calculatorUses + offerClicks + offerAccepts + offerRejects);
+        return profileSensitivity * (1 - weight) + priceShoppingRate() * weight;
+    }
+
+    /**
+     * Blends a profile-based conversion probability with the funnel acceptance rate.
+     *
+     * @param profileProbability The profile-based conversion probability
+     * @return The blended probability (0.0 to 1.0)
+     */
+    public double blendConversionProbability(double profileProbability) {
+        double weight = evidenceWeight(Math.max(offerViews, offerClicks + offerAccepts + offerRejects));
+        return profileProbability * (1 - weight) + acceptanceRate(profileProbability) * weight;
+    }
+
+    /**
+     * Blends a profile-based long-term value with the user's engagement.
+     *
+     * @param profileValue The profile-based long-term value
+     * @return The blended value (0.0 to 1.0)
+     */
+    public double blendLongTermValue(double profileValue) {
+        double engagementScore = 1 - Math.exp(-engagement() / ENGAGEMENT_SCALE);
+        double weight = LONG_TERM_VALUE_SHARE * evidenceWeight(engagement());
+        return profileValue * (1 - weight) + engagementScore * weight;
+    }
+
+    private static double evidenceWeight(double observations) {
+        return observations / (observations + EVIDENCE_HALF_WEIGHT);
+    }
+}
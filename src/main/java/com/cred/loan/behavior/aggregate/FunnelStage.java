@@ -0,0 +1,32 @@
+package com.cred.loan.behavior.aggregate;
+
+import java.util.Locale;
+
+/**
+ * Stages of the offer interaction funnel.
+ */
+public enum FunnelStage {
+    VIEW,
+    CLICK,
+    ACCEPT,
+    REJECT;
+
+    /**
+     * Maps an offer interaction type to its funnel stage.
+     *
+     * @param interactionType The interaction type, e.g. "view" or "accepted"
+     * @return The funnel stage, or null if the type is not part of the funnel
+     */
+    public static FunnelStage fromInteractionType(String interactionType) {
+        if (interactionType == null) {
+            return null;
+        }
+        return switch (interactionType.trim().toLowerCase(Locale.ROOT)) {
+            case "view", "viewed", "impression" -> VIEW;
+            case "click", "clicked", "select", "selected" -> CLICK;
+            case "accept", "accepted" -> ACCEPT;
+            case "reject", "rejected", "dismiss", "dismissed" -> REJECT;
+            default -> null;
+        };
+    }
+}
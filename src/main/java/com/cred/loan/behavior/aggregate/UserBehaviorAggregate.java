@@ -0,0 +1,141 @@
+package com.cred.loan.behavior.aggregate;
+
+/**
+ * Running sufficient statistics of a single user's behavior.
+ * Every update and snapshot is O(1): counts are decayed lazily by the time
+ * elapsed since the last update, so no event history is kept. Events that
+ * arrive out of order are decayed to the current reference time instead.
+ * Updates are serialized per user; different users never contend.
+ */
+public class UserBehaviorAggregate {
+    private static final int PAGE_VIEWS = 0;
+    private static final int CALCULATOR_USES = 1;
+    private static final int OFFER_VIEWS = 2;
+    private static final int OFFER_CLICKS = 3;
+    private static final int OFFER_ACCEPTS = 4;
+    private static final int OFFER_REJECTS = 5;
+    private static final int COUNT_TYPES = 6;
+
+    private final double decayPerSecond;
+    private final double[] counts = new double[COUNT_TYPES];
+    // Decay-weighted centroid sums over calculator uses that carried both values
+    private double centroidWeight;
+    private double amountSum;
+    private double tenureSum;
+    private long referenceSeconds;
+    private boolean empty = true;
+
+    /**
+     * Creates a new UserBehaviorAggregate instance.
+     *
+     * @param decayPerSecond Exponential decay rate of all counts, per second
+     */
+    public UserBehaviorAggregate(double decayPerSecond) {
+        this.decayPerSecond = decayPerSecond;
+    }
+
+    /**
+     * Records a page view.
+     *
+     * @param epochSeconds Time of the event
+     */
+    public synchronized void recordPageView(long epochSeconds) {
+        counts[PAGE_VIEWS] += advanceTo(epochSeconds);
+    }
+
+    /**
+     * Records a calculator use and moves the amount and tenure centroids.
+     *
+     * @param epochSeconds Time of the event
+     * @param amount The amount entered, or NaN if none
+     * @param tenure The tenure entered, or NaN if none
+     */
+    public synchronized void recordCalculatorUse(long epochSeconds, double amount, double tenure) {
+        double weight = advanceTo(epochSeconds);
+        counts[CALCULATOR_USES] += weight;
+        if (!Double.isNaN(amount) && !Double.isNaN(tenure)) {
+            centroidWeight += weight;
+            amountSum += amount * weight;
+            tenureSum += tenure * weight;
+        }
+    }
+
+    /**
+     * Records an offer interaction.
+     *
+     * @param epochSeconds Time of the event
+     * @param stage The funnel stage of the interaction
+     */
+    public synchronized void recordInteraction(long epochSeconds, FunnelStage stage) {
+        int index = switch (stage) {
+            case VIEW -> OFFER_VIEWS;
+            case CLICK -> OFFER_CLICKS;
+            case ACCEPT -> OFFER_ACCEPTS;
+            case REJECT -> OFFER_REJECTS;
+        };
+        counts[index] += advanceTo(epochSeconds);
+    }
+
+    /**
+     * Takes a snapshot of the statistics decayed to the given time.
+     *
+     * @param epochSeconds The time to decay to
+     * @return The statistics
+     */
+    public synchronized BehaviorStats snapshot(long epochSeconds) {
+        if (empty) {
+            return BehaviorStats.EMPTY;
+        }
+        double factor = decayFactor(Math.max(0L, epochSeconds - referenceSeconds));
+        return new BehaviorStats(
+            counts[PAGE_VIEWS] * factor,
+            counts[CALCULATOR_USES] * factor,
+            counts[OFFER_VIEWS] * factor,
+            counts[OFFER_CLICKS] * factor,
+            counts[OFFER_ACCEPTS] * factor,
+            counts[OFFER_REJECTS] * factor,
+            centroidWeight > 0 ? amountSum / centroidWeight : Double.NaN,
+            centroidWeight > 0 ? tenureSum / centroidWeight : Double.NaN
+        );
+    }
+
+    /**
+     * Gets the time of the most recent event.
+     *
+     * @return Epoch seconds of the latest event, or 0 if none was recorded
+     */
+    public synchronized long getLastActiveSeconds() {
+        return referenceSeconds;
+    }
+
+    /**
+     * Moves the reference time forward if the event is newer, decaying all
+     * sums accordingly.
+     *
+     * @param epochSeconds Time of the event
+     * @return The weight of the event relative to the reference time
+     */
+    private double advanceTo(long epochSeconds) {
+        if (empty) {
+            empty = false;
+            referenceSeconds = epochSeconds;
+            return 1.0;
+        }
+        if (epochSeconds <= referenceSeconds) {
+            return decayFactor(referenceSeconds - epochSeconds);
+        }
+        double factor = decayFactor(epochSeconds - referenceSeconds);
+        for (int i = 0; i < COUNT_TYPES; i++) {
+            counts[i] *= factor;
+        }
+        centroidWeight *= factor;
+        amountSum *= factor;
+        tenureSum *= factor;
+        referenceSeconds = epochSeconds;
+        return 1.0;
+    }
+
+    private double decayFactor(long elapsedSeconds) {
+        return Math.exp(-decayPerSecond * elapsedSeconds);
+    }
+}
@@ -1,5 +1,8 @@
 package com.cred.loan.behavior.analyzer;
 
+import com.cred.loan.behavior.aggregate.BehaviorAggregateStore;
+import com.cred.loan.behavior.aggregate.BehaviorStats;
+import com.cred.loan.behavior.learning.PriceSensitivityLearner;
 import com.cred.loan.core.model.UserData;
 import com.cred.loan.behavior.model.BehaviorAnalysisResult;
 import com.cred.loan.behavior.model.PriceSensitivity;
@@ -10,10 +13,15 @@ import java.util.concurrent.CompletableFuture;
 /**
  * Main behavior analysis engine that coordinates the analysis of user behavior
  * patterns and generates comprehensive behavior insights.
+ * When an aggregate store is configured, the profile-based insights are
+ * blended with the user's behavioral aggregates, and price sensitivity with
+ * the sensitivity learned online for the user's segment.
  */
 public class BehaviorAnalyzer {
     private final PriceSensitivityCalculator priceSensitivityCalculator;
     private final ConversionProbabilityCalculator conversionCalculator;
+    private final BehaviorAggregateStore aggregateStore;
+    private final PriceSensitivityLearner priceLearner;
 
     /**
      * Creates a new BehaviorAnalyzer instance.
@@ -24,8 +32,41 @@ public class BehaviorAnalyzer {
     public BehaviorAnalyzer(
             PriceSensitivityCalculator priceSensitivityCalculator,
             ConversionProbabilityCalculator conversionCalculator) {
+        this(priceSensitivityCalculator, conversionCalculator, null);
+    }
+
+    /**
+     * Creates a new BehaviorAnalyzer instance that uses behavioral aggregates.
+     *
+     * @param priceSensitivityCalculator Calculator for price sensitivity
+     * @param conversionCalculator Calculator for conversion probability
+     * @param aggregateStore Store of behavioral aggregates, or null to use profile data only
+     */
+    public BehaviorAnalyzer(
+            PriceSensitivityCalculator priceSensitivityCalculator,
+            ConversionProbabilityCalculator conversionCalculator,
+            BehaviorAggregateStore aggregateStore) {
+        this(priceSensitivityCalculator, conversionCalculator, aggregateStore, null);
+    }
+
+    /**
+     * Creates a new BehaviorAnalyzer instance that uses behavioral aggregates
+     * and learned price sensitivity.
+     *
+     * @param priceSensitivityCalculator Calculator for price sensitivity
+     * @param conversionCalculator Calculator for conversion probability
+     * @param aggregateStore Store of behavioral aggregates, or null to use profile data only
+     * @param priceLearner Online price sensitivity learner, or null to use profile data only
+     */
+    public BehaviorAnalyzer(
+            PriceSensitivityCalculator priceSensitivityCalculator,
+            ConversionProbabilityCalculator conversionCalculator,
+            BehaviorAggregateStore aggregateStore,
+            PriceSensitivityLearner priceLearner) {
         this.priceSensitivityCalculator = priceSensitivityCalculator;
         this.conversionCalculator = conversionCalculator;
+        this.aggregateStore = aggregateStore;
+        this.priceLearner = priceLearner;
     }
 
     /**
@@ -35,27 +76,27 @@ public class BehaviorAnalyzer {
      * @return A CompletableFuture containing the behavior analysis result
      */
     public CompletableFuture<BehaviorAnalysisResult> analyzeBehavior(UserData userData) {
-        return CompletableFuture.supplyAsync(() -> {
-            // Calculate price sensitivity
-            PriceSensitivity priceSensitivity = priceSensitivityCalculator
-                .calculateSensitivity(userData)
-                .join();
-
-            // Calculate conversion probability
-            double conversionProbability = conversionCalculator
-                .calculateProbability(userData)
-                .join();
-
-            // Calculate long-term value
-            double longTermValue = calculateLongTermValue(userData);
-
-            return new BehaviorAnalysisResult(
-                priceSensitivity,
-                conversionProbability,
-                longTermValue,
-                LocalDateTime.now()
-            );
-        });
+        // Both calculators run concurrently; neither blocks a pool thread waiting for the other
+        return priceSensitivityCalculator.calculateSensitivity(userData)
+            .thenCombine(conversionCalculator.calculateProbability(userData), (priceSensitivity, conversion) -> {
+                BehaviorStats stats = aggregateStore != null
+                    ? aggregateStore.snapshot(userData.getUserId())
+                    : BehaviorStats.EMPTY;
+                double sensitivity = priceLearner != null
+                    ? priceLearner.blend(userData, priceSensitivity.getSensitivity())
+                    : priceSensitivity.getSensitivity();
+
+                return new BehaviorAnalysisResult(
+                    new PriceSensitivity(
+                        stats.blendPriceSensitivity(sensitivity),
+                        Math.max(priceSensitivity.getConfidence(), stats.evidenceWeight()),
+                        priceSensitivity.getCalculatedAt()
+                    ),
+                    stats.blendConversionProbability(conversion),
+                    stats.blendLongTermValue(calculateLongTermValue(userData)),
+                    LocalDateTime.now()
+                );
+            });
     }
 
     /**
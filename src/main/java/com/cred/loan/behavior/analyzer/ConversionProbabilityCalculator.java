@@ -1,15 +1,25 @@
 package com.cred.loan.behavior.analyzer;
 
+import com.cred.loan.behavior.aggregate.BehaviorStats;
+import com.cred.loan.behavior.inference.ConversionFeatures;
+import com.cred.loan.behavior.inference.ConversionModel;
+import com.cred.loan.behavior.inference.ConversionModelRegistry;
 import com.cred.loan.core.model.UserData;
+import com.cred.loan.monitoring.context.ContextExecutors;
+
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * Calculates the probability of a user converting on a loan offer based on
  * various factors including user profile, behavior patterns, and market conditions.
+ * When a trained model is active in the configured registry, it replaces the
+ * heuristic scores; the result is still capped at the maximum probability.
  */
 public class ConversionProbabilityCalculator {
     private final double baseProbability;
     private final double maxProbability;
+    private final ConversionModelRegistry modelRegistry;
 
     /**
      * Creates a new ConversionProbabilityCalculator instance.
@@ -19,6 +29,21 @@ public class ConversionProbabilityCalculator {
      * @throws IllegalArgumentException if probabilities are not between 0 and 1
      */
     public ConversionProbabilityCalculator(double baseProbability, double maxProbability) {
+        this(baseProbability, maxProbability, null);
+    }
+
+    /**
+     * Creates a new ConversionProbabilityCalculator instance backed by trained models.
+     *
+     * @param baseProbability Base conversion probability (0.0 to 1.0)
+     * @param maxProbability Maximum possible probability (0.0 to 1.0)
+     * @param modelRegistry Registry of the active conversion model, or null to use heuristics only
+     * @throws IllegalArgumentException if probabilities are not between 0 and 1
+     */
+    public ConversionProbabilityCalculator(
+            double baseProbability,
+            double maxProbability,
+            ConversionModelRegistry modelRegistry) {
         validateProbability(baseProbability, "base probability");
         validateProbability(maxProbability, "max probability");
         
@@ -28,6 +53,7 @@ public class ConversionProbabilityCalculator {
 
         this.baseProbability = baseProbability;
         this.maxProbability = maxProbability;
+        this.modelRegistry = modelRegistry;
     }
 
     /**
@@ -38,6 +64,11 @@ public class ConversionProbabilityCalculator {
      */
     public CompletableFuture<Double> calculateProbability(UserData userData) {
         return CompletableFuture.supplyAsync(() -> {
+            ConversionModel model = activeModel();
+            if (model != null) {
+                return Math.min(maxProbability, ConversionFeatures.score(model, userData, BehaviorStats.EMPTY));
+            }
+
             double profileScore = calculateProfileScore(userData);
             double behaviorScore = calculateBehaviorScore(userData);
             double marketScore = calculateMarketScore(userData);
@@ -50,7 +81,41 @@ public class ConversionProbabilityCalculator {
             // Apply base probability and adjustments
             return Math.min(maxProbability,
                 baseProbability + (weightedScore * (maxProbability - baseProbability)));
-        });
+        }, ContextExecutors.async());
+    }
+
+    /**
+     * Calculates conversion probabilities for several users at once. With an
+     * active model the users are scored as a single batch.
+     *
+     * @param users The users to evaluate
+     * @return A CompletableFuture containing one probability per user, in order
+     */
+    public CompletableFuture<double[]> calculateProbabilities(List<UserData> users) {
+        ConversionModel model = activeModel();
+        if (model == null) {
+            List<CompletableFuture<Double>> futures = users.stream().map(this::calculateProbability).toList();
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> futures.stream().mapToDouble(CompletableFuture::join).toArray());
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            int featureCount = model.getFeatureCount();
+            double[] features = new double[users.size() * featureCount];
+            for (int row = 0; row < users.size(); row++) {
+                ConversionFeatures.extract(users.get(row), BehaviorStats.EMPTY, features, row * featureCount);
+            }
+            double[] probabilities = new double[users.size()];
+            model.scoreBatch(features, users.size(), probabilities);
+            for (int row = 0; row < probabilities.length; row++) {
+                probabilities[row] = Math.min(maxProbability, probabilities[row]);
+            }
+            return probabilities;
+        }, ContextExecutors.async());
+    }
+
+    private ConversionModel activeModel() {
+        return modelRegistry != null ? modelRegistry.getActiveModel() : null;
     }
 
     /**
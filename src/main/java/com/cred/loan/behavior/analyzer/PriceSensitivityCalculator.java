@@ -2,6 +2,7 @@ package com.cred.loan.behavior.analyzer;
 
 import com.cred.loan.core.model.UserData;
 import com.cred.loan.behavior.model.PriceSensitivity;
+import com.cred.loan.monitoring.context.ContextExecutors;
 
 import java.time.LocalDateTime;
 import java.util.concurrent.CompletableFuture;
@@ -41,7 +42,7 @@ public class PriceSensitivityCalculator {
             double confidence = calculateConfidence(userData);
 
             return new PriceSensitivity(sensitivity, confidence, LocalDateTime.now());
-        });
+        }, ContextExecutors.async());
     }
 
     /**
@@ -0,0 +1,119 @@
+package com.cred.loan.behavior.inference;
+
+import com.cred.loan.behavior.aggregate.BehaviorStats;
+import com.cred.loan.core.model.UserData;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Feature layout shared by offline training and online inference.
+ * All features are scaled to roughly 0.0 to 1.0; unknown values are NaN.
+ * The order of the constants is part of the model format and must only ever
+ * be appended to.
+ */
+public final class ConversionFeatures {
+    public static final int INCOME = 0;
+    public static final int CREDIT_SCORE = 1;
+    public static final int DEBT_TO_INCOME = 2;
+    public static final int AGE = 3;
+    public static final int EMPLOYMENT_TENURE = 4;
+    public static final int PERMANENT_EMPLOYMENT = 5;
+    public static final int CONTRACT_EMPLOYMENT = 6;
+    public static final int SELF_EMPLOYMENT = 7;
+    public static final int IOS_DEVICE = 8;
+    public static final int ANDROID_DEVICE = 9;
+    public static final int TIER1_CITY = 10;
+    public static final int TIER2_CITY = 11;
+    public static final int ENGAGEMENT = 12;
+    public static final int PRICE_SHOPPING_RATE = 13;
+    public static final int ACCEPTANCE_RATE = 14;
+
+    /**
+     * Number of features in a vector.
+     */
+    public static final int COUNT = 15;
+
+    private static final Set<String> TIER1_CITIES = Set.of("mumbai", "delhi", "bangalore", "hyderabad", "chennai");
+    private static final Set<String> TIER2_CITIES = Set.of("pune", "ahmedabad", "kolkata", "jaipur", "lucknow");
+    private static final double MAX_INCOME = 5_000_000.0;
+    private static final double ENGAGEMENT_SCALE = 10.0;
+    private static final ThreadLocal<double[]> SCRATCH = ThreadLocal.withInitial(() -> new double[COUNT]);
+
+    private ConversionFeatures() {
+    }
+
+    /**
+     * Scores a single user, reusing a per-thread feature vector.
+     *
+     * @param model The conversion model
+     * @param userData The user data
+     * @param stats The user's behavioral statistics
+     * @return The conversion probability (0.0 to 1.0)
+     */
+    public static double score(ConversionModel model, UserData userData, BehaviorStats stats) {
+        double[] features = SCRATCH.get();
+        extract(userData, stats, features, 0);
+        return model.score(features, 0);
+    }
+
+    /**
+     * Writes the features of a user into a vector.
+     *
+     * @param userData The user data
+     * @param stats The user's behavioral statistics
+     * @param features The target array
+     * @param offset Index at which to write the first feature
+     */
+    public static void extract(UserData userData, BehaviorStats stats, double[] features, int offset) {
+        Double income = userData.getIncome();
+        Double creditScore = userData.getCreditScore();
+        Double existingDebt = userData.getExistingDebt();
+        Integer age = userData.getAge();
+        Integer employmentTenure = userData.getEmploymentTenure();
+
+        features[offset + INCOME] = income != null ? Math.min(income / MAX_INCOME, 1.0) : Double.NaN;
+        features[offset + CREDIT_SCORE] = creditScore != null
+            ? clamp((creditScore - 300.0) / 600.0)
+            : Double.NaN;
+        features[offset + DEBT_TO_INCOME] = existingDebt != null && income != null && income > 0
+            ? clamp(existingDebt / income)
+            : Double.NaN;
+        features[offset + AGE] = age != null ? clamp(age / 100.0) : Double.NaN;
+        features[offset + EMPLOYMENT_TENURE] = employmentTenure != null
+            ? clamp(employmentTenure / 120.0)
+            : Double.NaN;
+
+        String status = lower(userData.getEmploymentStatus());
+        features[offset + PERMANENT_EMPLOYMENT] = indicator(status, "permanent");
+        features[offset + CONTRACT_EMPLOYMENT] = indicator(status, "contract");
+        features[offset + SELF_EMPLOYMENT] = indicator(status, "self-employed");
+
+        String device = lower(userData.getDeviceType());
+        features[offset + IOS_DEVICE] = indicator(device, "ios");
+        features[offset + ANDROID_DEVICE] = indicator(device, "android");
+
+        String city = lower(userData.getCity());
+        features[offset + TIER1_CITY] = city == null ? Double.NaN : TIER1_CITIES.contains(city) ? 1.0 : 0.0;
+        features[offset + TIER2_CITY] = city == null ? Double.NaN : TIER2_CITIES.contains(city) ? 1.0 : 0.0;
+
+        boolean hasBehavior = stats.engagement() > 0;
+        features[offset + ENGAGEMENT] = 1 - Math.exp(-stats.engagement() / ENGAGEMENT_SCALE);
+        features[offset + PRICE_SHOPPING_RATE] = hasBehavior ? stats.priceShoppingRate() : Double.NaN;
+        features[offset + ACCEPTANCE_RATE] = stats.offerViews() > 0
+            ? stats.offerAccepts() / Math.max(stats.offerViews(), stats.offerAccepts())
+            : Double.NaN;
+    }
+
+    private static double indicator(String value, String expected) {
+        return value == null ? Double.NaN : value.equals(expected) ? 1.0 : 0.0;
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static double clamp(double value) {
+        return Math.min(Math.max(value, 0.0), 1.0);
+    }
+}
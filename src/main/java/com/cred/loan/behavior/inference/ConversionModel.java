@@ -0,0 +1,50 @@
+package com.cred.loan.behavior.inference;
+
+/**
+ * A trained conversion-probability model.
+ * Implementations score primitive feature vectors laid out as described by
+ * {@link ConversionFeatures} and must not allocate while scoring, so they can
+ * sit on the request path. Missing feature values are passed as NaN.
+ */
+public interface ConversionModel {
+    /**
+     * Gets the version of the model, as recorded in the model file.
+     *
+     * @return The model version
+     */
+    String getVersion();
+
+    /**
+     * Gets the number of features the model expects.
+     *
+     * @return The feature count
+     */
+    int getFeatureCount();
+
+    /**
+     * Scores a single feature vector.
+     *
+     * @param features The feature vector
+     * @param offset Index of the first feature in the array
+     * @return The conversion probability (0.0 to 1.0)
+     */
+    double score(double[] features, int offset);
+
+    /**
+     * Scores a batch of feature vectors stored row by row.
+     *
+     * @param features The feature vectors, {@link #getFeatureCount()} values per row
+     * @param rows Number of rows to score
+     * @param probabilities Receives one probability per row
+     * @throws IllegalArgumentException if the arrays are too small for the batch
+     */
+    default void scoreBatch(double[] features, int rows, double[] probabilities) {
+        int featureCount = getFeatureCount();
+        if (features.length < (long) rows * featureCount || probabilities.length < rows) {
+            throw new IllegalArgumentException("Arrays too small for a batch of " + rows + " rows");
+        }
+        for (int row = 0, offset = 0; row < rows; row++, offset += featureCount) {
+            probabilities[row] = score(features, offset);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.cred.loan.behavior.inference;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint managing the active conversion model at
+ * {@code /actuator/conversionmodel}.
+ * {@code GET} describes the active model; {@code POST} reloads it from the
+ * given file, or from the file it was last loaded from; {@code DELETE} removes
+ * it, reverting scorers to their heuristics.
+ */
+@Component
+@Endpoint(id = "conversionmodel")
+public class ConversionModelEndpoint {
+    private final ConversionModelRegistry registry;
+
+    public ConversionModelEndpoint(ConversionModelRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Describes the active model.
+     *
+     * @return The model version, feature count and file
+     */
+    @ReadOperation
+    public Map<String, Object> status() {
+        return describe(registry.getActiveModel());
+    }
+
+    /**
+     * Loads a model and makes it the active one. The previous model stays
+     * active if the new one cannot be loaded.
+     *
+     * @param path The model file, or null to reload the current file
+     * @return The newly active model
+     */
+    @WriteOperation
+    public Map<String, Object> reload(@Nullable String path) {
+        try {
+            return describe(path == null || path.isBlank() ? registry.reload() : registry.load(Path.of(path)));
+        } catch (IOException e) {
+            throw new InvalidEndpointRequestException("Failed to read conversion model: " + e.getMessage(),
+                "Failed to read conversion model");
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the active model.
+     *
+     * @return The (empty) model description
+     */
+    @DeleteOperation
+    public Map<String, Object> clear() {
+        registry.clear();
+        return describe(null);
+    }
+
+    private Map<String, Object> describe(ConversionModel model) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("active", model != null);
+        if (model != null) {
+            status.put("version", model.getVersion());
+            status.put("featureCount", model.getFeatureCount());
+        }
+        Path path = registry.getModelPath();
+        status.put("path", path != null ? path.toString() : null);
+        return status;
+    }
+}
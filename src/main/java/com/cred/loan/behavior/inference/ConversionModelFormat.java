@@ -0,0 +1,176 @@
+package com.cred.loan.behavior.inference;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary format for conversion models.
+ * Files are little-endian and memory-mapped when loaded, so model parameters
+ * are read in place rather than deserialized onto the heap.
+ *
+ * <pre>
+ * int    magic            'CVML'
+ * int    format version   1
+ * int    model type       1 = logistic regression, 2 = gradient-boosted trees
+ * int    feature count
+ * int    version length   UTF-8 bytes
+ * byte[] version
+ * ...    padding to a multiple of 8
+ * payload
+ *
+ * logistic regression:    double intercept, double[featureCount] weights
+ * gradient-boosted trees: double base score (log-odds), int tree count, int node count,
+ *                         int[trees] root nodes, padding to a multiple of 8,
+ *                         double[nodes] threshold (leaf value for leaves),
+ *                         int[nodes] feature (-1 for leaves), int[nodes] left, int[nodes] right
+ * </pre>
+ *
+ * Child nodes must come after their parent, which guarantees that every
+ * traversal terminates. Missing values (NaN) follow the right branch.
+ */
+public final class ConversionModelFormat {
+    static final int MAGIC = 0x4C4D5643;
+    static final int FORMAT_VERSION = 1;
+    static final int LOGISTIC_REGRESSION = 1;
+    static final int GRADIENT_BOOSTED_TREES = 2;
+
+    private ConversionModelFormat() {
+    }
+
+    /**
+     * Memory-maps and validates a model file.
+     *
+     * @param path The model file
+     * @return The loaded model
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a valid model
+     */
+    public static ConversionModel load(Path path) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.limit() < 20 || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a conversion model file: " + path);
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported model format version: " + buffer.getInt(4));
+        }
+        int modelType = buffer.getInt(8);
+        int featureCount = buffer.getInt(12);
+        int versionLength = buffer.getInt(16);
+        if (featureCount <= 0 || versionLength < 0 || 20L + versionLength > buffer.limit()) {
+            throw new IllegalArgumentException("Corrupt model header: " + path);
+        }
+        byte[] versionBytes = new byte[versionLength];
+        buffer.get(20, versionBytes);
+        String version = new String(versionBytes, StandardCharsets.UTF_8);
+        int payload = align(20 + versionLength);
+
+        return switch (modelType) {
+            case LOGISTIC_REGRESSION -> LogisticRegressionModel.read(buffer, payload, featureCount, version);
+            case GRADIENT_BOOSTED_TREES -> GradientBoostedTreesModel.read(buffer, payload, featureCount, version);
+            default -> throw new IllegalArgumentException("Unsupported model type: " + modelType);
+        };
+    }
+
+    /**
+     * Writes a logistic regression model.
+     *
+     * @param path The target file, replaced atomically
+     * @param version The model version
+     * @param intercept The intercept
+     * @param weights One weight per feature
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeLogisticRegression(Path path, String version, double intercept, double[] weights)
+            throws IOException {
+        byte[] versionBytes = version.getBytes(StandardCharsets.UTF_8);
+        int payload = align(20 + versionBytes.length);
+        ByteBuffer buffer = header(payload + 8 + 8 * weights.length,
+            LOGISTIC_REGRESSION, weights.length, versionBytes);
+        buffer.putDouble(payload, intercept);
+        for (int i = 0; i < weights.length; i++) {
+            buffer.putDouble(payload + 8 + 8 * i, weights[i]);
+        }
+        write(path, buffer);
+    }
+
+    /**
+     * Writes a gradient-boosted trees model.
+     *
+     * @param path The target file, replaced atomically
+     * @param version The model version
+     * @param featureCount Number of features the model expects
+     * @param baseScore The base score in log-odds
+     * @param roots Root node of each tree
+     * @param thresholds Split threshold of each node, or the leaf value for leaves
+     * @param features Split feature of each node, or -1 for leaves
+     * @param left Left child of each node, taken when the feature is below the threshold
+     * @param right Right child of each node
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeGradientBoostedTrees(
+            Path path,
+            String version,
+            int featureCount,
+            double baseScore,
+            int[] roots,
+            double[] thresholds,
+            int[] features,
+            int[] left,
+            int[] right) throws IOException {
+        byte[] versionBytes = version.getBytes(StandardCharsets.UTF_8);
+        int nodes = thresholds.length;
+        int payload = align(20 + versionBytes.length);
+        int nodeSection = align(payload + 16 + 4 * roots.length);
+        ByteBuffer buffer = header(nodeSection + 20 * nodes,
+            GRADIENT_BOOSTED_TREES, featureCount, versionBytes);
+
+        buffer.putDouble(payload, baseScore);
+        buffer.putInt(payload + 8, roots.length);
+        buffer.putInt(payload + 12, nodes);
+        for (int i = 0; i < roots.length; i++) {
+            buffer.putInt(payload + 16 + 4 * i, roots[i]);
+        }
+        for (int i = 0; i < nodes; i++) {
+            buffer.putDouble(nodeSection + 8 * i, thresholds[i]);
+            buffer.putInt(nodeSection + 8 * nodes + 4 * i, features[i]);
+            buffer.putInt(nodeSection + 12 * nodes + 4 * i, left[i]);
+            buffer.putInt(nodeSection + 16 * nodes + 4 * i, right[i]);
+        }
+        write(path, buffer);
+    }
+
+    static int align(int offset) {
+        return (offset + 7) & ~7;
+    }
+
+    private static ByteBuffer header(int size, int modelType, int featureCount, byte[] versionBytes) {
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, FORMAT_VERSION);
+        buffer.putInt(8, modelType);
+        buffer.putInt(12, featureCount);
+        buffer.putInt(16, versionBytes.length);
+        buffer.put(20, versionBytes);
+        return buffer;
+    }
+
+    private static void write(Path path, ByteBuffer buffer) throws IOException {
+        // Write to a sibling file first so a running registry never maps a partial model
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temp, buffer.array());
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
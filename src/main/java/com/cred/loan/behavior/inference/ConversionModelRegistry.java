@@ -0,0 +1,99 @@
+package com.cred.loan.behavior.inference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Holds the active conversion model.
+ * A new model version is loaded and validated completely before it replaces
+ * the active one, so scorers see either the old or the new model and never a
+ * partially loaded one. Without a configured model, callers fall back to
+ * their heuristics. Models can be reloaded at runtime through the
+ * {@link ConversionModelEndpoint}; a model that fails to load leaves the
+ * active one in place.
+ */
+@Component
+public class ConversionModelRegistry {
+    private volatile ConversionModel activeModel;
+    private volatile Path modelPath;
+
+    /**
+     * Creates a new ConversionModelRegistry, loading the configured model if any.
+     *
+     * @param modelPath Path of the model file, or empty to start without a model
+     */
+    public ConversionModelRegistry(@Value("${loan.behavior.conversion-model.path:}") String modelPath) {
+        if (!modelPath.isBlank()) {
+            this.modelPath = Path.of(modelPath);
+            try {
+                load(this.modelPath);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to load conversion model: " + modelPath, e);
+            }
+        }
+    }
+
+    /**
+     * Loads a model file and makes it the active model.
+     *
+     * @param path The model file
+     * @return The newly active model
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is invalid or its features do not match
+     */
+    public ConversionModel load(Path path) throws IOException {
+        ConversionModel model = ConversionModelFormat.load(path);
+        if (model.getFeatureCount() != ConversionFeatures.COUNT) {
+            throw new IllegalArgumentException("Model " + model.getVersion() + " expects "
+                + model.getFeatureCount() + " features, got: " + ConversionFeatures.COUNT);
+        }
+        activeModel = model;
+        modelPath = path;
+        return model;
+    }
+
+    /**
+     * Reloads the model from the file it was last loaded from, picking up a
+     * new version written to the same path.
+     *
+     * @return The newly active model
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is invalid or its features do not match
+     * @throws IllegalStateException if no model path is known
+     */
+    public ConversionModel reload() throws IOException {
+        Path path = modelPath;
+        if (path == null) {
+            throw new IllegalStateException("No conversion model path configured");
+        }
+        return load(path);
+    }
+
+    /**
+     * Gets the file the active model was loaded from.
+     *
+     * @return The model file, or null if none was configured or loaded
+     */
+    public Path getModelPath() {
+        return modelPath;
+    }
+
+    /**
+     * Gets the active model.
+     *
+     * @return The active model, or null if none is loaded
+     */
+    public ConversionModel getActiveModel() {
+        return activeModel;
+    }
+
+    /**
+     * Removes the active model, reverting callers to their heuristics.
+     */
+    public void clear() {
+        activeModel = null;
+    }
+}
@@ -0,0 +1,132 @@
+package com.cred.loan.behavior.inference;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Gradient-boosted decision trees over the mapped node arrays.
+ * Nodes are stored as parallel arrays, so a traversal touches only the
+ * threshold, feature and child entries on its path.
+ */
+final class GradientBoostedTreesModel implements ConversionModel {
+    private final String version;
+    private final int featureCount;
+    private final double baseScore;
+    private final IntBuffer roots;
+    private final DoubleBuffer thresholds;
+    private final IntBuffer features;
+    private final IntBuffer left;
+    private final IntBuffer right;
+
+    private GradientBoostedTreesModel(
+            String version,
+            int featureCount,
+            double baseScore,
+            IntBuffer roots,
+            DoubleBuffer thresholds,
+            IntBuffer features,
+            IntBuffer left,
+            IntBuffer right) {
+        this.version = version;
+        this.featureCount = featureCount;
+        this.baseScore = baseScore;
+        this.roots = roots;
+        this.thresholds = thresholds;
+        this.features = features;
+        this.left = left;
+        this.right = right;
+    }
+
+    static GradientBoostedTreesModel read(ByteBuffer buffer, int payload, int featureCount, String version) {
+        if (payload + 16L > buffer.limit()) {
+            throw new IllegalArgumentException("Truncated gradient-boosted trees model");
+        }
+        double baseScore = buffer.getDouble(payload);
+        int trees = buffer.getInt(payload + 8);
+        int nodes = buffer.getInt(payload + 12);
+        if (trees < 0 || nodes < 0) {
+            throw new IllegalArgumentException("Corrupt gradient-boosted trees model");
+        }
+        long rootsEnd = payload + 16L + 4L * trees;
+        if (rootsEnd > buffer.limit()) {
+            throw new IllegalArgumentException("Truncated gradient-boosted trees model");
+        }
+        int section = ConversionModelFormat.align((int) rootsEnd);
+        if (section + 20L * nodes > buffer.limit()) {
+            throw new IllegalArgumentException("Truncated gradient-boosted trees model");
+        }
+
+        GradientBoostedTreesModel model = new GradientBoostedTreesModel(
+            version,
+            featureCount,
+            baseScore,
+            ints(buffer, payload + 16, trees),
+            buffer.slice(section, 8 * nodes).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer(),
+            ints(buffer, section + 8 * nodes, nodes),
+            ints(buffer, section + 12 * nodes, nodes),
+            ints(buffer, section + 16 * nodes, nodes)
+        );
+        model.validate(nodes);
+        return model;
+    }
+
+    @Override
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public int getFeatureCount() {
+        return featureCount;
+    }
+
+    @Override
+    public double score(double[] vector, int offset) {
+        double logit = baseScore;
+        for (int tree = 0, trees = roots.limit(); tree < trees; tree++) {
+            int node = roots.get(tree);
+            int feature;
+            while ((feature = features.get(node)) >= 0) {
+                // NaN fails the comparison and follows the right branch
+                node = vector[offset + feature] < thresholds.get(node) ? left.get(node) : right.get(node);
+            }
+            logit += thresholds.get(node);
+        }
+        return 1.0 / (1.0 + Math.exp(-logit));
+    }
+
+    /**
+     * Checks node references once at load time so that scoring needs no checks.
+     *
+     * @param nodes Number of nodes
+     * @throws IllegalArgumentException if a reference is out of range or points backwards
+     */
+    private void validate(int nodes) {
+        for (int tree = 0; tree < roots.limit(); tree++) {
+            int root = roots.get(tree);
+            if (root < 0 || root >= nodes) {
+                throw new IllegalArgumentException("Invalid root node " + root + " for tree " + tree);
+            }
+        }
+        for (int node = 0; node < nodes; node++) {
+            int feature = features.get(node);
+            if (feature < 0) {
+                continue;
+            }
+            if (feature >= featureCount) {
+                throw new IllegalArgumentException("Invalid feature " + feature + " at node " + node);
+            }
+            int leftChild = left.get(node);
+            int rightChild = right.get(node);
+            if (leftChild <= node || leftChild >= nodes || rightChild <= node || rightChild >= nodes) {
+                throw new IllegalArgumentException("Invalid children at node " + node);
+            }
+        }
+    }
+
+    private static IntBuffer ints(ByteBuffer buffer, int offset, int count) {
+        return buffer.slice(offset, 4 * count).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+}
@@ -0,0 +1,55 @@
+package com.cred.loan.behavior.inference;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+/**
+ * Logistic regression over the mapped model weights.
+ * Missing features contribute nothing to the linear term.
+ */
+final class LogisticRegressionModel implements ConversionModel {
+    private final String version;
+    private final int featureCount;
+    private final double intercept;
+    private final DoubleBuffer weights;
+
+    private LogisticRegressionModel(String version, int featureCount, double intercept, DoubleBuffer weights) {
+        this.version = version;
+        this.featureCount = featureCount;
+        this.intercept = intercept;
+        this.weights = weights;
+    }
+
+    static LogisticRegressionModel read(ByteBuffer buffer, int payload, int featureCount, String version) {
+        if (payload + 8L + 8L * featureCount > buffer.limit()) {
+            throw new IllegalArgumentException("Truncated logistic regression model");
+        }
+        DoubleBuffer weights = buffer.slice(payload + 8, 8 * featureCount)
+            .order(ByteOrder.LITTLE_ENDIAN)
+            .asDoubleBuffer();
+        return new LogisticRegressionModel(version, featureCount, buffer.getDouble(payload), weights);
+    }
+
+    @Override
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public int getFeatureCount() {
+        return featureCount;
+    }
+
+    @Override
+    public double score(double[] features, int offset) {
+        double logit = intercept;
+        for (int i = 0; i < featureCount; i++) {
+            double value = features[offset + i];
+            if (value == value) {
+                logit += weights.get(i) * value;
+            }
+        }
+        return 1.0 / (1.0 + Math.exp(-logit));
+    }
+}
@@ -0,0 +1,189 @@
+package com.cred.loan.behavior.learning;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logistic model of offer acceptance against relative price, one per segment:
+ * {@code P(accept) = sigmoid(intercept + slope * relativePrice)}.
+ * The model is trained by streaming SGD. Parameters are doubles stored as bits
+ * in an atomic array and updated with compare-and-set, so concurrent updates
+ * and reads never lock. A gradient may be computed from parameters that another
+ * thread is updating at the same time; as with Hogwild, such overlaps only add
+ * noise to individual steps and do not lose updates.
+ */
+public final class PriceResponseModel {
+    private static final int MAGIC = 0x4C505352;
+    private static final int FORMAT_VERSION = 1;
+
+    private final int segments;
+    private final AtomicLongArray parameters;
+    private final LongAdder[] observations;
+    private final double learningRate;
+    private final double l2;
+
+    /**
+     * Creates a new model with all parameters at zero, i.e. a neutral
+     * acceptance probability that does not depend on price.
+     *
+     * @param segments Number of segments
+     * @param learningRate SGD step size
+     * @param l2 L2 regularization applied to the slope
+     * @throws IllegalArgumentException if the segment count or learning rate is not positive
+     */
+    public PriceResponseModel(int segments, double learningRate, double l2) {
+        if (segments <= 0) {
+            throw new IllegalArgumentException("Segment count must be positive");
+        }
+        if (learningRate <= 0) {
+            throw new IllegalArgumentException("Learning rate must be positive");
+        }
+        this.segments = segments;
+        this.parameters = new AtomicLongArray(segments * 2);
+        this.observations = new LongAdder[segments];
+        for (int i = 0; i < segments; i++) {
+            observations[i] = new LongAdder();
+        }
+        this.learningRate = learningRate;
+        this.l2 = l2;
+    }
+
+    /**
+     * Applies one SGD step for an observed accept or reject decision.
+     *
+     * @param segment The segment index
+     * @param relativePrice Price relative to the reference price, e.g. 0.1 for 10% above
+     * @param accepted Whether the offer was accepted
+     */
+    public void observe(int segment, double relativePrice, boolean accepted) {
+        int intercept = segment * 2;
+        int slope = intercept + 1;
+        double slopeValue = get(slope);
+        double probability = sigmoid(get(intercept) + slopeValue * relativePrice);
+        double error = (accepted ? 1.0 : 0.0) - probability;
+
+        add(intercept, learningRate * error);
+        add(slope, learningRate * (error * relativePrice - l2 * slopeValue));
+        observations[segment].increment();
+    }
+
+    /**
+     * Gets the learned acceptance probability at a relative price.
+     *
+     * @param segment The segment index
+     * @param relativePrice Price relative to the reference price
+     * @return The acceptance probability
+     */
+    public double acceptanceProbability(int segment, double relativePrice) {
+        return sigmoid(get(segment * 2) + get(segment * 2 + 1) * relativePrice);
+    }
+
+    /**
+     * Gets the learned price sensitivity of a segment. A flat price response
+     * maps to 0.5; acceptance that falls with price maps towards 1.0.
+     *
+     * @param segment The segment index
+     * @return The sensitivity (0.0 to 1.0)
+     */
+    public double sensitivity(int segment) {
+        return sigmoid(-get(segment * 2 + 1));
+    }
+
+    /**
+     * Gets the number of decisions a segment has learned from.
+     *
+     * @param segment The segment index
+     * @return The observation count
+     */
+    public long observations(int segment) {
+        return observations[segment].sum();
+    }
+
+    /**
+     * Gets the number of segments.
+     *
+     * @return The segment count
+     */
+    public int getSegments() {
+        return segments;
+    }
+
+    /**
+     * Writes the parameters and observation counts. Concurrent updates may be
+     * partially included.
+     *
+     * @param out The target
+     * @throws IOException if writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(segments);
+        for (int segment = 0; segment < segments; segment++) {
+            out.writeDouble(get(segment * 2));
+            out.writeDouble(get(segment * 2 + 1));
+            out.writeLong(observations(segment));
+        }
+    }
+
+    /**
+     * Replaces the parameters and observation counts with ones read from a
+     * snapshot. The snapshot is read in full before anything is replaced, so
+     * an invalid or truncated snapshot leaves the model unchanged.
+     *
+     * @param in The source
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if the snapshot is invalid or has a different segment count
+     */
+    public void readFrom(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a price response snapshot");
+        }
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version: " + version);
+        }
+        int snapshotSegments = in.readInt();
+        if (snapshotSegments != segments) {
+            throw new IllegalArgumentException(
+                "Expected " + segments + " segments, got: " + snapshotSegments);
+        }
+        double[] values = new double[segments * 2];
+        long[] counts = new long[segments];
+        for (int segment = 0; segment < segments; segment++) {
+            values[segment * 2] = in.readDouble();
+            values[segment * 2 + 1] = in.readDouble();
+            counts[segment] = in.readLong();
+            if (!Double.isFinite(values[segment * 2]) || !Double.isFinite(values[segment * 2 + 1])
+                    || counts[segment] < 0) {
+                throw new IllegalArgumentException("Invalid parameters for segment: " + segment);
+            }
+        }
+        for (int segment = 0; segment < segments; segment++) {
+            parameters.set(segment * 2, Double.doubleToRawLongBits(values[segment * 2]));
+            parameters.set(segment * 2 + 1, Double.doubleToRawLongBits(values[segment * 2 + 1]));
+            observations[segment].reset();
+            observations[segment].add(counts[segment]);
+        }
+    }
+
+    private double get(int index) {
+        return Double.longBitsToDouble(parameters.get(index));
+    }
+
+    private void add(int index, double delta) {
+        long current;
+        long updated;
+        do {
+            current = parameters.get(index);
+            updated = Double.doubleToRawLongBits(Double.longBitsToDouble(current) + delta);
+        } while (!parameters.compareAndSet(index, current, updated));
+    }
+
+    private static double sigmoid(double x) {
+        return 1.0 / (1.0 + Math.exp(-x));
+    }
+}
@@ -0,0 +1,54 @@
+package com.cred.loan.behavior.learning;
+
+import com.cred.loan.core.model.UserData;
+
+/**
+ * Maps users to the segments over which price response is learned.
+ * Segments combine an income band and an age band; unknown values form a
+ * band of their own so that users with partial profiles still learn.
+ */
+public final class PriceSegments {
+    private static final double[] INCOME_BOUNDS = {25000, 50000, 100000, 200000};
+    private static final int[] AGE_BOUNDS = {25, 35, 45, 55};
+    private static final int AGE_BANDS = AGE_BOUNDS.length + 2;
+
+    /**
+     * Number of segments.
+     */
+    public static final int COUNT = (INCOME_BOUNDS.length + 2) * AGE_BANDS;
+
+    private PriceSegments() {
+    }
+
+    /**
+     * Gets the segment of a user.
+     *
+     * @param userData The user data
+     * @return The segment index (0 to {@link #COUNT} - 1)
+     */
+    public static int of(UserData userData) {
+        return incomeBand(userData.getIncome()) * AGE_BANDS + ageBand(userData.getAge());
+    }
+
+    private static int incomeBand(Double income) {
+        if (income == null) {
+            return 0;
+        }
+        int band = 1;
+        while (band <= INCOME_BOUNDS.length && income >= INCOME_BOUNDS[band - 1]) {
+            band++;
+        }
+        return band;
+    }
+
+    private static int ageBand(Integer age) {
+        if (age == null) {
+            return 0;
+        }
+        int band = 1;
+        while (band <= AGE_BOUNDS.length && age >= AGE_BOUNDS[band - 1]) {
+            band++;
+        }
+        return band;
+    }
+}
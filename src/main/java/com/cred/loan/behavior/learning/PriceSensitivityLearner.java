@@ -0,0 +1,281 @@
+package com.cred.loan.behavior.learning;
+
+import com.cred.loan.behavior.aggregate.FunnelStage;
+import com.cred.loan.behavior.model.PriceSensitivity;
+import com.cred.loan.core.cache.BoundedCache;
+import com.cred.loan.core.model.OfferIds;
+import com.cred.loan.core.model.OfferInteraction;
+import com.cred.loan.core.model.RankedOffer;
+import com.cred.loan.core.model.UserData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Learns per-segment price sensitivity online from offer interactions.
+ * When offers are served, the rates shown to the user are recorded as an
+ * exposure; a later accept or reject of one of those offers, identified by
+ * its offer ID, is labeled with that offer's rate and trains the
+ * {@link PriceResponseModel}. Only the latest exposure of each user is kept,
+ * for a bounded number of users. Learned sensitivity is blended into
+ * profile-based estimates in proportion to the evidence behind it.
+ * The model is snapshotted periodically and on shutdown when a snapshot path
+ * is configured, and restored from it on startup; a snapshot that cannot be
+ * read is logged and the model starts from its priors.
+ */
+@Component
+public class PriceSensitivityLearner {
+    private final Logger logger = LoggerFactory.getLogger(PriceSensitivityLearner.class);
+
+    private final PriceResponseModel model;
+    private final BoundedCache<String, Exposure> exposures;
+    private final double referenceRoi;
+    private final double priorObservations;
+    private final Path snapshotPath;
+    private final ScheduledExecutorService snapshotScheduler;
+
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter unmatchedCounter;
+    private final Counter snapshotFailedCounter;
+    private final Counter restoreFailedCounter;
+
+    /**
+     * Creates a new PriceSensitivityLearner, restoring the snapshot if one exists.
+     *
+     * @param registry The meter registry
+     * @param learningRate SGD step size
+     * @param l2 L2 regularization applied to the price slope
+     * @param referenceRoi Rate against which offered rates are compared
+     * @param priorObservations Observations at which learned and profile estimates weigh equally
+     * @param exposureTtlMinutes Time after which an unlabeled exposure is discarded
+     * @param maxTrackedUsers Maximum number of users with a pending exposure
+     * @param snapshotPath Snapshot file, or empty to keep the model in memory only
+     * @param snapshotIntervalSeconds Time between periodic snapshots
+     * @throws IllegalArgumentException if the reference rate is not positive
+     */
+    public PriceSensitivityLearner(
+            MeterRegistry registry,
+            @Value("${loan.behavior.price-learning.learning-rate:0.05}") double learningRate,
+            @Value("${loan.behavior.price-learning.l2:0.001}") double l2,
+            @Value("${loan.behavior.price-learning.reference-roi:18.0}") double referenceRoi,
+            @Value("${loan.behavior.price-learning.prior-observations:50}") double priorObservations,
+            @Value("${loan.behavior.price-learning.exposure-ttl-minutes:60}") long exposureTtlMinutes,
+            @Value("${loan.behavior.price-learning.max-tracked-users:100000}") int maxTrackedUsers,
+            @Value("${loan.behavior.price-learning.snapshot.path:}") String snapshotPath,
+            @Value("${loan.behavior.price-learning.snapshot.interval-seconds:300}") long snapshotIntervalSeconds) {
+        if (referenceRoi <= 0) {
+            throw new IllegalArgumentException("Reference ROI must be positive");
+        }
+        this.model = new PriceResponseModel(PriceSegments.COUNT, learningRate, l2);
+        this.referenceRoi = referenceRoi;
+        this.priorObservations = priorObservations;
+        this.exposures = new BoundedCache<>(maxTrackedUsers, Duration.ofMinutes(exposureTtlMinutes), false);
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+
+        this.acceptedCounter = updateCounter(registry, "accepted");
+        this.rejectedCounter = updateCounter(registry, "rejected");
+        this.unmatchedCounter = Counter.builder("loan.behavior.price.unmatched")
+            .description("Accept or reject decisions not matching a recorded exposure")
+            .register(registry);
+        this.snapshotFailedCounter = Counter.builder("loan.behavior.price.snapshot.failed")
+            .description("Number of price model snapshots that failed")
+            .register(registry);
+        this.restoreFailedCounter = Counter.builder("loan.behavior.price.restore.failed")
+            .description("Number of price model snapshots that could not be restored")
+            .register(registry);
+
+        if (this.snapshotPath != null) {
+            restore();
+            this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "price-model-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotScheduler.scheduleWithFixedDelay(
+                this::snapshotQuietly, snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        } else {
+            this.snapshotScheduler = null;
+        }
+    }
+
+    /**
+     * Records the rates of the offers served to a user, replacing any earlier
+     * exposure.
+     *
+     * @param userId The ID of the user
+     * @param segment The price segment of the user
+     * @param requestId The request ID of the response the offers are served in
+     * @param offers The offers served, in rank order
+     */
+    public void recordExposure(String userId, int segment, String requestId, List<RankedOffer> offers) {
+        double[] relativePrices = new double[offers.size()];
+        for (int i = 0; i < relativePrices.length; i++) {
+            relativePrices[i] = relativePrice(offers.get(i).getOffer().adjustedRoi());
+        }
+        exposures.put(userId, new Exposure(segment, requestId, relativePrices));
+    }
+
+    /**
+     * Learns from an offer interaction. Only accepts and rejects carry a label,
+     * at the rate of the offer decided on; each labels the user's pending
+     * exposure once. Decisions on offers the exposure does not hold are
+     * counted as unmatched.
+     *
+     * @param userId The ID of the user
+     * @param interaction The offer interaction event
+     */
+    public void onInteraction(String userId, OfferInteraction interaction) {
+        FunnelStage stage = FunnelStage.fromInteractionType(interaction.getInteractionType());
+        if (stage != FunnelStage.ACCEPT && stage != FunnelStage.REJECT) {
+            return;
+        }
+
+        Exposure exposure = exposures.get(userId);
+        int rank = OfferIds.rank(interaction.getOfferId());
+        if (exposure == null || rank < 1 || rank > exposure.relativePrices().length
+                || !exposure.requestId().equals(OfferIds.requestId(interaction.getOfferId()))
+                || !exposures.remove(userId, exposure)) {
+            unmatchedCounter.increment();
+            return;
+        }
+        observe(exposure.segment(), exposure.relativePrices()[rank - 1], stage == FunnelStage.ACCEPT);
+    }
+
+    /**
+     * Learns from an accept or reject decision at a known rate.
+     *
+     * @param userData The user data
+     * @param roi The rate of interest of the offer
+     * @param accepted Whether the offer was accepted
+     */
+    public void observe(UserData userData, double roi, boolean accepted) {
+        observe(PriceSegments.of(userData), relativePrice(roi), accepted);
+    }
+
+    /**
+     * Gets the learned price sensitivity of the user's segment.
+     *
+     * @param userData The user data
+     * @return The learned sensitivity, with confidence growing with the evidence behind it
+     */
+    public PriceSensitivity estimate(UserData userData) {
+        int segment = PriceSegments.of(userData);
+        return new PriceSensitivity(model.sensitivity(segment), confidence(segment), LocalDateTime.now());
+    }
+
+    /**
+     * Blends a profile-based sensitivity with the learned one, weighted by the
+     * evidence behind the learned estimate.
+     *
+     * @param userData The user data
+     * @param sensitivity The profile-based sensitivity
+     * @return The blended sensitivity
+     */
+    public double blend(UserData userData, double sensitivity) {
+        int segment = PriceSegments.of(userData);
+        double weight = confidence(segment);
+        return sensitivity + (model.sensitivity(segment) - sensitivity) * weight;
+    }
+
+    /**
+     * Writes the model to the snapshot file. The file is replaced atomically.
+     *
+     * @throws IOException if writing fails
+     * @throws IllegalStateException if no snapshot path is configured
+     */
+    public void snapshot() throws IOException {
+        if (snapshotPath == null) {
+            throw new IllegalStateException("No snapshot path configured");
+        }
+        Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            model.writeTo(out);
+        }
+        Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Stops periodic snapshots and writes a final one.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+            snapshotQuietly();
+        }
+    }
+
+    private void observe(int segment, double relativePrice, boolean accepted) {
+        model.observe(segment, relativePrice, accepted);
+        (accepted ? acceptedCounter : rejectedCounter).increment();
+    }
+
+    private double relativePrice(double roi) {
+        return (roi - referenceRoi) / referenceRoi;
+    }
+
+    private double confidence(int segment) {
+        double observations = model.observations(segment);
+        return observations / (observations + priorObservations);
+    }
+
+    private void restore() {
+        if (!Files.exists(snapshotPath)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            model.readFrom(in);
+        } catch (IOException | IllegalArgumentException e) {
+            // A corrupt snapshot must not keep the service from starting; learning restarts from the priors
+            restoreFailedCounter.increment();
+            logger.warn("Failed to restore price model snapshot {}, starting from priors", snapshotPath, e);
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            snapshotFailedCounter.increment();
+        }
+    }
+
+    private static Counter updateCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("loan.behavior.price.updates")
+            .description("Price model updates by decision")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+}
+
+/**
+ * The rates last shown to a user, awaiting an accept or reject.
+ *
+ * @param segment The user's segment
+ * @param requestId The request ID of the response the offers were shown in
+ * @param relativePrices The rates relative to the reference rate, by rank
+ */
+record Exposure(int segment, String requestId, double[] relativePrices) {
+}
@@ -6,6 +6,14 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.ConsoleAppender;
 import ch.qos.logback.core.rolling.RollingFileAppender;
 import ch.qos.logback.core.rolling.TimeBasedRollingPolicy;
+import com.cred.loan.monitoring.logging.JsonLogEncoder;
+import com.cred.loan.monitoring.logging.RingBufferAppender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,10 +21,44 @@ import org.springframework.context.annotation.Configuration;
  * Configuration class for application logging using SLF4J with Logback.
  * This class sets up various loggers and appenders for different components
  * of the loan offer generation system.
+ * Each logger writes JSON lines through a {@link RingBufferAppender}, so
+ * request threads only enqueue events and console and file output happen on
+ * a background thread. Dropped events and the backlog of each logger are
+ * exported as metrics.
+ * All component loggers live in one logger context owned by this
+ * configuration, which is stopped on shutdown so the ring buffers drain
+ * before the application exits.
  */
 @Configuration
 public class LoggingConfig {
 
+    private final LoggerContext context = new LoggerContext();
+    private final MeterRegistry registry;
+    private final int bufferCapacity;
+    private final int batchSize;
+    private final RingBufferAppender.OverflowPolicy overflowPolicy;
+
+    /**
+     * Creates a new instance of LoggingConfig.
+     *
+     * @param registry The meter registry
+     * @param bufferCapacity Maximum number of buffered events per logger
+     * @param batchSize Maximum number of events written between flushes
+     * @param overflowPolicy Whether to drop events or wait when a buffer is full
+     */
+    public LoggingConfig(
+            MeterRegistry registry,
+            @Value("${loan.logging.buffer-capacity:8192}") int bufferCapacity,
+            @Value("${loan.logging.batch-size:256}") int batchSize,
+            @Value("${loan.logging.overflow-policy:DROP}") RingBufferAppender.OverflowPolicy overflowPolicy) {
+        this.registry = registry;
+        this.bufferCapacity = bufferCapacity;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        // A standalone context has no MDC of its own; share the application's so correlation IDs are kept
+        context.setMDCAdapter(MDC.getMDCAdapter());
+    }
+
     /**
      * Creates a logger for the offer generation component.
      *
@@ -24,11 +66,7 @@ public class LoggingConfig {
      */
     @Bean
     public Logger offerLogger() {
-        LoggerContext context = new LoggerContext();
-        Logger logger = context.getLogger("com.cred.loan.offers");
-        logger.addAppender(createConsoleAppender(context));
-        logger.addAppender(createFileAppender(context, "offers"));
-        return logger;
+        return createLogger("com.cred.loan.offers", "offers");
     }
 
     /**
@@ -38,11 +76,7 @@ public class LoggingConfig {
      */
     @Bean
     public Logger riskLogger() {
-        LoggerContext context = new LoggerContext();
-        Logger logger = context.getLogger("com.cred.loan.risk");
-        logger.addAppender(createConsoleAppender(context));
-        logger.addAppender(createFileAppender(context, "risk"));
-        return logger;
+        return createLogger("com.cred.loan.risk", "risk");
     }
 
     /**
@@ -52,23 +86,85 @@ public class LoggingConfig {
      */
     @Bean
     public Logger behaviorLogger() {
-        LoggerContext context = new LoggerContext();
-        Logger logger = context.getLogger("com.cred.loan.behavior");
-        logger.addAppender(createConsoleAppender(context));
-        logger.addAppender(createFileAppender(context, "behavior"));
+        return createLogger("com.cred.loan.behavior", "behavior");
+    }
+
+    /**
+     * Stops the component loggers, writing out the events still buffered.
+     */
+    @PreDestroy
+    public void shutdown() {
+        context.stop();
+    }
+
+    /**
+     * Creates a logger writing to the console and a component log file
+     * through a ring buffer appender.
+     *
+     * @param name The logger name
+     * @param component The component name for the log file and metrics
+     * @return Configured logger
+     */
+    private Logger createLogger(String name, String component) {
+        Logger logger = context.getLogger(name);
+        logger.addAppender(createRingBufferAppender(context, component,
+            createConsoleAppender(context, component), createFileAppender(context, component)));
         return logger;
     }
 
+    /**
+     * Creates a ring buffer appender in front of the given appenders and
+     * registers its metrics.
+     *
+     * @param context The logger context
+     * @param component The component name for metrics
+     * @param console The console appender
+     * @param file The file appender
+     * @return Configured ring buffer appender
+     */
+    private RingBufferAppender createRingBufferAppender(
+            LoggerContext context,
+            String component,
+            ConsoleAppender<ILoggingEvent> console,
+            RollingFileAppender<ILoggingEvent> file) {
+        RingBufferAppender appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("RING-" + component);
+        appender.setCapacity(bufferCapacity);
+        appender.setBatchSize(batchSize);
+        appender.setOverflowPolicy(overflowPolicy);
+        appender.addAppender(console);
+        appender.addAppender(file);
+        appender.start();
+
+        FunctionCounter.builder("loan.logging.events.dropped", appender, RingBufferAppender::getDroppedEvents)
+            .description("Log events dropped because the ring buffer was full")
+            .tag("component", component)
+            .register(registry);
+        FunctionCounter.builder("loan.logging.events.written", appender, RingBufferAppender::getWrittenEvents)
+            .description("Log events written by the background appender thread")
+            .tag("component", component)
+            .register(registry);
+        Gauge.builder("loan.logging.backlog", appender, RingBufferAppender::getBacklog)
+            .description("Log events waiting in the ring buffer")
+            .tag("component", component)
+            .register(registry);
+        return appender;
+    }
+
     /**
      * Creates a console appender for logging to standard output.
      *
      * @param context The logger context
+     * @param component The component name for the appender
      * @return Configured console appender
      */
-    private ConsoleAppender<ILoggingEvent> createConsoleAppender(LoggerContext context) {
+    private ConsoleAppender<ILoggingEvent> createConsoleAppender(LoggerContext context, String component) {
         ConsoleAppender<ILoggingEvent> appender = new ConsoleAppender<>();
         appender.setContext(context);
-        appender.setName("CONSOLE");
+        appender.setName("CONSOLE-" + component);
+        appender.setEncoder(createEncoder(context));
+        appender.setImmediateFlush(false);
         appender.start();
         return appender;
     }
@@ -83,8 +179,11 @@ public class LoggingConfig {
     private RollingFileAppender<ILoggingEvent> createFileAppender(LoggerContext context, String component) {
         RollingFileAppender<ILoggingEvent> appender = new RollingFileAppender<>();
         appender.setContext(context);
-        appender.setName("FILE");
+        appender.setName("FILE-" + component);
         appender.setFile("logs/" + component + ".log");
+        appender.setEncoder(createEncoder(context));
+        // Flushed by the ring buffer appender once per batch
+        appender.setImmediateFlush(false);
 
         TimeBasedRollingPolicy<ILoggingEvent> rollingPolicy = new TimeBasedRollingPolicy<>();
         rollingPolicy.setContext(context);
@@ -97,4 +196,11 @@ public class LoggingConfig {
         appender.start();
         return appender;
     }
-} 
\ No newline at end of file
+
+    private JsonLogEncoder createEncoder(LoggerContext context) {
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        return encoder;
+    }
+}
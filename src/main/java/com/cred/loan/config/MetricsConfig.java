@@ -1,5 +1,7 @@
 package com.cred.loan.config;
 
+import com.cred.loan.monitoring.distribution.DistributionMetric;
+import com.cred.loan.monitoring.distribution.OfferDistributions;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -7,7 +9,7 @@ import io.micrometer.core.instrument.Timer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.atomic.AtomicReference;
+import java.time.Duration;
 
 /**
  * Configuration class for application metrics using Micrometer.
@@ -16,8 +18,6 @@ import java.util.concurrent.atomic.AtomicReference;
 @Configuration
 public class MetricsConfig {
 
-    private final AtomicReference<Double> averageRiskScore = new AtomicReference<>(0.0);
-
     /**
      * Creates a counter for tracking the number of generated loan offers.
      *
@@ -33,6 +33,7 @@ public class MetricsConfig {
 
     /**
      * Creates a timer for measuring offer generation duration.
+     * Publishes percentiles and a percentile histogram so tail latency is visible.
      *
      * @param registry The meter registry
      * @return Configured timer
@@ -41,19 +42,27 @@ public class MetricsConfig {
     public Timer offerTimer(MeterRegistry registry) {
         return Timer.builder("loan.offers.generation.time")
             .description("Time taken to generate loan offers")
+            .publishPercentiles(0.5, 0.9, 0.99)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(5))
             .register(registry);
     }
 
     /**
-     * Creates a gauge for monitoring average risk scores.
+     * Creates a gauge for monitoring the median risk score of served offers.
+     * The full distribution, by risk level and city tier, is served by the
+     * distributions endpoint.
      *
      * @param registry The meter registry
+     * @param distributions The offer distributions
      * @return Configured gauge
      */
     @Bean
-    public Gauge riskGauge(MeterRegistry registry) {
-        return Gauge.builder("loan.risk.score", averageRiskScore, AtomicReference::get)
-            .description("Average risk score of generated offers")
+    public Gauge riskGauge(MeterRegistry registry, OfferDistributions distributions) {
+        return Gauge.builder("loan.risk.score", distributions,
+                d -> d.snapshot(DistributionMetric.RISK_SCORE, null, null).getQuantile(0.5))
+            .description("Median risk score of served offers")
             .register(registry);
     }
 
@@ -82,13 +91,4 @@ public class MetricsConfig {
             .description("Number of accepted loan offers")
             .register(registry);
     }
-
-    /**
-     * Updates the average risk score.
-     *
-     * @param newScore The new risk score to incorporate
-     */
-    public void updateAverageRiskScore(double newScore) {
-        averageRiskScore.set(newScore);
-    }
-} 
\ No newline at end of file
+}
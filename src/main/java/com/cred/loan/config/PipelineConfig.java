@@ -0,0 +1,61 @@
+package com.cred.loan.config;
+
+import com.cred.loan.core.pipeline.DegradedDefaults;
+import com.cred.loan.core.pipeline.PipelineStage;
+import com.cred.loan.core.pipeline.StageBudgets;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration class for the offer generation pipeline.
+ * This class sets up the per-stage time budgets and the fallback results
+ * served when a stage misses its budget.
+ */
+@Configuration
+public class PipelineConfig {
+
+    /**
+     * Creates the pipeline time budgets.
+     *
+     * @param totalMillis Budget for the whole request
+     * @param dataFetchMillis Budget for fetching user data
+     * @param riskMillis Budget for risk assessment
+     * @param behaviorMillis Budget for behavior analysis
+     * @param optimizationMillis Budget for offer optimization
+     * @param rankingMillis Budget for offer ranking
+     * @return Configured stage budgets
+     */
+    @Bean
+    public StageBudgets stageBudgets(
+            @Value("${loan.pipeline.budget.total-ms:800}") long totalMillis,
+            @Value("${loan.pipeline.budget.data-fetch-ms:250}") long dataFetchMillis,
+            @Value("${loan.pipeline.budget.risk-ms:200}") long riskMillis,
+            @Value("${loan.pipeline.budget.behavior-ms:200}") long behaviorMillis,
+            @Value("${loan.pipeline.budget.optimization-ms:250}") long optimizationMillis,
+            @Value("${loan.pipeline.budget.ranking-ms:50}") long rankingMillis) {
+        Map<PipelineStage, Duration> budgets = new EnumMap<>(PipelineStage.class);
+        budgets.put(PipelineStage.DATA_FETCH, Duration.ofMillis(dataFetchMillis));
+        budgets.put(PipelineStage.RISK_ASSESSMENT, Duration.ofMillis(riskMillis));
+        budgets.put(PipelineStage.BEHAVIOR_ANALYSIS, Duration.ofMillis(behaviorMillis));
+        budgets.put(PipelineStage.OPTIMIZATION, Duration.ofMillis(optimizationMillis));
+        budgets.put(PipelineStage.RANKING, Duration.ofMillis(rankingMillis));
+        return new StageBudgets(Duration.ofMillis(totalMillis), budgets);
+    }
+
+    /**
+     * Creates the fallback results for degraded responses.
+     *
+     * @param fallbackRoi ROI offered when the risk assessment is unavailable
+     * @return Configured degraded defaults
+     */
+    @Bean
+    public DegradedDefaults degradedDefaults(
+            @Value("${loan.pipeline.fallback.roi:24.0}") double fallbackRoi) {
+        return new DegradedDefaults(fallbackRoi);
+    }
+}
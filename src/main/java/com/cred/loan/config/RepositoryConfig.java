@@ -0,0 +1,64 @@
+package com.cred.loan.config;
+
+import com.cred.loan.behavior.aggregate.BehaviorAggregateStore;
+import com.cred.loan.core.service.OfferResponseCache;
+import com.cred.loan.data.mapper.impl.BehaviorMapperImpl;
+import com.cred.loan.data.mapper.impl.RiskMapperImpl;
+import com.cred.loan.data.mapper.impl.UserMapperImpl;
+import com.cred.loan.data.repository.BehaviorRepository;
+import com.cred.loan.data.repository.RiskRepository;
+import com.cred.loan.data.repository.UserRepository;
+import com.cred.loan.data.repository.impl.BehaviorRepositoryImpl;
+import com.cred.loan.data.repository.impl.CacheInvalidatingBehaviorRepository;
+import com.cred.loan.data.repository.impl.CacheInvalidatingRiskRepository;
+import com.cred.loan.data.repository.impl.CacheInvalidatingUserRepository;
+import com.cred.loan.data.repository.impl.RiskRepositoryImpl;
+import com.cred.loan.data.repository.impl.UserRepositoryImpl;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the data repositories.
+ * This class sets up the user, behavior and risk repositories, each wrapped
+ * so that saving a user's data drops their cached offer responses; saved
+ * behavior data also replaces the user's behavioral aggregate.
+ */
+@Configuration
+public class RepositoryConfig {
+
+    /**
+     * Creates the user repository.
+     *
+     * @param responseCache The offer response cache invalidated on save
+     * @return Configured user repository
+     */
+    @Bean
+    public UserRepository userRepository(OfferResponseCache responseCache) {
+        return new CacheInvalidatingUserRepository(new UserRepositoryImpl(new UserMapperImpl()), responseCache);
+    }
+
+    /**
+     * Creates the behavior repository.
+     *
+     * @param responseCache The offer response cache invalidated on save
+     * @param aggregateStore The behavioral aggregates rebuilt on save
+     * @return Configured behavior repository
+     */
+    @Bean
+    public BehaviorRepository behaviorRepository(OfferResponseCache responseCache,
+                                                 BehaviorAggregateStore aggregateStore) {
+        return new CacheInvalidatingBehaviorRepository(
+            new BehaviorRepositoryImpl(new BehaviorMapperImpl()), responseCache, aggregateStore);
+    }
+
+    /**
+     * Creates the risk repository.
+     *
+     * @param responseCache The offer response cache invalidated on save
+     * @return Configured risk repository
+     */
+    @Bean
+    public RiskRepository riskRepository(OfferResponseCache responseCache) {
+        return new CacheInvalidatingRiskRepository(new RiskRepositoryImpl(new RiskMapperImpl()), responseCache);
+    }
+}
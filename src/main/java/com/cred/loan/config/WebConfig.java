@@ -0,0 +1,71 @@
+package com.cred.loan.config;
+
+import com.cred.loan.web.LoanOfferRequestConverter;
+import com.cred.loan.web.LoanOfferResponseConverter;
+import com.cred.loan.web.json.LoanOfferJsonModule;
+import com.cred.loan.web.json.LoanOfferRequestReader;
+import com.cred.loan.web.json.LoanOfferResponseWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuration class for the HTTP API.
+ * This class registers the streaming converters for loan offer requests and
+ * responses ahead of the default Jackson converter, registers the matching
+ * serializers with the application's object mapper, and enables gzip
+ * compression of JSON responses.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    private final LoanOfferRequestReader requestReader = new LoanOfferRequestReader();
+    private final LoanOfferResponseWriter responseWriter = new LoanOfferResponseWriter();
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new LoanOfferRequestConverter(requestReader));
+        converters.add(1, new LoanOfferResponseConverter(responseWriter));
+    }
+
+    /**
+     * Creates the Jackson module with the offer serializers. Spring Boot adds
+     * module beans to the auto-configured object mapper.
+     *
+     * @return The offer JSON module
+     */
+    @Bean
+    public LoanOfferJsonModule loanOfferJsonModule() {
+        return new LoanOfferJsonModule();
+    }
+
+    /**
+     * Enables response compression for clients that accept gzip.
+     *
+     * @param enabled Whether responses are compressed
+     * @param minResponseBytes Smallest response that is compressed
+     * @return Configured server customizer
+     */
+    @Bean
+    public WebServerFactoryCustomizer<ConfigurableServletWebServerFactory> compressionCustomizer(
+            @Value("${loan.web.compression.enabled:true}") boolean enabled,
+            @Value("${loan.web.compression.min-response-bytes:1024}") long minResponseBytes) {
+        if (minResponseBytes < 0) {
+            throw new IllegalArgumentException("Minimum compressed response size cannot be negative");
+        }
+        return factory -> {
+            Compression compression = new Compression();
+            compression.setEnabled(enabled);
+            compression.setMimeTypes(new String[] {"application/json"});
+            compression.setMinResponseSize(DataSize.ofBytes(minResponseBytes));
+            factory.setCompression(compression);
+        };
+    }
+}
@@ -0,0 +1,297 @@
+package com.cred.loan.core.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory map bounded in size and in the age of its entries.
+ * Entries expire a fixed time after they were written, or after they were
+ * last read or written when the cache refreshes on access. Expired entries
+ * are never returned; they are dropped when read and, oldest first, whenever
+ * the segment they live in is written. A full segment drops its least
+ * recently written (or used) entry to make room, so no operation ever scans
+ * the whole cache.
+ * The cache is split into segments, each a linked hash map guarded by its own
+ * lock; large caches use several segments, so the size bound and the eviction
+ * order hold per segment rather than exactly across the cache.
+ * The eviction listener is called for entries dropped because they expired or
+ * did not fit, but not for removed or replaced ones. It runs under the
+ * segment's lock and must not call back into the cache.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public final class BoundedCache<K, V> {
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 1024;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final long expiryNanos;
+    private final boolean refreshOnAccess;
+    private final LongSupplier ticker;
+    private final BiConsumer<K, V> evictionListener;
+
+    /**
+     * Creates a new BoundedCache instance.
+     *
+     * @param maximumSize Maximum number of entries
+     * @param expiry Time after which an entry expires
+     * @param refreshOnAccess Whether reads restart the expiry time and count as use
+     * @throws IllegalArgumentException if the size or the expiry is not positive
+     */
+    public BoundedCache(int maximumSize, Duration expiry, boolean refreshOnAccess) {
+        this(maximumSize, expiry, refreshOnAccess, System::nanoTime, (key, value) -> {
+        });
+    }
+
+    /**
+     * Creates a new BoundedCache instance with an explicit time source and
+     * eviction listener.
+     *
+     * @param maximumSize Maximum number of entries
+     * @param expiry Time after which an entry expires
+     * @param refreshOnAccess Whether reads restart the expiry time and count as use
+     * @param ticker Monotonic time source in nanoseconds
+     * @param evictionListener Called with entries dropped on expiry or for size
+     * @throws IllegalArgumentException if the size or the expiry is not positive
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BoundedCache(int maximumSize, Duration expiry, boolean refreshOnAccess,
+                        LongSupplier ticker, BiConsumer<K, V> evictionListener) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        if (expiry.isNegative() || expiry.isZero()) {
+            throw new IllegalArgumentException("Expiry must be positive");
+        }
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && maximumSize / (segmentCount * 2) >= MIN_SEGMENT_SIZE) {
+            segmentCount *= 2;
+        }
+        int segmentSize = (maximumSize + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentSize);
+        }
+        this.segmentMask = segmentCount - 1;
+        this.expiryNanos = expiry.toNanos();
+        this.refreshOnAccess = refreshOnAccess;
+        this.ticker = ticker;
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key The key
+     * @return The value, or null if absent or expired
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = ticker.getAsLong();
+        synchronized (segment) {
+            Node<V> node = segment.get(key);
+            if (node == null) {
+                return null;
+            }
+            if (isExpired(node, now)) {
+                segment.remove(key);
+                evictionListener.accept(key, node.value);
+                return null;
+            }
+            if (refreshOnAccess) {
+                touch(segment, key, node, now);
+            }
+            return node.value;
+        }
+    }
+
+    /**
+     * Associates a value with a key, replacing any previous value.
+     *
+     * @param key The key
+     * @param value The value
+     */
+    public void put(K key, V value) {
+        compute(key, (k, previous) -> value);
+    }
+
+    /**
+     * Gets the value of a key, creating it if absent or expired.
+     *
+     * @param key The key
+     * @param factory Creates the value; called under the segment's lock
+     * @return The current or created value
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        return compute(key, (k, previous) -> previous != null ? previous : factory.apply(k));
+    }
+
+    /**
+     * Replaces the value of a key with the result of a function. A value that
+     * is kept as is stays in its place in the eviction order and keeps its
+     * expiry time, unless the cache refreshes on access.
+     *
+     * @param key The key
+     * @param function Maps the current value, null if absent or expired, to
+     *                 the new one, or to null to remove it; called under the segment's lock
+     * @return The new value, or null if removed
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = ticker.getAsLong();
+        synchronized (segment) {
+            Node<V> node = segment.get(key);
+            if (node != null && isExpired(node, now)) {
+                segment.remove(key);
+                evictionListener.accept(key, node.value);
+                node = null;
+            }
+            V previous = node != null ? node.value : null;
+            V updated = function.apply(key, previous);
+            if (updated == null) {
+                if (node != null) {
+                    segment.remove(key);
+                }
+            } else if (node == null || updated != previous) {
+                // Re-inserting moves the key to the young end
+                segment.remove(key);
+                segment.put(key, new Node<>(updated, now));
+            } else if (refreshOnAccess) {
+                touch(segment, key, node, now);
+            }
+            evict(segment, now);
+            return updated;
+        }
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key The key
+     * @return The removed value, or null if absent or expired
+     */
+    public V remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = ticker.getAsLong();
+        synchronized (segment) {
+            Node<V> node = segment.remove(key);
+            return node == null || isExpired(node, now) ? null : node.value;
+        }
+    }
+
+    /**
+     * Removes a key if it maps to the given value.
+     *
+     * @param key The key
+     * @param value The expected value
+     * @return true if the value was removed
+     */
+    public boolean remove(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Node<V> node = segment.get(key);
+            if (node == null || node.value != value) {
+                return false;
+            }
+            segment.remove(key);
+            return true;
+        }
+    }
+
+    /**
+     * Gets the number of entries, including expired ones not dropped yet.
+     *
+     * @return The entry count
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes all entries without notifying the eviction listener.
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & segmentMask];
+    }
+
+    /**
+     * Restarts the expiry time of an entry and moves it to the young end.
+     */
+    private static <K, V> void touch(Segment<K, V> segment, K key, Node<V> node, long now) {
+        node.touchedAtNanos = now;
+        segment.remove(key);
+        segment.put(key, node);
+    }
+
+    private boolean isExpired(Node<V> node, long now) {
+        return now - node.touchedAtNanos >= expiryNanos;
+    }
+
+    /**
+     * Drops expired entries from the old end of a segment, then the oldest
+     * entries while the segment is over its size.
+     */
+    private void evict(Segment<K, V> segment, long now) {
+        Iterator<Map.Entry<K, Node<V>>> oldest = segment.entrySet().iterator();
+        while (oldest.hasNext()) {
+            Map.Entry<K, Node<V>> entry = oldest.next();
+            if (segment.size() <= segment.capacity && !isExpired(entry.getValue(), now)) {
+                return;
+            }
+            oldest.remove();
+            evictionListener.accept(entry.getKey(), entry.getValue().value);
+        }
+    }
+
+    /**
+     * Entries of one segment in insertion order, which is kept as the order
+     * in which they were last written, or used when the cache refreshes on
+     * access, by re-inserting touched entries.
+     */
+    private static final class Segment<K, V> extends LinkedHashMap<K, Node<V>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    /**
+     * A value with the time it was last written, or used when the cache
+     * refreshes on access.
+     */
+    private static final class Node<V> {
+        private final V value;
+        private long touchedAtNanos;
+
+        Node(V value, long touchedAtNanos) {
+            this.value = value;
+            this.touchedAtNanos = touchedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.cred.loan.core.exception;
+
+/**
+ * Exception thrown when an offer request is shed because the offer
+ * generation pipeline is at its concurrency limit.
+ * The request was not started, so the caller may retry later.
+ */
+public class OfferGenerationRejectedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new offer generation rejected exception with a message.
+     *
+     * @param message The error message
+     */
+    public OfferGenerationRejectedException(String message) {
+        super(message);
+    }
+}
@@ -32,4 +32,40 @@ public interface BaseOffer {
      * @return The processing fee
      */
     Double getProcessingFee();
-} 
\ No newline at end of file
+
+    /**
+     * Gets the loan amount without boxing.
+     *
+     * @return The loan amount
+     */
+    default double amount() {
+        return getAmount();
+    }
+
+    /**
+     * Gets the loan tenure in months without boxing.
+     *
+     * @return The loan tenure in months
+     */
+    default int tenure() {
+        return getTenure();
+    }
+
+    /**
+     * Gets the rate of interest without boxing.
+     *
+     * @return The rate of interest
+     */
+    default double roi() {
+        return getROI();
+    }
+
+    /**
+     * Gets the processing fee without boxing.
+     *
+     * @return The processing fee
+     */
+    default double processingFee() {
+        return getProcessingFee();
+    }
+}
@@ -0,0 +1,34 @@
+package com.cred.loan.core.model;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Tier of the city a user lives in.
+ */
+public enum CityTier {
+    TIER_1,
+    TIER_2,
+    TIER_3,
+    UNKNOWN;
+
+    private static final Set<String> TIER1_CITIES = Set.of("mumbai", "delhi", "bangalore", "hyderabad", "chennai");
+    private static final Set<String> TIER2_CITIES = Set.of("pune", "ahmedabad", "kolkata", "jaipur", "lucknow");
+
+    /**
+     * Gets the tier of a city. Cities not listed as tier 1 or 2 are tier 3.
+     *
+     * @param city The city name, in any case; may be null
+     * @return The city tier, {@link #UNKNOWN} if the city is null or blank
+     */
+    public static CityTier of(String city) {
+        if (city == null || city.isBlank()) {
+            return UNKNOWN;
+        }
+        String normalized = city.trim().toLowerCase(Locale.ROOT);
+        if (TIER1_CITIES.contains(normalized)) {
+            return TIER_1;
+        }
+        return TIER2_CITIES.contains(normalized) ? TIER_2 : TIER_3;
+    }
+}
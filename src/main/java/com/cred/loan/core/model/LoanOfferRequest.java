@@ -1,10 +1,17 @@
 package com.cred.loan.core.model;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Class representing a request for loan offer generation.
  * Contains all necessary information to generate personalized loan offers.
+ * A speculative request is issued ahead of an expected user request, with
+ * nobody waiting for the answer. Speculation is not part of a request's
+ * identity: a speculative request equals the user request it anticipates,
+ * so the two share in-flight computations and cached responses.
  */
 public class LoanOfferRequest {
     private final String userId;
@@ -12,9 +19,11 @@ public class LoanOfferRequest {
     private final Integer preferredTenure;
     private final String purpose;
     private final String source;
+    private final Set<ResponseField> fields;
+    private final boolean speculative;
 
     /**
-     * Creates a new loan offer request.
+     * Creates a new loan offer request without any optional response sections.
      *
      * @param userId The user ID
      * @param requestedAmount The requested loan amount
@@ -24,11 +33,56 @@ public class LoanOfferRequest {
      */
     public LoanOfferRequest(String userId, Double requestedAmount, Integer preferredTenure, 
                           String purpose, String source) {
+        this(userId, requestedAmount, preferredTenure, purpose, source, Collections.emptySet());
+    }
+
+    /**
+     * Creates a new loan offer request.
+     *
+     * @param userId The user ID
+     * @param requestedAmount The requested loan amount
+     * @param preferredTenure The preferred loan tenure in months
+     * @param purpose The purpose of the loan
+     * @param source The source of the request
+     * @param fields The optional response sections to compute and return
+     */
+    public LoanOfferRequest(String userId, Double requestedAmount, Integer preferredTenure,
+                          String purpose, String source, Set<ResponseField> fields) {
         this.userId = Objects.requireNonNull(userId, "User ID cannot be null");
         this.requestedAmount = Objects.requireNonNull(requestedAmount, "Requested amount cannot be null");
         this.preferredTenure = Objects.requireNonNull(preferredTenure, "Preferred tenure cannot be null");
         this.purpose = Objects.requireNonNull(purpose, "Purpose cannot be null");
         this.source = Objects.requireNonNull(source, "Source cannot be null");
+        this.fields = copyFields(Objects.requireNonNull(fields, "Fields cannot be null"));
+        this.speculative = false;
+    }
+
+    private LoanOfferRequest(LoanOfferRequest request, boolean speculative) {
+        this.userId = request.userId;
+        this.requestedAmount = request.requestedAmount;
+        this.preferredTenure = request.preferredTenure;
+        this.purpose = request.purpose;
+        this.source = request.source;
+        this.fields = request.fields;
+        this.speculative = speculative;
+    }
+
+    /**
+     * Creates a speculative copy of this request.
+     *
+     * @return An equal request marked as speculative
+     */
+    public LoanOfferRequest asSpeculative() {
+        return speculative ? this : new LoanOfferRequest(this, true);
+    }
+
+    /**
+     * Checks whether this request was issued ahead of an expected user request.
+     *
+     * @return true if nobody is waiting for the response
+     */
+    public boolean isSpeculative() {
+        return speculative;
     }
 
     /**
@@ -76,6 +130,25 @@ public class LoanOfferRequest {
         return source;
     }
 
+    /**
+     * Gets the optional response sections selected by this request.
+     *
+     * @return Unmodifiable set of selected fields
+     */
+    public Set<ResponseField> getFields() {
+        return fields;
+    }
+
+    /**
+     * Checks whether an optional response section was selected.
+     *
+     * @param field The response field
+     * @return true if the field should be computed and returned
+     */
+    public boolean isSelected(ResponseField field) {
+        return fields.contains(field);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -85,12 +158,13 @@ public class LoanOfferRequest {
                Objects.equals(requestedAmount, that.requestedAmount) &&
                Objects.equals(preferredTenure, that.preferredTenure) &&
                Objects.equals(purpose, that.purpose) &&
-               Objects.equals(source, that.source);
+               Objects.equals(source, that.source) &&
+               Objects.equals(fields, that.fields);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(userId, requestedAmount, preferredTenure, purpose, source);
+        return Objects.hash(userId, requestedAmount, preferredTenure, purpose, source, fields);
     }
 
     @Override
@@ -101,6 +175,15 @@ public class LoanOfferRequest {
                ", preferredTenure=" + preferredTenure +
                ", purpose='" + purpose + '\'' +
                ", source='" + source + '\'' +
+               ", fields=" + fields +
+               (speculative ? ", speculative=true" : "") +
                '}';
     }
+
+    private static Set<ResponseField> copyFields(Set<ResponseField> fields) {
+        if (fields.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(EnumSet.copyOf(fields));
+    }
 } 
\ No newline at end of file
@@ -1,17 +1,39 @@
 package com.cred.loan.core.model;
 
+import com.cred.loan.core.pipeline.PipelineStage;
+
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Class representing the response containing ranked loan offers.
  * Contains a list of ranked offers and metadata about the offer generation process.
+ * Optional sections such as risk explanations are only rendered when the
+ * corresponding {@link ResponseField} was selected on the request.
+ * A response is degraded when one or more pipeline stages missed their budget
+ * and were answered from precomputed defaults instead.
+ * A precomputed response was generated for a speculative request, ahead of
+ * the user request it is served to. The price segment is that of the user the
+ * offers were generated for, used to attribute the offer shown on top. Both
+ * are serving metadata and not part of the rendered response.
+ * Responses are serializable when their offers and risk assessment are, which
+ * holds for the implementations in {@code core.model.impl}.
  */
-public class LoanOfferResponse {
+public class LoanOfferResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final List<RankedOffer> offers;
     private final String requestId;
     private final long generationTimeMillis;
+    private final RiskAssessmentResult riskAssessment;
+    private final Set<ResponseField> fields;
+    private final Set<PipelineStage> degradedStages;
+    private final boolean precomputed;
+    private final int priceSegment;
 
     /**
      * Creates a new loan offer response.
@@ -21,9 +43,76 @@ public class LoanOfferResponse {
      * @param generationTimeMillis The time taken to generate offers in milliseconds
      */
     public LoanOfferResponse(List<RankedOffer> offers, String requestId, long generationTimeMillis) {
+        this(offers, requestId, generationTimeMillis, null, Collections.emptySet());
+    }
+
+    /**
+     * Creates a new loan offer response with optional sections.
+     *
+     * @param offers The list of ranked offers
+     * @param requestId The unique identifier for this request
+     * @param generationTimeMillis The time taken to generate offers in milliseconds
+     * @param riskAssessment The risk assessment backing the optional risk sections, may be null
+     * @param fields The optional sections selected by the request
+     */
+    public LoanOfferResponse(
+            List<RankedOffer> offers,
+            String requestId,
+            long generationTimeMillis,
+            RiskAssessmentResult riskAssessment,
+            Set<ResponseField> fields) {
+        this(offers, requestId, generationTimeMillis, riskAssessment, fields, Collections.emptySet());
+    }
+
+    /**
+     * Creates a new loan offer response with optional sections.
+     *
+     * @param offers The list of ranked offers
+     * @param requestId The unique identifier for this request
+     * @param generationTimeMillis The time taken to generate offers in milliseconds
+     * @param riskAssessment The risk assessment backing the optional risk sections, may be null
+     * @param fields The optional sections selected by the request
+     * @param degradedStages The pipeline stages answered from defaults
+     */
+    public LoanOfferResponse(
+            List<RankedOffer> offers,
+            String requestId,
+            long generationTimeMillis,
+            RiskAssessmentResult riskAssessment,
+            Set<ResponseField> fields,
+            Set<PipelineStage> degradedStages) {
+        this(offers, requestId, generationTimeMillis, riskAssessment, fields, degradedStages, false, -1);
+    }
+
+    /**
+     * Creates a new loan offer response with optional sections and serving metadata.
+     *
+     * @param offers The list of ranked offers
+     * @param requestId The unique identifier for this request
+     * @param generationTimeMillis The time taken to generate offers in milliseconds
+     * @param riskAssessment The risk assessment backing the optional risk sections, may be null
+     * @param fields The optional sections selected by the request
+     * @param degradedStages The pipeline stages answered from defaults
+     * @param precomputed Whether the response was generated for a speculative request
+     * @param priceSegment Price segment of the user, or -1 if the user data was not available
+     */
+    public LoanOfferResponse(
+            List<RankedOffer> offers,
+            String requestId,
+            long generationTimeMillis,
+            RiskAssessmentResult riskAssessment,
+            Set<ResponseField> fields,
+            Set<PipelineStage> degradedStages,
+            boolean precomputed,
+            int priceSegment) {
         this.offers = Collections.unmodifiableList(Objects.requireNonNull(offers, "Offers cannot be null"));
         this.requestId = Objects.requireNonNull(requestId, "Request ID cannot be null");
         this.generationTimeMillis = generationTimeMillis;
+        this.riskAssessment = riskAssessment;
+        this.fields = Objects.requireNonNull(fields, "Fields cannot be null");
+        this.degradedStages = Objects.requireNonNull(degradedStages, "Degraded stages cannot be null");
+        this.precomputed = precomputed;
+        this.priceSegment = priceSegment;
     }
 
     /**
@@ -44,6 +133,28 @@ public class LoanOfferResponse {
         return requestId;
     }
 
+    /**
+     * Creates a copy of this response under a different request identifier.
+     *
+     * @param requestId The request ID for the copy
+     * @return A response sharing this response's offers and sections
+     */
+    public LoanOfferResponse withRequestId(String requestId) {
+        return new LoanOfferResponse(offers, requestId, generationTimeMillis, riskAssessment, fields,
+            degradedStages, precomputed, priceSegment);
+    }
+
+    /**
+     * Creates a copy of this response with different offers.
+     *
+     * @param offers The offers of the copy, in rank order
+     * @return A response sharing this response's sections and metadata
+     */
+    public LoanOfferResponse withOffers(List<RankedOffer> offers) {
+        return new LoanOfferResponse(offers, requestId, generationTimeMillis, riskAssessment, fields,
+            degradedStages, precomputed, priceSegment);
+    }
+
     /**
      * Gets the time taken to generate offers.
      *
@@ -53,6 +164,96 @@ public class LoanOfferResponse {
         return generationTimeMillis;
     }
 
+    /**
+     * Gets the risk assessment backing the optional risk sections.
+     *
+     * @return The risk assessment, or null if none was attached
+     */
+    public RiskAssessmentResult getRiskAssessment() {
+        return riskAssessment;
+    }
+
+    /**
+     * Gets the optional sections selected for this response.
+     *
+     * @return The selected fields
+     */
+    public Set<ResponseField> getFields() {
+        return fields;
+    }
+
+    /**
+     * Checks whether an optional section is included in this response.
+     *
+     * @param field The response field
+     * @return true if the section was selected and can be rendered
+     */
+    public boolean isSelected(ResponseField field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Checks whether any pipeline stage was answered from defaults.
+     *
+     * @return true if the response is degraded
+     */
+    public boolean isDegraded() {
+        return !degradedStages.isEmpty();
+    }
+
+    /**
+     * Gets the pipeline stages that missed their budget.
+     *
+     * @return The degraded stages, empty if the response is complete
+     */
+    public Set<PipelineStage> getDegradedStages() {
+        return degradedStages;
+    }
+
+    /**
+     * Checks whether the response was generated for a speculative request.
+     *
+     * @return true if the response was precomputed
+     */
+    public boolean isPrecomputed() {
+        return precomputed;
+    }
+
+    /**
+     * Gets the price segment of the user the offers were generated for.
+     *
+     * @return The segment index, or -1 if the user data was not available
+     */
+    public int getPriceSegment() {
+        return priceSegment;
+    }
+
+    /**
+     * Gets the identified risk factors. Rendered only if {@link ResponseField#RISK_FACTORS}
+     * was selected.
+     *
+     * @return The risk factor names, or an empty set if not selected
+     */
+    public Set<String> getRiskFactors() {
+        if (riskAssessment == null || !isSelected(ResponseField.RISK_FACTORS)) {
+            return Collections.emptySet();
+        }
+        return riskAssessment.getRiskFactors();
+    }
+
+    /**
+     * Gets the explanations for each risk factor. Rendered only if
+     * {@link ResponseField#RISK_EXPLANATIONS} was selected.
+     *
+     * @return Map of risk factor to explanation, or an empty map if not selected
+     */
+    public Map<String, String> getRiskFactorExplanations() {
+        if (riskAssessment == null || !isSelected(ResponseField.RISK_EXPLANATIONS)) {
+            return Collections.emptyMap();
+        }
+        return riskAssessment.getRiskFactorExplanations();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -60,12 +261,14 @@ public class LoanOfferResponse {
         LoanOfferResponse that = (LoanOfferResponse) o;
         return generationTimeMillis == that.generationTimeMillis &&
                Objects.equals(offers, that.offers) &&
-               Objects.equals(requestId, that.requestId);
+               Objects.equals(requestId, that.requestId) &&
+               Objects.equals(fields, that.fields) &&
+               Objects.equals(degradedStages, that.degradedStages);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(offers, requestId, generationTimeMillis);
+        return Objects.hash(offers, requestId, generationTimeMillis, fields, degradedStages);
     }
 
     @Override
@@ -74,6 +277,8 @@ public class LoanOfferResponse {
                "offers=" + offers +
                ", requestId='" + requestId + '\'' +
                ", generationTimeMillis=" + generationTimeMillis +
+               ", fields=" + fields +
+               ", degradedStages=" + degradedStages +
                '}';
     }
-} 
\ No newline at end of file
+}
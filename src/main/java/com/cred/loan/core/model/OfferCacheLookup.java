@@ -0,0 +1,30 @@
+package com.cred.loan.core.model;
+
+import java.util.Optional;
+
+/**
+ * Result of an offer response cache lookup.
+ * Besides the cached response, a lookup carries the version of the user's
+ * cache entries it was read under. A response computed after a miss is stored
+ * under that version, so a change to the user's inputs in the meantime, which
+ * moves the user to a new version, leaves it unreachable.
+ *
+ * @param response The cached response with a fresh request ID, or null on a miss
+ * @param version The version of the user's entries, or null if the cache could not be read
+ */
+public record OfferCacheLookup(LoanOfferResponse response, String version) {
+
+    /**
+     * Lookup of a cache that could not be read in time; nothing is stored after it.
+     */
+    public static final OfferCacheLookup UNAVAILABLE = new OfferCacheLookup(null, null);
+
+    /**
+     * Gets the cached response.
+     *
+     * @return The cached response, or empty on a miss
+     */
+    public Optional<LoanOfferResponse> cached() {
+        return Optional.ofNullable(response);
+    }
+}
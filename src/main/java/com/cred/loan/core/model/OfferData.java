@@ -75,4 +75,67 @@ public interface OfferData {
      * @return The creation timestamp
      */
     LocalDateTime getCreatedAt();
-} 
\ No newline at end of file
+
+    /**
+     * Gets the loan amount without boxing.
+     *
+     * @return The loan amount
+     */
+    default double amount() {
+        return getAmount();
+    }
+
+    /**
+     * Gets the loan tenure in months without boxing.
+     *
+     * @return The loan tenure in months
+     */
+    default int tenure() {
+        return getTenure();
+    }
+
+    /**
+     * Gets the base ROI without boxing.
+     *
+     * @return The base ROI
+     */
+    default double baseRoi() {
+        return getBaseROI();
+    }
+
+    /**
+     * Gets the adjusted ROI without boxing.
+     *
+     * @return The adjusted ROI
+     */
+    default double adjustedRoi() {
+        return getAdjustedROI();
+    }
+
+    /**
+     * Gets the processing fee without boxing.
+     *
+     * @return The processing fee
+     */
+    default double processingFee() {
+        return getProcessingFee();
+    }
+
+    /**
+     * Gets the risk score without boxing.
+     *
+     * @return The risk score
+     */
+    default double riskScore() {
+        return getRiskScore();
+    }
+
+    /**
+     * Gets the conversion probability without boxing.
+     *
+     * @return The conversion probability
+     */
+    default double conversionProbability() {
+        return getConversionProbability();
+    }
+}
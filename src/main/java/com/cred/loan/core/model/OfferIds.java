@@ -0,0 +1,63 @@
+package com.cred.loan.core.model;
+
+/**
+ * Identifiers of served offers.
+ * An offer is identified by the request ID of the response it was served in
+ * and its rank there, so interactions can be matched to what the user saw
+ * without storing the offers themselves.
+ */
+public final class OfferIds {
+    private static final char SEPARATOR = ':';
+
+    private OfferIds() {
+    }
+
+    /**
+     * Gets the ID of a served offer.
+     *
+     * @param requestId The request ID of the response
+     * @param rank The rank of the offer in the response
+     * @return The offer ID
+     */
+    public static String of(String requestId, int rank) {
+        return requestId + SEPARATOR + rank;
+    }
+
+    /**
+     * Gets the request ID of the response an offer was served in.
+     *
+     * @param offerId The offer ID, may be null
+     * @return The request ID, or null if the offer ID is malformed
+     */
+    public static String requestId(String offerId) {
+        int separator = separator(offerId);
+        return separator < 0 ? null : offerId.substring(0, separator);
+    }
+
+    /**
+     * Gets the rank of a served offer.
+     *
+     * @param offerId The offer ID, may be null
+     * @return The rank, or -1 if the offer ID is malformed
+     */
+    public static int rank(String offerId) {
+        int separator = separator(offerId);
+        if (separator < 0) {
+            return -1;
+        }
+        try {
+            int rank = Integer.parseInt(offerId, separator + 1, offerId.length(), 10);
+            return rank > 0 ? rank : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int separator(String offerId) {
+        if (offerId == null) {
+            return -1;
+        }
+        int separator = offerId.lastIndexOf(SEPARATOR);
+        return separator > 0 && separator < offerId.length() - 1 ? separator : -1;
+    }
+}
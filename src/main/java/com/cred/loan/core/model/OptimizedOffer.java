@@ -32,4 +32,51 @@ public interface OptimizedOffer {
      * @return The conversion probability
      */
     Double getConversionProbability();
-} 
\ No newline at end of file
+
+    /**
+     * Gets the adjusted rate of interest without boxing.
+     *
+     * @return The adjusted rate of interest
+     */
+    default double adjustedRoi() {
+        return getAdjustedROI();
+    }
+
+    /**
+     * Gets the risk impact score without boxing.
+     *
+     * @return The risk impact score
+     */
+    default double riskImpact() {
+        return getRiskImpact();
+    }
+
+    /**
+     * Gets the conversion probability without boxing.
+     *
+     * @return The conversion probability
+     */
+    default double conversionProbability() {
+        return getConversionProbability();
+    }
+
+    /**
+     * Gets the processing fee after optimization.
+     * Defaults to the base offer's fee for implementations that do not adjust it.
+     *
+     * @return The adjusted processing fee
+     */
+    default double adjustedProcessingFee() {
+        return getBaseOffer().processingFee();
+    }
+
+    /**
+     * Gets the tenure in months after optimization.
+     * Defaults to the base offer's tenure for implementations that do not adjust it.
+     *
+     * @return The adjusted tenure
+     */
+    default int adjustedTenure() {
+        return getBaseOffer().tenure();
+    }
+}
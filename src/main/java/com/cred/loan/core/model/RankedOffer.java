@@ -25,4 +25,22 @@ public interface RankedOffer {
      * @return The rank position
      */
     Integer getRank();
-} 
\ No newline at end of file
+
+    /**
+     * Gets the offer score without boxing.
+     *
+     * @return The offer score
+     */
+    default double score() {
+        return getScore();
+    }
+
+    /**
+     * Gets the rank position without boxing.
+     *
+     * @return The rank position
+     */
+    default int rank() {
+        return getRank();
+    }
+}
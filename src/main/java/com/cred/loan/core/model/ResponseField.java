@@ -0,0 +1,79 @@
+package com.cred.loan.core.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Enum representing the optional sections of a loan offer response.
+ * These sections are expensive to render, so they are only computed and
+ * serialized when a request explicitly selects them.
+ */
+public enum ResponseField {
+    /**
+     * Names of the risk factors identified for the user.
+     */
+    RISK_FACTORS("riskFactors"),
+
+    /**
+     * Human-readable explanations for each identified risk factor.
+     */
+    RISK_EXPLANATIONS("riskExplanations"),
+
+    /**
+     * Per-offer adjustments applied to ROI, processing fee and tenure.
+     */
+    TERM_ADJUSTMENTS("termAdjustments");
+
+    private static final ResponseField[] FIELDS = values();
+
+    private final String fieldName;
+
+    ResponseField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    /**
+     * Gets the name used for this section in serialized responses.
+     *
+     * @return The field name
+     */
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Parses a comma-separated list of field names, e.g. {@code "riskFactors,termAdjustments"}.
+     *
+     * @param fields The field names, may be null or blank
+     * @return Unmodifiable set of the selected fields
+     * @throws IllegalArgumentException if a field name is not recognised
+     */
+    public static Set<ResponseField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return Collections.emptySet();
+        }
+
+        Set<ResponseField> selected = EnumSet.noneOf(ResponseField.class);
+        for (String name : fields.split(",")) {
+            selected.add(fromFieldName(name.trim()));
+        }
+        return Collections.unmodifiableSet(selected);
+    }
+
+    /**
+     * Resolves a field from its serialized name.
+     *
+     * @param fieldName The field name
+     * @return The matching field
+     * @throws IllegalArgumentException if the name is not recognised
+     */
+    public static ResponseField fromFieldName(String fieldName) {
+        for (ResponseField field : FIELDS) {
+            if (field.fieldName.equals(fieldName)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown response field: " + fieldName);
+    }
+}
@@ -0,0 +1,90 @@
+package com.cred.loan.core.model;
+
+/**
+ * Enum representing the user inputs that can be varied in a what-if sweep.
+ * Each input records which pipeline stages read it, so that stages it does
+ * not feed can be computed once and shared by every point of a sweep.
+ */
+public enum WhatIfInput {
+    /**
+     * The user's credit score.
+     */
+    CREDIT_SCORE("creditScore", true, false),
+
+    /**
+     * The user's income.
+     */
+    INCOME("income", true, true),
+
+    /**
+     * The user's existing debt.
+     */
+    EXISTING_DEBT("existingDebt", true, false),
+
+    /**
+     * The user's age in years.
+     */
+    AGE("age", true, true),
+
+    /**
+     * The user's employment tenure in months.
+     */
+    EMPLOYMENT_TENURE("employmentTenure", true, false);
+
+    private static final WhatIfInput[] INPUTS = values();
+
+    private final String inputName;
+    private final boolean affectsRisk;
+    private final boolean affectsBehavior;
+
+    WhatIfInput(String inputName, boolean affectsRisk, boolean affectsBehavior) {
+        this.inputName = inputName;
+        this.affectsRisk = affectsRisk;
+        this.affectsBehavior = affectsBehavior;
+    }
+
+    /**
+     * Gets the name used for this input in requests.
+     *
+     * @return The input name
+     */
+    public String getInputName() {
+        return inputName;
+    }
+
+    /**
+     * Checks whether the risk assessment reads this input.
+     *
+     * @return true if risk must be reassessed when the input changes
+     */
+    public boolean affectsRisk() {
+        return affectsRisk;
+    }
+
+    /**
+     * Checks whether the heuristic behavior analysis reads this input. A trained
+     * conversion model reads every input, so callers must treat behavior as
+     * affected while one is active.
+     *
+     * @return true if behavior must be reanalyzed when the input changes
+     */
+    public boolean affectsBehavior() {
+        return affectsBehavior;
+    }
+
+    /**
+     * Resolves an input from its name.
+     *
+     * @param inputName The input name
+     * @return The matching input
+     * @throws IllegalArgumentException if the name is not recognised
+     */
+    public static WhatIfInput fromInputName(String inputName) {
+        for (WhatIfInput input : INPUTS) {
+            if (input.inputName.equals(inputName)) {
+                return input;
+            }
+        }
+        throw new IllegalArgumentException("Unknown what-if input: " + inputName);
+    }
+}
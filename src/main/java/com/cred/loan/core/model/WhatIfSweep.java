@@ -0,0 +1,120 @@
+package com.cred.loan.core.model;
+
+import com.cred.loan.core.pipeline.PipelineStage;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Class representing the result of a what-if sweep: the offers generated for
+ * each value of a single varied input, in the order the values were given.
+ */
+public class WhatIfSweep {
+    private final String userId;
+    private final WhatIfInput input;
+    private final List<Point> points;
+    private final Set<PipelineStage> sharedStages;
+    private final long generationTimeMillis;
+
+    /**
+     * Creates a new what-if sweep.
+     *
+     * @param userId The ID of the user
+     * @param input The varied input
+     * @param points The sweep points in input order
+     * @param sharedStages The stages computed once and shared by all points
+     * @param generationTimeMillis The time taken to compute the sweep in milliseconds
+     */
+    public WhatIfSweep(
+            String userId,
+            WhatIfInput input,
+            List<Point> points,
+            Set<PipelineStage> sharedStages,
+            long generationTimeMillis) {
+        this.userId = Objects.requireNonNull(userId, "User ID cannot be null");
+        this.input = Objects.requireNonNull(input, "Input cannot be null");
+        this.points = Collections.unmodifiableList(Objects.requireNonNull(points, "Points cannot be null"));
+        this.sharedStages = Objects.requireNonNull(sharedStages, "Shared stages cannot be null");
+        this.generationTimeMillis = generationTimeMillis;
+    }
+
+    /**
+     * Gets the ID of the user.
+     *
+     * @return The user ID
+     */
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * Gets the varied input.
+     *
+     * @return The input
+     */
+    public WhatIfInput getInput() {
+        return input;
+    }
+
+    /**
+     * Gets the sweep points.
+     *
+     * @return Unmodifiable list of points in input order
+     */
+    public List<Point> getPoints() {
+        return points;
+    }
+
+    /**
+     * Gets the stages that did not depend on the input and were computed once.
+     *
+     * @return The shared stages
+     */
+    public Set<PipelineStage> getSharedStages() {
+        return sharedStages;
+    }
+
+    /**
+     * Gets the time taken to compute the sweep.
+     *
+     * @return The generation time in milliseconds
+     */
+    public long getGenerationTimeMillis() {
+        return generationTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "WhatIfSweep{" +
+               "userId='" + userId + '\'' +
+               ", input=" + input +
+               ", points=" + points.size() +
+               ", sharedStages=" + sharedStages +
+               ", generationTimeMillis=" + generationTimeMillis +
+               '}';
+    }
+
+    /**
+     * A single point of a sweep.
+     */
+    public static class Point {
+        private final double value;
+        private final LoanOfferResponse response;
+
+        /**
+         * Creates a new sweep point.
+         *
+         * @param value The input value
+         * @param response The offers generated for the value
+         */
+        public Point(double value, LoanOfferResponse response) {
+            this.value = value;
+            this.response = Objects.requireNonNull(response, "Response cannot be null");
+        }
+
+        public double getValue() { return value; }
+        public LoanOfferResponse getResponse() { return response; }
+    }
+}
@@ -2,21 +2,23 @@ package com.cred.loan.core.model.impl;
 
 import com.cred.loan.core.model.BaseOffer;
 
+import java.io.Serializable;
+
 /**
  * Implementation of the BaseOffer interface.
+ * Terms are stored as primitives; the boxed getters are kept for callers of the
+ * original interface and box only when invoked.
+ *
+ * @param amount The loan amount
+ * @param tenure The loan tenure in months
+ * @param roi The rate of interest
+ * @param processingFee The processing fee
  */
-public class BaseOfferImpl implements BaseOffer {
-    private final Double amount;
-    private final Integer tenure;
-    private final Double roi;
-    private final Double processingFee;
-
-    public BaseOfferImpl(Double amount, Integer tenure, Double roi, Double processingFee) {
-        this.amount = amount;
-        this.tenure = tenure;
-        this.roi = roi;
-        this.processingFee = processingFee;
-    }
+public record BaseOfferImpl(
+        double amount,
+        int tenure,
+        double roi,
+        double processingFee) implements BaseOffer, Serializable {
 
     @Override
     public Double getAmount() {
@@ -37,4 +39,4 @@ public class BaseOfferImpl implements BaseOffer {
     public Double getProcessingFee() {
         return processingFee;
     }
-} 
\ No newline at end of file
+}
@@ -6,41 +6,29 @@ import java.time.LocalDateTime;
 
 /**
  * Implementation of the OfferData interface.
+ *
+ * @param offerId The offer ID
+ * @param userId The user ID
+ * @param amount The loan amount
+ * @param tenure The loan tenure in months
+ * @param baseRoi The base ROI
+ * @param adjustedRoi The adjusted ROI
+ * @param processingFee The processing fee
+ * @param riskScore The risk score
+ * @param conversionProbability The conversion probability
+ * @param createdAt The creation timestamp
  */
-public class OfferDataImpl implements OfferData {
-    private final String offerId;
-    private final String userId;
-    private final Double amount;
-    private final Integer tenure;
-    private final Double baseROI;
-    private final Double adjustedROI;
-    private final Double processingFee;
-    private final Double riskScore;
-    private final Double conversionProbability;
-    private final LocalDateTime createdAt;
-
-    public OfferDataImpl(
-            String offerId,
-            String userId,
-            Double amount,
-            Integer tenure,
-            Double baseROI,
-            Double adjustedROI,
-            Double processingFee,
-            Double riskScore,
-            Double conversionProbability,
-            LocalDateTime createdAt) {
-        this.offerId = offerId;
-        this.userId = userId;
-        this.amount = amount;
-        this.tenure = tenure;
-        this.baseROI = baseROI;
-        this.adjustedROI = adjustedROI;
-        this.processingFee = processingFee;
-        this.riskScore = riskScore;
-        this.conversionProbability = conversionProbability;
-        this.createdAt = createdAt;
-    }
+public record OfferDataImpl(
+        String offerId,
+        String userId,
+        double amount,
+        int tenure,
+        double baseRoi,
+        double adjustedRoi,
+        double processingFee,
+        double riskScore,
+        double conversionProbability,
+        LocalDateTime createdAt) implements OfferData {
 
     @Override
     public String getOfferId() {
@@ -64,12 +52,12 @@ public class OfferDataImpl implements OfferData {
 
     @Override
     public Double getBaseROI() {
-        return baseROI;
+        return baseRoi;
     }
 
     @Override
     public Double getAdjustedROI() {
-        return adjustedROI;
+        return adjustedRoi;
     }
 
     @Override
@@ -91,4 +79,4 @@ public class OfferDataImpl implements OfferData {
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
-} 
\ No newline at end of file
+}
@@ -3,24 +3,41 @@ package com.cred.loan.core.model.impl;
 import com.cred.loan.core.model.BaseOffer;
 import com.cred.loan.core.model.OptimizedOffer;
 
+import java.io.Serializable;
+
 /**
  * Implementation of OptimizedOffer interface.
+ *
+ * @param baseOffer The base offer before optimization
+ * @param adjustedRoi The adjusted rate of interest
+ * @param adjustedProcessingFee The adjusted processing fee
+ * @param adjustedTenure The adjusted tenure in months
+ * @param riskImpact The risk impact score of the optimization
+ * @param conversionProbability The probability of offer acceptance
  */
-public class OptimizedOfferImpl implements OptimizedOffer {
-    private final BaseOffer baseOffer;
-    private final Double adjustedROI;
-    private final Double riskImpact;
-    private final Double conversionProbability;
+public record OptimizedOfferImpl(
+        BaseOffer baseOffer,
+        double adjustedRoi,
+        double adjustedProcessingFee,
+        int adjustedTenure,
+        double riskImpact,
+        double conversionProbability) implements OptimizedOffer, Serializable {
 
+    /**
+     * Creates an optimized offer that keeps the base offer's processing fee and tenure.
+     *
+     * @param baseOffer The base offer before optimization
+     * @param adjustedRoi The adjusted rate of interest
+     * @param riskImpact The risk impact score of the optimization
+     * @param conversionProbability The probability of offer acceptance
+     */
     public OptimizedOfferImpl(
             BaseOffer baseOffer,
-            Double adjustedROI,
-            Double riskImpact,
-            Double conversionProbability) {
-        this.baseOffer = baseOffer;
-        this.adjustedROI = adjustedROI;
-        this.riskImpact = riskImpact;
-        this.conversionProbability = conversionProbability;
+            double adjustedRoi,
+            double riskImpact,
+            double conversionProbability) {
+        this(baseOffer, adjustedRoi, baseOffer.processingFee(), baseOffer.tenure(),
+            riskImpact, conversionProbability);
     }
 
     @Override
@@ -30,7 +47,7 @@ public class OptimizedOfferImpl implements OptimizedOffer {
 
     @Override
     public Double getAdjustedROI() {
-        return adjustedROI;
+        return adjustedRoi;
     }
 
     @Override
@@ -42,4 +59,4 @@ public class OptimizedOfferImpl implements OptimizedOffer {
     public Double getConversionProbability() {
         return conversionProbability;
     }
-} 
\ No newline at end of file
+}
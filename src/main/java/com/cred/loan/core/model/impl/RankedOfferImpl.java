@@ -3,19 +3,16 @@ package com.cred.loan.core.model.impl;
 import com.cred.loan.core.model.RankedOffer;
 import com.cred.loan.core.model.OptimizedOffer;
 
+import java.io.Serializable;
+
 /**
  * Implementation of the RankedOffer interface.
+ *
+ * @param offer The optimized offer being ranked
+ * @param score The calculated score for the offer
+ * @param rank The rank position, starting at 1
  */
-public class RankedOfferImpl implements RankedOffer {
-    private final OptimizedOffer offer;
-    private final Double score;
-    private final Integer rank;
-
-    public RankedOfferImpl(OptimizedOffer offer, Double score, Integer rank) {
-        this.offer = offer;
-        this.score = score;
-        this.rank = rank;
-    }
+public record RankedOfferImpl(OptimizedOffer offer, double score, int rank) implements RankedOffer, Serializable {
 
     @Override
     public OptimizedOffer getOffer() {
@@ -31,4 +28,4 @@ public class RankedOfferImpl implements RankedOffer {
     public Integer getRank() {
         return rank;
     }
-} 
\ No newline at end of file
+}
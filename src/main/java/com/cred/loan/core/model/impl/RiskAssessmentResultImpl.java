@@ -3,13 +3,17 @@ package com.cred.loan.core.model.impl;
 import com.cred.loan.core.model.RiskAssessmentResult;
 import com.cred.loan.core.model.RiskLevel;
 
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Implementation of the RiskAssessmentResult interface.
+ * Serializable as long as the factor set and explanation map are.
  */
-public class RiskAssessmentResultImpl implements RiskAssessmentResult {
+public class RiskAssessmentResultImpl implements RiskAssessmentResult, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final Double riskScore;
     private final Double roiRange;
     private final RiskLevel riskLevel;
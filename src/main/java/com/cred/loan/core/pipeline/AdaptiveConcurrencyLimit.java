@@ -0,0 +1,116 @@
+package com.cred.loan.core.pipeline;
+
+/**
+ * Concurrency limit adapted to the observed latency of pipeline runs.
+ * The limit follows the gradient between the no-load latency, the minimum
+ * seen over a window of runs, and a short-term average: while the average
+ * stays within a tolerance of the no-load latency the limit grows by about
+ * its square root per run, and as queueing inflates the average the limit
+ * shrinks proportionally, by at most half. The no-load latency is re-probed
+ * every window so it can follow a slower backend upward.
+ * Runs that fail or come back with degraded stages cut the limit
+ * multiplicatively, so stages missing their budgets back the limit off even
+ * before latency averages move. Only runs started after the last cut can cut
+ * again; the runs already in flight when the limit was cut reflect the old
+ * limit and would otherwise drive it to its minimum.
+ * Runs finishing while fewer than half of the permits are in use do not grow
+ * the limit, since they say nothing about the capacity above it.
+ */
+public class AdaptiveConcurrencyLimit {
+    private static final double SHORT_WINDOW = 10;
+    private static final long PROBE_WINDOW = 1000;
+    private static final double TOLERANCE = 2.0;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double minRttNanos;
+    private long samples;
+    private boolean backedOff;
+    private long lastBackoffNanos;
+    private volatile int limit;
+
+    /**
+     * Creates a new AdaptiveConcurrencyLimit instance.
+     *
+     * @param initialLimit The limit before any run has been observed
+     * @param minLimit The lowest the limit may drop to
+     * @param maxLimit The highest the limit may grow to
+     * @param backoffRatio Factor applied to the limit when a run fails or degrades
+     * @throws IllegalArgumentException if the bounds are inconsistent or the ratio is not in (0, 1)
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        if (minLimit <= 0 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 0 < min <= initial <= max, got "
+                + minLimit + ", " + initialLimit + ", " + maxLimit);
+        }
+        if (backoffRatio <= 0.0 || backoffRatio >= 1.0) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Gets the current limit.
+     *
+     * @return The maximum number of concurrent runs
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Updates the limit with a finished run.
+     *
+     * @param startNanos When the run was admitted, from {@link System#nanoTime()}
+     * @param rttNanos Latency of the run in nanoseconds
+     * @param inFlight Number of runs in flight when the run was admitted
+     * @param dropped Whether the run failed or came back degraded
+     */
+    public synchronized void onSample(long startNanos, long rttNanos, int inFlight, boolean dropped) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        samples++;
+        if (samples == 1) {
+            shortRttNanos = rttNanos;
+        } else {
+            shortRttNanos += (rttNanos - shortRttNanos) / Math.min(samples, SHORT_WINDOW);
+        }
+        if (samples % PROBE_WINDOW == 1) {
+            minRttNanos = rttNanos;
+        } else {
+            minRttNanos = Math.min(minRttNanos, rttNanos);
+        }
+
+        if (dropped) {
+            if (!backedOff || startNanos - lastBackoffNanos > 0) {
+                backedOff = true;
+                lastBackoffNanos = startNanos + rttNanos;
+                update(estimatedLimit * backoffRatio);
+            }
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * minRttNanos / shortRttNanos));
+        if (gradient == 1.0 && inFlight < estimatedLimit / 2) {
+            return;
+        }
+        double target = estimatedLimit * gradient + (gradient == 1.0 ? Math.sqrt(estimatedLimit) : 0.0);
+        update(estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    private void update(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,55 @@
+package com.cred.loan.core.pipeline;
+
+import java.time.Duration;
+
+/**
+ * An absolute point in time by which a request must be answered.
+ * Based on {@link System#nanoTime()}, so it is unaffected by wall-clock changes.
+ */
+public final class Deadline {
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Creates a deadline the given duration from now.
+     *
+     * @param timeout Time until the deadline
+     * @return The deadline
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Gets the time left until the deadline.
+     *
+     * @return Remaining nanoseconds, negative once the deadline has passed
+     */
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * Checks whether the deadline has passed.
+     *
+     * @return true if no time remains
+     */
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Gets the time a stage may take, limited by both its own budget and the
+     * time remaining until this deadline after setting aside time for later stages.
+     *
+     * @param stageBudgetNanos The stage budget in nanoseconds
+     * @param reservedNanos Time to keep for stages that run afterwards
+     * @return The effective stage budget in nanoseconds, never negative
+     */
+    public long stageBudgetNanos(long stageBudgetNanos, long reservedNanos) {
+        return Math.max(0L, Math.min(stageBudgetNanos, remainingNanos() - reservedNanos));
+    }
+}
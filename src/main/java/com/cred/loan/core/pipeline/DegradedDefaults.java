@@ -0,0 +1,89 @@
+package com.cred.loan.core.pipeline;
+
+import com.cred.loan.core.model.BaseOffer;
+import com.cred.loan.core.model.BehaviorAnalysisResult;
+import com.cred.loan.core.model.OptimizedOffer;
+import com.cred.loan.core.model.RiskAssessmentResult;
+import com.cred.loan.core.model.RiskLevel;
+import com.cred.loan.core.model.impl.BehaviorAnalysisResultImpl;
+import com.cred.loan.core.model.impl.OptimizedOfferImpl;
+import com.cred.loan.core.model.impl.PriceSensitivityImpl;
+import com.cred.loan.core.model.impl.RiskAssessmentResultImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Precomputed results used when a pipeline stage misses its budget.
+ * Risk falls back to a conservative high-risk tier priced at the fallback ROI,
+ * behavior to a neutral profile, and optimization to the unadjusted base offers.
+ * The fallback behavior analysis is created per use, so it carries the time
+ * it was served.
+ */
+public class DegradedDefaults {
+    private static final double NEUTRAL_SCORE = 0.5;
+
+    private final RiskAssessmentResult riskAssessment;
+
+    /**
+     * Creates a new DegradedDefaults instance.
+     *
+     * @param fallbackRoi ROI offered when the risk assessment is unavailable
+     * @throws IllegalArgumentException if the fallback ROI is not positive
+     */
+    public DegradedDefaults(double fallbackRoi) {
+        if (fallbackRoi <= 0) {
+            throw new IllegalArgumentException("Fallback ROI must be positive");
+        }
+        this.riskAssessment = new RiskAssessmentResultImpl(
+            0.0,
+            fallbackRoi,
+            RiskLevel.HIGH,
+            Collections.emptySet(),
+            Collections.emptyMap()
+        );
+    }
+
+    /**
+     * Gets the conservative risk assessment.
+     *
+     * @return The default risk assessment
+     */
+    public RiskAssessmentResult riskAssessment() {
+        return riskAssessment;
+    }
+
+    /**
+     * Creates the neutral behavior analysis, stamped with the current time.
+     *
+     * @return The default behavior analysis
+     */
+    public BehaviorAnalysisResult behaviorAnalysis() {
+        return new BehaviorAnalysisResultImpl(
+            new PriceSensitivityImpl(NEUTRAL_SCORE, 0.0),
+            NEUTRAL_SCORE,
+            NEUTRAL_SCORE,
+            LocalDateTime.now()
+        );
+    }
+
+    /**
+     * Wraps base offers without applying any optimization.
+     *
+     * @param baseOffers The base offers
+     * @param behaviorAnalysis The behavior analysis used for conversion probability
+     * @return The unadjusted offers
+     */
+    public List<OptimizedOffer> unoptimizedOffers(
+            List<BaseOffer> baseOffers,
+            BehaviorAnalysisResult behaviorAnalysis) {
+        double conversionProbability = behaviorAnalysis.getConversionProbability();
+        List<OptimizedOffer> offers = new ArrayList<>(baseOffers.size());
+        for (BaseOffer baseOffer : baseOffers) {
+            offers.add(new OptimizedOfferImpl(baseOffer, baseOffer.roi(), 0.0, conversionProbability));
+        }
+        return offers;
+    }
+}
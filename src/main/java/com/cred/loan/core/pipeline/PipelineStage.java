@@ -0,0 +1,31 @@
+package com.cred.loan.core.pipeline;
+
+/**
+ * Enum representing the stages of the offer generation pipeline.
+ */
+public enum PipelineStage {
+    /**
+     * Fetching user data from the data service.
+     */
+    DATA_FETCH,
+
+    /**
+     * Assessing the user's risk profile.
+     */
+    RISK_ASSESSMENT,
+
+    /**
+     * Analyzing the user's behavior.
+     */
+    BEHAVIOR_ANALYSIS,
+
+    /**
+     * Optimizing the base offers.
+     */
+    OPTIMIZATION,
+
+    /**
+     * Scoring and ranking the optimized offers.
+     */
+    RANKING
+}
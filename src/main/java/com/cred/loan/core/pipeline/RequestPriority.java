@@ -0,0 +1,25 @@
+package com.cred.loan.core.pipeline;
+
+/**
+ * Priority class of an offer request when the pipeline is at its
+ * concurrency limit, derived from the request source.
+ */
+public enum RequestPriority {
+    /**
+     * A user is waiting on the answer; waits for a permit and is served
+     * degraded offers if none frees up in time.
+     */
+    CRITICAL,
+
+    /**
+     * Waits for a permit like critical requests, behind them; served
+     * degraded offers if none frees up in time.
+     */
+    STANDARD,
+
+    /**
+     * Background, bulk or speculative traffic; admitted only while the pipeline has
+     * headroom and rejected immediately otherwise.
+     */
+    SHEDDABLE
+}
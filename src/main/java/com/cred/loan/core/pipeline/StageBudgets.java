@@ -0,0 +1,59 @@
+package com.cred.loan.core.pipeline;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Time budgets for the offer generation pipeline.
+ * Each stage has its own budget, and the whole request is bounded by a total
+ * budget that every stage budget is additionally capped by.
+ */
+public class StageBudgets {
+    private static final PipelineStage[] STAGES = PipelineStage.values();
+
+    private final Duration total;
+    private final long[] stageBudgetNanos;
+
+    /**
+     * Creates a new StageBudgets instance.
+     *
+     * @param total Budget for the whole request
+     * @param stageBudgets Budget for each pipeline stage
+     * @throws IllegalArgumentException if a budget is missing or not positive
+     */
+    public StageBudgets(Duration total, Map<PipelineStage, Duration> stageBudgets) {
+        validateBudget(total, "total");
+        this.total = total;
+        this.stageBudgetNanos = new long[STAGES.length];
+        for (PipelineStage stage : STAGES) {
+            Duration budget = stageBudgets.get(stage);
+            validateBudget(budget, stage.name());
+            this.stageBudgetNanos[stage.ordinal()] = budget.toNanos();
+        }
+    }
+
+    /**
+     * Gets the budget for the whole request.
+     *
+     * @return The total budget
+     */
+    public Duration getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the budget for a single stage.
+     *
+     * @param stage The pipeline stage
+     * @return The stage budget in nanoseconds
+     */
+    public long getBudgetNanos(PipelineStage stage) {
+        return stageBudgetNanos[stage.ordinal()];
+    }
+
+    private void validateBudget(Duration budget, String name) {
+        if (budget == null || budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("Budget for " + name + " must be positive");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.cred.loan.core.pipeline;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Nanosecond timings of the stages of one pipeline run.
+ * Based on {@link System#nanoTime()}. Stages may complete on different
+ * threads; each stage is recorded at most once, and later recordings of the
+ * same stage are ignored.
+ */
+public final class StageTimings {
+    private static final PipelineStage[] STAGES = PipelineStage.values();
+    private static final long NOT_RECORDED = -1L;
+
+    private final long startNanos;
+    private final AtomicLongArray stageNanos = new AtomicLongArray(STAGES.length);
+
+    private StageTimings(long startNanos) {
+        this.startNanos = startNanos;
+        for (int i = 0; i < STAGES.length; i++) {
+            stageNanos.set(i, NOT_RECORDED);
+        }
+    }
+
+    /**
+     * Starts timing a pipeline run now.
+     *
+     * @return The timings
+     */
+    public static StageTimings start() {
+        return new StageTimings(System.nanoTime());
+    }
+
+    /**
+     * Starts timing a pipeline run that began at the given time, e.g. one of
+     * several runs sharing the same request.
+     *
+     * @param startNanos When the run began, from {@link System#nanoTime()}
+     * @return The timings
+     */
+    public static StageTimings startedAt(long startNanos) {
+        return new StageTimings(startNanos);
+    }
+
+    /**
+     * Records the duration of a stage that started at the given time and has
+     * just completed, unless the stage was already recorded.
+     *
+     * @param stage The pipeline stage
+     * @param stageStartNanos When the stage started, from {@link System#nanoTime()}
+     */
+    public void record(PipelineStage stage, long stageStartNanos) {
+        stageNanos.compareAndSet(stage.ordinal(), NOT_RECORDED, System.nanoTime() - stageStartNanos);
+    }
+
+    /**
+     * Gets when the run began.
+     *
+     * @return Start time from {@link System#nanoTime()}
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Gets the time since the run began.
+     *
+     * @return Elapsed nanoseconds
+     */
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Gets the duration of a stage.
+     *
+     * @param stage The pipeline stage
+     * @return Duration in nanoseconds, or -1 if the stage did not run
+     */
+    public long getStageNanos(PipelineStage stage) {
+        return stageNanos.get(stage.ordinal());
+    }
+
+    /**
+     * Gets the durations of the stages that ran.
+     *
+     * @return Unmodifiable map of stage to duration in nanoseconds, in pipeline order
+     */
+    public Map<PipelineStage, Long> toMap() {
+        Map<PipelineStage, Long> stages = new EnumMap<>(PipelineStage.class);
+        for (PipelineStage stage : STAGES) {
+            long nanos = stageNanos.get(stage.ordinal());
+            if (nanos != NOT_RECORDED) {
+                stages.put(stage, nanos);
+            }
+        }
+        return Collections.unmodifiableMap(stages);
+    }
+}
@@ -0,0 +1,36 @@
+package com.cred.loan.core.service;
+
+import com.cred.loan.core.model.LoanCalculator;
+import com.cred.loan.core.model.OfferInteraction;
+import com.cred.loan.core.model.PageView;
+
+/**
+ * Entry point for user behavior events.
+ * Each event updates the user's behavioral aggregates as it arrives and may
+ * trigger a speculative offer precompute.
+ */
+public interface BehaviorEventService {
+    /**
+     * Handles a page view event.
+     *
+     * @param userId The ID of the user
+     * @param pageView The page view event
+     */
+    void onPageView(String userId, PageView pageView);
+
+    /**
+     * Handles a loan calculator event.
+     *
+     * @param userId The ID of the user
+     * @param calculator The loan calculator event
+     */
+    void onLoanCalculator(String userId, LoanCalculator calculator);
+
+    /**
+     * Handles an offer interaction event.
+     *
+     * @param userId The ID of the user
+     * @param interaction The offer interaction event
+     */
+    void onOfferInteraction(String userId, OfferInteraction interaction);
+}
@@ -2,6 +2,7 @@ package com.cred.loan.core.service;
 
 import com.cred.loan.core.model.LoanOfferRequest;
 import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.pipeline.Deadline;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -18,4 +19,15 @@ public interface OfferGenerationService {
      * @return A CompletableFuture containing the loan offer response
      */
     CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request);
+
+    /**
+     * Generates personalized loan offers, answering within the given deadline.
+     * Stages that miss their budget are answered from defaults and the
+     * response is marked as degraded.
+     *
+     * @param request The loan offer request containing user preferences
+     * @param deadline The deadline by which the response must be produced
+     * @return A CompletableFuture containing the loan offer response
+     */
+    CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request, Deadline deadline);
 } 
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.cred.loan.core.service;
+
+import com.cred.loan.core.model.LoanCalculator;
+import com.cred.loan.core.model.PageView;
+
+/**
+ * Service that speculatively generates offers ahead of an expected request.
+ * Behavior events that usually precede an offer request trigger a low-priority
+ * pipeline run whose result is cached, so the real request is served warm.
+ */
+public interface OfferPrecomputeService {
+    /**
+     * Handles a page view event.
+     *
+     * @param userId The ID of the user who viewed the page
+     * @param pageView The page view event
+     */
+    void onPageView(String userId, PageView pageView);
+
+    /**
+     * Handles a loan calculator event.
+     *
+     * @param userId The ID of the user who used the calculator
+     * @param calculator The loan calculator event
+     */
+    void onLoanCalculator(String userId, LoanCalculator calculator);
+}
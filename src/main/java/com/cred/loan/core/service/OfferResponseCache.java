@@ -0,0 +1,43 @@
+package com.cred.loan.core.service;
+
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.model.OfferCacheLookup;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cache for generated loan offer responses.
+ * Responses are keyed by a canonical form of the request and dropped whenever
+ * the inputs of the requesting user change.
+ */
+public interface OfferResponseCache {
+    /**
+     * Looks up a cached response for a request.
+     *
+     * @param request The loan offer request
+     * @return A CompletableFuture containing the lookup, with the cached response if present
+     */
+    CompletableFuture<OfferCacheLookup> get(LoanOfferRequest request);
+
+    /**
+     * Caches a response under the version its lookup was read under. The
+     * response is not stored if it is degraded or the lookup had no version,
+     * and becomes unreachable if the user's inputs were invalidated since.
+     *
+     * @param request The loan offer request
+     * @param response The generated response
+     * @param lookup The lookup that missed before the response was generated
+     * @return A CompletableFuture that completes when the response is stored or skipped
+     */
+    CompletableFuture<Void> put(LoanOfferRequest request, LoanOfferResponse response, OfferCacheLookup lookup);
+
+    /**
+     * Drops all cached responses for a user. Failures are logged and counted
+     * rather than reported to the caller.
+     *
+     * @param userId The ID of the user whose inputs changed
+     * @return A CompletableFuture that completes, normally, when the invalidation is done or has failed
+     */
+    CompletableFuture<Void> invalidate(String userId);
+}
@@ -0,0 +1,27 @@
+package com.cred.loan.core.service;
+
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.WhatIfInput;
+import com.cred.loan.core.model.WhatIfSweep;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service for analyzing how offers change as a single user input varies.
+ * The user's data is fetched once per sweep, and pipeline stages that do not
+ * read the varied input are computed once and shared by every point.
+ * Offers computed by a sweep are not shown to the user and do not feed the
+ * online learners.
+ */
+public interface WhatIfService {
+    /**
+     * Generates offers for each value of an input, all other inputs unchanged.
+     *
+     * @param request The loan offer request the sweep is based on
+     * @param input The input to vary
+     * @param values The values of the input
+     * @return A CompletableFuture containing one point per value, in order
+     * @throws IllegalArgumentException if there are no values or more than the configured maximum
+     */
+    CompletableFuture<WhatIfSweep> sweep(LoanOfferRequest request, WhatIfInput input, double[] values);
+}
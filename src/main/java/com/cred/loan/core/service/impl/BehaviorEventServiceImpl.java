@@ -0,0 +1,72 @@
+package com.cred.loan.core.service.impl;
+
+import com.cred.loan.behavior.aggregate.BehaviorAggregateStore;
+import com.cred.loan.behavior.learning.PriceSensitivityLearner;
+import com.cred.loan.core.model.LoanCalculator;
+import com.cred.loan.core.model.OfferInteraction;
+import com.cred.loan.core.model.PageView;
+import com.cred.loan.core.service.BehaviorEventService;
+import com.cred.loan.core.service.OfferPrecomputeService;
+import com.cred.loan.core.service.OfferResponseCache;
+import com.cred.loan.optimization.bandit.OfferBandit;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the BehaviorEventService interface.
+ * Each event is folded into the user's aggregate and then invalidates their
+ * cached offers, since those were computed from the previous statistics. A
+ * precompute is triggered only once the invalidation is done, so that it
+ * recomputes the offers rather than finding the stale entry. Offer
+ * interactions also train the price sensitivity learner and the offer bandit.
+ */
+@Service
+public class BehaviorEventServiceImpl implements BehaviorEventService {
+
+    private final BehaviorAggregateStore aggregateStore;
+    private final OfferPrecomputeService precomputeService;
+    private final OfferResponseCache responseCache;
+    private final PriceSensitivityLearner priceLearner;
+    private final OfferBandit bandit;
+
+    /**
+     * Creates a new instance of BehaviorEventServiceImpl.
+     *
+     * @param aggregateStore The behavioral aggregate store
+     * @param precomputeService The offer precompute service
+     * @param responseCache The offer response cache invalidated on each event
+     * @param priceLearner The price sensitivity learner
+     * @param bandit The offer bandit
+     */
+    public BehaviorEventServiceImpl(
+            BehaviorAggregateStore aggregateStore,
+            OfferPrecomputeService precomputeService,
+            OfferResponseCache responseCache,
+            PriceSensitivityLearner priceLearner,
+            OfferBandit bandit) {
+        this.aggregateStore = aggregateStore;
+        this.precomputeService = precomputeService;
+        this.responseCache = responseCache;
+        this.priceLearner = priceLearner;
+        this.bandit = bandit;
+    }
+
+    @Override
+    public void onPageView(String userId, PageView pageView) {
+        aggregateStore.recordPageView(userId, pageView);
+        responseCache.invalidate(userId).thenRun(() -> precomputeService.onPageView(userId, pageView));
+    }
+
+    @Override
+    public void onLoanCalculator(String userId, LoanCalculator calculator) {
+        aggregateStore.recordCalculatorUse(userId, calculator);
+        responseCache.invalidate(userId).thenRun(() -> precomputeService.onLoanCalculator(userId, calculator));
+    }
+
+    @Override
+    public void onOfferInteraction(String userId, OfferInteraction interaction) {
+        aggregateStore.recordOfferInteraction(userId, interaction);
+        responseCache.invalidate(userId);
+        priceLearner.onInteraction(userId, interaction);
+        bandit.onInteraction(userId, interaction);
+    }
+}
@@ -0,0 +1,121 @@
+package com.cred.loan.core.service.impl;
+
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.model.OfferCacheLookup;
+import com.cred.loan.core.pipeline.Deadline;
+import com.cred.loan.core.service.OfferGenerationService;
+import com.cred.loan.core.service.OfferResponseCache;
+import com.cred.loan.monitoring.context.ContextExecutors;
+import com.cred.loan.monitoring.jfr.OfferCacheEvent;
+import com.cred.loan.monitoring.jfr.PipelineEvents;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Layer of the offer generation pipeline answering repeat requests from the
+ * {@link OfferResponseCache}. A miss runs the pipeline and stores its response
+ * in the background under the version the lookup read; a lookup that times
+ * out is a miss whose response is not stored.
+ */
+@Service
+public class CachingOfferGenerationService implements OfferGenerationService {
+
+    private final OfferGenerationService delegate;
+    private final OfferResponseCache responseCache;
+    private final long lookupTimeoutNanos;
+    private final Counter lookupTimeoutCounter;
+
+    /**
+     * Creates a new instance of CachingOfferGenerationService.
+     *
+     * @param delegate The concurrency-limited pipeline
+     * @param responseCache The response cache
+     * @param registry The meter registry
+     * @param lookupTimeoutMillis Longest a request waits for a cache lookup
+     * @throws IllegalArgumentException if the lookup timeout is not positive
+     */
+    public CachingOfferGenerationService(
+            LimitingOfferGenerationService delegate,
+            OfferResponseCache responseCache,
+            MeterRegistry registry,
+            @Value("${loan.offers.cache.lookup-timeout-ms:20}") long lookupTimeoutMillis) {
+        if (lookupTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Cache lookup timeout must be positive");
+        }
+        this.delegate = delegate;
+        this.responseCache = responseCache;
+        this.lookupTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(lookupTimeoutMillis);
+        this.lookupTimeoutCounter = Counter.builder("loan.offers.cache.lookup.timeouts")
+            .description("Number of offer cache lookups abandoned after the lookup timeout")
+            .register(registry);
+    }
+
+    @Override
+    public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request) {
+        return generateCached(request, () -> delegate.generateOffers(request));
+    }
+
+    @Override
+    public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request, Deadline deadline) {
+        return generateCached(request, () -> delegate.generateOffers(request, deadline));
+    }
+
+    /**
+     * Serves a request from the cache or runs the pipeline on a miss.
+     *
+     * @param request The loan offer request
+     * @param pipeline Runs the pipeline for the request
+     * @return A CompletableFuture containing the loan offer response
+     */
+    private CompletableFuture<LoanOfferResponse> generateCached(
+            LoanOfferRequest request,
+            Supplier<CompletableFuture<LoanOfferResponse>> pipeline) {
+        OfferCacheEvent lookupEvent = PipelineEvents.beginCache("get", request);
+
+        return lookup(request)
+            .thenCompose(lookup -> {
+                PipelineEvents.endCache(lookupEvent, lookup.response() != null);
+                return lookup.cached()
+                    .map(CompletableFuture::completedFuture)
+                    .orElseGet(() -> pipeline.get().thenApply(response -> {
+                        OfferCacheEvent store = PipelineEvents.beginCache("put", request);
+                        responseCache.put(request, response, lookup);
+                        PipelineEvents.endCache(store, false);
+                        return response;
+                    }));
+            });
+    }
+
+    /**
+     * Looks up a request in the cache, giving up after the lookup timeout.
+     *
+     * @param request The loan offer request
+     * @return The lookup, or {@link OfferCacheLookup#UNAVAILABLE} if it timed out
+     */
+    private CompletableFuture<OfferCacheLookup> lookup(LoanOfferRequest request) {
+        // A timeout fires on the shared timer thread; continue off it, in the request's context
+        return responseCache.get(request)
+            .orTimeout(lookupTimeoutNanos, TimeUnit.NANOSECONDS)
+            .exceptionallyAsync(error -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+                if (!(cause instanceof TimeoutException)) {
+                    throw error instanceof CompletionException
+                        ? (CompletionException) error
+                        : new CompletionException(error);
+                }
+                lookupTimeoutCounter.increment();
+                return OfferCacheLookup.UNAVAILABLE;
+            }, ContextExecutors.bound());
+    }
+}
@@ -0,0 +1,118 @@
+package com.cred.loan.core.service.impl;
+
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.pipeline.Deadline;
+import com.cred.loan.core.service.OfferGenerationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Coalescing front for the offer generation pipeline.
+ * Identical requests that arrive while one is already being processed share
+ * its in-flight result instead of running the pipeline again. Each caller
+ * still receives a response with its own request ID. Speculative requests
+ * share in-flight results like any other, but are left out of the request
+ * and coalescing metrics, which describe real traffic only.
+ */
+@Service
+public class CoalescingOfferGenerationService implements OfferGenerationService {
+
+    private final OfferGenerationService delegate;
+    private final ConcurrentMap<LoanOfferRequest, CompletableFuture<LoanOfferResponse>> inFlight =
+        new ConcurrentHashMap<>();
+    private final Counter requestCounter;
+    private final Counter coalescedCounter;
+
+    /**
+     * Creates a new instance of CoalescingOfferGenerationService.
+     *
+     * @param delegate The caching service in front of the pipeline
+     * @param registry The meter registry
+     */
+    public CoalescingOfferGenerationService(CachingOfferGenerationService delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.requestCounter = Counter.builder("loan.offers.requests")
+            .description("Number of non-speculative offer generation requests received")
+            .register(registry);
+        this.coalescedCounter = Counter.builder("loan.offers.coalesced")
+            .description("Number of non-speculative offer generation requests served by an in-flight duplicate")
+            .register(registry);
+        Gauge.builder("loan.offers.coalescing.ratio", this, CoalescingOfferGenerationService::coalescingRatio)
+            .description("Fraction of non-speculative offer generation requests served by an in-flight duplicate")
+            .register(registry);
+        Gauge.builder("loan.offers.in.flight", inFlight, ConcurrentMap::size)
+            .description("Number of distinct offer generation requests in flight")
+            .register(registry);
+    }
+
+    @Override
+    public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request) {
+        return coalesce(request, null);
+    }
+
+    @Override
+    public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request, Deadline deadline) {
+        return coalesce(request, deadline);
+    }
+
+    /**
+     * Joins an identical in-flight request or starts a new one. The first
+     * caller's deadline bounds the shared computation.
+     *
+     * @param request The loan offer request
+     * @param deadline The caller's deadline, or null for the default budget
+     * @return A future completing with a response carrying a fresh request ID
+     */
+    private CompletableFuture<LoanOfferResponse> coalesce(LoanOfferRequest request, Deadline deadline) {
+        boolean counted = !request.isSpeculative();
+        if (counted) {
+            requestCounter.increment();
+        }
+
+        CompletableFuture<LoanOfferResponse> created = new CompletableFuture<>();
+        CompletableFuture<LoanOfferResponse> shared = inFlight.putIfAbsent(request, created);
+        if (shared == null) {
+            shared = created;
+            CompletableFuture<LoanOfferResponse> result;
+            try {
+                result = deadline == null
+                    ? delegate.generateOffers(request)
+                    : delegate.generateOffers(request, deadline);
+            } catch (RuntimeException e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+            result.whenComplete((response, error) -> {
+                // Unregister first so that later arrivals start a fresh computation
+                inFlight.remove(request, created);
+                if (error != null) {
+                    created.completeExceptionally(error);
+                } else {
+                    created.complete(response);
+                }
+            });
+        } else if (counted) {
+            coalescedCounter.increment();
+        }
+
+        // A dependent future per caller keeps cancellation from reaching the shared result
+        return shared.thenApply(response -> response.withRequestId(UUID.randomUUID().toString()));
+    }
+
+    /**
+     * Gets the fraction of requests that were served by an in-flight duplicate.
+     *
+     * @return The coalescing ratio (0.0 to 1.0)
+     */
+    double coalescingRatio() {
+        double requests = requestCounter.count();
+        return requests > 0 ? coalescedCounter.count() / requests : 0.0;
+    }
+}
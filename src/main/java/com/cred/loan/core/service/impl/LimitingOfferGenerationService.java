@@ -0,0 +1,367 @@
+package com.cred.loan.core.service.impl;
+
+import com.cred.loan.core.exception.OfferGenerationRejectedException;
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.pipeline.AdaptiveConcurrencyLimit;
+import com.cred.loan.core.pipeline.Deadline;
+import com.cred.loan.core.pipeline.RequestPriority;
+import com.cred.loan.core.pipeline.StageBudgets;
+import com.cred.loan.core.service.OfferGenerationService;
+import com.cred.loan.monitoring.context.ContextExecutors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control in front of the offer generation pipeline.
+ * Pipeline runs are bounded by an {@link AdaptiveConcurrencyLimit} that
+ * follows the observed run latency and backs off when stages miss their
+ * budgets, so a traffic spike is shed at the door instead of queueing in the
+ * stage executors until every request times out.
+ * Requests are classed by source into {@link RequestPriority priorities};
+ * speculative requests are always sheddable, whatever their source.
+ * Over the limit, critical and standard requests wait briefly for a permit,
+ * critical ones first, and are answered with degraded offers built from the
+ * defaults if none frees up; sheddable requests are only admitted below a
+ * share of the limit and are rejected immediately otherwise. Waiting counts
+ * against the request deadline.
+ * Sits below the response cache, so cache hits and coalesced duplicates do
+ * not take a permit.
+ */
+@Service
+public class LimitingOfferGenerationService implements OfferGenerationService {
+
+    private static final RequestPriority[] PRIORITIES = RequestPriority.values();
+
+    private final OfferGenerationServiceImpl delegate;
+    private final StageBudgets budgets;
+    private final AdaptiveConcurrencyLimit limit;
+    private final Map<String, RequestPriority> sourcePriorities = new HashMap<>();
+    private final double sheddableShare;
+    private final long maxQueueWaitNanos;
+    private final int maxQueued;
+    private final LongSupplier ticker;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<PermitWaiter> criticalWaiters = new ConcurrentLinkedQueue<>();
+    private final Queue<PermitWaiter> standardWaiters = new ConcurrentLinkedQueue<>();
+
+    private final Counter[] shedCounters = new Counter[PRIORITIES.length];
+    private final Timer[] queueTimers = new Timer[PRIORITIES.length];
+
+    /**
+     * Creates a new instance of LimitingOfferGenerationService.
+     *
+     * @param delegate The service that runs the pipeline
+     * @param budgets The pipeline budgets, bounding requests sent without a deadline
+     * @param registry The meter registry
+     * @param initialLimit Concurrency limit before any run has been observed
+     * @param minLimit Lowest concurrency limit
+     * @param maxLimit Highest concurrency limit
+     * @param backoffRatio Factor applied to the limit when a run fails or degrades
+     * @param criticalSources Request sources served as critical
+     * @param sheddableSources Request sources served as sheddable; others are standard
+     * @param sheddableShare Share of the limit sheddable requests may use
+     * @param maxQueueWaitMillis Longest a request waits for a permit
+     * @param maxQueued Maximum number of requests waiting for a permit
+     */
+    @Autowired
+    public LimitingOfferGenerationService(
+            OfferGenerationServiceImpl delegate,
+            StageBudgets budgets,
+            MeterRegistry registry,
+            @Value("${loan.offers.limiter.initial-limit:20}") int initialLimit,
+            @Value("${loan.offers.limiter.min-limit:4}") int minLimit,
+            @Value("${loan.offers.limiter.max-limit:200}") int maxLimit,
+            @Value("${loan.offers.limiter.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${loan.offers.limiter.critical-sources:app}") String[] criticalSources,
+            @Value("${loan.offers.limiter.sheddable-sources:batch,partner}") String[] sheddableSources,
+            @Value("${loan.offers.limiter.sheddable-share:0.5}") double sheddableShare,
+            @Value("${loan.offers.limiter.max-queue-wait-ms:50}") long maxQueueWaitMillis,
+            @Value("${loan.offers.limiter.max-queued:200}") int maxQueued) {
+        this(delegate, budgets, registry, initialLimit, minLimit, maxLimit, backoffRatio, criticalSources,
+            sheddableSources, sheddableShare, maxQueueWaitMillis, maxQueued, System::nanoTime);
+    }
+
+    /**
+     * Creates a new instance of LimitingOfferGenerationService with an
+     * explicit time source for run latencies and queue waits.
+     *
+     * @param delegate The service that runs the pipeline
+     * @param budgets The pipeline budgets, bounding requests sent without a deadline
+     * @param registry The meter registry
+     * @param initialLimit Concurrency limit before any run has been observed
+     * @param minLimit Lowest concurrency limit
+     * @param maxLimit Highest concurrency limit
+     * @param backoffRatio Factor applied to the limit when a run fails or degrades
+     * @param criticalSources Request sources served as critical
+     * @param sheddableSources Request sources served as sheddable; others are standard
+     * @param sheddableShare Share of the limit sheddable requests may use
+     * @param maxQueueWaitMillis Longest a request waits for a permit
+     * @param maxQueued Maximum number of requests waiting for a permit
+     * @param ticker Monotonic time source in nanoseconds
+     */
+    LimitingOfferGenerationService(
+            OfferGenerationServiceImpl delegate,
+            StageBudgets budgets,
+            MeterRegistry registry,
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            double backoffRatio,
+            String[] criticalSources,
+            String[] sheddableSources,
+            double sheddableShare,
+            long maxQueueWaitMillis,
+            int maxQueued,
+            LongSupplier ticker) {
+        if (sheddableShare <= 0.0 || sheddableShare > 1.0) {
+            throw new IllegalArgumentException("Sheddable share must be in (0, 1]");
+        }
+        if (maxQueueWaitMillis < 0 || maxQueued < 0) {
+            throw new IllegalArgumentException("Queue wait and size must not be negative");
+        }
+        this.delegate = delegate;
+        this.budgets = budgets;
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, backoffRatio);
+        for (String source : criticalSources) {
+            sourcePriorities.put(source.trim().toLowerCase(Locale.ROOT), RequestPriority.CRITICAL);
+        }
+        for (String source : sheddableSources) {
+            sourcePriorities.put(source.trim().toLowerCase(Locale.ROOT), RequestPriority.SHEDDABLE);
+        }
+        this.sheddableShare = sheddableShare;
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMillis);
+        this.maxQueued = maxQueued;
+        this.ticker = ticker;
+
+        for (RequestPriority priority : PRIORITIES) {
+            String tag = priority.name().toLowerCase(Locale.ROOT);
+            shedCounters[priority.ordinal()] = Counter.builder("loan.offers.limiter.rejections")
+                .description("Requests over the concurrency limit, by priority and how they were answered")
+                .tag("priority", tag)
+                .tag("outcome", priority == RequestPriority.SHEDDABLE ? "rejected" : "degraded")
+                .register(registry);
+            queueTimers[priority.ordinal()] = Timer.builder("loan.offers.limiter.queue.time")
+                .description("Time requests waited for a pipeline permit")
+                .tag("priority", tag)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        }
+        Gauge.builder("loan.offers.limiter.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+            .description("Current adaptive concurrency limit of the offer pipeline")
+            .register(registry);
+        Gauge.builder("loan.offers.limiter.in.flight", inFlight, AtomicInteger::get)
+            .description("Pipeline runs holding a permit")
+            .register(registry);
+        Gauge.builder("loan.offers.limiter.queued", queued, AtomicInteger::get)
+            .description("Requests waiting for a pipeline permit")
+            .register(registry);
+    }
+
+    @Override
+    public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request) {
+        return generateOffers(request, Deadline.after(budgets.getTotal()));
+    }
+
+    @Override
+    public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request, Deadline deadline) {
+        RequestPriority priority = priorityOf(request);
+        if (tryAcquire(priority)) {
+            queueTimers[priority.ordinal()].record(0, TimeUnit.NANOSECONDS);
+            return run(request, deadline);
+        }
+        long maxWaitNanos = Math.min(maxQueueWaitNanos, deadline.remainingNanos());
+        if (priority == RequestPriority.SHEDDABLE || maxWaitNanos <= 0) {
+            return shed(request, priority);
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return shed(request, priority);
+        }
+
+        PermitWaiter waiter = new PermitWaiter(ticker.getAsLong());
+        Queue<PermitWaiter> waiters = priority == RequestPriority.CRITICAL ? criticalWaiters : standardWaiters;
+        waiters.add(waiter);
+        drainQueue();
+
+        // Admission completes on the releasing thread, a timeout on the timer thread; continue off both
+        return waiter.admission
+            .orTimeout(maxWaitNanos, TimeUnit.NANOSECONDS)
+            .handle((admitted, error) -> error == null)
+            .thenComposeAsync(admitted -> {
+                long waitedNanos = ticker.getAsLong() - waiter.enqueuedNanos;
+                queueTimers[priority.ordinal()].record(waitedNanos, TimeUnit.NANOSECONDS);
+                if (admitted) {
+                    return run(request, deadline);
+                }
+                if (waiters.remove(waiter)) {
+                    queued.decrementAndGet();
+                }
+                return shed(request, priority);
+            }, ContextExecutors.bound());
+    }
+
+    /**
+     * Gets the current concurrency limit.
+     *
+     * @return The maximum number of concurrent pipeline runs
+     */
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    /**
+     * Gets the priority of a request. Speculative requests are sheddable, so
+     * precomputes never compete with traffic a user is waiting on.
+     *
+     * @param request The loan offer request
+     * @return The priority of the request
+     */
+    RequestPriority priorityOf(LoanOfferRequest request) {
+        return request.isSpeculative() ? RequestPriority.SHEDDABLE : priorityOf(request.getSource());
+    }
+
+    /**
+     * Gets the priority of a request source.
+     *
+     * @param source The request source, may be null
+     * @return The configured priority, standard if the source is not configured
+     */
+    RequestPriority priorityOf(String source) {
+        if (source == null) {
+            return RequestPriority.STANDARD;
+        }
+        return sourcePriorities.getOrDefault(source.toLowerCase(Locale.ROOT), RequestPriority.STANDARD);
+    }
+
+    /**
+     * Takes a permit if one is free and nobody is waiting for it.
+     *
+     * @param priority The priority of the request
+     * @return Whether a permit was taken
+     */
+    private boolean tryAcquire(RequestPriority priority) {
+        if (queued.get() > 0) {
+            return false;
+        }
+        int max = priority == RequestPriority.SHEDDABLE
+            ? Math.max(1, (int) (limit.getLimit() * sheddableShare))
+            : limit.getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= max) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Runs the pipeline under a permit, feeding its latency and outcome to
+     * the limit and releasing the permit when it completes.
+     *
+     * @param request The loan offer request
+     * @param deadline The request deadline
+     * @return A CompletableFuture containing the loan offer response
+     */
+    private CompletableFuture<LoanOfferResponse> run(LoanOfferRequest request, Deadline deadline) {
+        int admittedInFlight = inFlight.get();
+        long start = ticker.getAsLong();
+        CompletableFuture<LoanOfferResponse> result;
+        try {
+            result = delegate.generateOffers(request, deadline);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((response, error) -> {
+            boolean dropped = error != null || response.isDegraded();
+            limit.onSample(start, ticker.getAsLong() - start, admittedInFlight, dropped);
+            inFlight.decrementAndGet();
+            drainQueue();
+        });
+    }
+
+    /**
+     * Answers a request that could not get a permit.
+     *
+     * @param request The loan offer request
+     * @param priority The priority of the request
+     * @return Degraded offers, or a failed future for sheddable requests
+     */
+    private CompletableFuture<LoanOfferResponse> shed(LoanOfferRequest request, RequestPriority priority) {
+        shedCounters[priority.ordinal()].increment();
+        if (priority == RequestPriority.SHEDDABLE) {
+            return CompletableFuture.failedFuture(new OfferGenerationRejectedException(
+                "Offer generation is at its concurrency limit of " + limit.getLimit()));
+        }
+        return CompletableFuture.completedFuture(delegate.degradedOffers(request));
+    }
+
+    /**
+     * Hands free permits to waiting requests, critical ones first. Called
+     * after every release and enqueue, so a waiter enqueued concurrently with
+     * a release is not missed.
+     */
+    private void drainQueue() {
+        while (queued.get() > 0) {
+            int current = inFlight.get();
+            if (current >= limit.getLimit()) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            PermitWaiter waiter = pollWaiter();
+            if (waiter == null) {
+                inFlight.decrementAndGet();
+                return;
+            }
+            // A waiter that already timed out gives the permit back
+            if (!waiter.admission.complete(Boolean.TRUE)) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private PermitWaiter pollWaiter() {
+        PermitWaiter waiter = criticalWaiters.poll();
+        if (waiter == null) {
+            waiter = standardWaiters.poll();
+        }
+        if (waiter != null) {
+            queued.decrementAndGet();
+        }
+        return waiter;
+    }
+}
+
+/**
+ * A request waiting for a pipeline permit.
+ */
+final class PermitWaiter {
+    final CompletableFuture<Boolean> admission = new CompletableFuture<>();
+    final long enqueuedNanos;
+
+    PermitWaiter(long enqueuedNanos) {
+        this.enqueuedNanos = enqueuedNanos;
+    }
+}
@@ -1,31 +1,74 @@
 package com.cred.loan.core.service.impl;
 
+import com.cred.loan.behavior.learning.PriceSegments;
 import com.cred.loan.core.model.*;
+import com.cred.loan.core.model.impl.BaseOfferImpl;
+import com.cred.loan.core.pipeline.Deadline;
+import com.cred.loan.core.pipeline.DegradedDefaults;
+import com.cred.loan.core.pipeline.PipelineStage;
+import com.cred.loan.core.pipeline.StageBudgets;
+import com.cred.loan.core.pipeline.StageTimings;
 import com.cred.loan.core.service.OfferGenerationService;
 import com.cred.loan.core.service.RiskAssessmentService;
 import com.cred.loan.core.service.UserBehaviorService;
 import com.cred.loan.core.service.OfferOptimizationService;
 import com.cred.loan.core.service.DataService;
+import com.cred.loan.monitoring.context.ContextExecutors;
+import com.cred.loan.monitoring.distribution.OfferDistributions;
+import com.cred.loan.monitoring.context.RequestContext;
+import com.cred.loan.monitoring.jfr.PipelineEvents;
+import com.cred.loan.monitoring.jfr.PipelineStageEvent;
+import com.cred.loan.monitoring.latency.StageLatencyRecorder;
+import com.cred.loan.monitoring.service.MetricsService;
+import com.cred.loan.optimization.service.OfferRankingEngine;
+import com.cred.loan.replay.RequestCaptureWriter;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
- * Implementation of the OfferGenerationService interface.
- * This service orchestrates the loan offer generation process by coordinating
- * between risk assessment, behavior analysis, and optimization services.
+ * Innermost layer of the offer generation pipeline. Fetches the user's data,
+ * runs risk assessment and behavior analysis in parallel, then optimizes and
+ * ranks the offers.
+ * Each stage runs under a budget derived from the request deadline and falls
+ * back to {@link DegradedDefaults} when it misses it. Stage timings, scores and
+ * offer terms of real (non-speculative) runs are reported to the
+ * {@link StageLatencyRecorder} and {@link OfferDistributions}, stages are
+ * emitted as flight recorder events, and fetched user data is handed to the
+ * capture writer.
  */
 @Service
 public class OfferGenerationServiceImpl implements OfferGenerationService {
 
+    private static final int[] OFFER_TENURES = {3, 6, 9, 12, 18, 24, 36};
+    private static final String DEGRADED_METRIC = "loan.offers.degraded";
+    private static final Set<PipelineStage> SHED_STAGES = Collections.unmodifiableSet(EnumSet.of(
+        PipelineStage.DATA_FETCH,
+        PipelineStage.RISK_ASSESSMENT,
+        PipelineStage.BEHAVIOR_ANALYSIS,
+        PipelineStage.OPTIMIZATION));
+
     private final RiskAssessmentService riskService;
     private final UserBehaviorService behaviorService;
     private final OfferOptimizationService optimizationService;
     private final DataService dataService;
+    private final MetricsService metricsService;
+    private final StageBudgets budgets;
+    private final DegradedDefaults defaults;
+    private final RequestCaptureWriter capture;
+    private final StageLatencyRecorder latencyRecorder;
+    private final OfferDistributions distributions;
 
     /**
      * Creates a new instance of OfferGenerationServiceImpl.
@@ -34,63 +77,231 @@ public class OfferGenerationServiceImpl implements OfferGenerationService {
      * @param behaviorService The user behavior service
      * @param optimizationService The offer optimization service
      * @param dataService The data service
+     * @param metricsService The metrics service
+     * @param budgets The per-stage time budgets
+     * @param defaults The fallback results for stages that miss their budget
+     * @param capture The writer capturing user data for replay
+     * @param latencyRecorder The recorder of stage latencies
+     * @param distributions The distributions of served scores and offer terms
      */
     public OfferGenerationServiceImpl(
             RiskAssessmentService riskService,
             UserBehaviorService behaviorService,
             OfferOptimizationService optimizationService,
-            DataService dataService) {
+            DataService dataService,
+            MetricsService metricsService,
+            StageBudgets budgets,
+            DegradedDefaults defaults,
+            RequestCaptureWriter capture,
+            StageLatencyRecorder latencyRecorder,
+            OfferDistributions distributions) {
         this.riskService = riskService;
         this.behaviorService = behaviorService;
         this.optimizationService = optimizationService;
         this.dataService = dataService;
+        this.metricsService = metricsService;
+        this.budgets = budgets;
+        this.defaults = defaults;
+        this.capture = capture;
+        this.latencyRecorder = latencyRecorder;
+        this.distributions = distributions;
     }
 
     @Override
     public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request) {
-        long startTime = System.currentTimeMillis();
+        return generateOffers(request, Deadline.after(budgets.getTotal()));
+    }
 
-        return dataService.getUserData(request.getUserId())
+    @Override
+    public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request, Deadline deadline) {
+        StageTimings timings = StageTimings.start();
+        Set<PipelineStage> degradedStages = ConcurrentHashMap.newKeySet();
+
+        return withBudget(() -> dataService.getUserData(request.getUserId()),
+                PipelineStage.DATA_FETCH, request, null, deadline, () -> null, degradedStages, timings)
             .thenCompose(userData -> {
-                // Get risk assessment
-                CompletableFuture<RiskAssessmentResult> riskAssessment = 
-                    riskService.assessRisk(userData);
-                
-                // Get behavior analysis
-                CompletableFuture<BehaviorAnalysisResult> behaviorAnalysis = 
-                    behaviorService.analyzeBehavior(userData);
-                
-                return CompletableFuture.allOf(riskAssessment, behaviorAnalysis)
-                    .thenApply(v -> {
-                        // Generate base offers
-                        List<BaseOffer> baseOffers = generateBaseOffers(
-                            riskAssessment.join(),
-                            request
-                        );
-                        
-                        // Optimize offers
-                        List<OptimizedOffer> optimizedOffers = optimizationService.optimizeOffers(
-                            baseOffers,
-                            riskAssessment.join(),
-                            behaviorAnalysis.join()
-                        ).join();
-                        
-                        // Rank offers
-                        List<RankedOffer> rankedOffers = rankOffers(
-                            optimizedOffers,
-                            behaviorAnalysis.join()
-                        );
-                        
-                        long generationTime = System.currentTimeMillis() - startTime;
-                        return new LoanOfferResponse(
-                            rankedOffers,
-                            UUID.randomUUID().toString(),
-                            generationTime
-                        );
-                    });
+                if (userData == null) {
+                    // Without user data neither assessment can run; use defaults for both
+                    return CompletableFuture.completedFuture(
+                        new StageResults(null, defaults.riskAssessment(), defaults.behaviorAnalysis()));
+                }
+                capture.recordUser(userData);
+
+                CompletableFuture<RiskAssessmentResult> riskAssessment = withBudget(
+                    () -> riskService.assessRisk(userData),
+                    PipelineStage.RISK_ASSESSMENT, request, userData, deadline,
+                    defaults::riskAssessment, degradedStages, timings);
+
+                CompletableFuture<BehaviorAnalysisResult> behaviorAnalysis = withBudget(
+                    () -> behaviorService.analyzeBehavior(userData),
+                    PipelineStage.BEHAVIOR_ANALYSIS, request, userData, deadline,
+                    defaults::behaviorAnalysis, degradedStages, timings);
+
+                return riskAssessment.thenCombine(behaviorAnalysis,
+                    (risk, behavior) -> new StageResults(userData, risk, behavior));
+            })
+            .thenCompose(results -> completeOffers(
+                request, results, deadline, timings, degradedStages, !request.isSpeculative()));
+    }
+
+    /**
+     * Builds offers from the degraded defaults alone, without fetching data or
+     * calling any stage service. Used to answer requests shed under overload;
+     * the response is marked degraded in every stage before ranking, so it is
+     * neither cached nor recorded as latency.
+     *
+     * @param request The loan offer request
+     * @return The degraded response
+     */
+    public LoanOfferResponse degradedOffers(LoanOfferRequest request) {
+        long start = System.nanoTime();
+        RiskAssessmentResult riskAssessment = defaults.riskAssessment();
+        BehaviorAnalysisResult behaviorAnalysis = defaults.behaviorAnalysis();
+        List<OptimizedOffer> offers = defaults.unoptimizedOffers(
+            generateBaseOffers(riskAssessment, request), behaviorAnalysis);
+        return new LoanOfferResponse(
+            rankOffers(offers, behaviorAnalysis),
+            UUID.randomUUID().toString(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+            riskAssessment,
+            request.getFields(),
+            SHED_STAGES
+        );
+    }
+
+    /**
+     * Runs the stages after risk and behavior analysis: generates base offers,
+     * optimizes and ranks them. Only served runs are recorded as latency and
+     * in the offer distributions.
+     *
+     * @param request The loan offer request
+     * @param results The risk and behavior stage results
+     * @param deadline The request deadline
+     * @param timings The timings of the run
+     * @param degradedStages Collects the stages that missed their budget
+     * @param served Whether a caller is waiting for the offers; false for
+     *               speculative runs and for offers computed for analysis only
+     * @return A CompletableFuture containing the response
+     */
+    @SuppressWarnings("try")
+    CompletableFuture<LoanOfferResponse> completeOffers(
+            LoanOfferRequest request,
+            StageResults results,
+            Deadline deadline,
+            StageTimings timings,
+            Set<PipelineStage> degradedStages,
+            boolean served) {
+        List<BaseOffer> baseOffers = generateBaseOffers(results.riskAssessment(), request);
+
+        return withBudget(
+                () -> optimizationService.optimizeOffers(
+                    baseOffers, results.riskAssessment(), results.behaviorAnalysis()),
+                PipelineStage.OPTIMIZATION, request, results.userData(), deadline,
+                () -> defaults.unoptimizedOffers(baseOffers, results.behaviorAnalysis()),
+                degradedStages, timings)
+            .thenApply(optimizedOffers -> {
+                long rankingStart = System.nanoTime();
+                PipelineStageEvent rankingEvent =
+                    PipelineEvents.beginStage(PipelineStage.RANKING, request, results.userData());
+                List<RankedOffer> rankedOffers;
+                try (RequestContext.Scope scope = RequestContext.enterStage(PipelineStage.RANKING.name())) {
+                    rankedOffers = rankOffers(
+                        optimizedOffers,
+                        results.behaviorAnalysis()
+                    );
+                }
+
+                timings.record(PipelineStage.RANKING, rankingStart);
+                PipelineEvents.endStage(rankingEvent, rankedOffers, false, null);
+
+                LoanOfferResponse response = new LoanOfferResponse(
+                    rankedOffers,
+                    UUID.randomUUID().toString(),
+                    TimeUnit.NANOSECONDS.toMillis(timings.elapsedNanos()),
+                    results.riskAssessment(),
+                    request.getFields(),
+                    copyStages(degradedStages),
+                    request.isSpeculative(),
+                    results.userData() != null ? PriceSegments.of(results.userData()) : -1
+                );
+                if (served) {
+                    latencyRecorder.record(request, response, timings);
+                    distributions.record(results.userData(), results.riskAssessment(),
+                        results.behaviorAnalysis(), rankedOffers, degradedStages);
+                }
+                return response;
+            });
+    }
+
+    /**
+     * Bounds a stage by its budget. If the stage does not complete in time,
+     * the returned future completes with the fallback value instead, the stage
+     * is recorded as degraded and counted in metrics. Other failures propagate,
+     * including an exception thrown while starting the stage.
+     * The stage future itself is left untouched so that shared futures are
+     * not completed on behalf of other callers. The stage is timed from this
+     * call until the returned future completes.
+     *
+     * @param stage Starts the stage
+     * @param name The pipeline stage
+     * @param request The loan offer request
+     * @param userData The user data the stage works on, null if not fetched yet
+     * @param deadline The request deadline
+     * @param fallback Supplies the fallback value
+     * @param degradedStages Collects the stages that missed their budget
+     * @param timings Records the stage duration
+     * @return A future completing with the stage result or the fallback
+     */
+    @SuppressWarnings("try")
+    private <T> CompletableFuture<T> withBudget(
+            Supplier<CompletableFuture<T>> stage,
+            PipelineStage name,
+            LoanOfferRequest request,
+            UserData userData,
+            Deadline deadline,
+            Supplier<T> fallback,
+            Set<PipelineStage> degradedStages,
+            StageTimings timings) {
+        long stageStart = System.nanoTime();
+        PipelineStageEvent event = PipelineEvents.beginStage(name, request, userData);
+        long budgetNanos = deadline.stageBudgetNanos(
+            budgets.getBudgetNanos(name), budgets.getBudgetNanos(PipelineStage.RANKING));
+
+        CompletableFuture<T> started;
+        // Work the stage hands to other threads is tagged with the stage in logs
+        try (RequestContext.Scope scope = RequestContext.enterStage(name.name())) {
+            started = stage.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        // A timeout fires on the shared timer thread; continue off it, in the request's context
+        return started.copy()
+            .orTimeout(budgetNanos, TimeUnit.NANOSECONDS)
+            .exceptionallyAsync(error -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+                if (!(cause instanceof TimeoutException)) {
+                    throw error instanceof CompletionException
+                        ? (CompletionException) error
+                        : new CompletionException(error);
+                }
+                degradedStages.add(name);
+                metricsService.incrementCounter(DEGRADED_METRIC, "stage", name.name());
+                return fallback.get();
+            }, ContextExecutors.bound())
+            .whenComplete((result, error) -> {
+                timings.record(name, stageStart);
+                PipelineEvents.endStage(event, result, degradedStages.contains(name), error);
             });
     }
 
+    private static Set<PipelineStage> copyStages(Set<PipelineStage> stages) {
+        return stages.isEmpty()
+            ? Collections.emptySet()
+            : Collections.unmodifiableSet(EnumSet.copyOf(stages));
+    }
+
     /**
      * Generates base offers based on risk assessment and request parameters.
      *
@@ -101,18 +312,18 @@ public class OfferGenerationServiceImpl implements OfferGenerationService {
     private List<BaseOffer> generateBaseOffers(
             RiskAssessmentResult riskAssessment,
             LoanOfferRequest request) {
-        List<BaseOffer> offers = new ArrayList<>();
+        List<BaseOffer> offers = new ArrayList<>(OFFER_TENURES.length);
+        double amount = request.getRequestedAmount();
+        double roi = riskAssessment.getROIRange();
         
         // Generate offers with different tenures
-        List<Integer> tenures = List.of(3, 6, 9, 12, 18, 24, 36);
-        
-        for (Integer tenure : tenures) {
+        for (int tenure : OFFER_TENURES) {
             if (isTenureValid(tenure, riskAssessment)) {
                 offers.add(new BaseOfferImpl(
-                    request.getRequestedAmount(),
+                    amount,
                     tenure,
-                    riskAssessment.getROIRange(),
-                    calculateProcessingFee(request.getRequestedAmount(), tenure)
+                    roi,
+                    calculateProcessingFee(amount, tenure)
                 ));
             }
         }
@@ -130,19 +341,7 @@ public class OfferGenerationServiceImpl implements OfferGenerationService {
     private List<RankedOffer> rankOffers(
             List<OptimizedOffer> offers,
             BehaviorAnalysisResult behaviorAnalysis) {
-        return offers.stream()
-            .map(offer -> new RankedOfferImpl(
-                offer,
-                calculateOfferScore(offer, behaviorAnalysis),
-                -1 // Rank will be set after sorting
-            ))
-            .sorted((o1, o2) -> Double.compare(o2.getScore(), o1.getScore()))
-            .map(offer -> new RankedOfferImpl(
-                offer.getOffer(),
-                offer.getScore(),
-                offers.indexOf(offer) + 1
-            ))
-            .collect(Collectors.toList());
+        return OfferRankingEngine.rank(offers, offer -> calculateOfferScore(offer, behaviorAnalysis));
     }
 
     /**
@@ -160,7 +359,7 @@ public class OfferGenerationServiceImpl implements OfferGenerationService {
         double valueWeight = 0.3;
 
         return (behaviorAnalysis.getConversionProbability() * conversionWeight) +
-               ((1 - offer.getRiskImpact()) * riskWeight) +
+               ((1 - offer.riskImpact()) * riskWeight) +
                (behaviorAnalysis.getLongTermValue() * valueWeight);
     }
 
@@ -171,7 +370,7 @@ public class OfferGenerationServiceImpl implements OfferGenerationService {
      * @param riskAssessment The risk assessment result
      * @return true if the tenure is valid
      */
-    private boolean isTenureValid(Integer tenure, RiskAssessmentResult riskAssessment) {
+    private boolean isTenureValid(int tenure, RiskAssessmentResult riskAssessment) {
         // Implement tenure validation logic based on risk assessment
         return true; // Placeholder implementation
     }
@@ -183,75 +382,8 @@ public class OfferGenerationServiceImpl implements OfferGenerationService {
      * @param tenure The loan tenure
      * @return The processing fee
      */
-    private double calculateProcessingFee(Double amount, Integer tenure) {
+    private double calculateProcessingFee(double amount, int tenure) {
         // Implement processing fee calculation logic
         return amount * 0.02; // Placeholder implementation
     }
 }
-
-/**
- * Implementation of the BaseOffer interface.
- */
-class BaseOfferImpl implements BaseOffer {
-    private final Double amount;
-    private final Integer tenure;
-    private final Double roi;
-    private final Double processingFee;
-
-    public BaseOfferImpl(Double amount, Integer tenure, Double roi, Double processingFee) {
-        this.amount = amount;
-        this.tenure = tenure;
-        this.roi = roi;
-        this.processingFee = processingFee;
-    }
-
-    @Override
-    public Double getAmount() {
-        return amount;
-    }
-
-    @Override
-    public Integer getTenure() {
-        return tenure;
-    }
-
-    @Override
-    public Double getROI() {
-        return roi;
-    }
-
-    @Override
-    public Double getProcessingFee() {
-        return processingFee;
-    }
-}
-
-/**
- * Implementation of the RankedOffer interface.
- */
-class RankedOfferImpl implements RankedOffer {
-    private final OptimizedOffer offer;
-    private final Double score;
-    private final Integer rank;
-
-    public RankedOfferImpl(OptimizedOffer offer, Double score, Integer rank) {
-        this.offer = offer;
-        this.score = score;
-        this.rank = rank;
-    }
-
-    @Override
-    public OptimizedOffer getOffer() {
-        return offer;
-    }
-
-    @Override
-    public Double getScore() {
-        return score;
-    }
-
-    @Override
-    public Integer getRank() {
-        return rank;
-    }
-} 
\ No newline at end of file
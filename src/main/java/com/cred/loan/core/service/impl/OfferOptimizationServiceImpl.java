@@ -1,13 +1,14 @@
 package com.cred.loan.core.service.impl;
 
 import com.cred.loan.core.model.*;
+import com.cred.loan.core.model.impl.OptimizedOfferImpl;
 import com.cred.loan.core.service.OfferOptimizationService;
 import com.cred.loan.core.exception.OptimizationException;
+import com.cred.loan.monitoring.context.ContextExecutors;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of the OfferOptimizationService interface.
@@ -25,14 +26,14 @@ public class OfferOptimizationServiceImpl implements OfferOptimizationService {
             List<BaseOffer> baseOffers,
             RiskAssessmentResult riskAssessment,
             BehaviorAnalysisResult behaviorAnalysis) {
-        List<CompletableFuture<OptimizedOffer>> futures = baseOffers.stream()
-            .map(offer -> optimizeOffer(offer, riskAssessment, behaviorAnalysis))
-            .collect(Collectors.toList());
-
-        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-            .thenApply(v -> futures.stream()
-                .map(CompletableFuture::join)
-                .collect(Collectors.toList()));
+        // Offers are cheap to optimize, so a single task avoids one pool hand-off per offer
+        return CompletableFuture.supplyAsync(() -> {
+            List<OptimizedOffer> optimizedOffers = new ArrayList<>(baseOffers.size());
+            for (BaseOffer baseOffer : baseOffers) {
+                optimizedOffers.add(computeOptimizedOffer(baseOffer, riskAssessment, behaviorAnalysis));
+            }
+            return optimizedOffers;
+        }, ContextExecutors.async());
     }
 
     @Override
@@ -40,39 +41,54 @@ public class OfferOptimizationServiceImpl implements OfferOptimizationService {
             BaseOffer baseOffer,
             RiskAssessmentResult riskAssessment,
             BehaviorAnalysisResult behaviorAnalysis) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Calculate adjustments based on risk and behavior
-                double roiAdjustment = calculateROIAdjustment(baseOffer, riskAssessment, behaviorAnalysis);
-                double processingFeeAdjustment = calculateProcessingFeeAdjustment(baseOffer, riskAssessment, behaviorAnalysis);
-                int tenureAdjustment = calculateTenureAdjustment(baseOffer, riskAssessment, behaviorAnalysis);
-
-                // Apply adjustments
-                double adjustedROI = baseOffer.getROI() + roiAdjustment;
-                double adjustedProcessingFee = baseOffer.getProcessingFee() * (1 + processingFeeAdjustment);
-                int adjustedTenure = baseOffer.getTenure() + tenureAdjustment;
-
-                // Calculate risk impact
-                double riskImpact = calculateRiskImpact(
-                    roiAdjustment,
-                    processingFeeAdjustment,
-                    tenureAdjustment,
-                    riskAssessment
-                );
+        return CompletableFuture.supplyAsync(
+            () -> computeOptimizedOffer(baseOffer, riskAssessment, behaviorAnalysis), ContextExecutors.async());
+    }
 
-                // Create optimized offer
-                return new OptimizedOfferImpl(
-                    baseOffer,
-                    adjustedROI,
-                    adjustedProcessingFee,
-                    adjustedTenure,
-                    riskImpact,
-                    behaviorAnalysis.getConversionProbability()
-                );
-            } catch (Exception e) {
-                throw new OptimizationException("Error optimizing offer: " + e.getMessage(), e);
-            }
-        });
+    /**
+     * Optimizes a single offer on the calling thread.
+     *
+     * @param baseOffer The base offer
+     * @param riskAssessment The risk assessment result
+     * @param behaviorAnalysis The behavior analysis result
+     * @return The optimized offer
+     * @throws OptimizationException if the offer cannot be optimized
+     */
+    private OptimizedOffer computeOptimizedOffer(
+            BaseOffer baseOffer,
+            RiskAssessmentResult riskAssessment,
+            BehaviorAnalysisResult behaviorAnalysis) {
+        try {
+            // Calculate adjustments based on risk and behavior
+            double roiAdjustment = calculateROIAdjustment(baseOffer, riskAssessment, behaviorAnalysis);
+            double processingFeeAdjustment = calculateProcessingFeeAdjustment(baseOffer, riskAssessment, behaviorAnalysis);
+            int tenureAdjustment = calculateTenureAdjustment(baseOffer, riskAssessment, behaviorAnalysis);
+
+            // Apply adjustments
+            double adjustedROI = baseOffer.roi() + roiAdjustment;
+            double adjustedProcessingFee = baseOffer.processingFee() * (1 + processingFeeAdjustment);
+            int adjustedTenure = baseOffer.tenure() + tenureAdjustment;
+
+            // Calculate risk impact
+            double riskImpact = calculateRiskImpact(
+                roiAdjustment,
+                processingFeeAdjustment,
+                tenureAdjustment,
+                riskAssessment
+            );
+
+            // Create optimized offer
+            return new OptimizedOfferImpl(
+                baseOffer,
+                adjustedROI,
+                adjustedProcessingFee,
+                adjustedTenure,
+                riskImpact,
+                behaviorAnalysis.getConversionProbability()
+            );
+        } catch (Exception e) {
+            throw new OptimizationException("Error optimizing offer: " + e.getMessage(), e);
+        }
     }
 
     /**
@@ -171,7 +187,7 @@ public class OfferOptimizationServiceImpl implements OfferOptimizationService {
         }
 
         // Ensure adjustment is within bounds
-        int maxAdjustment = (int) (baseOffer.getTenure() * MAX_TENURE_ADJUSTMENT);
+        int maxAdjustment = (int) (baseOffer.tenure() * MAX_TENURE_ADJUSTMENT);
         return Math.min(Math.max(adjustment, -maxAdjustment), maxAdjustment);
     }
 
@@ -210,50 +226,3 @@ public class OfferOptimizationServiceImpl implements OfferOptimizationService {
         return Math.min(Math.max(impact, 0.0), 1.0);
     }
 }
-
-/**
- * Implementation of the OptimizedOffer interface.
- */
-class OptimizedOfferImpl implements OptimizedOffer {
-    private final BaseOffer baseOffer;
-    private final Double adjustedROI;
-    private final Double adjustedProcessingFee;
-    private final Integer adjustedTenure;
-    private final Double riskImpact;
-    private final Double conversionProbability;
-
-    public OptimizedOfferImpl(
-            BaseOffer baseOffer,
-            Double adjustedROI,
-            Double adjustedProcessingFee,
-            Integer adjustedTenure,
-            Double riskImpact,
-            Double conversionProbability) {
-        this.baseOffer = baseOffer;
-        this.adjustedROI = adjustedROI;
-        this.adjustedProcessingFee = adjustedProcessingFee;
-        this.adjustedTenure = adjustedTenure;
-        this.riskImpact = riskImpact;
-        this.conversionProbability = conversionProbability;
-    }
-
-    @Override
-    public BaseOffer getBaseOffer() {
-        return baseOffer;
-    }
-
-    @Override
-    public Double getAdjustedROI() {
-        return adjustedROI;
-    }
-
-    @Override
-    public Double getRiskImpact() {
-        return riskImpact;
-    }
-
-    @Override
-    public Double getConversionProbability() {
-        return conversionProbability;
-    }
-} 
\ No newline at end of file
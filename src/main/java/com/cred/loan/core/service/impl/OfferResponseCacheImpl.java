@@ -0,0 +1,259 @@
+package com.cred.loan.core.service.impl;
+
+import com.cred.loan.core.model.BaseOffer;
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.model.OfferCacheLookup;
+import com.cred.loan.core.model.OptimizedOffer;
+import com.cred.loan.core.model.RankedOffer;
+import com.cred.loan.core.model.ResponseField;
+import com.cred.loan.core.model.RiskAssessmentResult;
+import com.cred.loan.core.model.impl.BaseOfferImpl;
+import com.cred.loan.core.model.impl.OptimizedOfferImpl;
+import com.cred.loan.core.model.impl.RankedOfferImpl;
+import com.cred.loan.core.model.impl.RiskAssessmentResultImpl;
+import com.cred.loan.core.service.OfferResponseCache;
+import com.cred.loan.monitoring.context.ContextExecutors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implementation of the OfferResponseCache interface backed by the
+ * {@code offerData} cache.
+ * Each user has a version entry holding a random token, and every variant
+ * requested by the user is a separate entry keyed by the configuration
+ * version, user ID, token and variant, so concurrent stores of different
+ * variants never overwrite each other. Invalidating replaces the token, which
+ * leaves all earlier variants unreachable until they expire. A response is
+ * stored under the token its lookup read, so a computation that started
+ * before an invalidation can only store where nobody reads any more. No
+ * clocks are compared across instances.
+ * Requests are canonicalized by amount bucket, preferred tenure, purpose,
+ * source and selected fields. Offers cached for another amount in the same
+ * bucket are rescaled to the requested amount; this relies on amounts and
+ * processing fees being the only amount-dependent offer terms.
+ */
+@Service
+public class OfferResponseCacheImpl implements OfferResponseCache {
+
+    private static final String CACHE_NAME = "offerData";
+
+    private final Logger logger = LoggerFactory.getLogger(OfferResponseCacheImpl.class);
+    private final Cache cache;
+    private final String configVersion;
+    private final double amountBucket;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter errorCounter;
+    private final Counter invalidationCounter;
+    private final Counter invalidationFailedCounter;
+
+    /**
+     * Creates a new instance of OfferResponseCacheImpl.
+     *
+     * @param cacheManager The cache manager providing the offer cache
+     * @param registry The meter registry
+     * @param configVersion Version of the active offer configuration, part of every key
+     * @param amountBucket Width of the requested amount buckets
+     * @throws IllegalArgumentException if the amount bucket is not positive
+     */
+    public OfferResponseCacheImpl(
+            CacheManager cacheManager,
+            MeterRegistry registry,
+            @Value("${loan.offers.cache.config-version:1}") String configVersion,
+            @Value("${loan.offers.cache.amount-bucket:1000}") double amountBucket) {
+        if (amountBucket <= 0) {
+            throw new IllegalArgumentException("Amount bucket must be positive");
+        }
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.configVersion = configVersion;
+        this.amountBucket = amountBucket;
+        this.hitCounter = resultCounter(registry, "hit");
+        this.missCounter = resultCounter(registry, "miss");
+        this.errorCounter = resultCounter(registry, "error");
+        this.invalidationCounter = Counter.builder("loan.offers.cache.invalidations")
+            .description("Number of offer cache invalidations")
+            .register(registry);
+        this.invalidationFailedCounter = Counter.builder("loan.offers.cache.invalidation.failed")
+            .description("Number of offer cache invalidations that failed")
+            .register(registry);
+    }
+
+    @Override
+    public CompletableFuture<OfferCacheLookup> get(LoanOfferRequest request) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                String version = version(request.getUserId());
+                Cache.ValueWrapper wrapper = cache.get(responseKey(request, version));
+                LoanOfferResponse cached = wrapper == null ? null : (LoanOfferResponse) wrapper.get();
+                if (cached == null) {
+                    missCounter.increment();
+                    return new OfferCacheLookup(null, version);
+                }
+                hitCounter.increment();
+                return new OfferCacheLookup(
+                    rescale(cached, request.getRequestedAmount()).withRequestId(UUID.randomUUID().toString()),
+                    version);
+            } catch (RuntimeException e) {
+                // An unavailable cache must not fail the request
+                errorCounter.increment();
+                return OfferCacheLookup.UNAVAILABLE;
+            }
+        }, ContextExecutors.async());
+    }
+
+    @Override
+    public CompletableFuture<Void> put(LoanOfferRequest request, LoanOfferResponse response, OfferCacheLookup lookup) {
+        if (response.isDegraded() || lookup.version() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                cache.put(responseKey(request, lookup.version()), materialize(response));
+            } catch (RuntimeException e) {
+                errorCounter.increment();
+            }
+        }, ContextExecutors.async());
+    }
+
+    @Override
+    public CompletableFuture<Void> invalidate(String userId) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                cache.put(versionKey(userId), UUID.randomUUID().toString());
+                invalidationCounter.increment();
+            } catch (RuntimeException e) {
+                invalidationFailedCounter.increment();
+                logger.warn("Failed to invalidate cached offers for user {}", userId, e);
+            }
+        }, ContextExecutors.async());
+    }
+
+    /**
+     * Gets the current version token of a user's entries, creating one if the
+     * user has none. Of concurrent creations, the first one stored wins.
+     *
+     * @param userId The ID of the user
+     * @return The version token
+     */
+    private String version(String userId) {
+        String key = versionKey(userId);
+        Cache.ValueWrapper current = cache.get(key);
+        if (current != null && current.get() != null) {
+            return (String) current.get();
+        }
+        String created = UUID.randomUUID().toString();
+        Cache.ValueWrapper existing = cache.putIfAbsent(key, created);
+        return existing != null && existing.get() != null ? (String) existing.get() : created;
+    }
+
+    private String versionKey(String userId) {
+        return configVersion + ":" + userId + ":version";
+    }
+
+    private String responseKey(LoanOfferRequest request, String version) {
+        return configVersion + ":" + request.getUserId() + ":" + version + ":" + variantKey(request);
+    }
+
+    /**
+     * Builds the canonical variant key of a request.
+     *
+     * @param request The loan offer request
+     * @return The variant key
+     */
+    private String variantKey(LoanOfferRequest request) {
+        long bucket = (long) Math.floor(request.getRequestedAmount() / amountBucket);
+        int fieldMask = 0;
+        for (ResponseField field : request.getFields()) {
+            fieldMask |= 1 << field.ordinal();
+        }
+        return bucket + "|" + request.getPreferredTenure() + "|" + canonical(request.getPurpose())
+            + "|" + canonical(request.getSource()) + "|" + fieldMask;
+    }
+
+    private static String canonical(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Copies a response into a serializable form. Only the selected risk
+     * sections are rendered, since the selected fields are part of the key.
+     *
+     * @param response The generated response
+     * @return The response to store
+     */
+    private static LoanOfferResponse materialize(LoanOfferResponse response) {
+        RiskAssessmentResult risk = response.getRiskAssessment();
+        RiskAssessmentResult snapshot = risk == null ? null : new RiskAssessmentResultImpl(
+            risk.getRiskScore(),
+            risk.getROIRange(),
+            risk.getRiskLevel(),
+            new HashSet<>(response.getRiskFactors()),
+            new HashMap<>(response.getRiskFactorExplanations())
+        );
+        return new LoanOfferResponse(
+            new ArrayList<>(response.getOffers()),
+            response.getRequestId(),
+            response.getGenerationTimeMillis(),
+            snapshot,
+            response.getFields(),
+            response.getDegradedStages(),
+            response.isPrecomputed(),
+            response.getPriceSegment()
+        );
+    }
+
+    /**
+     * Rescales cached offers to the requested amount.
+     *
+     * @param response The cached response
+     * @param amount The requested amount
+     * @return The response with offers for the requested amount
+     */
+    private static LoanOfferResponse rescale(LoanOfferResponse response, double amount) {
+        List<RankedOffer> offers = response.getOffers();
+        if (offers.isEmpty() || offers.get(0).getOffer().getBaseOffer().amount() == amount) {
+            return response;
+        }
+
+        List<RankedOffer> rescaled = new ArrayList<>(offers.size());
+        for (RankedOffer rankedOffer : offers) {
+            OptimizedOffer offer = rankedOffer.getOffer();
+            BaseOffer baseOffer = offer.getBaseOffer();
+            double ratio = amount / baseOffer.amount();
+            BaseOffer base = new BaseOfferImpl(
+                amount, baseOffer.tenure(), baseOffer.roi(), baseOffer.processingFee() * ratio);
+            OptimizedOffer optimized = new OptimizedOfferImpl(
+                base,
+                offer.adjustedRoi(),
+                offer.adjustedProcessingFee() * ratio,
+                offer.adjustedTenure(),
+                offer.riskImpact(),
+                offer.conversionProbability()
+            );
+            rescaled.add(new RankedOfferImpl(optimized, rankedOffer.score(), rankedOffer.rank()));
+        }
+        return response.withOffers(rescaled);
+    }
+
+    private static Counter resultCounter(MeterRegistry registry, String result) {
+        return Counter.builder("loan.offers.cache")
+            .description("Offer cache lookups by result")
+            .tag("result", result)
+            .register(registry);
+    }
+}
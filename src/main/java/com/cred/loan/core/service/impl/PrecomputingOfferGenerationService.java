@@ -0,0 +1,317 @@
+package com.cred.loan.core.service.impl;
+
+import com.cred.loan.core.cache.BoundedCache;
+import com.cred.loan.core.model.LoanCalculator;
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.model.PageView;
+import com.cred.loan.core.pipeline.Deadline;
+import com.cred.loan.core.service.OfferGenerationService;
+import com.cred.loan.core.service.OfferPrecomputeService;
+import com.cred.loan.monitoring.context.ContextExecutors;
+import com.cred.loan.monitoring.context.RequestContext;
+import com.cred.loan.replay.RequestCaptureWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Layer of the offer generation pipeline that runs a user's request
+ * speculatively on loan page views and calculator use, so its response is
+ * cached or in flight by the time the real request arrives.
+ * Precomputes run on a small low-priority executor, deduplicated and
+ * rate-limited per user, and count as hits or as wasted depending on whether
+ * a real request is served from them. Real requests run in a request context
+ * opened here and are handed to the capture writer once complete.
+ */
+@Service
+public class PrecomputingOfferGenerationService implements OfferGenerationService, OfferPrecomputeService {
+
+    private final OfferGenerationService delegate;
+    private final RequestCaptureWriter capture;
+    private final ThreadPoolExecutor executor;
+    private final BoundedCache<String, Precompute> precomputes;
+    private final Set<String> pageIds;
+    private final double defaultAmount;
+    private final int defaultTenure;
+    private final String defaultPurpose;
+    private final String defaultSource;
+    private final long minIntervalNanos;
+
+    private final Counter acceptedCounter;
+    private final Counter deduplicatedCounter;
+    private final Counter rateLimitedCounter;
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+    private final Counter hitCounter;
+    private final Counter wastedCounter;
+
+    /**
+     * Creates a new instance of PrecomputingOfferGenerationService.
+     *
+     * @param delegate The coalescing service in front of the pipeline
+     * @param registry The meter registry
+     * @param capture The writer capturing requests for replay
+     * @param pageIds IDs of the pages whose views trigger a precompute
+     * @param defaultAmount Amount used when the event does not carry one
+     * @param defaultTenure Tenure used when the event does not carry one
+     * @param defaultPurpose Purpose of speculative requests
+     * @param defaultSource Source of speculative requests
+     * @param minIntervalMillis Minimum time between precomputes for a user
+     * @param dedupeWindowMillis Time during which an identical precompute is skipped
+     * @param threads Number of precompute threads
+     * @param queueCapacity Maximum number of queued precomputes
+     * @param maxTrackedUsers Maximum number of users whose last precompute is tracked
+     */
+    public PrecomputingOfferGenerationService(
+            CoalescingOfferGenerationService delegate,
+            MeterRegistry registry,
+            RequestCaptureWriter capture,
+            @Value("${loan.offers.precompute.pages:loan,loan-offers}") String[] pageIds,
+            @Value("${loan.offers.precompute.default-amount:100000}") double defaultAmount,
+            @Value("${loan.offers.precompute.default-tenure:12}") int defaultTenure,
+            @Value("${loan.offers.precompute.purpose:personal}") String defaultPurpose,
+            @Value("${loan.offers.precompute.source:app}") String defaultSource,
+            @Value("${loan.offers.precompute.min-interval-ms:10000}") long minIntervalMillis,
+            @Value("${loan.offers.precompute.dedupe-window-ms:300000}") long dedupeWindowMillis,
+            @Value("${loan.offers.precompute.threads:2}") int threads,
+            @Value("${loan.offers.precompute.queue-capacity:256}") int queueCapacity,
+            @Value("${loan.offers.precompute.max-tracked-users:10000}") int maxTrackedUsers) {
+        this.delegate = delegate;
+        this.capture = capture;
+        this.pageIds = new HashSet<>(Arrays.asList(pageIds));
+        this.defaultAmount = defaultAmount;
+        this.defaultTenure = defaultTenure;
+        this.defaultPurpose = defaultPurpose;
+        this.defaultSource = defaultSource;
+        this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMillis);
+        // A precompute not followed by a request within the window leaves as wasted
+        this.precomputes = new BoundedCache<>(maxTrackedUsers, Duration.ofMillis(dedupeWindowMillis), false,
+            System::nanoTime, (userId, precompute) -> retire(precompute));
+        this.executor = createExecutor(threads, queueCapacity);
+
+        this.acceptedCounter = triggerCounter(registry, "accepted");
+        this.deduplicatedCounter = triggerCounter(registry, "deduplicated");
+        this.rateLimitedCounter = triggerCounter(registry, "rate_limited");
+        this.rejectedCounter = triggerCounter(registry, "rejected");
+        this.failedCounter = Counter.builder("loan.offers.precompute.failed")
+            .description("Number of precomputes that failed")
+            .register(registry);
+        this.hitCounter = Counter.builder("loan.offers.precompute.hits")
+            .description("Number of precomputes served to a real request")
+            .register(registry);
+        this.wastedCounter = Counter.builder("loan.offers.precompute.wasted")
+            .description("Number of precomputes never served to a real request")
+            .register(registry);
+        Gauge.builder("loan.offers.precompute.hit.rate", this, PrecomputingOfferGenerationService::hitRate)
+            .description("Fraction of finished precomputes served to a real request")
+            .register(registry);
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request) {
+        try (RequestContext.Scope scope = RequestContext.openIfAbsent(RequestContext::newCorrelationId)) {
+            return delegate.generateOffers(request)
+                .whenComplete((response, error) -> capture.recordRequest(request))
+                .thenApply(response -> recordServed(request, response));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request, Deadline deadline) {
+        try (RequestContext.Scope scope = RequestContext.openIfAbsent(RequestContext::newCorrelationId)) {
+            return delegate.generateOffers(request, deadline)
+                .whenComplete((response, error) -> capture.recordRequest(request))
+                .thenApply(response -> recordServed(request, response));
+        }
+    }
+
+    @Override
+    public void onPageView(String userId, PageView pageView) {
+        if (!pageIds.contains(pageView.getPageId())) {
+            return;
+        }
+        Map<String, Object> actionData = pageView.getActionData();
+        Object amount = actionData == null ? null : actionData.get("amount");
+        Object tenure = actionData == null ? null : actionData.get("tenure");
+        trigger(speculativeRequest(
+            userId,
+            amount instanceof Number ? ((Number) amount).doubleValue() : defaultAmount,
+            tenure instanceof Number ? ((Number) tenure).intValue() : defaultTenure
+        ));
+    }
+
+    @Override
+    public void onLoanCalculator(String userId, LoanCalculator calculator) {
+        trigger(speculativeRequest(
+            userId,
+            calculator.getAmount() != null ? calculator.getAmount() : defaultAmount,
+            calculator.getTenure() != null ? calculator.getTenure() : defaultTenure
+        ));
+    }
+
+    /**
+     * Shuts down the precompute executor. Queued precomputes are discarded.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private LoanOfferRequest speculativeRequest(String userId, double amount, int tenure) {
+        return new LoanOfferRequest(userId, amount, tenure, defaultPurpose, defaultSource).asSpeculative();
+    }
+
+    /**
+     * Schedules a precompute unless the user was precomputed recently.
+     *
+     * @param request The speculative request
+     */
+    private void trigger(LoanOfferRequest request) {
+        long now = System.nanoTime();
+        String userId = request.getUserId();
+        Precompute candidate = new Precompute(request, now);
+
+        Precompute current = precomputes.compute(userId, (id, previous) -> {
+            if (previous != null) {
+                // The cache has already dropped precomputes older than the dedupe window
+                if (now - previous.triggeredAtNanos < minIntervalNanos || previous.request.equals(request)) {
+                    return previous;
+                }
+                retire(previous);
+            }
+            return candidate;
+        });
+
+        if (current != candidate) {
+            if (current.request.equals(request)) {
+                deduplicatedCounter.increment();
+            } else {
+                rateLimitedCounter.increment();
+            }
+            return;
+        }
+
+        try {
+            executor.execute(ContextExecutors.wrap(() -> run(candidate)));
+            acceptedCounter.increment();
+        } catch (RejectedExecutionException e) {
+            precomputes.remove(userId, candidate);
+            rejectedCounter.increment();
+        }
+    }
+
+    /**
+     * Runs a precompute. The low-priority thread waits for the pipeline, which
+     * bounds the number of concurrent precomputes by the pool size.
+     *
+     * @param precompute The precompute to run
+     */
+    @SuppressWarnings("try")
+    private void run(Precompute precompute) {
+        try (RequestContext.Scope scope = RequestContext.openIfAbsent(RequestContext::newCorrelationId)) {
+            delegate.generateOffers(precompute.request).join();
+            precompute.state.compareAndSet(Precompute.RUNNING, Precompute.FINISHED);
+        } catch (RuntimeException e) {
+            precomputes.remove(precompute.request.getUserId(), precompute);
+            failedCounter.increment();
+        }
+    }
+
+    /**
+     * Credits the user's precompute with a hit if the response served to a
+     * real request was precomputed, whether it was read from the cache or
+     * joined in flight.
+     *
+     * @param request The real request
+     * @param response The response served
+     * @return The response
+     */
+    private LoanOfferResponse recordServed(LoanOfferRequest request, LoanOfferResponse response) {
+        if (response.isPrecomputed()) {
+            Precompute precompute = precomputes.get(request.getUserId());
+            if (precompute != null && precompute.state.getAndSet(Precompute.CONSUMED) != Precompute.CONSUMED) {
+                hitCounter.increment();
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Counts a replaced or expired precompute as wasted if it finished without
+     * being followed by a real request.
+     *
+     * @param precompute The precompute leaving the tracker
+     */
+    private void retire(Precompute precompute) {
+        if (precompute.state.compareAndSet(Precompute.FINISHED, Precompute.CONSUMED)) {
+            wastedCounter.increment();
+        }
+    }
+
+    double hitRate() {
+        double hits = hitCounter.count();
+        double finished = hits + wastedCounter.count();
+        return finished > 0 ? hits / finished : 0.0;
+    }
+
+    private static ThreadPoolExecutor createExecutor(int threads, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "offer-precompute-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    private static Counter triggerCounter(MeterRegistry registry, String result) {
+        return Counter.builder("loan.offers.precompute.triggers")
+            .description("Precompute triggers by outcome")
+            .tag("result", result)
+            .register(registry);
+    }
+}
+
+/**
+ * A precompute tracked for a single user.
+ */
+final class Precompute {
+    static final int RUNNING = 0;
+    static final int FINISHED = 1;
+    static final int CONSUMED = 2;
+
+    final LoanOfferRequest request;
+    final long triggeredAtNanos;
+    final AtomicInteger state = new AtomicInteger(RUNNING);
+
+    Precompute(LoanOfferRequest request, long triggeredAtNanos) {
+        this.request = request;
+        this.triggeredAtNanos = triggeredAtNanos;
+    }
+}
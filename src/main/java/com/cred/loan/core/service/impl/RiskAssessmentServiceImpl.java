@@ -3,11 +3,11 @@ package com.cred.loan.core.service.impl;
 import com.cred.loan.core.model.*;
 import com.cred.loan.core.service.RiskAssessmentService;
 import com.cred.loan.core.exception.RiskAssessmentException;
+import com.cred.loan.monitoring.context.ContextExecutors;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of the RiskAssessmentService interface.
@@ -31,7 +31,7 @@ public class RiskAssessmentServiceImpl implements RiskAssessmentService {
                     roiRange,
                     determineRiskLevel(riskScore),
                     identifyRiskFactors(userData),
-                    generateRiskFactorExplanations(userData)
+                    userData
                 )));
     }
 
@@ -60,7 +60,7 @@ public class RiskAssessmentServiceImpl implements RiskAssessmentService {
             } catch (Exception e) {
                 throw new RiskAssessmentException("Error calculating risk score: " + e.getMessage(), e);
             }
-        });
+        }, ContextExecutors.async());
     }
 
     @Override
@@ -82,7 +82,7 @@ public class RiskAssessmentServiceImpl implements RiskAssessmentService {
             } catch (Exception e) {
                 throw new RiskAssessmentException("Error calculating ROI range: " + e.getMessage(), e);
             }
-        });
+        }, ContextExecutors.async());
     }
 
     /**
@@ -222,46 +222,29 @@ public class RiskAssessmentServiceImpl implements RiskAssessmentService {
      * Identifies risk factors based on user data.
      *
      * @param userData The user data
-     * @return Set of identified risk factors
+     * @return Bitmask of identified risk factors, indexed by {@link RiskFactor#ordinal()}
      */
-    private Set<RiskFactor> identifyRiskFactors(UserData userData) {
-        Set<RiskFactor> riskFactors = new HashSet<>();
+    private int identifyRiskFactors(UserData userData) {
+        int riskFactors = 0;
 
         if (userData.getCreditScore() != null && userData.getCreditScore() < 650) {
-            riskFactors.add(RiskFactor.CREDIT_SCORE);
+            riskFactors |= 1 << RiskFactor.CREDIT_SCORE.ordinal();
         }
 
         if (userData.getIncome() != null && userData.getExistingDebt() != null) {
             double dti = userData.getExistingDebt() / userData.getIncome();
             if (dti > 0.4) {
-                riskFactors.add(RiskFactor.FOIR);
+                riskFactors |= 1 << RiskFactor.FOIR.ordinal();
             }
         }
 
         if (userData.getEmploymentTenure() != null && userData.getEmploymentTenure() < 6) {
-            riskFactors.add(RiskFactor.INCOME_STABILITY);
+            riskFactors |= 1 << RiskFactor.INCOME_STABILITY.ordinal();
         }
 
         return riskFactors;
     }
 
-    /**
-     * Generates explanations for identified risk factors.
-     *
-     * @param userData The user data
-     * @return Map of risk factors to their explanations
-     */
-    private Map<RiskFactor, String> generateRiskFactorExplanations(UserData userData) {
-        Map<RiskFactor, String> explanations = new HashMap<>();
-        Set<RiskFactor> riskFactors = identifyRiskFactors(userData);
-
-        for (RiskFactor factor : riskFactors) {
-            explanations.put(factor, generateExplanation(factor, userData));
-        }
-
-        return explanations;
-    }
-
     /**
      * Generates an explanation for a specific risk factor.
      *
@@ -269,7 +252,7 @@ public class RiskAssessmentServiceImpl implements RiskAssessmentService {
      * @param userData The user data
      * @return The explanation string
      */
-    private String generateExplanation(RiskFactor factor, UserData userData) {
+    static String generateExplanation(RiskFactor factor, UserData userData) {
         return switch (factor) {
             case CREDIT_SCORE -> String.format(
                 "Credit score of %.0f is below the recommended threshold of 650",
@@ -290,31 +273,33 @@ public class RiskAssessmentServiceImpl implements RiskAssessmentService {
 
 /**
  * Implementation of the RiskAssessmentResult interface.
+ * Risk factors are held as a bitmask; factor names and explanations are only
+ * rendered the first time they are requested.
  */
 class RiskAssessmentResultImpl implements RiskAssessmentResult {
+    private static final RiskFactor[] FACTORS = RiskFactor.values();
+
     private final Double riskScore;
     private final Double roiRange;
     private final RiskLevel riskLevel;
-    private final Set<String> riskFactors;
-    private final Map<String, String> riskFactorExplanations;
+    private final int riskFactorMask;
+    private final UserData userData;
+
+    // Lazily rendered views; racing threads build equal values, so no locking is needed
+    private Set<String> riskFactors;
+    private Map<String, String> riskFactorExplanations;
 
     public RiskAssessmentResultImpl(
             Double riskScore,
             Double roiRange,
             RiskLevel riskLevel,
-            Set<RiskFactor> riskFactors,
-            Map<RiskFactor, String> riskFactorExplanations) {
+            int riskFactorMask,
+            UserData userData) {
         this.riskScore = riskScore;
         this.roiRange = roiRange;
         this.riskLevel = riskLevel;
-        this.riskFactors = riskFactors.stream()
-            .map(RiskFactor::name)
-            .collect(Collectors.toSet());
-        this.riskFactorExplanations = riskFactorExplanations.entrySet().stream()
-            .collect(Collectors.toMap(
-                e -> e.getKey().name(),
-                Map.Entry::getValue
-            ));
+        this.riskFactorMask = riskFactorMask;
+        this.userData = userData;
     }
 
     @Override
@@ -334,11 +319,37 @@ class RiskAssessmentResultImpl implements RiskAssessmentResult {
 
     @Override
     public Set<String> getRiskFactors() {
-        return riskFactors;
+        Set<String> names = riskFactors;
+        if (names == null) {
+            Set<String> rendered = new HashSet<>();
+            for (RiskFactor factor : FACTORS) {
+                if (hasRiskFactor(factor)) {
+                    rendered.add(factor.name());
+                }
+            }
+            names = Collections.unmodifiableSet(rendered);
+            riskFactors = names;
+        }
+        return names;
     }
 
     @Override
     public Map<String, String> getRiskFactorExplanations() {
-        return riskFactorExplanations;
+        Map<String, String> explanations = riskFactorExplanations;
+        if (explanations == null) {
+            Map<String, String> rendered = new HashMap<>();
+            for (RiskFactor factor : FACTORS) {
+                if (hasRiskFactor(factor)) {
+                    rendered.put(factor.name(), RiskAssessmentServiceImpl.generateExplanation(factor, userData));
+                }
+            }
+            explanations = Collections.unmodifiableMap(rendered);
+            riskFactorExplanations = explanations;
+        }
+        return explanations;
     }
-} 
\ No newline at end of file
+
+    private boolean hasRiskFactor(RiskFactor factor) {
+        return (riskFactorMask & (1 << factor.ordinal())) != 0;
+    }
+}
@@ -0,0 +1,76 @@
+package com.cred.loan.core.service.impl;
+
+import com.cred.loan.behavior.learning.PriceSensitivityLearner;
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.model.RankedOffer;
+import com.cred.loan.core.pipeline.Deadline;
+import com.cred.loan.core.service.OfferGenerationService;
+import com.cred.loan.optimization.bandit.OfferBandit;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Outermost layer of the offer generation pipeline, applied to every response
+ * served to a user however it was produced: computed, read from the response
+ * cache, joined in flight or precomputed.
+ * The offer bandit may promote an explored offer to the top slot and records
+ * the impression, and the rates of the offers served are recorded as the
+ * user's exposure for the price sensitivity learner. Responses without a price
+ * segment, generated without user data, are served as they are.
+ */
+@Service
+@Primary
+public class ServingOfferGenerationService implements OfferGenerationService {
+
+    private final OfferGenerationService delegate;
+    private final OfferBandit bandit;
+    private final PriceSensitivityLearner priceLearner;
+
+    /**
+     * Creates a new instance of ServingOfferGenerationService.
+     *
+     * @param delegate The precomputing service in front of the pipeline
+     * @param bandit The bandit exploring the top offer slot
+     * @param priceLearner The learner recording offer exposures
+     */
+    public ServingOfferGenerationService(
+            PrecomputingOfferGenerationService delegate,
+            OfferBandit bandit,
+            PriceSensitivityLearner priceLearner) {
+        this.delegate = delegate;
+        this.bandit = bandit;
+        this.priceLearner = priceLearner;
+    }
+
+    @Override
+    public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request) {
+        return delegate.generateOffers(request).thenApply(response -> serve(request, response));
+    }
+
+    @Override
+    public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request, Deadline deadline) {
+        return delegate.generateOffers(request, deadline).thenApply(response -> serve(request, response));
+    }
+
+    /**
+     * Selects the top offer of a response and records what the user is shown.
+     *
+     * @param request The loan offer request
+     * @param response The response to serve
+     * @return The response with the selected offer on top
+     */
+    private LoanOfferResponse serve(LoanOfferRequest request, LoanOfferResponse response) {
+        int segment = response.getPriceSegment();
+        if (segment < 0 || response.getOffers().isEmpty()) {
+            return response;
+        }
+        List<RankedOffer> offers = bandit.select(
+            request.getUserId(), response.getRequestId(), segment, response.getOffers());
+        priceLearner.recordExposure(request.getUserId(), segment, response.getRequestId(), offers);
+        return offers == response.getOffers() ? response : response.withOffers(offers);
+    }
+}
@@ -0,0 +1,18 @@
+package com.cred.loan.core.service.impl;
+
+import com.cred.loan.core.model.BehaviorAnalysisResult;
+import com.cred.loan.core.model.RiskAssessmentResult;
+import com.cred.loan.core.model.UserData;
+
+/**
+ * Results of the risk and behavior stages.
+ *
+ * @param userData The user data, or null if it could not be fetched
+ * @param riskAssessment The risk assessment result
+ * @param behaviorAnalysis The behavior analysis result
+ */
+record StageResults(
+        UserData userData,
+        RiskAssessmentResult riskAssessment,
+        BehaviorAnalysisResult behaviorAnalysis) {
+}
@@ -1,7 +1,14 @@
 package com.cred.loan.core.service.impl;
 
+import com.cred.loan.behavior.aggregate.BehaviorAggregateStore;
+import com.cred.loan.behavior.aggregate.BehaviorStats;
+import com.cred.loan.behavior.inference.ConversionFeatures;
+import com.cred.loan.behavior.inference.ConversionModel;
+import com.cred.loan.behavior.inference.ConversionModelRegistry;
+import com.cred.loan.behavior.learning.PriceSensitivityLearner;
 import com.cred.loan.core.model.*;
 import com.cred.loan.core.service.UserBehaviorService;
+import com.cred.loan.monitoring.context.ContextExecutors;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -12,6 +19,11 @@ import java.util.concurrent.CompletableFuture;
  * Implementation of the UserBehaviorService interface.
  * This service analyzes user behavior patterns to optimize loan offers
  * and predict conversion probabilities.
+ * Profile-based estimates are blended with the user's behavioral aggregates,
+ * which are maintained as events arrive, so an analysis is a constant-time read.
+ * Conversion probability comes from the active trained model when one is
+ * loaded, and from the heuristics below otherwise. Price sensitivity is first
+ * blended with the sensitivity learned online for the user's segment.
  */
 @Service
 public class UserBehaviorServiceImpl implements UserBehaviorService {
@@ -20,78 +32,163 @@ public class UserBehaviorServiceImpl implements UserBehaviorService {
     private static final double MAX_CONVERSION_PROBABILITY = 0.95;
     private static final double MIN_CONVERSION_PROBABILITY = 0.1;
 
+    private final BehaviorAggregateStore aggregateStore;
+    private final ConversionModelRegistry modelRegistry;
+    private final PriceSensitivityLearner priceLearner;
+
+    /**
+     * Creates a new instance of UserBehaviorServiceImpl.
+     *
+     * @param aggregateStore The behavioral aggregate store
+     * @param modelRegistry Registry of the active conversion model
+     * @param priceLearner The online price sensitivity learner
+     */
+    public UserBehaviorServiceImpl(
+            BehaviorAggregateStore aggregateStore,
+            ConversionModelRegistry modelRegistry,
+            PriceSensitivityLearner priceLearner) {
+        this.aggregateStore = aggregateStore;
+        this.modelRegistry = modelRegistry;
+        this.priceLearner = priceLearner;
+    }
+
     @Override
     public CompletableFuture<BehaviorAnalysisResult> analyzeBehavior(UserData userData) {
         return CompletableFuture.supplyAsync(() -> {
-            double priceSensitivity = calculatePriceSensitivity(userData).join();
-            double conversionProbability = calculateConversionProbability(userData).join();
-            double longTermValue = calculateLongTermValue(userData);
+            BehaviorStats stats = aggregateStore.snapshot(userData.getUserId());
+            double priceSensitivity = estimatePriceSensitivity(userData, stats);
+            double conversionProbability = estimateConversionProbability(userData, stats, priceSensitivity);
+            double longTermValue = stats.blendLongTermValue(calculateLongTermValue(userData));
+            double confidence = Math.max(calculateConfidence(userData), stats.evidenceWeight());
 
             return new BehaviorAnalysisResultImpl(
-                new PriceSensitivityImpl(priceSensitivity, calculateConfidence(userData), LocalDateTime.now()),
+                new PriceSensitivityImpl(priceSensitivity, confidence, LocalDateTime.now()),
                 conversionProbability,
                 longTermValue,
                 LocalDateTime.now()
             );
-        });
+        }, ContextExecutors.async());
     }
 
     @Override
     public CompletableFuture<Double> calculatePriceSensitivity(UserData userData) {
         return CompletableFuture.supplyAsync(() -> {
-            // Calculate price sensitivity based on user's behavior data
-            double sensitivity = 0.0;
-            int factors = 0;
-
-            // Factor 1: Device Type
-            if (userData.getDeviceType() != null) {
-                sensitivity += calculateDeviceTypeSensitivity(userData.getDeviceType());
-                factors++;
-            }
-
-            // Factor 2: City
-            if (userData.getCity() != null) {
-                sensitivity += calculateCitySensitivity(userData.getCity());
-                factors++;
-            }
-
-            // Factor 3: Age
-            if (userData.getAge() != null) {
-                sensitivity += calculateAgeSensitivity(userData.getAge());
-                factors++;
-            }
-
-            // Calculate average sensitivity
-            return factors > 0 ? sensitivity / factors : 0.5;
-        });
+            BehaviorStats stats = aggregateStore.snapshot(userData.getUserId());
+            return estimatePriceSensitivity(userData, stats);
+        }, ContextExecutors.async());
     }
 
     @Override
     public CompletableFuture<Double> calculateConversionProbability(UserData userData) {
         return CompletableFuture.supplyAsync(() -> {
-            double baseProbability = BASE_CONVERSION_PROBABILITY;
-            double adjustment = 0.0;
+            BehaviorStats stats = aggregateStore.snapshot(userData.getUserId());
+            double priceSensitivity = estimatePriceSensitivity(userData, stats);
+            return estimateConversionProbability(userData, stats, priceSensitivity);
+        }, ContextExecutors.async());
+    }
 
-            // Adjust based on price sensitivity
-            double priceSensitivity = calculatePriceSensitivity(userData).join();
-            adjustment += (1 - priceSensitivity) * 0.2;
+    /**
+     * Estimates price sensitivity from the profile, the segment's learned price
+     * response and the user's own behavior, from least to most specific.
+     *
+     * @param userData The user data
+     * @param stats The user's behavioral statistics
+     * @return The price sensitivity
+     */
+    private double estimatePriceSensitivity(UserData userData, BehaviorStats stats) {
+        return stats.blendPriceSensitivity(priceLearner.blend(userData, computePriceSensitivity(userData)));
+    }
 
-            // Adjust based on city
-            if (userData.getCity() != null) {
-                adjustment += calculateCityConversionAdjustment(userData.getCity());
-            }
+    /**
+     * Estimates the conversion probability from the active model, or from the
+     * heuristics blended with behavioral evidence when no model is loaded.
+     * Models already see the behavioral features, so their output is not blended again.
+     *
+     * @param userData The user data
+     * @param stats The user's behavioral statistics
+     * @param priceSensitivity The user's price sensitivity
+     * @return The conversion probability
+     */
+    private double estimateConversionProbability(UserData userData, BehaviorStats stats, double priceSensitivity) {
+        ConversionModel model = modelRegistry.getActiveModel();
+        if (model != null) {
+            return clampProbability(ConversionFeatures.score(model, userData, stats));
+        }
+        return clampProbability(
+            stats.blendConversionProbability(computeConversionProbability(userData, priceSensitivity)));
+    }
 
-            // Adjust based on device type
-            if (userData.getDeviceType() != null) {
-                adjustment += calculateDeviceTypeConversionAdjustment(userData.getDeviceType());
-            }
+    /**
+     * Calculates price sensitivity on the calling thread.
+     *
+     * @param userData The user data
+     * @return The price sensitivity score (0.0 to 1.0)
+     */
+    private double computePriceSensitivity(UserData userData) {
+        // Calculate price sensitivity based on user's behavior data
+        double sensitivity = 0.0;
+        int factors = 0;
 
-            // Calculate final probability
-            double probability = baseProbability + adjustment;
+        // Factor 1: Device Type
+        if (userData.getDeviceType() != null) {
+            sensitivity += calculateDeviceTypeSensitivity(userData.getDeviceType());
+            factors++;
+        }
 
-            // Ensure probability is within bounds
-            return Math.min(Math.max(probability, MIN_CONVERSION_PROBABILITY), MAX_CONVERSION_PROBABILITY);
-        });
+        // Factor 2: City
+        if (userData.getCity() != null) {
+            sensitivity += calculateCitySensitivity(userData.getCity());
+            factors++;
+        }
+
+        // Factor 3: Age
+        if (userData.getAge() != null) {
+            sensitivity += calculateAgeSensitivity(userData.getAge());
+            factors++;
+        }
+
+        // Calculate average sensitivity
+        return factors > 0 ? sensitivity / factors : 0.5;
+    }
+
+    /**
+     * Calculates conversion probability on the calling thread.
+     *
+     * @param userData The user data
+     * @param priceSensitivity The user's price sensitivity
+     * @return The conversion probability
+     */
+    private double computeConversionProbability(UserData userData, double priceSensitivity) {
+        double baseProbability = BASE_CONVERSION_PROBABILITY;
+        double adjustment = 0.0;
+
+        // Adjust based on price sensitivity
+        adjustment += (1 - priceSensitivity) * 0.2;
+
+        // Adjust based on city
+        if (userData.getCity() != null) {
+            adjustment += calculateCityConversionAdjustment(userData.getCity());
+        }
+
+        // Adjust based on device type
+        if (userData.getDeviceType() != null) {
+            adjustment += calculateDeviceTypeConversionAdjustment(userData.getDeviceType());
+        }
+
+        // Calculate final probability
+        double probability = baseProbability + adjustment;
+
+        return clampProbability(probability);
+    }
+
+    /**
+     * Keeps a conversion probability within the supported bounds.
+     *
+     * @param probability The raw probability
+     * @return The bounded probability
+     */
+    private static double clampProbability(double probability) {
+        return Math.min(Math.max(probability, MIN_CONVERSION_PROBABILITY), MAX_CONVERSION_PROBABILITY);
     }
 
     /**
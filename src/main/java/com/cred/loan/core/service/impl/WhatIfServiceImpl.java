@@ -0,0 +1,195 @@
+package com.cred.loan.core.service.impl;
+
+import com.cred.loan.behavior.inference.ConversionModelRegistry;
+import com.cred.loan.core.model.*;
+import com.cred.loan.core.model.impl.UserDataImpl;
+import com.cred.loan.core.pipeline.Deadline;
+import com.cred.loan.core.pipeline.PipelineStage;
+import com.cred.loan.core.pipeline.StageTimings;
+import com.cred.loan.core.service.DataService;
+import com.cred.loan.core.service.RiskAssessmentService;
+import com.cred.loan.core.service.UserBehaviorService;
+import com.cred.loan.core.service.WhatIfService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the WhatIfService interface.
+ * A sweep fetches the user's data once. Risk assessment and behavior analysis
+ * are computed once for the whole sweep unless the varied input feeds them,
+ * and once per distinct value otherwise; offer optimization and ranking then
+ * run per point through the regular pipeline. The whole sweep, including
+ * the data fetch and the shared stages, is bounded by the configured timeout.
+ */
+@Service
+public class WhatIfServiceImpl implements WhatIfService {
+
+    private final DataService dataService;
+    private final RiskAssessmentService riskService;
+    private final UserBehaviorService behaviorService;
+    private final OfferGenerationServiceImpl pipeline;
+    private final ConversionModelRegistry modelRegistry;
+    private final int maxPoints;
+    private final Duration timeout;
+
+    /**
+     * Creates a new instance of WhatIfServiceImpl.
+     *
+     * @param dataService The data service
+     * @param riskService The risk assessment service
+     * @param behaviorService The user behavior service
+     * @param pipeline The offer generation pipeline
+     * @param modelRegistry Registry of the active conversion model
+     * @param maxPoints Maximum number of values in a sweep
+     * @param timeoutMillis Time budget of a whole sweep
+     */
+    public WhatIfServiceImpl(
+            DataService dataService,
+            RiskAssessmentService riskService,
+            UserBehaviorService behaviorService,
+            OfferGenerationServiceImpl pipeline,
+            ConversionModelRegistry modelRegistry,
+            @Value("${loan.whatif.max-points:500}") int maxPoints,
+            @Value("${loan.whatif.timeout-ms:30000}") long timeoutMillis) {
+        this.dataService = dataService;
+        this.riskService = riskService;
+        this.behaviorService = behaviorService;
+        this.pipeline = pipeline;
+        this.modelRegistry = modelRegistry;
+        this.maxPoints = maxPoints;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    @Override
+    public CompletableFuture<WhatIfSweep> sweep(LoanOfferRequest request, WhatIfInput input, double[] values) {
+        validateValues(values);
+        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        Deadline deadline = Deadline.after(timeout);
+
+        return dataService.getUserData(request.getUserId()).thenCompose(userData -> {
+            if (userData == null) {
+                throw new IllegalArgumentException("No user data found for user: " + request.getUserId());
+            }
+
+            boolean riskVaries = input.affectsRisk();
+            // A trained conversion model reads every profile input
+            boolean behaviorVaries = input.affectsBehavior() || modelRegistry.getActiveModel() != null;
+
+            Set<PipelineStage> sharedStages = EnumSet.of(PipelineStage.DATA_FETCH);
+            CompletableFuture<RiskAssessmentResult> sharedRisk = null;
+            CompletableFuture<BehaviorAnalysisResult> sharedBehavior = null;
+            if (!riskVaries) {
+                sharedRisk = riskService.assessRisk(userData);
+                sharedStages.add(PipelineStage.RISK_ASSESSMENT);
+            }
+            if (!behaviorVaries) {
+                sharedBehavior = behaviorService.analyzeBehavior(userData);
+                sharedStages.add(PipelineStage.BEHAVIOR_ANALYSIS);
+            }
+
+            // Values that round to the same input, e.g. ages, share one computation
+            Map<Double, CompletableFuture<LoanOfferResponse>> responses = new HashMap<>();
+            List<CompletableFuture<LoanOfferResponse>> pointResponses = new ArrayList<>(values.length);
+            for (double value : values) {
+                UserData variant = withValue(userData, input, value);
+                CompletableFuture<RiskAssessmentResult> risk = sharedRisk;
+                CompletableFuture<BehaviorAnalysisResult> behavior = sharedBehavior;
+                pointResponses.add(responses.computeIfAbsent(inputValue(variant, input), key -> {
+                    CompletableFuture<RiskAssessmentResult> pointRisk =
+                        risk != null ? risk : riskService.assessRisk(variant);
+                    CompletableFuture<BehaviorAnalysisResult> pointBehavior =
+                        behavior != null ? behavior : behaviorService.analyzeBehavior(variant);
+                    return pointRisk
+                        .thenCombine(pointBehavior, (r, b) -> new StageResults(variant, r, b))
+                        .thenCompose(results -> pipeline.completeOffers(
+                            request, results, deadline, StageTimings.startedAt(startNanos),
+                            ConcurrentHashMap.newKeySet(), false));
+                }));
+            }
+
+            return CompletableFuture.allOf(pointResponses.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> {
+                    List<WhatIfSweep.Point> points = new ArrayList<>(values.length);
+                    for (int i = 0; i < values.length; i++) {
+                        points.add(new WhatIfSweep.Point(values[i], pointResponses.get(i).join()));
+                    }
+                    return new WhatIfSweep(
+                        request.getUserId(),
+                        input,
+                        points,
+                        Collections.unmodifiableSet(sharedStages),
+                        System.currentTimeMillis() - startTime
+                    );
+                });
+        }).orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Validates the values of a sweep.
+     *
+     * @param values The input values
+     * @throws IllegalArgumentException if the sweep is empty, too large or has non-finite values
+     */
+    private void validateValues(double[] values) {
+        if (values == null || values.length == 0) {
+            throw new IllegalArgumentException("A sweep needs at least one value");
+        }
+        if (values.length > maxPoints) {
+            throw new IllegalArgumentException(
+                "A sweep can have at most " + maxPoints + " values, got: " + values.length);
+        }
+        for (double value : values) {
+            if (!Double.isFinite(value)) {
+                throw new IllegalArgumentException("Sweep values must be finite, got: " + value);
+            }
+        }
+    }
+
+    /**
+     * Creates a copy of the user data with one input replaced. Integer inputs
+     * are rounded to the nearest whole number.
+     *
+     * @param userData The user data
+     * @param input The input to replace
+     * @param value The new value
+     * @return The modified user data
+     */
+    private static UserData withValue(UserData userData, WhatIfInput input, double value) {
+        return new UserDataImpl(
+            userData.getUserId(),
+            input == WhatIfInput.CREDIT_SCORE ? Double.valueOf(value) : userData.getCreditScore(),
+            input == WhatIfInput.INCOME ? Double.valueOf(value) : userData.getIncome(),
+            input == WhatIfInput.EXISTING_DEBT ? Double.valueOf(value) : userData.getExistingDebt(),
+            input == WhatIfInput.AGE ? Integer.valueOf((int) Math.round(value)) : userData.getAge(),
+            userData.getEmploymentStatus(),
+            input == WhatIfInput.EMPLOYMENT_TENURE
+                ? Integer.valueOf((int) Math.round(value))
+                : userData.getEmploymentTenure(),
+            userData.getCity(),
+            userData.getDeviceType()
+        );
+    }
+
+    private static double inputValue(UserData userData, WhatIfInput input) {
+        return switch (input) {
+            case CREDIT_SCORE -> userData.getCreditScore();
+            case INCOME -> userData.getIncome();
+            case EXISTING_DEBT -> userData.getExistingDebt();
+            case AGE -> userData.getAge();
+            case EMPLOYMENT_TENURE -> userData.getEmploymentTenure();
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.cred.loan.data.repository.impl;
+
+import com.cred.loan.core.model.BehaviorData;
+import com.cred.loan.data.entity.BehaviorEntity;
+import com.cred.loan.data.mapper.BehaviorMapper;
+import com.cred.loan.data.repository.BehaviorRepository;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of BehaviorRepository interface using an in-memory store.
+ * In a production environment, this would be replaced with a proper database implementation.
+ */
+public class BehaviorRepositoryImpl implements BehaviorRepository {
+    private final ConcurrentHashMap<String, BehaviorEntity> behaviorStore;
+    private final BehaviorMapper behaviorMapper;
+
+    public BehaviorRepositoryImpl(BehaviorMapper behaviorMapper) {
+        this.behaviorStore = new ConcurrentHashMap<>();
+        this.behaviorMapper = behaviorMapper;
+    }
+
+    @Override
+    public Optional<BehaviorData> findByUserId(String userId) {
+        BehaviorEntity entity = behaviorStore.get(userId);
+        return Optional.ofNullable(entity)
+                .map(behaviorMapper::toModel);
+    }
+
+    @Override
+    public BehaviorData save(BehaviorData behaviorData) {
+        BehaviorEntity entity = behaviorMapper.toEntity(behaviorData);
+        behaviorStore.put(behaviorData.getUserId(), entity);
+        return behaviorData;
+    }
+}
@@ -0,0 +1,40 @@
+package com.cred.loan.data.repository.impl;
+
+import com.cred.loan.behavior.aggregate.BehaviorAggregateStore;
+import com.cred.loan.core.model.BehaviorData;
+import com.cred.loan.core.service.OfferResponseCache;
+import com.cred.loan.data.repository.BehaviorRepository;
+
+import java.util.Optional;
+
+/**
+ * BehaviorRepository decorator that rebuilds the user's behavioral aggregate
+ * from saved behavior data and then drops their cached offer responses, so
+ * that offers are recomputed from the saved data. The invalidation runs in
+ * the background and never fails the save.
+ */
+public class CacheInvalidatingBehaviorRepository implements BehaviorRepository {
+    private final BehaviorRepository delegate;
+    private final OfferResponseCache responseCache;
+    private final BehaviorAggregateStore aggregateStore;
+
+    public CacheInvalidatingBehaviorRepository(BehaviorRepository delegate, OfferResponseCache responseCache,
+                                               BehaviorAggregateStore aggregateStore) {
+        this.delegate = delegate;
+        this.responseCache = responseCache;
+        this.aggregateStore = aggregateStore;
+    }
+
+    @Override
+    public Optional<BehaviorData> findByUserId(String userId) {
+        return delegate.findByUserId(userId);
+    }
+
+    @Override
+    public BehaviorData save(BehaviorData behaviorData) {
+        BehaviorData saved = delegate.save(behaviorData);
+        aggregateStore.rebuild(behaviorData);
+        responseCache.invalidate(behaviorData.getUserId());
+        return saved;
+    }
+}
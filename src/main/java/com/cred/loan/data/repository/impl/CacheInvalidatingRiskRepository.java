@@ -0,0 +1,34 @@
+package com.cred.loan.data.repository.impl;
+
+import com.cred.loan.core.model.RiskData;
+import com.cred.loan.core.service.OfferResponseCache;
+import com.cred.loan.data.repository.RiskRepository;
+
+import java.util.Optional;
+
+/**
+ * RiskRepository decorator that drops the user's cached offer responses
+ * whenever their risk data is saved. The invalidation runs in the background
+ * and never fails the save.
+ */
+public class CacheInvalidatingRiskRepository implements RiskRepository {
+    private final RiskRepository delegate;
+    private final OfferResponseCache responseCache;
+
+    public CacheInvalidatingRiskRepository(RiskRepository delegate, OfferResponseCache responseCache) {
+        this.delegate = delegate;
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public Optional<RiskData> findByUserId(String userId) {
+        return delegate.findByUserId(userId);
+    }
+
+    @Override
+    public RiskData save(RiskData riskData) {
+        RiskData saved = delegate.save(riskData);
+        responseCache.invalidate(riskData.getUserId());
+        return saved;
+    }
+}
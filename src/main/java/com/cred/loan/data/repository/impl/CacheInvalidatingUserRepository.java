@@ -0,0 +1,34 @@
+package com.cred.loan.data.repository.impl;
+
+import com.cred.loan.core.model.UserData;
+import com.cred.loan.core.service.OfferResponseCache;
+import com.cred.loan.data.repository.UserRepository;
+
+import java.util.Optional;
+
+/**
+ * UserRepository decorator that drops the user's cached offer responses
+ * whenever their user data is saved. The invalidation runs in the background
+ * and never fails the save.
+ */
+public class CacheInvalidatingUserRepository implements UserRepository {
+    private final UserRepository delegate;
+    private final OfferResponseCache responseCache;
+
+    public CacheInvalidatingUserRepository(UserRepository delegate, OfferResponseCache responseCache) {
+        this.delegate = delegate;
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public Optional<UserData> findById(String userId) {
+        return delegate.findById(userId);
+    }
+
+    @Override
+    public UserData save(UserData userData) {
+        UserData saved = delegate.save(userData);
+        responseCache.invalidate(userData.getUserId());
+        return saved;
+    }
+}
@@ -0,0 +1,37 @@
+package com.cred.loan.data.repository.impl;
+
+import com.cred.loan.core.model.RiskData;
+import com.cred.loan.data.entity.RiskEntity;
+import com.cred.loan.data.mapper.RiskMapper;
+import com.cred.loan.data.repository.RiskRepository;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of RiskRepository interface using an in-memory store.
+ * In a production environment, this would be replaced with a proper database implementation.
+ */
+public class RiskRepositoryImpl implements RiskRepository {
+    private final ConcurrentHashMap<String, RiskEntity> riskStore;
+    private final RiskMapper riskMapper;
+
+    public RiskRepositoryImpl(RiskMapper riskMapper) {
+        this.riskStore = new ConcurrentHashMap<>();
+        this.riskMapper = riskMapper;
+    }
+
+    @Override
+    public Optional<RiskData> findByUserId(String userId) {
+        RiskEntity entity = riskStore.get(userId);
+        return Optional.ofNullable(entity)
+                .map(riskMapper::toModel);
+    }
+
+    @Override
+    public RiskData save(RiskData riskData) {
+        RiskEntity entity = riskMapper.toEntity(riskData);
+        riskStore.put(riskData.getUserId(), entity);
+        return riskData;
+    }
+}
@@ -1,6 +1,7 @@
 package com.cred.loan.data.service.impl;
 
 import com.cred.loan.data.service.CacheManager;
+import com.cred.loan.monitoring.context.ContextExecutors;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
@@ -29,7 +30,7 @@ public class CacheManagerImpl implements CacheManager {
             } catch (Exception e) {
                 throw new RuntimeException("Failed to get value from cache: " + key, e);
             }
-        });
+        }, ContextExecutors.async());
     }
 
     @Override
@@ -40,7 +41,7 @@ public class CacheManagerImpl implements CacheManager {
             } catch (Exception e) {
                 throw new RuntimeException("Failed to set value in cache: " + key, e);
             }
-        });
+        }, ContextExecutors.async());
     }
 
     @Override
@@ -51,7 +52,7 @@ public class CacheManagerImpl implements CacheManager {
             } catch (Exception e) {
                 throw new RuntimeException("Failed to delete value from cache: " + key, e);
             }
-        });
+        }, ContextExecutors.async());
     }
 
     @Override
@@ -62,7 +63,7 @@ public class CacheManagerImpl implements CacheManager {
             } catch (Exception e) {
                 throw new RuntimeException("Failed to check key existence in cache: " + key, e);
             }
-        });
+        }, ContextExecutors.async());
     }
 
     @Override
@@ -73,7 +74,7 @@ public class CacheManagerImpl implements CacheManager {
             } catch (Exception e) {
                 throw new RuntimeException("Failed to set expiration for key: " + key, e);
             }
-        });
+        }, ContextExecutors.async());
     }
 
     @Override
@@ -84,7 +85,7 @@ public class CacheManagerImpl implements CacheManager {
             } catch (Exception e) {
                 throw new RuntimeException("Failed to increment counter: " + key, e);
             }
-        });
+        }, ContextExecutors.async());
     }
 
     @Override
@@ -95,6 +96,6 @@ public class CacheManagerImpl implements CacheManager {
             } catch (Exception e) {
                 throw new RuntimeException("Failed to decrement counter: " + key, e);
             }
-        });
+        }, ContextExecutors.async());
     }
 } 
\ No newline at end of file
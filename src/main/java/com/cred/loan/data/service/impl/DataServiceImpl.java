@@ -6,13 +6,16 @@ import com.cred.loan.data.repository.UserRepository;
 import com.cred.loan.data.repository.BehaviorRepository;
 import com.cred.loan.data.repository.RiskRepository;
 import com.cred.loan.data.repository.OfferRepository;
+import com.cred.loan.monitoring.context.ContextExecutors;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 /**
  * Implementation of the DataService interface that handles data access operations.
+ * Repository calls run on a dedicated pool with the caller's request context.
  */
 public class DataServiceImpl implements DataService {
     private final UserRepository userRepository;
@@ -20,6 +23,7 @@ public class DataServiceImpl implements DataService {
     private final RiskRepository riskRepository;
     private final OfferRepository offerRepository;
     private final ExecutorService executorService;
+    private final Executor executor;
 
     public DataServiceImpl(
             UserRepository userRepository,
@@ -31,6 +35,7 @@ public class DataServiceImpl implements DataService {
         this.riskRepository = riskRepository;
         this.offerRepository = offerRepository;
         this.executorService = Executors.newFixedThreadPool(4);
+        this.executor = ContextExecutors.wrap(executorService);
     }
 
     @Override
@@ -42,7 +47,7 @@ public class DataServiceImpl implements DataService {
             } catch (Exception e) {
                 throw new RuntimeException("Error fetching user data: " + e.getMessage(), e);
             }
-        }, executorService);
+        }, executor);
     }
 
     @Override
@@ -54,7 +59,7 @@ public class DataServiceImpl implements DataService {
             } catch (Exception e) {
                 throw new RuntimeException("Error fetching behavior data: " + e.getMessage(), e);
             }
-        }, executorService);
+        }, executor);
     }
 
     @Override
@@ -66,7 +71,7 @@ public class DataServiceImpl implements DataService {
             } catch (Exception e) {
                 throw new RuntimeException("Error fetching risk data: " + e.getMessage(), e);
             }
-        }, executorService);
+        }, executor);
     }
 
     @Override
@@ -77,7 +82,7 @@ public class DataServiceImpl implements DataService {
             } catch (Exception e) {
                 throw new RuntimeException("Error saving offer data: " + e.getMessage(), e);
             }
-        }, executorService);
+        }, executor);
     }
 
     /**
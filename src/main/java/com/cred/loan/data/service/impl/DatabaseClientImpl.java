@@ -1,6 +1,7 @@
 package com.cred.loan.data.service.impl;
 
 import com.cred.loan.data.service.DatabaseClient;
+import com.cred.loan.monitoring.context.ContextExecutors;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
@@ -42,7 +43,7 @@ public class DatabaseClientImpl implements DatabaseClient {
             } catch (Exception e) {
                 throw new RuntimeException("Failed to execute query: " + query, e);
             }
-        });
+        }, ContextExecutors.async());
     }
 
     @Override
@@ -53,7 +54,7 @@ public class DatabaseClientImpl implements DatabaseClient {
             } catch (Exception e) {
                 throw new RuntimeException("Failed to execute update: " + query, e);
             }
-        });
+        }, ContextExecutors.async());
     }
 
     @Override
@@ -64,7 +65,7 @@ public class DatabaseClientImpl implements DatabaseClient {
             } catch (Exception e) {
                 throw new RuntimeException("Failed to execute batch update: " + query, e);
             }
-        });
+        }, ContextExecutors.async());
     }
 
     @Override
@@ -85,7 +86,7 @@ public class DatabaseClientImpl implements DatabaseClient {
             } catch (Exception e) {
                 throw new RuntimeException("Failed to execute transaction", e);
             }
-        });
+        }, ContextExecutors.async());
     }
 
     @Override
@@ -103,7 +104,7 @@ public class DatabaseClientImpl implements DatabaseClient {
             } catch (Exception e) {
                 throw new RuntimeException("Failed to execute query for list: " + query, e);
             }
-        });
+        }, ContextExecutors.async());
     }
 
     @Override
@@ -121,7 +122,7 @@ public class DatabaseClientImpl implements DatabaseClient {
             } catch (Exception e) {
                 throw new RuntimeException("Failed to execute query for object: " + query, e);
             }
-        });
+        }, ContextExecutors.async());
     }
 
     private Map<String, Object> convertResultSetToMap(java.sql.ResultSet rs) throws java.sql.SQLException {
@@ -1,5 +1,6 @@
 package com.cred.loan.monitoring.aspect;
 
+import com.cred.loan.monitoring.context.RequestContext;
 import com.cred.loan.monitoring.service.LoggingService;
 import com.cred.loan.monitoring.service.MetricsService;
 import io.micrometer.core.instrument.Timer;
@@ -7,28 +8,75 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Aspect for handling cross-cutting monitoring concerns.
  * Provides method execution timing, logging, and metrics collection.
+ * Timers are resolved once per advised method. Entry and exit logging is sampled,
+ * and arguments and results are only formatted, up to a size cap, when the
+ * log line is actually written. Failures are always logged. Handlers that
+ * return a {@link CompletionStage} are timed, logged and counted when the
+ * stage completes rather than when the handler returns.
+ * Each call runs in a {@link RequestContext}, whose correlation ID is taken
+ * from the incoming request header when present, so the logs of all the work
+ * the request fans out to carry the same ID.
  */
 @Aspect
 @Component
 public class MonitoringAspect {
     private final LoggingService loggingService;
     private final MetricsService metricsService;
+    private final double logSampleRate;
+    private final int maxLoggedChars;
+    private final String correlationHeader;
+    private final ConcurrentMap<Method, MonitoredMethod> methods = new ConcurrentHashMap<>();
 
-    public MonitoringAspect(LoggingService loggingService, MetricsService metricsService) {
+    /**
+     * Creates a new instance of MonitoringAspect.
+     *
+     * @param loggingService The logging service
+     * @param metricsService The metrics service
+     * @param logSampleRate Fraction of calls whose entry and exit are logged
+     * @param maxLoggedChars Maximum length of logged arguments and results
+     * @param correlationHeader Request header carrying the caller's correlation ID
+     */
+    public MonitoringAspect(
+            LoggingService loggingService,
+            MetricsService metricsService,
+            @Value("${loan.monitoring.log-sample-rate:0.01}") double logSampleRate,
+            @Value("${loan.monitoring.log-max-chars:512}") int maxLoggedChars,
+            @Value("${loan.monitoring.correlation-header:X-Correlation-Id}") String correlationHeader) {
+        if (logSampleRate < 0.0 || logSampleRate > 1.0) {
+            throw new IllegalArgumentException("Log sample rate must be between 0 and 1");
+        }
+        if (maxLoggedChars <= 0) {
+            throw new IllegalArgumentException("Max logged chars must be positive");
+        }
         this.loggingService = loggingService;
         this.metricsService = metricsService;
+        this.logSampleRate = logSampleRate;
+        this.maxLoggedChars = maxLoggedChars;
+        this.correlationHeader = correlationHeader;
     }
 
     /**
      * Around advice for monitoring method execution.
-     * Records execution time, logs method entry/exit, and collects metrics.
+     * Records execution time, logs a sample of method entries and exits, and
+     * collects metrics.
      *
      * @param joinPoint The join point being advised
      * @return The result of the method execution
@@ -39,68 +87,143 @@ public class MonitoringAspect {
             "@annotation(org.springframework.web.bind.annotation.PostMapping) || " +
             "@annotation(org.springframework.web.bind.annotation.PutMapping) || " +
             "@annotation(org.springframework.web.bind.annotation.DeleteMapping)")
+    @SuppressWarnings("try")
     public Object monitorMethodExecution(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String correlationId = generateCorrelationId();
+        // Spring creates a new static part per call, so the cache is keyed by the method
+        MonitoredMethod method = methods.computeIfAbsent(
+            ((MethodSignature) joinPoint.getSignature()).getMethod(), key -> monitoredMethod(joinPoint));
+        try (RequestContext.Scope scope = RequestContext.openIfAbsent(this::correlationId)) {
+            return monitor(joinPoint, method, RequestContext.currentCorrelationId());
+        }
+    }
 
-        try {
-            // Log method entry
+    private Object monitor(ProceedingJoinPoint joinPoint, MonitoredMethod method, String correlationId)
+            throws Throwable {
+        boolean sampled = logSampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < logSampleRate;
+        if (sampled) {
             loggingService.logWithCorrelationId(
                 correlationId,
                 LoggingService.LogLevel.INFO,
                 "Entering method: {}.{} with args: {}",
-                className,
-                methodName,
-                Arrays.toString(joinPoint.getArgs())
+                method.className(),
+                method.methodName(),
+                new Abbreviated(joinPoint.getArgs(), maxLoggedChars)
             );
+        }
 
-            // Start timer
-            Timer.Sample sample = Timer.start();
-            Object result = joinPoint.proceed();
-            Timer timer = metricsService.recordTimer("method.execution.time", 
-                "class", className,
-                "method", methodName);
-            sample.stop(timer);
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            failed(method, correlationId, e);
+            throw e;
+        }
 
-            // Log method exit
+        if (result instanceof CompletionStage<?> stage) {
+            // Asynchronous handlers are timed and checked for failure when their result completes
+            stage.whenComplete((value, error) -> {
+                if (error != null) {
+                    failed(method, correlationId, unwrap(error));
+                } else {
+                    completed(method, correlationId, sampled, start, value);
+                }
+            });
+        } else {
+            completed(method, correlationId, sampled, start, result);
+        }
+        return result;
+    }
+
+    private void completed(MonitoredMethod method, String correlationId, boolean sampled, long start,
+                           Object result) {
+        method.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (sampled) {
             loggingService.logWithCorrelationId(
                 correlationId,
                 LoggingService.LogLevel.INFO,
                 "Exiting method: {}.{} with result: {}",
-                className,
-                methodName,
-                result
+                method.className(),
+                method.methodName(),
+                new Abbreviated(result, maxLoggedChars)
             );
+        }
+    }
 
-            return result;
-        } catch (Throwable e) {
-            // Log error
-            loggingService.logWithCorrelationId(
-                correlationId,
-                LoggingService.LogLevel.ERROR,
-                "Error in method: {}.{}",
-                className,
-                methodName,
-                e
-            );
+    private void failed(MonitoredMethod method, String correlationId, Throwable e) {
+        // Log error
+        loggingService.logWithCorrelationId(
+            correlationId,
+            LoggingService.LogLevel.ERROR,
+            "Error in method: {}.{}",
+            method.className(),
+            method.methodName(),
+            e
+        );
 
-            // Record error metric
-            metricsService.incrementCounter("method.execution.error",
-                "class", className,
-                "method", methodName,
-                "exception", e.getClass().getSimpleName());
+        // Record error metric
+        metricsService.incrementCounter("method.execution.error",
+            "class", method.className(),
+            "method", method.methodName(),
+            "exception", e.getClass().getSimpleName());
+    }
 
-            throw e;
-        }
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private MonitoredMethod monitoredMethod(ProceedingJoinPoint joinPoint) {
+        String methodName = joinPoint.getSignature().getName();
+        String className = joinPoint.getTarget().getClass().getSimpleName();
+        Timer timer = metricsService.getTimer("method.execution.time",
+            "class", className,
+            "method", methodName);
+        return new MonitoredMethod(className, methodName, timer);
     }
 
     /**
-     * Generates a unique correlation ID for request tracking.
+     * Gets the correlation ID of the current request, or generates one when
+     * the caller did not send it.
      *
-     * @return A unique correlation ID
+     * @return The correlation ID
      */
-    private String generateCorrelationId() {
-        return java.util.UUID.randomUUID().toString();
+    private String correlationId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            String header = servletAttributes.getRequest().getHeader(correlationHeader);
+            if (header != null && !header.isBlank()) {
+                return header;
+            }
+        }
+        return RequestContext.newCorrelationId();
+    }
+}
+
+/**
+ * The resolved metric handles and names of an advised method.
+ */
+record MonitoredMethod(String className, String methodName, Timer timer) {
+}
+
+/**
+ * Log argument formatting a value on demand, truncated to a maximum length.
+ * The value is only formatted if the logger writes the line.
+ */
+final class Abbreviated {
+    private final Object value;
+    private final int maxChars;
+
+    Abbreviated(Object value, int maxChars) {
+        this.value = value;
+        this.maxChars = maxChars;
+    }
+
+    @Override
+    public String toString() {
+        String text = value instanceof Object[] array ? Arrays.toString(array) : String.valueOf(value);
+        return text.length() <= maxChars
+            ? text
+            : text.substring(0, maxChars) + "... (" + text.length() + " chars)";
     }
-} 
\ No newline at end of file
+}
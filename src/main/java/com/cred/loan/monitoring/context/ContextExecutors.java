@@ -0,0 +1,126 @@
+package com.cred.loan.monitoring.context;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Executors propagating the {@link RequestContext} of the submitting thread
+ * to the tasks they run.
+ * A task submitted without an attached context is passed through unwrapped;
+ * otherwise the only allocation per hop is the wrapping task itself.
+ */
+public final class ContextExecutors {
+    private static final Executor RAW_ASYNC = new CompletableFuture<Void>().defaultExecutor();
+    private static final Executor ASYNC = wrap(RAW_ASYNC);
+
+    private ContextExecutors() {
+    }
+
+    /**
+     * Gets the executor the services run their asynchronous work on: the
+     * default executor of {@link CompletableFuture}, propagating the request
+     * context. Pass it to {@code supplyAsync} and {@code runAsync} in place of
+     * the implicit default.
+     *
+     * @return The context-propagating default async executor
+     */
+    public static Executor async() {
+        return ASYNC;
+    }
+
+    /**
+     * Gets an executor running tasks on the default async executor with the
+     * context attached to the current thread now, rather than at submission.
+     * Use it for continuations that may be triggered from threads without a
+     * context, such as the timer thread completing {@code orTimeout}.
+     *
+     * @return The context-bound async executor
+     */
+    public static Executor bound() {
+        RequestContext context = RequestContext.current();
+        return context != null ? new BoundExecutor(RAW_ASYNC, context) : ASYNC;
+    }
+
+    /**
+     * Wraps an executor so its tasks run with the context of the thread that
+     * submitted them.
+     *
+     * @param executor The executor to wrap
+     * @return The context-propagating executor
+     */
+    public static Executor wrap(Executor executor) {
+        if (executor instanceof ContextExecutor) {
+            return executor;
+        }
+        return new ContextExecutor(executor);
+    }
+
+    /**
+     * Wraps a task so it runs with the context attached to the current thread.
+     *
+     * @param task The task to wrap
+     * @return The wrapped task, or the task itself if no context is attached
+     */
+    public static Runnable wrap(Runnable task) {
+        RequestContext context = RequestContext.current();
+        return context != null ? new ContextTask(context, task) : task;
+    }
+}
+
+/**
+ * Executor submitting tasks wrapped with the submitter's context.
+ */
+final class ContextExecutor implements Executor {
+    private final Executor delegate;
+
+    ContextExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        delegate.execute(ContextExecutors.wrap(task));
+    }
+}
+
+/**
+ * Executor running tasks with a context fixed when it was created.
+ */
+final class BoundExecutor implements Executor {
+    private final Executor delegate;
+    private final RequestContext context;
+
+    BoundExecutor(Executor delegate, RequestContext context) {
+        this.delegate = delegate;
+        this.context = context;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        delegate.execute(new ContextTask(context, task));
+    }
+}
+
+/**
+ * Task attaching a captured context while it runs and restoring the worker's
+ * previous context afterwards.
+ */
+final class ContextTask implements Runnable {
+    private final RequestContext context;
+    private final Runnable task;
+
+    ContextTask(RequestContext context, Runnable task) {
+        this.context = context;
+        this.task = task;
+    }
+
+    @Override
+    public void run() {
+        RequestContext previous = RequestContext.swap(context);
+        try {
+            task.run();
+        } finally {
+            RequestContext.swap(previous);
+        }
+    }
+}
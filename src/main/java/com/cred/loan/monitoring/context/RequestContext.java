@@ -0,0 +1,193 @@
+package com.cred.loan.monitoring.context;
+
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Request-scoped context carrying the correlation ID of a request and the
+ * pipeline stage it is currently in.
+ * The context of the running thread is held in a thread local and mirrored
+ * into the logging MDC under {@link #CORRELATION_ID_KEY} and {@link #STAGE_KEY},
+ * so every log line written while it is attached carries both. Executors
+ * wrapped by {@link ContextExecutors} capture the context when a task is
+ * submitted and attach it while the task runs, so it follows the request
+ * across thread hops.
+ * Contexts are immutable; entering a stage attaches a copy with the stage set.
+ */
+public final class RequestContext {
+
+    /**
+     * MDC key of the correlation ID.
+     */
+    public static final String CORRELATION_ID_KEY = "correlationId";
+
+    /**
+     * MDC key of the current pipeline stage.
+     */
+    public static final String STAGE_KEY = "stage";
+
+    private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+    private static final Scope NOOP_SCOPE = () -> {
+    };
+
+    private final String correlationId;
+    private final String stage;
+
+    private RequestContext(String correlationId, String stage) {
+        this.correlationId = correlationId;
+        this.stage = stage;
+    }
+
+    /**
+     * Gets the correlation ID of the request.
+     *
+     * @return The correlation ID
+     */
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    /**
+     * Gets the pipeline stage the request is in.
+     *
+     * @return The stage name, or null outside of a stage
+     */
+    public String getStage() {
+        return stage;
+    }
+
+    /**
+     * Gets the context attached to the current thread.
+     *
+     * @return The current context, or null if none is attached
+     */
+    public static RequestContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Gets the correlation ID of the context attached to the current thread.
+     *
+     * @return The correlation ID, or null if no context is attached
+     */
+    public static String currentCorrelationId() {
+        RequestContext context = CURRENT.get();
+        return context != null ? context.correlationId : null;
+    }
+
+    /**
+     * Attaches a new context with the given correlation ID to the current
+     * thread.
+     *
+     * @param correlationId The correlation ID of the request
+     * @return Scope restoring the previous context when closed
+     * @throws IllegalArgumentException if the correlation ID is null or blank
+     */
+    public static Scope open(String correlationId) {
+        if (correlationId == null || correlationId.isBlank()) {
+            throw new IllegalArgumentException("Correlation ID must not be blank");
+        }
+        return new RequestContext(correlationId, null).attach();
+    }
+
+    /**
+     * Attaches a new context unless the current thread already has one.
+     *
+     * @param correlationId Supplies the correlation ID of a new context
+     * @return Scope restoring the previous context when closed
+     */
+    public static Scope openIfAbsent(Supplier<String> correlationId) {
+        return CURRENT.get() != null ? NOOP_SCOPE : open(correlationId.get());
+    }
+
+    /**
+     * Marks the current request as being in the given stage. Tasks submitted
+     * to wrapped executors within the scope carry the stage along.
+     * Does nothing if no context is attached.
+     *
+     * @param stage The stage name
+     * @return Scope restoring the previous context when closed
+     */
+    public static Scope enterStage(String stage) {
+        RequestContext context = CURRENT.get();
+        if (context == null || stage.equals(context.stage)) {
+            return NOOP_SCOPE;
+        }
+        return new RequestContext(context.correlationId, stage).attach();
+    }
+
+    /**
+     * Attaches this context to the current thread.
+     *
+     * @return Scope restoring the previous context when closed
+     */
+    public Scope attach() {
+        RequestContext previous = swap(this);
+        return () -> swap(previous);
+    }
+
+    /**
+     * Generates a random correlation ID. Uses the thread-local generator
+     * rather than {@link java.util.UUID#randomUUID()}, which draws from the
+     * shared secure random source.
+     *
+     * @return A random correlation ID
+     */
+    public static String newCorrelationId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong());
+    }
+
+    /**
+     * Replaces the context of the current thread and updates the MDC entries
+     * that changed. Allocates nothing.
+     *
+     * @param next The context to attach, or null to detach
+     * @return The previously attached context, or null
+     */
+    static RequestContext swap(RequestContext next) {
+        RequestContext previous = CURRENT.get();
+        if (previous == next) {
+            return previous;
+        }
+        if (next == null) {
+            CURRENT.remove();
+            MDC.remove(CORRELATION_ID_KEY);
+            MDC.remove(STAGE_KEY);
+            return previous;
+        }
+        CURRENT.set(next);
+        if (previous == null || !previous.correlationId.equals(next.correlationId)) {
+            MDC.put(CORRELATION_ID_KEY, next.correlationId);
+        }
+        if (previous == null ? next.stage != null : !equal(previous.stage, next.stage)) {
+            if (next.stage != null) {
+                MDC.put(STAGE_KEY, next.stage);
+            } else {
+                MDC.remove(STAGE_KEY);
+            }
+        }
+        return previous;
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    @Override
+    public String toString() {
+        return stage != null ? correlationId + "/" + stage : correlationId;
+    }
+
+    /**
+     * An attached context, restoring the previously attached one when closed.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,66 @@
+package com.cred.loan.monitoring.distribution;
+
+/**
+ * Maps non-negative values to logarithmic buckets. Bucket 0 counts values
+ * below the minimum; bucket {@code i > 0} covers
+ * {@code (gamma^(k-1), gamma^k]} for key {@code k = i + minKey - 1}.
+ */
+final class BucketMapping {
+    private final double gamma;
+    private final double multiplier;
+    private final double minValue;
+    private final int minKey;
+    private final int maxKey;
+
+    BucketMapping(double relativeAccuracy, double minValue, double maxValue) {
+        if (relativeAccuracy <= 0.0 || relativeAccuracy >= 1.0) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        }
+        if (minValue <= 0.0 || maxValue <= minValue) {
+            throw new IllegalArgumentException("Value range must satisfy 0 < min < max");
+        }
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.multiplier = 1 / Math.log(gamma);
+        this.minValue = minValue;
+        this.minKey = key(minValue);
+        this.maxKey = key(maxValue);
+    }
+
+    int bucketCount() {
+        return maxKey - minKey + 2;
+    }
+
+    int index(double value) {
+        if (!(value >= minValue)) {
+            return 0;
+        }
+        return Math.min(key(value), maxKey) - minKey + 1;
+    }
+
+    /**
+     * Gets the value representing a bucket, within the relative accuracy of
+     * every value in it.
+     */
+    double value(int index) {
+        if (index == 0) {
+            return 0.0;
+        }
+        return 2 * Math.pow(gamma, index + minKey - 1) / (gamma + 1);
+    }
+
+    double lowerBound(int index) {
+        return index == 0 ? 0.0 : Math.pow(gamma, index + minKey - 2);
+    }
+
+    double upperBound(int index) {
+        return index == 0 ? minValue : Math.pow(gamma, index + minKey - 1);
+    }
+
+    boolean isCompatible(BucketMapping other) {
+        return gamma == other.gamma && minKey == other.minKey && maxKey == other.maxKey;
+    }
+
+    private int key(double value) {
+        return (int) Math.ceil(Math.log(value) * multiplier);
+    }
+}
@@ -0,0 +1,97 @@
+package com.cred.loan.monitoring.distribution;
+
+import com.cred.loan.core.model.CityTier;
+import com.cred.loan.core.model.RiskLevel;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Actuator endpoint serving the offer distributions at
+ * {@code /actuator/distributions}. {@code GET} returns the quantiles of every
+ * metric over all segments; {@code GET /actuator/distributions/{metric}}
+ * returns the quantiles and histogram of one metric, optionally restricted by
+ * the {@code riskLevel} and {@code cityTier} parameters.
+ */
+@Component
+@Endpoint(id = "distributions")
+public class DistributionEndpoint {
+    private static final double[] QUANTILES = {0.5, 0.75, 0.9, 0.95, 0.99, 0.999};
+    private static final String[] QUANTILE_LABELS = {"p50", "p75", "p90", "p95", "p99", "p999"};
+
+    private final OfferDistributions distributions;
+
+    public DistributionEndpoint(OfferDistributions distributions) {
+        this.distributions = distributions;
+    }
+
+    /**
+     * Gets the quantiles of every metric over all segments.
+     *
+     * @return One summary per metric
+     */
+    @ReadOperation
+    public List<DistributionSummary> summaries() {
+        List<DistributionSummary> summaries = new ArrayList<>();
+        for (DistributionMetric metric : DistributionMetric.values()) {
+            summaries.add(summarize(metric, null, null, false));
+        }
+        return summaries;
+    }
+
+    /**
+     * Gets the quantiles and histogram of a metric.
+     *
+     * @param metric The metric path name, e.g. {@code risk-score}
+     * @param riskLevel The risk level to restrict to, or null for all
+     * @param cityTier The city tier to restrict to, e.g. {@code tier_1}, or null for all
+     * @return The summary with histogram buckets
+     */
+    @ReadOperation
+    public DistributionSummary distribution(
+            @Selector String metric,
+            @Nullable String riskLevel,
+            @Nullable String cityTier) {
+        try {
+            return summarize(
+                DistributionMetric.fromName(metric),
+                riskLevel != null ? RiskLevel.valueOf(riskLevel.toUpperCase(Locale.ROOT)) : null,
+                cityTier != null ? CityTier.valueOf(cityTier.toUpperCase(Locale.ROOT)) : null,
+                true);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    private DistributionSummary summarize(
+            DistributionMetric metric,
+            RiskLevel riskLevel,
+            CityTier cityTier,
+            boolean withBuckets) {
+        SketchSnapshot snapshot = distributions.snapshot(metric, riskLevel, cityTier);
+        Map<String, Double> quantiles = new LinkedHashMap<>();
+        if (snapshot.getCount() > 0) {
+            for (int i = 0; i < QUANTILES.length; i++) {
+                quantiles.put(QUANTILE_LABELS[i], snapshot.getQuantile(QUANTILES[i]));
+            }
+        }
+        return new DistributionSummary(
+            metric.getPathName(),
+            riskLevel != null ? riskLevel.name() : null,
+            cityTier != null ? cityTier.name() : null,
+            snapshot.getCount(),
+            snapshot.getNegativeCount(),
+            quantiles,
+            withBuckets ? snapshot.getBuckets() : null
+        );
+    }
+}
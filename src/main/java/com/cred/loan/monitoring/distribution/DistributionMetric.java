@@ -0,0 +1,48 @@
+package com.cred.loan.monitoring.distribution;
+
+import java.util.Locale;
+
+/**
+ * Quantities of served offers whose distributions are tracked.
+ */
+public enum DistributionMetric {
+    /**
+     * Risk score of the user, once per request.
+     */
+    RISK_SCORE,
+
+    /**
+     * Conversion probability from the behavior analysis, once per request.
+     */
+    CONVERSION_PROBABILITY,
+
+    /**
+     * Adjusted ROI of each served offer.
+     */
+    ADJUSTED_ROI,
+
+    /**
+     * Risk impact of each served offer.
+     */
+    RISK_IMPACT;
+
+    /**
+     * Gets the name used in endpoint paths, e.g. {@code risk-score}.
+     *
+     * @return The path name
+     */
+    public String getPathName() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * Gets a metric by its path name or constant name.
+     *
+     * @param name The name, in any case
+     * @return The metric
+     * @throws IllegalArgumentException if no metric has the name
+     */
+    public static DistributionMetric fromName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
@@ -0,0 +1,102 @@
+package com.cred.loan.monitoring.distribution;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Quantiles and, optionally, the histogram of a tracked distribution.
+ */
+public class DistributionSummary {
+    private final String metric;
+    private final String riskLevel;
+    private final String cityTier;
+    private final long count;
+    private final long negativeCount;
+    private final Map<String, Double> quantiles;
+    private final List<HistogramBucket> buckets;
+
+    /**
+     * Creates a new DistributionSummary instance.
+     *
+     * @param metric The metric path name
+     * @param riskLevel The risk level segment, or null for all
+     * @param cityTier The city tier segment, or null for all
+     * @param count The number of recorded values
+     * @param negativeCount The number of negative values left out of the quantiles
+     * @param quantiles Estimated values by quantile label, e.g. {@code p99}
+     * @param buckets The non-empty histogram buckets, or null if not requested
+     */
+    public DistributionSummary(String metric, String riskLevel, String cityTier, long count, long negativeCount,
+                               Map<String, Double> quantiles, List<HistogramBucket> buckets) {
+        this.metric = metric;
+        this.riskLevel = riskLevel;
+        this.cityTier = cityTier;
+        this.count = count;
+        this.negativeCount = negativeCount;
+        this.quantiles = quantiles;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Gets the metric path name.
+     *
+     * @return The metric
+     */
+    public String getMetric() {
+        return metric;
+    }
+
+    /**
+     * Gets the risk level segment.
+     *
+     * @return The risk level, or null for all
+     */
+    public String getRiskLevel() {
+        return riskLevel;
+    }
+
+    /**
+     * Gets the city tier segment.
+     *
+     * @return The city tier, or null for all
+     */
+    public String getCityTier() {
+        return cityTier;
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return The value count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the number of negative values, which are outside the tracked range.
+     *
+     * @return The negative value count
+     */
+    public long getNegativeCount() {
+        return negativeCount;
+    }
+
+    /**
+     * Gets the estimated quantiles.
+     *
+     * @return Values by quantile label, absent when nothing was recorded
+     */
+    public Map<String, Double> getQuantiles() {
+        return quantiles;
+    }
+
+    /**
+     * Gets the histogram buckets.
+     *
+     * @return The non-empty buckets, or null if not requested
+     */
+    public List<HistogramBucket> getBuckets() {
+        return buckets;
+    }
+}
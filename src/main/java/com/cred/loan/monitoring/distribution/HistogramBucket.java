@@ -0,0 +1,51 @@
+package com.cred.loan.monitoring.distribution;
+
+/**
+ * A bucket of a distribution histogram, counting the values in
+ * {@code (lowerBound, upperBound]}.
+ */
+public class HistogramBucket {
+    private final double lowerBound;
+    private final double upperBound;
+    private final long count;
+
+    /**
+     * Creates a new HistogramBucket instance.
+     *
+     * @param lowerBound The exclusive lower bound
+     * @param upperBound The inclusive upper bound
+     * @param count The number of values in the bucket
+     */
+    public HistogramBucket(double lowerBound, double upperBound, long count) {
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.count = count;
+    }
+
+    /**
+     * Gets the exclusive lower bound.
+     *
+     * @return The lower bound
+     */
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Gets the inclusive upper bound.
+     *
+     * @return The upper bound
+     */
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * Gets the number of values in the bucket.
+     *
+     * @return The count
+     */
+    public long getCount() {
+        return count;
+    }
+}
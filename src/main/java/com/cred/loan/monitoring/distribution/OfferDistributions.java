@@ -0,0 +1,127 @@
+package com.cred.loan.monitoring.distribution;
+
+import com.cred.loan.core.model.BehaviorAnalysisResult;
+import com.cred.loan.core.model.CityTier;
+import com.cred.loan.core.model.RankedOffer;
+import com.cred.loan.core.model.RiskAssessmentResult;
+import com.cred.loan.core.model.RiskLevel;
+import com.cred.loan.core.model.UserData;
+import com.cred.loan.core.pipeline.PipelineStage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Distributions of risk score, conversion probability, adjusted ROI and risk
+ * impact of served offers, broken down by risk level and city tier.
+ * Each segment is a {@link QuantileSketch}; a breakdown that leaves out the
+ * risk level or the city tier is answered by merging the segments' snapshots.
+ * Values produced by a stage that fell back to defaults are not recorded, so
+ * the distributions reflect computed values only.
+ */
+@Component
+public class OfferDistributions {
+    private static final DistributionMetric[] METRICS = DistributionMetric.values();
+    private static final RiskLevel[] RISK_LEVELS = RiskLevel.values();
+    private static final CityTier[] CITY_TIERS = CityTier.values();
+    private static final double MIN_VALUE = 1e-4;
+    private static final double MAX_VALUE = 1e4;
+
+    private final QuantileSketch[] sketches =
+        new QuantileSketch[METRICS.length * RISK_LEVELS.length * CITY_TIERS.length];
+
+    /**
+     * Creates a new instance of OfferDistributions.
+     *
+     * @param relativeAccuracy Maximum relative error of reported quantiles
+     */
+    public OfferDistributions(@Value("${loan.distributions.relative-accuracy:0.02}") double relativeAccuracy) {
+        BucketMapping mapping = new BucketMapping(relativeAccuracy, MIN_VALUE, MAX_VALUE);
+        for (int i = 0; i < sketches.length; i++) {
+            sketches[i] = new QuantileSketch(mapping);
+        }
+    }
+
+    /**
+     * Records the values of a served response.
+     *
+     * @param userData The user data, or null if it could not be fetched
+     * @param riskAssessment The risk assessment the offers were priced with
+     * @param behaviorAnalysis The behavior analysis the offers were ranked with
+     * @param offers The served offers
+     * @param degradedStages The stages answered from defaults
+     */
+    public void record(
+            UserData userData,
+            RiskAssessmentResult riskAssessment,
+            BehaviorAnalysisResult behaviorAnalysis,
+            List<RankedOffer> offers,
+            Set<PipelineStage> degradedStages) {
+        RiskLevel riskLevel = riskAssessment.getRiskLevel();
+        if (riskLevel == null) {
+            return;
+        }
+        CityTier cityTier = userData != null ? CityTier.of(userData.getCity()) : CityTier.UNKNOWN;
+
+        if (!degradedStages.contains(PipelineStage.RISK_ASSESSMENT) && riskAssessment.getRiskScore() != null) {
+            record(DistributionMetric.RISK_SCORE, riskLevel, cityTier, riskAssessment.getRiskScore());
+        }
+        if (!degradedStages.contains(PipelineStage.BEHAVIOR_ANALYSIS)) {
+            record(DistributionMetric.CONVERSION_PROBABILITY, riskLevel, cityTier,
+                behaviorAnalysis.getConversionProbability());
+        }
+        if (!degradedStages.contains(PipelineStage.OPTIMIZATION)) {
+            QuantileSketch roi = sketch(DistributionMetric.ADJUSTED_ROI, riskLevel, cityTier);
+            QuantileSketch riskImpact = sketch(DistributionMetric.RISK_IMPACT, riskLevel, cityTier);
+            for (RankedOffer offer : offers) {
+                roi.record(offer.getOffer().adjustedRoi());
+                riskImpact.record(offer.getOffer().riskImpact());
+            }
+        }
+    }
+
+    /**
+     * Records a single value.
+     *
+     * @param metric The metric
+     * @param riskLevel The risk level segment
+     * @param cityTier The city tier segment
+     * @param value The value
+     */
+    public void record(DistributionMetric metric, RiskLevel riskLevel, CityTier cityTier, double value) {
+        sketch(metric, riskLevel, cityTier).record(value);
+    }
+
+    /**
+     * Takes a snapshot of a metric, optionally restricted to a risk level and
+     * a city tier.
+     *
+     * @param metric The metric
+     * @param riskLevel The risk level, or null for all
+     * @param cityTier The city tier, or null for all
+     * @return The merged snapshot of the matching segments
+     */
+    public SketchSnapshot snapshot(DistributionMetric metric, RiskLevel riskLevel, CityTier cityTier) {
+        SketchSnapshot merged = null;
+        for (RiskLevel level : RISK_LEVELS) {
+            if (riskLevel != null && level != riskLevel) {
+                continue;
+            }
+            for (CityTier tier : CITY_TIERS) {
+                if (cityTier != null && tier != cityTier) {
+                    continue;
+                }
+                SketchSnapshot snapshot = sketch(metric, level, tier).snapshot();
+                merged = merged == null ? snapshot : merged.merge(snapshot);
+            }
+        }
+        return merged;
+    }
+
+    private QuantileSketch sketch(DistributionMetric metric, RiskLevel riskLevel, CityTier cityTier) {
+        return sketches[(metric.ordinal() * RISK_LEVELS.length + riskLevel.ordinal()) * CITY_TIERS.length
+            + cityTier.ordinal()];
+    }
+}
@@ -0,0 +1,94 @@
+package com.cred.loan.monitoring.distribution;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free streaming quantile sketch with relative-error guarantees, in the
+ * style of DDSketch.
+ * Values are counted in logarithmically sized buckets, so any quantile read
+ * back is within the configured relative accuracy of the true value. Values
+ * from the minimum up are indexed; smaller non-negative values are counted in
+ * a zero bucket and larger ones in the top bucket. Negative values are outside
+ * the supported domain: they are counted separately and left out of the
+ * quantiles. NaN is ignored.
+ * Counts are striped by recording thread so concurrent writers rarely touch
+ * the same cache lines; each stripe is allocated on first use and the stripes
+ * are merged when a {@link SketchSnapshot} is taken. Recording is a logarithm
+ * and an atomic increment.
+ */
+public final class QuantileSketch {
+    private static final int MAX_STRIPES = 16;
+
+    private final BucketMapping mapping;
+    private final AtomicReferenceArray<AtomicLongArray> stripes;
+    private final int stripeMask;
+    private final LongAdder negativeCount = new LongAdder();
+
+    /**
+     * Creates a new QuantileSketch instance.
+     *
+     * @param relativeAccuracy Maximum relative error of quantiles, e.g. 0.01 for 1%
+     * @param minValue Smallest value counted in its own bucket
+     * @param maxValue Largest value counted in its own bucket
+     * @throws IllegalArgumentException if the accuracy is not in (0, 1) or the range is empty
+     */
+    public QuantileSketch(double relativeAccuracy, double minValue, double maxValue) {
+        this(new BucketMapping(relativeAccuracy, minValue, maxValue));
+    }
+
+    QuantileSketch(BucketMapping mapping) {
+        this.mapping = mapping;
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1);
+        this.stripes = new AtomicReferenceArray<>(stripeCount);
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value The value; negative values are only counted and NaN is ignored
+     */
+    public void record(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (value < 0.0) {
+            negativeCount.increment();
+            return;
+        }
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        AtomicLongArray counts = stripes.get(stripe);
+        if (counts == null) {
+            counts = allocateStripe(stripe);
+        }
+        counts.getAndIncrement(mapping.index(value));
+    }
+
+    /**
+     * Takes a snapshot of the counts recorded so far. Values recorded
+     * concurrently may or may not be included.
+     *
+     * @return The merged counts of all stripes
+     */
+    public SketchSnapshot snapshot() {
+        long[] merged = new long[mapping.bucketCount()];
+        for (int i = 0; i < stripes.length(); i++) {
+            AtomicLongArray counts = stripes.get(i);
+            if (counts == null) {
+                continue;
+            }
+            for (int bucket = 0; bucket < merged.length; bucket++) {
+                merged[bucket] += counts.get(bucket);
+            }
+        }
+        return new SketchSnapshot(mapping, merged, negativeCount.sum());
+    }
+
+    private AtomicLongArray allocateStripe(int stripe) {
+        AtomicLongArray created = new AtomicLongArray(mapping.bucketCount());
+        return stripes.compareAndSet(stripe, null, created) ? created : stripes.get(stripe);
+    }
+}
@@ -0,0 +1,105 @@
+package com.cred.loan.monitoring.distribution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable bucket counts of a {@link QuantileSketch} at a point in time.
+ * Snapshots of sketches with the same bucket layout can be merged, e.g. to
+ * combine the segments of a breakdown.
+ */
+public final class SketchSnapshot {
+    private final BucketMapping mapping;
+    private final long[] counts;
+    private final long count;
+    private final long negativeCount;
+
+    SketchSnapshot(BucketMapping mapping, long[] counts, long negativeCount) {
+        this.mapping = mapping;
+        this.counts = counts;
+        this.negativeCount = negativeCount;
+        long total = 0;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        this.count = total;
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return The value count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the number of negative values, which were recorded but are not
+     * part of the quantiles or the buckets.
+     *
+     * @return The negative value count
+     */
+    public long getNegativeCount() {
+        return negativeCount;
+    }
+
+    /**
+     * Gets a quantile of the recorded values.
+     *
+     * @param quantile The quantile, between 0 and 1
+     * @return The estimated value, or NaN if nothing was recorded
+     * @throws IllegalArgumentException if the quantile is not between 0 and 1
+     */
+    public double getQuantile(double quantile) {
+        if (quantile < 0.0 || quantile > 1.0) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1, got: " + quantile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (quantile * (count - 1));
+        long seen = 0;
+        for (int index = 0; index < counts.length; index++) {
+            seen += counts[index];
+            if (seen > rank) {
+                return mapping.value(index);
+            }
+        }
+        return mapping.value(counts.length - 1);
+    }
+
+    /**
+     * Gets the non-empty buckets.
+     *
+     * @return The buckets in ascending order of value
+     */
+    public List<HistogramBucket> getBuckets() {
+        List<HistogramBucket> buckets = new ArrayList<>();
+        for (int index = 0; index < counts.length; index++) {
+            if (counts[index] > 0) {
+                buckets.add(new HistogramBucket(mapping.lowerBound(index), mapping.upperBound(index), counts[index]));
+            }
+        }
+        return Collections.unmodifiableList(buckets);
+    }
+
+    /**
+     * Merges this snapshot with another.
+     *
+     * @param other The snapshot to merge
+     * @return A snapshot holding the counts of both
+     * @throws IllegalArgumentException if the snapshots have different bucket layouts
+     */
+    public SketchSnapshot merge(SketchSnapshot other) {
+        if (!mapping.isCompatible(other.mapping)) {
+            throw new IllegalArgumentException("Cannot merge sketches with different bucket layouts");
+        }
+        long[] merged = counts.clone();
+        for (int index = 0; index < merged.length; index++) {
+            merged[index] += other.counts[index];
+        }
+        return new SketchSnapshot(mapping, merged, negativeCount + other.negativeCount);
+    }
+}
@@ -0,0 +1,59 @@
+package com.cred.loan.monitoring.jfr;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint controlling on-demand flight recordings at {@code /actuator/jfr}.
+ * {@code GET} returns the recording status; {@code POST /actuator/jfr/start},
+ * {@code /stop} and {@code /dump} start a bounded recording, stop it and
+ * write it to its file, or write what was recorded so far to a separate file.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+    private final FlightRecordingManager manager;
+
+    public FlightRecordingEndpoint(FlightRecordingManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Gets the status of the current or last recording.
+     *
+     * @return The recording status
+     */
+    @ReadOperation
+    public RecordingStatus status() {
+        return manager.status();
+    }
+
+    /**
+     * Starts, stops or dumps a recording.
+     *
+     * @param action One of {@code start}, {@code stop} or {@code dump}
+     * @param durationSeconds Duration of a started recording, capped at the configured maximum
+     * @param settings JFR settings of a started recording, {@code default} or {@code profile}
+     * @return The recording status, or the dumped file for {@code dump}
+     */
+    @WriteOperation
+    public Object control(@Selector String action, @Nullable Long durationSeconds, @Nullable String settings) {
+        try {
+            return switch (action) {
+                case "start" -> manager.start(durationSeconds, settings);
+                case "stop" -> manager.stop();
+                case "dump" -> Map.of("file", manager.dump().toString());
+                default -> throw new IllegalArgumentException("Unknown action: " + action);
+            };
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+}
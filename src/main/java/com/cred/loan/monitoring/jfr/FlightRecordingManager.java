@@ -0,0 +1,184 @@
+package com.cred.loan.monitoring.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Starts and stops on-demand flight recordings of the running application.
+ * At most one recording runs at a time. Each recording is bounded in
+ * duration and size, includes the offer pipeline events, and is written to
+ * a file in the configured directory when it stops, whether stopped
+ * explicitly or by reaching its duration.
+ */
+@Component
+public class FlightRecordingManager {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+    private final long maxDurationSeconds;
+    private final long maxSizeBytes;
+
+    private Recording recording;
+    private RecordingStatus lastStatus = new RecordingStatus(null, "NONE", null, 0, 0, null);
+
+    /**
+     * Creates a new instance of FlightRecordingManager.
+     *
+     * @param directory Directory recordings are written to
+     * @param maxDurationSeconds Upper bound on the duration of a recording
+     * @param maxSizeMb Upper bound on the size of a recording
+     */
+    public FlightRecordingManager(
+            @Value("${loan.jfr.directory:jfr}") String directory,
+            @Value("${loan.jfr.max-duration-seconds:600}") long maxDurationSeconds,
+            @Value("${loan.jfr.max-size-mb:256}") long maxSizeMb) {
+        if (maxDurationSeconds <= 0 || maxSizeMb <= 0) {
+            throw new IllegalArgumentException("Recording duration and size limits must be positive");
+        }
+        this.directory = Path.of(directory);
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    /**
+     * Starts a recording.
+     *
+     * @param durationSeconds Time after which the recording stops, capped at the configured maximum;
+     *                        null for the maximum
+     * @param settings The JFR settings to use, {@code default} or {@code profile}; null for default
+     * @return The status of the started recording
+     * @throws IllegalArgumentException if the duration is not positive or the settings are unknown
+     * @throws IllegalStateException if a recording is already running
+     */
+    public synchronized RecordingStatus start(Long durationSeconds, String settings) {
+        if (isRunning()) {
+            throw new IllegalStateException("A recording is already running: " + recording.getName());
+        }
+        if (durationSeconds != null && durationSeconds <= 0) {
+            throw new IllegalArgumentException("Duration must be positive, got: " + durationSeconds);
+        }
+        String settingsName = settings != null ? settings : "default";
+        long duration = durationSeconds != null ? Math.min(durationSeconds, maxDurationSeconds) : maxDurationSeconds;
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + settingsName, e);
+        }
+
+        String name = "loan-offers-" + LocalDateTime.now().format(FILE_TIMESTAMP);
+        Path file = directory.resolve(name + ".jfr").toAbsolutePath();
+        Recording started = new Recording(configuration);
+        try {
+            Files.createDirectories(directory);
+            started.setName(name);
+            started.enable(PipelineStageEvent.class);
+            started.enable(OfferCacheEvent.class);
+            started.setToDisk(true);
+            started.setMaxSize(maxSizeBytes);
+            started.setDuration(Duration.ofSeconds(duration));
+            started.setDestination(file);
+            started.start();
+        } catch (IOException | RuntimeException e) {
+            started.close();
+            throw new RuntimeException("Failed to start flight recording", e);
+        }
+
+        closeRecording();
+        recording = started;
+        lastStatus = new RecordingStatus(name, started.getState().name(), settingsName, duration, maxSizeBytes,
+            file.toString());
+        return lastStatus;
+    }
+
+    /**
+     * Stops the running recording, which writes it to its file.
+     *
+     * @return The status of the stopped recording
+     * @throws IllegalStateException if no recording is running
+     */
+    public synchronized RecordingStatus stop() {
+        if (!isRunning()) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.stop();
+        return status();
+    }
+
+    /**
+     * Writes the data recorded so far to a separate file without stopping
+     * the recording.
+     *
+     * @return The path of the written file
+     * @throws IllegalStateException if no recording is running
+     */
+    public synchronized Path dump() {
+        if (!isRunning()) {
+            throw new IllegalStateException("No recording is running");
+        }
+        Path file = directory.resolve(recording.getName() + "-dump-"
+            + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr").toAbsolutePath();
+        try {
+            recording.dump(file);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to dump flight recording to " + file, e);
+        }
+        return file;
+    }
+
+    /**
+     * Gets the status of the current or last recording.
+     *
+     * @return The recording status
+     */
+    public synchronized RecordingStatus status() {
+        if (recording != null) {
+            lastStatus = new RecordingStatus(
+                lastStatus.getName(),
+                recording.getState().name(),
+                lastStatus.getSettings(),
+                lastStatus.getMaxDurationSeconds(),
+                lastStatus.getMaxSizeBytes(),
+                lastStatus.getFile()
+            );
+        }
+        return lastStatus;
+    }
+
+    /**
+     * Stops and discards the running recording on shutdown. A recording that
+     * is still running is written to its file first.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (isRunning()) {
+            recording.stop();
+        }
+        closeRecording();
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
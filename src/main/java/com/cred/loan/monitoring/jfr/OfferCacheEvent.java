@@ -0,0 +1,28 @@
+package com.cred.loan.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning one offer response cache operation.
+ */
+@Name("com.cred.loan.OfferCache")
+@Label("Offer Cache Operation")
+@Category({"Loan", "Offer Pipeline"})
+@Description("A lookup in or store to the offer response cache")
+@StackTrace(false)
+public class OfferCacheEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Source")
+    @Description("Source of the request")
+    String source;
+
+    @Label("Hit")
+    @Description("Whether a lookup found a cached response")
+    boolean hit;
+}
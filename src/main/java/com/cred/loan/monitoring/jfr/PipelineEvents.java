@@ -0,0 +1,106 @@
+package com.cred.loan.monitoring.jfr;
+
+import com.cred.loan.behavior.learning.PriceSegments;
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.UserData;
+import com.cred.loan.core.pipeline.PipelineStage;
+import jdk.jfr.EventType;
+
+import java.util.List;
+
+/**
+ * Emits the offer pipeline's flight recorder events.
+ * Each method first checks whether the event type is enabled in a running
+ * recording, so when nothing is recording no event object is allocated and
+ * the cost is a read of the event type's enabled flag.
+ */
+public final class PipelineEvents {
+    private static final EventType STAGE_EVENT_TYPE = EventType.getEventType(PipelineStageEvent.class);
+    private static final EventType CACHE_EVENT_TYPE = EventType.getEventType(OfferCacheEvent.class);
+
+    private PipelineEvents() {
+    }
+
+    /**
+     * Starts a stage event.
+     *
+     * @param stage The pipeline stage
+     * @param request The loan offer request
+     * @param userData The user data, or null if not fetched yet
+     * @return The started event, or null if stage events are not being recorded
+     */
+    public static PipelineStageEvent beginStage(PipelineStage stage, LoanOfferRequest request, UserData userData) {
+        if (!STAGE_EVENT_TYPE.isEnabled()) {
+            return null;
+        }
+        PipelineStageEvent event = new PipelineStageEvent();
+        event.begin();
+        event.stage = stage.name();
+        event.source = request.getSource();
+        event.segment = userData != null ? PriceSegments.of(userData) : -1;
+        event.candidates = -1;
+        return event;
+    }
+
+    /**
+     * Ends and commits a stage event. A list result is counted as the stage's
+     * candidates; a user data result sets the segment.
+     *
+     * @param event The event from {@link #beginStage}, may be null
+     * @param result The stage result, may be null
+     * @param degraded Whether the stage was answered from defaults
+     * @param error The failure of the stage, or null
+     */
+    public static void endStage(PipelineStageEvent event, Object result, boolean degraded, Throwable error) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        if (result instanceof List<?> candidates) {
+            event.candidates = candidates.size();
+        } else if (result instanceof UserData userData) {
+            event.segment = PriceSegments.of(userData);
+        }
+        event.degraded = degraded;
+        event.failed = error != null;
+        event.commit();
+    }
+
+    /**
+     * Starts a cache event.
+     *
+     * @param operation The cache operation, e.g. {@code get} or {@code put}
+     * @param request The loan offer request
+     * @return The started event, or null if cache events are not being recorded
+     */
+    public static OfferCacheEvent beginCache(String operation, LoanOfferRequest request) {
+        if (!CACHE_EVENT_TYPE.isEnabled()) {
+            return null;
+        }
+        OfferCacheEvent event = new OfferCacheEvent();
+        event.begin();
+        event.operation = operation;
+        event.source = request.getSource();
+        return event;
+    }
+
+    /**
+     * Ends and commits a cache event.
+     *
+     * @param event The event from {@link #beginCache}, may be null
+     * @param hit Whether a lookup found a cached response
+     */
+    public static void endCache(OfferCacheEvent event, boolean hit) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.hit = hit;
+            event.commit();
+        }
+    }
+}
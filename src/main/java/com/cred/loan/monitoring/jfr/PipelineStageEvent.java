@@ -0,0 +1,39 @@
+package com.cred.loan.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning one stage of an offer generation run.
+ */
+@Name("com.cred.loan.PipelineStage")
+@Label("Offer Pipeline Stage")
+@Category({"Loan", "Offer Pipeline"})
+@Description("One stage of an offer generation run")
+@StackTrace(false)
+public class PipelineStageEvent extends jdk.jfr.Event {
+    @Label("Stage")
+    String stage;
+
+    @Label("Source")
+    @Description("Source of the request")
+    String source;
+
+    @Label("Segment")
+    @Description("Income and age segment of the user, -1 when no user data is available")
+    int segment;
+
+    @Label("Candidates")
+    @Description("Number of offers the stage worked on, -1 for stages without offers")
+    int candidates;
+
+    @Label("Degraded")
+    @Description("Whether the stage missed its budget and was answered from defaults")
+    boolean degraded;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,88 @@
+package com.cred.loan.monitoring.jfr;
+
+/**
+ * State of the current or last flight recording started through the
+ * {@link FlightRecordingManager}.
+ */
+public class RecordingStatus {
+    private final String name;
+    private final String state;
+    private final String settings;
+    private final long maxDurationSeconds;
+    private final long maxSizeBytes;
+    private final String file;
+
+    /**
+     * Creates a new RecordingStatus instance.
+     *
+     * @param name The recording name, null if no recording was started
+     * @param state The recording state, e.g. RUNNING or STOPPED
+     * @param settings The JFR settings the recording uses
+     * @param maxDurationSeconds Time after which the recording stops by itself
+     * @param maxSizeBytes Maximum size of the recording on disk
+     * @param file The file the recording is written to
+     */
+    public RecordingStatus(String name, String state, String settings, long maxDurationSeconds,
+                           long maxSizeBytes, String file) {
+        this.name = name;
+        this.state = state;
+        this.settings = settings;
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxSizeBytes = maxSizeBytes;
+        this.file = file;
+    }
+
+    /**
+     * Gets the recording name.
+     *
+     * @return The name, null if no recording was started
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the recording state.
+     *
+     * @return The state, e.g. RUNNING or STOPPED
+     */
+    public String getState() {
+        return state;
+    }
+
+    /**
+     * Gets the JFR settings the recording uses.
+     *
+     * @return The settings name, e.g. default or profile
+     */
+    public String getSettings() {
+        return settings;
+    }
+
+    /**
+     * Gets the time after which the recording stops by itself.
+     *
+     * @return Maximum duration in seconds
+     */
+    public long getMaxDurationSeconds() {
+        return maxDurationSeconds;
+    }
+
+    /**
+     * Gets the maximum size of the recording on disk.
+     *
+     * @return Maximum size in bytes
+     */
+    public long getMaxSizeBytes() {
+        return maxSizeBytes;
+    }
+
+    /**
+     * Gets the file the recording is written to.
+     *
+     * @return The file path
+     */
+    public String getFile() {
+        return file;
+    }
+}
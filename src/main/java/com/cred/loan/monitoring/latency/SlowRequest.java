@@ -0,0 +1,119 @@
+package com.cred.loan.monitoring.latency;
+
+import com.cred.loan.core.pipeline.PipelineStage;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A request that took longer than the slow-request threshold, kept with its
+ * per-stage breakdown so a latency regression can be traced to a stage.
+ */
+public class SlowRequest {
+    private final String requestId;
+    private final String correlationId;
+    private final String userHash;
+    private final String source;
+    private final long timestamp;
+    private final double totalMillis;
+    private final Map<PipelineStage, Double> stageMillis;
+    private final Set<PipelineStage> degradedStages;
+
+    /**
+     * Creates a new SlowRequest instance.
+     *
+     * @param requestId The ID of the response
+     * @param correlationId The correlation ID of the request, linking it to its logs
+     * @param userHash Pseudonymous key of the user, stable across requests
+     * @param source The source of the request
+     * @param timestamp When the request completed, in epoch milliseconds
+     * @param totalMillis Total generation time in milliseconds
+     * @param stageMillis Duration of each stage that ran, in milliseconds
+     * @param degradedStages Stages that missed their budget
+     */
+    public SlowRequest(String requestId, String correlationId, String userHash, String source, long timestamp,
+                       double totalMillis, Map<PipelineStage, Double> stageMillis,
+                       Set<PipelineStage> degradedStages) {
+        this.requestId = requestId;
+        this.correlationId = correlationId;
+        this.userHash = userHash;
+        this.source = source;
+        this.timestamp = timestamp;
+        this.totalMillis = totalMillis;
+        this.stageMillis = stageMillis;
+        this.degradedStages = degradedStages;
+    }
+
+    /**
+     * Gets the ID of the response.
+     *
+     * @return The request ID
+     */
+    public String getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * Gets the correlation ID of the request.
+     *
+     * @return The correlation ID, or null if the request ran without a request context
+     */
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    /**
+     * Gets the pseudonymous key of the user. Requests of the same user share
+     * the key, but the user ID cannot be read back from it.
+     *
+     * @return The user hash
+     */
+    public String getUserHash() {
+        return userHash;
+    }
+
+    /**
+     * Gets the source of the request.
+     *
+     * @return The request source
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Gets when the request completed.
+     *
+     * @return Epoch milliseconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the total generation time.
+     *
+     * @return Total time in milliseconds
+     */
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Gets the duration of each stage that ran.
+     *
+     * @return Map of stage to milliseconds, in pipeline order
+     */
+    public Map<PipelineStage, Double> getStageMillis() {
+        return stageMillis;
+    }
+
+    /**
+     * Gets the stages that missed their budget.
+     *
+     * @return Set of degraded stages
+     */
+    public Set<PipelineStage> getDegradedStages() {
+        return degradedStages;
+    }
+}
@@ -0,0 +1,41 @@
+package com.cred.loan.monitoring.latency;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint exposing the most recent offer generation runs that were
+ * slower than the threshold, with their per-stage breakdown, at
+ * {@code /actuator/slowrequests}. Users are identified by a hash only.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestEndpoint {
+    private final StageLatencyRecorder recorder;
+
+    public SlowRequestEndpoint(StageLatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Lists the retained slow requests.
+     *
+     * @return The exemplars, most recent first
+     */
+    @ReadOperation
+    public List<SlowRequest> slowRequests() {
+        return recorder.getSlowRequests();
+    }
+
+    /**
+     * Discards the retained slow requests.
+     */
+    @DeleteOperation
+    public void clear() {
+        recorder.clearSlowRequests();
+    }
+}
@@ -0,0 +1,166 @@
+package com.cred.loan.monitoring.latency;
+
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.pipeline.PipelineStage;
+import com.cred.loan.core.pipeline.StageTimings;
+import com.cred.loan.monitoring.context.RequestContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency of served pipeline runs: the total into the offer
+ * generation timer and each stage into {@code loan.offers.stage.time}.
+ * Both timers publish percentiles, which Micrometer computes from
+ * HdrHistogram-backed sliding windows, and a percentile histogram for
+ * server-side aggregation.
+ * The most recent runs slower than the threshold are kept, newest first, as
+ * exemplars with their stage breakdown. Exemplars identify the user by a
+ * truncated SHA-256 hash of the user ID rather than the ID itself.
+ */
+@Component
+public class StageLatencyRecorder {
+
+    private static final PipelineStage[] STAGES = PipelineStage.values();
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final int USER_HASH_BYTES = 8;
+
+    private final Timer totalTimer;
+    private final Timer[] stageTimers = new Timer[STAGES.length];
+    private final long slowThresholdNanos;
+    private final int maxSlowRequests;
+    private final Deque<SlowRequest> slowRequests;
+
+    /**
+     * Creates a new instance of StageLatencyRecorder.
+     *
+     * @param registry The meter registry
+     * @param offerTimer The timer of whole offer generation runs
+     * @param slowThresholdMillis Total time above which a run is kept as an exemplar
+     * @param maxSlowRequests Maximum number of exemplars kept
+     */
+    public StageLatencyRecorder(
+            MeterRegistry registry,
+            Timer offerTimer,
+            @Value("${loan.offers.slow-request.threshold-ms:500}") long slowThresholdMillis,
+            @Value("${loan.offers.slow-request.capacity:100}") int maxSlowRequests) {
+        if (maxSlowRequests <= 0) {
+            throw new IllegalArgumentException("Slow request capacity must be positive");
+        }
+        this.totalTimer = offerTimer;
+        for (PipelineStage stage : STAGES) {
+            stageTimers[stage.ordinal()] = Timer.builder("loan.offers.stage.time")
+                .description("Time taken by each offer generation stage")
+                .tag("stage", stage.name())
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(registry);
+        }
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.maxSlowRequests = maxSlowRequests;
+        this.slowRequests = new ArrayDeque<>(maxSlowRequests);
+    }
+
+    /**
+     * Records a completed pipeline run.
+     *
+     * @param request The loan offer request
+     * @param response The response served
+     * @param timings The timings of the run
+     */
+    public void record(LoanOfferRequest request, LoanOfferResponse response, StageTimings timings) {
+        long totalNanos = timings.elapsedNanos();
+        totalTimer.record(totalNanos, TimeUnit.NANOSECONDS);
+        for (PipelineStage stage : STAGES) {
+            long stageNanos = timings.getStageNanos(stage);
+            if (stageNanos >= 0) {
+                stageTimers[stage.ordinal()].record(stageNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (totalNanos > slowThresholdNanos) {
+            addSlowRequest(new SlowRequest(
+                response.getRequestId(),
+                RequestContext.currentCorrelationId(),
+                userHash(request.getUserId()),
+                request.getSource(),
+                System.currentTimeMillis(),
+                totalNanos / NANOS_PER_MILLI,
+                toMillis(timings.toMap()),
+                response.getDegradedStages()
+            ));
+        }
+    }
+
+    /**
+     * Gets the retained slow requests.
+     *
+     * @return Snapshot of the exemplars, most recent first
+     */
+    public List<SlowRequest> getSlowRequests() {
+        synchronized (slowRequests) {
+            return Collections.unmodifiableList(new ArrayList<>(slowRequests));
+        }
+    }
+
+    /**
+     * Discards the retained slow requests.
+     */
+    public void clearSlowRequests() {
+        synchronized (slowRequests) {
+            slowRequests.clear();
+        }
+    }
+
+    private void addSlowRequest(SlowRequest slowRequest) {
+        // Slow requests are rare, so a lock here does not cost the fast path
+        synchronized (slowRequests) {
+            if (slowRequests.size() == maxSlowRequests) {
+                slowRequests.removeLast();
+            }
+            slowRequests.addFirst(slowRequest);
+        }
+    }
+
+    /**
+     * Hashes a user ID into a short pseudonymous key.
+     *
+     * @param userId The user ID
+     * @return The first 16 hex digits of the SHA-256 of the ID, or null for no ID
+     */
+    static String userHash(String userId) {
+        if (userId == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(userId.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, USER_HASH_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Map<PipelineStage, Double> toMillis(Map<PipelineStage, Long> stageNanos) {
+        Map<PipelineStage, Double> stageMillis = new EnumMap<>(PipelineStage.class);
+        stageNanos.forEach((stage, nanos) -> stageMillis.put(stage, nanos / NANOS_PER_MILLI));
+        return Collections.unmodifiableMap(stageMillis);
+    }
+}
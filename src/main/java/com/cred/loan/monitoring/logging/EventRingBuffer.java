@@ -0,0 +1,108 @@
+package com.cred.loan.monitoring.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ * Each slot carries a sequence number telling producers and the consumer
+ * whose turn it is: a producer claims a slot with one CAS on the tail and
+ * publishes it by advancing the slot's sequence, so producers never wait on
+ * each other or on the consumer.
+ */
+final class EventRingBuffer<E> {
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    /**
+     * Creates an empty ring buffer.
+     *
+     * @param capacity The capacity, rounded up to a power of two of at least two
+     */
+    EventRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30, got: " + capacity);
+        }
+        // With a single slot, "published at n" and "free for n + 1" share a sequence number
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element unless the buffer is full.
+     *
+     * @param element The element
+     * @return true if added, false if the buffer is full
+     */
+    boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                return false;
+            }
+            // Another producer claimed the slot first; retry with the new tail
+        }
+    }
+
+    /**
+     * Removes up to {@code max} elements in order. Only one thread may drain.
+     *
+     * @param consumer Receives each element
+     * @param max Maximum number of elements to remove
+     * @return The number of elements removed
+     */
+    int drain(Consumer<? super E> consumer, int max) {
+        long position = head;
+        // The head is only written here, by the single consumer
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            E element = slots.get(index);
+            slots.lazySet(index, null);
+            sequences.set(index, position + mask + 1);
+            head = ++position;
+            drained++;
+            consumer.accept(element);
+        }
+        return drained;
+    }
+
+    /**
+     * Gets the number of elements waiting, which may be stale under concurrent use.
+     *
+     * @return Approximate size
+     */
+    int size() {
+        return (int) Math.max(0L, tail.get() - head);
+    }
+
+    /**
+     * Gets the capacity.
+     *
+     * @return Number of slots
+     */
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,220 @@
+package com.cred.loan.monitoring.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Appender that hands events to a background thread through a lock-free ring
+ * buffer, so logging threads never perform I/O.
+ * The background thread drains events in batches into the attached
+ * appenders and flushes buffered output streams once per batch rather than
+ * per event; attach output stream appenders with immediate flush disabled.
+ * When the buffer is full, events are either dropped and counted or the
+ * logging thread waits for space, depending on the {@link OverflowPolicy}.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    /**
+     * What a logging thread does when the ring buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Discard the event and count it as dropped.
+         */
+        DROP,
+
+        /**
+         * Wait until the background thread frees a slot.
+         */
+        BLOCK
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long STOP_TIMEOUT_MILLIS = 5_000;
+
+    private final List<Appender<ILoggingEvent>> appenders = new CopyOnWriteArrayList<>();
+    private final LongAdder droppedEvents = new LongAdder();
+    private int capacity = 8192;
+    private int batchSize = 256;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    private EventRingBuffer<ILoggingEvent> buffer;
+    private Thread worker;
+    private volatile boolean running;
+    private volatile long writtenEvents;
+
+    /**
+     * Attaches an appender that receives the events from the background thread.
+     *
+     * @param appender The downstream appender
+     */
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.add(appender);
+    }
+
+    /**
+     * Sets the ring buffer capacity, rounded up to a power of two of at least two.
+     *
+     * @param capacity Maximum number of buffered events
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Sets the maximum number of events written between flushes.
+     *
+     * @param batchSize Events per batch
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets what logging threads do when the buffer is full.
+     *
+     * @param overflowPolicy The overflow policy
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Gets the number of events discarded because the buffer was full.
+     *
+     * @return Dropped event count
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Gets the number of events handed to the attached appenders.
+     *
+     * @return Written event count
+     */
+    public long getWrittenEvents() {
+        return writtenEvents;
+    }
+
+    /**
+     * Gets the number of events waiting in the buffer.
+     *
+     * @return Approximate backlog
+     */
+    public int getBacklog() {
+        return buffer != null ? buffer.size() : 0;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (capacity <= 0 || batchSize <= 0) {
+            addError("Capacity and batch size must be positive");
+            return;
+        }
+        if (appenders.isEmpty()) {
+            addWarn("No appenders attached to " + getName());
+        }
+        buffer = new EventRingBuffer<>(capacity);
+        running = true;
+        worker = new Thread(this::drainLoop, "log-ring-" + getName());
+        worker.setDaemon(true);
+        worker.start();
+        super.start();
+    }
+
+    /**
+     * Stops accepting events, writes the events already buffered and stops
+     * the attached appenders.
+     */
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Appender<ILoggingEvent> appender : appenders) {
+            appender.stop();
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Capture message arguments, MDC and thread name before the event changes threads
+        event.prepareForDeferredProcessing();
+        if (buffer.offer(event)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            droppedEvents.increment();
+            return;
+        }
+        while (!buffer.offer(event)) {
+            if (!running) {
+                droppedEvents.increment();
+                return;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+    }
+
+    private void drainLoop() {
+        while (running || buffer.size() > 0) {
+            int drained = buffer.drain(this::dispatch, batchSize);
+            if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            writtenEvents += drained;
+            // A full batch means more are waiting; flush once the buffer has been caught up
+            if (drained < batchSize) {
+                flush();
+            }
+        }
+        flush();
+    }
+
+    private void dispatch(ILoggingEvent event) {
+        for (Appender<ILoggingEvent> appender : appenders) {
+            try {
+                appender.doAppend(event);
+            } catch (RuntimeException e) {
+                addError("Failed to append to " + appender.getName(), e);
+            }
+        }
+    }
+
+    private void flush() {
+        for (Appender<ILoggingEvent> appender : appenders) {
+            if (appender instanceof OutputStreamAppender<ILoggingEvent> streamAppender
+                    && !streamAppender.isImmediateFlush()
+                    && streamAppender.getOutputStream() != null) {
+                try {
+                    streamAppender.getOutputStream().flush();
+                } catch (IOException e) {
+                    addError("Failed to flush " + appender.getName(), e);
+                }
+            }
+        }
+    }
+}
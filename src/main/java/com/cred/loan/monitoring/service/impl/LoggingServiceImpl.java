@@ -1,5 +1,6 @@
 package com.cred.loan.monitoring.service.impl;
 
+import com.cred.loan.monitoring.context.RequestContext;
 import com.cred.loan.monitoring.service.LoggingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,10 +10,11 @@ import org.springframework.stereotype.Service;
 /**
  * Implementation of the LoggingService interface using SLF4J.
  * Provides functionality for logging messages with proper context and correlation IDs.
+ * Messages logged within a {@link RequestContext} carry its correlation ID and stage.
  */
 @Service
 public class LoggingServiceImpl implements LoggingService {
-    private static final String CORRELATION_ID_KEY = "correlationId";
+    private static final String CORRELATION_ID_KEY = RequestContext.CORRELATION_ID_KEY;
     private final Logger logger = LoggerFactory.getLogger(LoggingServiceImpl.class);
 
     @Override
@@ -42,6 +44,8 @@ public class LoggingServiceImpl implements LoggingService {
 
     @Override
     public void logWithCorrelationId(String correlationId, LogLevel level, String message, Object... args) {
+        // Restore rather than remove, so the request context's ID survives the call
+        String previous = MDC.get(CORRELATION_ID_KEY);
         try {
             MDC.put(CORRELATION_ID_KEY, correlationId);
             switch (level) {
@@ -61,7 +65,11 @@ public class LoggingServiceImpl implements LoggingService {
                     info(message, args);
             }
         } finally {
-            MDC.remove(CORRELATION_ID_KEY);
+            if (previous != null) {
+                MDC.put(CORRELATION_ID_KEY, previous);
+            } else {
+                MDC.remove(CORRELATION_ID_KEY);
+            }
         }
     }
 } 
\ No newline at end of file
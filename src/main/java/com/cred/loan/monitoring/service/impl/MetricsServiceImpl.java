@@ -2,25 +2,60 @@ package com.cred.loan.monitoring.service.impl;
 
 import com.cred.loan.monitoring.service.MetricsService;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * Implementation of the MetricsService interface using Micrometer.
  * Provides functionality for recording and managing application metrics.
+ * Meters are registered once and cached by name and tags, so recording is a
+ * lock-free map lookup. Each metric name is limited to a maximum number of
+ * distinct tag sets; further tag sets are folded into one meter whose tag
+ * values are {@value #OVERFLOW_TAG_VALUE}.
+ * Gauges are backed by holders kept by this service, so a gauge keeps
+ * reporting its last recorded value.
  */
 @Service
 public class MetricsServiceImpl implements MetricsService {
+    static final String OVERFLOW_TAG_VALUE = "other";
+
     private final MeterRegistry meterRegistry;
+    private final int maxTagSetsPerName;
+    private final ConcurrentMap<MeterKey, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MeterKey, GaugeValue> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> tagSetsPerName = new ConcurrentHashMap<>();
+    private final Counter overflowCounter;
 
-    public MetricsServiceImpl(MeterRegistry meterRegistry) {
+    /**
+     * Creates a new instance of MetricsServiceImpl.
+     *
+     * @param meterRegistry The meter registry
+     * @param maxTagSetsPerName Maximum number of distinct tag sets per metric name
+     */
+    public MetricsServiceImpl(
+            MeterRegistry meterRegistry,
+            @Value("${loan.metrics.max-tag-sets-per-name:1000}") int maxTagSetsPerName) {
+        if (maxTagSetsPerName <= 0) {
+            throw new IllegalArgumentException("Max tag sets per name must be positive");
+        }
         this.meterRegistry = meterRegistry;
+        this.maxTagSetsPerName = maxTagSetsPerName;
+        this.overflowCounter = Counter.builder("loan.metrics.tags.overflow")
+            .description("Recordings folded into an overflow meter because a metric had too many tag sets")
+            .register(meterRegistry);
     }
 
     @Override
@@ -38,25 +73,144 @@ public class MetricsServiceImpl implements MetricsService {
         return getTimer(name, tags);
     }
 
+    /**
+     * Records a gauge value. Tags are given as {@code key=value} strings.
+     *
+     * @param name The name of the metric
+     * @param value The value to record
+     * @param tags Optional tags to associate with the metric
+     */
     @Override
     public void recordGauge(String name, double value, String... tags) {
-        List<Tag> tagList = Arrays.stream(tags)
-                .map(tag -> Tag.of(tag.split("=")[0], tag.split("=")[1]))
-                .collect(Collectors.toList());
-        meterRegistry.gauge(name, tagList, value);
+        lookup(gauges, name, tags, MetricsServiceImpl::overflowGaugeTags, this::registerGauge).set(value);
     }
 
     @Override
     public Counter getCounter(String name, String... tags) {
-        return Counter.builder(name)
-                .tags(tags)
-                .register(meterRegistry);
+        return lookup(counters, name, tags, MetricsServiceImpl::overflowTags, key -> Counter.builder(key.name())
+            .tags(key.tags())
+            .register(meterRegistry));
     }
 
     @Override
     public Timer getTimer(String name, String... tags) {
-        return Timer.builder(name)
-                .tags(tags)
-                .register(meterRegistry);
+        return lookup(timers, name, tags, MetricsServiceImpl::overflowTags, key -> Timer.builder(key.name())
+            .tags(key.tags())
+            .register(meterRegistry));
+    }
+
+    /**
+     * Finds the cached meter for a name and tags, registering it on first use.
+     * Only a miss takes a lock; a name over its tag set limit resolves to the
+     * overflow meter.
+     *
+     * @param meters The cache of one meter type
+     * @param name The name of the metric
+     * @param tags The tags as given by the caller
+     * @param overflow Maps tags to the tags of the overflow meter
+     * @param register Registers the meter for a key
+     * @return The meter
+     */
+    private <M> M lookup(ConcurrentMap<MeterKey, M> meters, String name, String[] tags,
+                         Function<String[], String[]> overflow, Function<MeterKey, M> register) {
+        M meter = meters.get(new MeterKey(name, tags));
+        if (meter != null) {
+            return meter;
+        }
+
+        // Copy so a caller reusing its array cannot change a cached key
+        meter = meters.computeIfAbsent(new MeterKey(name, tags.clone()), key -> admitAndRegister(key, register));
+        if (meter == null) {
+            overflowCounter.increment();
+            meter = meters.computeIfAbsent(new MeterKey(name, overflow.apply(tags)), register);
+        }
+        return meter;
+    }
+
+    /**
+     * Registers the meter of a new tag set unless its name is at the limit.
+     * A tag set whose registration fails does not count toward the limit.
+     *
+     * @return The meter, or null if the name has no tag sets left
+     */
+    private <M> M admitAndRegister(MeterKey key, Function<MeterKey, M> register) {
+        AtomicInteger tagSets = tagSetsPerName.computeIfAbsent(key.name(), name -> new AtomicInteger());
+        if (tagSets.incrementAndGet() > maxTagSetsPerName) {
+            tagSets.decrementAndGet();
+            return null;
+        }
+        try {
+            return register.apply(key);
+        } catch (RuntimeException e) {
+            tagSets.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private GaugeValue registerGauge(MeterKey key) {
+        GaugeValue value = new GaugeValue();
+        Gauge.builder(key.name(), value, GaugeValue::get)
+            .tags(parseGaugeTags(key.tags()))
+            .register(meterRegistry);
+        return value;
+    }
+
+    private static List<Tag> parseGaugeTags(String[] tags) {
+        List<Tag> tagList = new ArrayList<>(tags.length);
+        for (String tag : tags) {
+            int separator = tag.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Gauge tags must be key=value, got: " + tag);
+            }
+            tagList.add(Tag.of(tag.substring(0, separator), tag.substring(separator + 1)));
+        }
+        return tagList;
+    }
+
+    private static String[] overflowTags(String[] tags) {
+        String[] folded = tags.clone();
+        for (int i = 1; i < folded.length; i += 2) {
+            folded[i] = OVERFLOW_TAG_VALUE;
+        }
+        return folded;
+    }
+
+    private static String[] overflowGaugeTags(String[] tags) {
+        String[] folded = new String[tags.length];
+        for (int i = 0; i < tags.length; i++) {
+            int separator = tags[i].indexOf('=');
+            folded[i] = (separator >= 0 ? tags[i].substring(0, separator) : tags[i]) + "=" + OVERFLOW_TAG_VALUE;
+        }
+        return folded;
+    }
+
+    /**
+     * Cache key of a meter: its name and the tag strings as passed by callers.
+     */
+    private record MeterKey(String name, String[] tags) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof MeterKey other && name.equals(other.name) && Arrays.equals(tags, other.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + Arrays.hashCode(tags);
+        }
+    }
+
+    /**
+     * Strongly held value of a gauge.
+     */
+    private static final class GaugeValue {
+        private volatile double value;
+
+        double get() {
+            return value;
+        }
+
+        void set(double value) {
+            this.value = value;
+        }
     }
-} 
\ No newline at end of file
+}
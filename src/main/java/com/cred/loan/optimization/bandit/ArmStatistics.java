@@ -0,0 +1,90 @@
+package com.cred.loan.optimization.bandit;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Impression and acceptance counts per segment and arm.
+ * Each count is a {@link LongAdder}, which stripes increments across cells
+ * under contention, so every impression can be recorded at full request rate
+ * without threads serializing on a shared counter.
+ */
+public final class ArmStatistics {
+    private final int arms;
+    private final LongAdder[] impressions;
+    private final LongAdder[] acceptances;
+
+    /**
+     * Creates empty statistics.
+     *
+     * @param segments Number of segments
+     * @param arms Number of arms per segment
+     * @throws IllegalArgumentException if either count is not positive
+     */
+    public ArmStatistics(int segments, int arms) {
+        if (segments <= 0 || arms <= 0) {
+            throw new IllegalArgumentException("Segment and arm counts must be positive");
+        }
+        this.arms = arms;
+        this.impressions = newAdders(segments * arms);
+        this.acceptances = newAdders(segments * arms);
+    }
+
+    /**
+     * Records that an arm was shown.
+     *
+     * @param segment The segment index
+     * @param arm The arm index
+     */
+    public void recordImpression(int segment, int arm) {
+        impressions[segment * arms + arm].increment();
+    }
+
+    /**
+     * Records that a shown arm was accepted.
+     *
+     * @param segment The segment index
+     * @param arm The arm index
+     */
+    public void recordAcceptance(int segment, int arm) {
+        acceptances[segment * arms + arm].increment();
+    }
+
+    /**
+     * Gets the number of times an arm was shown.
+     *
+     * @param segment The segment index
+     * @param arm The arm index
+     * @return The impression count
+     */
+    public long impressions(int segment, int arm) {
+        return impressions[segment * arms + arm].sum();
+    }
+
+    /**
+     * Gets the number of times an arm was accepted.
+     *
+     * @param segment The segment index
+     * @param arm The arm index
+     * @return The acceptance count
+     */
+    public long acceptances(int segment, int arm) {
+        return acceptances[segment * arms + arm].sum();
+    }
+
+    /**
+     * Gets the number of arms per segment.
+     *
+     * @return The arm count
+     */
+    public int getArms() {
+        return arms;
+    }
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
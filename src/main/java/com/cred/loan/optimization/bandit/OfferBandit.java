@@ -0,0 +1,293 @@
+package com.cred.loan.optimization.bandit;
+
+import com.cred.loan.behavior.aggregate.FunnelStage;
+import com.cred.loan.behavior.learning.PriceSegments;
+import com.cred.loan.core.cache.BoundedCache;
+import com.cred.loan.core.model.OfferIds;
+import com.cred.loan.core.model.OfferInteraction;
+import com.cred.loan.core.model.RankedOffer;
+import com.cred.loan.core.model.impl.RankedOfferImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Contextual Thompson-sampling bandit over the top slot of the offer ranking.
+ * Arms are offer variants identified by base tenure, and statistics are kept
+ * per user segment. A configured fraction of requests explores: each eligible
+ * offer draws from the Beta posterior of its arm's acceptance rate and the
+ * best draw is promoted to rank 1. All other requests exploit: among the
+ * offers whose arm has been shown often enough, the one with the highest
+ * posterior mean is promoted if it beats the mean of the top-ranked offer's
+ * arm, so the ranking is kept until the evidence says otherwise.
+ * Every served response records an impression for the arm in the top slot.
+ * A later accept of that offer, identified by its offer ID, credits the arm;
+ * an accept of a lower-ranked offer or a reject leaves it uncredited. Only the
+ * latest impression of each user is kept, for a bounded number of users.
+ * Selection reads a fixed number of counters per arm and takes no locks.
+ */
+@Component
+public class OfferBandit {
+    private final int[] armTenures;
+    private final ArmStatistics statistics;
+    private final BoundedCache<String, Impression> impressions;
+    private final double explorationRate;
+    private final long minEvidence;
+
+    private final Counter exploredCounter;
+    private final Counter exploitedCounter;
+    private final Counter exploredPromotedCounter;
+    private final Counter exploitedPromotedCounter;
+
+    /**
+     * Creates a new OfferBandit instance.
+     *
+     * @param registry The meter registry
+     * @param armTenures Base tenures identifying the arms
+     * @param explorationRate Fraction of requests that explore (0.0 to 1.0)
+     * @param impressionTtlMinutes Time after which an unanswered impression is discarded
+     * @param maxTrackedUsers Maximum number of users with a pending impression
+     * @param minEvidence Impressions an arm needs before exploiting requests promote it
+     * @throws IllegalArgumentException if the exploration rate is not between 0 and 1
+     */
+    public OfferBandit(
+            MeterRegistry registry,
+            @Value("${loan.offers.bandit.arm-tenures:3,6,9,12,18,24,36}") int[] armTenures,
+            @Value("${loan.offers.bandit.exploration-rate:0.05}") double explorationRate,
+            @Value("${loan.offers.bandit.impression-ttl-minutes:60}") long impressionTtlMinutes,
+            @Value("${loan.offers.bandit.max-tracked-users:100000}") int maxTrackedUsers,
+            @Value("${loan.offers.bandit.min-evidence:200}") long minEvidence) {
+        if (explorationRate < 0 || explorationRate > 1) {
+            throw new IllegalArgumentException("Exploration rate must be between 0 and 1");
+        }
+        this.armTenures = armTenures.clone();
+        this.statistics = new ArmStatistics(PriceSegments.COUNT, armTenures.length);
+        this.explorationRate = explorationRate;
+        this.minEvidence = minEvidence;
+        this.impressions = new BoundedCache<>(maxTrackedUsers, Duration.ofMinutes(impressionTtlMinutes), false);
+
+        this.exploredCounter = selectionCounter(registry, "explore");
+        this.exploitedCounter = selectionCounter(registry, "exploit");
+        this.exploredPromotedCounter = promotedCounter(registry, "explore");
+        this.exploitedPromotedCounter = promotedCounter(registry, "exploit");
+    }
+
+    /**
+     * Selects the offer for the top slot and records the impression.
+     *
+     * @param userId The ID of the user
+     * @param requestId The request ID of the response the offers are served in
+     * @param segment The price segment of the user
+     * @param ranked Offers in rank order
+     * @return The offers in rank order, possibly with another offer promoted to rank 1
+     */
+    public List<RankedOffer> select(String userId, String requestId, int segment, List<RankedOffer> ranked) {
+        if (ranked.isEmpty()) {
+            return ranked;
+        }
+
+        List<RankedOffer> result = ranked;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < explorationRate) {
+            exploredCounter.increment();
+            int chosen = sample(segment, ranked, random);
+            if (chosen > 0) {
+                result = promote(ranked, chosen);
+                exploredPromotedCounter.increment();
+            }
+        } else {
+            exploitedCounter.increment();
+            int chosen = best(segment, ranked);
+            if (chosen > 0) {
+                result = promote(ranked, chosen);
+                exploitedPromotedCounter.increment();
+            }
+        }
+
+        recordImpression(userId, requestId, segment, armOf(result.get(0)));
+        return result;
+    }
+
+    /**
+     * Settles the user's pending impression on an accept or reject of an offer
+     * from the same response. The arm is credited only if the accepted offer
+     * is the one shown in the top slot. Interactions with offers from other
+     * responses leave the impression pending.
+     *
+     * @param userId The ID of the user
+     * @param interaction The offer interaction event
+     */
+    public void onInteraction(String userId, OfferInteraction interaction) {
+        FunnelStage stage = FunnelStage.fromInteractionType(interaction.getInteractionType());
+        if (stage != FunnelStage.ACCEPT && stage != FunnelStage.REJECT) {
+            return;
+        }
+        Impression impression = impressions.get(userId);
+        if (impression == null || !impression.requestId().equals(OfferIds.requestId(interaction.getOfferId()))) {
+            return;
+        }
+        if (impressions.remove(userId, impression)
+                && stage == FunnelStage.ACCEPT && OfferIds.rank(interaction.getOfferId()) == 1) {
+            statistics.recordAcceptance(impression.segment(), impression.arm());
+        }
+    }
+
+    /**
+     * Gets the per-arm statistics.
+     *
+     * @return The statistics
+     */
+    public ArmStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Draws from each eligible arm's posterior and returns the position of the
+     * best draw. Offers outside the arm set are not eligible.
+     *
+     * @param segment The segment index
+     * @param ranked Offers in rank order
+     * @param random The random source
+     * @return The position of the chosen offer, or 0 if none is eligible
+     */
+    private int sample(int segment, List<RankedOffer> ranked, ThreadLocalRandom random) {
+        int chosen = 0;
+        double best = -1.0;
+        for (int position = 0; position < ranked.size(); position++) {
+            int arm = armOf(ranked.get(position));
+            if (arm < 0) {
+                continue;
+            }
+            long shown = statistics.impressions(segment, arm);
+            long accepted = Math.min(statistics.acceptances(segment, arm), shown);
+            double draw = sampleBeta(accepted + 1.0, shown - accepted + 1.0, random);
+            if (draw > best) {
+                best = draw;
+                chosen = position;
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Returns the position of the offer whose arm has the highest posterior
+     * mean, among arms with enough impressions, if that mean is above the
+     * posterior mean of the top-ranked offer's arm.
+     *
+     * @param segment The segment index
+     * @param ranked Offers in rank order
+     * @return The position of the chosen offer, or 0 to keep the ranking
+     */
+    private int best(int segment, List<RankedOffer> ranked) {
+        int topArm = armOf(ranked.get(0));
+        double best = topArm >= 0 ? posteriorMean(segment, topArm) : -1.0;
+        int chosen = 0;
+        for (int position = 1; position < ranked.size(); position++) {
+            int arm = armOf(ranked.get(position));
+            if (arm < 0 || statistics.impressions(segment, arm) < minEvidence) {
+                continue;
+            }
+            double mean = posteriorMean(segment, arm);
+            if (mean > best) {
+                best = mean;
+                chosen = position;
+            }
+        }
+        return chosen;
+    }
+
+    private double posteriorMean(int segment, int arm) {
+        long shown = statistics.impressions(segment, arm);
+        long accepted = Math.min(statistics.acceptances(segment, arm), shown);
+        return (accepted + 1.0) / (shown + 2.0);
+    }
+
+    private void recordImpression(String userId, String requestId, int segment, int arm) {
+        if (arm < 0) {
+            impressions.remove(userId);
+            return;
+        }
+        statistics.recordImpression(segment, arm);
+        impressions.put(userId, new Impression(segment, arm, requestId));
+    }
+
+    private int armOf(RankedOffer offer) {
+        int tenure = offer.getOffer().getBaseOffer().tenure();
+        for (int arm = 0; arm < armTenures.length; arm++) {
+            if (armTenures[arm] == tenure) {
+                return arm;
+            }
+        }
+        return -1;
+    }
+
+    private static List<RankedOffer> promote(List<RankedOffer> ranked, int chosen) {
+        List<RankedOffer> result = new ArrayList<>(ranked.size());
+        RankedOffer promoted = ranked.get(chosen);
+        result.add(new RankedOfferImpl(promoted.getOffer(), promoted.score(), 1));
+        for (int position = 0; position < ranked.size(); position++) {
+            if (position != chosen) {
+                RankedOffer offer = ranked.get(position);
+                result.add(new RankedOfferImpl(offer.getOffer(), offer.score(), result.size() + 1));
+            }
+        }
+        return result;
+    }
+
+    private static double sampleBeta(double alpha, double beta, ThreadLocalRandom random) {
+        double x = sampleGamma(alpha, random);
+        double y = sampleGamma(beta, random);
+        return x / (x + y);
+    }
+
+    /**
+     * Draws from Gamma(shape, 1) using Marsaglia and Tsang's method, which is
+     * valid for shape >= 1 and holds for Beta posteriors with a uniform prior.
+     */
+    private static double sampleGamma(double shape, ThreadLocalRandom random) {
+        double d = shape - 1.0 / 3.0;
+        double c = 1.0 / Math.sqrt(9.0 * d);
+        while (true) {
+            double x = random.nextGaussian();
+            double v = 1.0 + c * x;
+            if (v <= 0) {
+                continue;
+            }
+            v = v * v * v;
+            double u = random.nextDouble();
+            if (Math.log(u) < 0.5 * x * x + d - d * v + d * Math.log(v)) {
+                return d * v;
+            }
+        }
+    }
+
+    private static Counter promotedCounter(MeterRegistry registry, String mode) {
+        return Counter.builder("loan.offers.bandit.promoted")
+            .description("Requests whose top offer differs from the ranking, by mode")
+            .tag("mode", mode)
+            .register(registry);
+    }
+
+    private static Counter selectionCounter(MeterRegistry registry, String mode) {
+        return Counter.builder("loan.offers.bandit.selections")
+            .description("Top slot selections by mode")
+            .tag("mode", mode)
+            .register(registry);
+    }
+
+    /**
+     * The arm last shown to a user in the top slot.
+     *
+     * @param segment The user's segment
+     * @param arm The arm shown
+     * @param requestId The request ID of the response it was shown in
+     */
+    private record Impression(int segment, int arm, String requestId) {
+    }
+}
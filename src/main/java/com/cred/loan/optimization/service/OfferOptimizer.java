@@ -4,6 +4,7 @@ import com.cred.loan.behavior.model.BehaviorAnalysisResult;
 import com.cred.loan.core.model.BaseOffer;
 import com.cred.loan.core.model.OptimizedOffer;
 import com.cred.loan.core.model.impl.OptimizedOfferImpl;
+import com.cred.loan.monitoring.context.ContextExecutors;
 import com.cred.loan.optimization.matrix.MatrixConfigurationFactory;
 import com.cred.loan.optimization.matrix.TermAdjustmentMatrix;
 import com.cred.loan.optimization.model.TermAdjustment;
@@ -49,7 +50,7 @@ public class OfferOptimizer {
             baseOffers.stream()
                 .map(offer -> optimizeOffer(offer, riskAssessment, behaviorAnalysis))
                 .collect(Collectors.toList())
-        );
+        , ContextExecutors.async());
     }
 
     /**
@@ -84,9 +85,9 @@ public class OfferOptimizer {
         // Create optimized offer
         return new OptimizedOfferImpl(
             offer,
-            getAdjustedROI(adjustments),
-            Double.valueOf(totalRiskImpact),
-            Double.valueOf(behaviorAnalysis.getConversionProbability())
+            getAdjustedROI(offer, adjustments),
+            totalRiskImpact,
+            behaviorAnalysis.getConversionProbability()
         );
     }
 
@@ -118,12 +119,14 @@ public class OfferOptimizer {
 
     /**
      * Gets the adjusted ROI value from the adjustments map.
+     * Falls back to the base offer's ROI when no valid ROI adjustment exists.
      *
+     * @param offer Base offer being optimized
      * @param adjustments Map of term adjustments
      * @return Adjusted ROI value
      */
-    private Double getAdjustedROI(Map<TermType, TermAdjustment> adjustments) {
+    private double getAdjustedROI(BaseOffer offer, Map<TermType, TermAdjustment> adjustments) {
         TermAdjustment roiAdjustment = adjustments.get(TermType.ROI);
-        return roiAdjustment != null ? roiAdjustment.getAdjustedValue() : null;
+        return roiAdjustment != null ? roiAdjustment.getAdjustedValue() : offer.roi();
     }
 } 
\ No newline at end of file
@@ -1,13 +1,12 @@
 package com.cred.loan.optimization.service;
 
+import com.cred.loan.core.model.BaseOffer;
 import com.cred.loan.core.model.OptimizedOffer;
 import com.cred.loan.core.model.RankedOffer;
-import com.cred.loan.core.model.impl.RankedOfferImpl;
+import com.cred.loan.monitoring.context.ContextExecutors;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Service responsible for ranking optimized loan offers based on various factors
@@ -40,22 +39,22 @@ public class OfferRanker {
      * @return CompletableFuture containing the list of ranked offers
      */
     public CompletableFuture<List<RankedOffer>> rankOffers(List<OptimizedOffer> offers) {
-        return CompletableFuture.supplyAsync(() -> {
-            List<RankedOffer> rankedOffers = offers.stream()
-                .map(offer -> new RankedOfferImpl(offer, calculateScore(offer), null))
-                .sorted((a, b) -> Double.compare(b.getScore(), a.getScore()))
-                .collect(Collectors.toList());
-
-            // Assign ranks
-            IntStream.range(0, rankedOffers.size())
-                .forEach(i -> rankedOffers.set(i, new RankedOfferImpl(
-                    rankedOffers.get(i).getOffer(),
-                    rankedOffers.get(i).getScore(),
-                    i + 1
-                )));
+        return rankOffers(offers, 0, offers.size());
+    }
 
-            return rankedOffers;
-        });
+    /**
+     * Ranks a list of optimized offers and returns a single page of the ranking.
+     * Only the offers up to the end of the requested page are ordered.
+     *
+     * @param offers List of optimized offers to rank
+     * @param offset Number of top-ranked offers to skip
+     * @param limit Maximum number of ranked offers to return
+     * @return CompletableFuture containing the requested page of ranked offers
+     */
+    public CompletableFuture<List<RankedOffer>> rankOffers(List<OptimizedOffer> offers, int offset, int limit) {
+        return CompletableFuture.supplyAsync(() ->
+            OfferRankingEngine.rank(offers, this::calculateScore, offset, limit)
+        , ContextExecutors.async());
     }
 
     /**
@@ -81,7 +80,7 @@ public class OfferRanker {
      * @return Conversion score (0.0 to 1.0)
      */
     private double calculateConversionScore(OptimizedOffer offer) {
-        return offer.getConversionProbability();
+        return offer.conversionProbability();
     }
 
     /**
@@ -92,7 +91,7 @@ public class OfferRanker {
      */
     private double calculateRiskScore(OptimizedOffer offer) {
         // Convert risk impact to a score (higher impact = lower score)
-        return Math.max(0.0, 1.0 - offer.getRiskImpact());
+        return Math.max(0.0, 1.0 - offer.riskImpact());
     }
 
     /**
@@ -103,8 +102,9 @@ public class OfferRanker {
      */
     private double calculateValueScore(OptimizedOffer offer) {
         // Calculate value based on ROI and amount
-        double roiValue = offer.getBaseOffer().getROI() / 100.0; // Normalize ROI
-        double amountValue = Math.min(1.0, offer.getBaseOffer().getAmount() / 1000000.0); // Normalize amount
+        BaseOffer baseOffer = offer.getBaseOffer();
+        double roiValue = baseOffer.roi() / 100.0; // Normalize ROI
+        double amountValue = Math.min(1.0, baseOffer.amount() / 1000000.0); // Normalize amount
 
         return (roiValue * 0.7) + (amountValue * 0.3);
     }
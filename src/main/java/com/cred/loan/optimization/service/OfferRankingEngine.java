@@ -0,0 +1,168 @@
+package com.cred.loan.optimization.service;
+
+import com.cred.loan.core.model.OptimizedOffer;
+import com.cred.loan.core.model.RankedOffer;
+import com.cred.loan.core.model.impl.RankedOfferImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Bounded top-K ranking engine shared by the offer ranking code paths.
+ * Scores are held in a primitive array and only the best {@code offset + limit}
+ * candidates are kept in a heap, so ranking a page of offers costs O(n log k)
+ * rather than a full sort. Equal scores are ordered by their position in the
+ * input list, which keeps rankings deterministic across runs.
+ */
+public final class OfferRankingEngine {
+
+    private OfferRankingEngine() {
+    }
+
+    /**
+     * Ranks all offers using the given scoring function.
+     *
+     * @param offers Offers to rank
+     * @param scorer Function computing the score of an offer
+     * @return Offers in rank order, ranks starting at 1
+     */
+    public static List<RankedOffer> rank(List<OptimizedOffer> offers, ToDoubleFunction<OptimizedOffer> scorer) {
+        return rank(offers, scorer, 0, offers.size());
+    }
+
+    /**
+     * Ranks offers using the given scoring function and returns a single page.
+     *
+     * @param offers Offers to rank
+     * @param scorer Function computing the score of an offer
+     * @param offset Number of top-ranked offers to skip
+     * @param limit Maximum number of offers to return
+     * @return The requested page of offers in rank order
+     */
+    public static List<RankedOffer> rank(
+            List<OptimizedOffer> offers,
+            ToDoubleFunction<OptimizedOffer> scorer,
+            int offset,
+            int limit) {
+        double[] scores = new double[offers.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = scorer.applyAsDouble(offers.get(i));
+        }
+        return rank(offers, scores, offset, limit);
+    }
+
+    /**
+     * Ranks offers by precomputed scores and returns a single page. Only the
+     * candidates needed for the page are ordered; the remainder is discarded
+     * as soon as it falls out of the heap.
+     *
+     * @param offers Offers to rank
+     * @param scores Score of each offer, indexed like {@code offers}
+     * @param offset Number of top-ranked offers to skip
+     * @param limit Maximum number of offers to return
+     * @return The requested page of offers in rank order
+     * @throws IllegalArgumentException if the page bounds are negative or the
+     *         score array does not match the offer list
+     */
+    public static List<RankedOffer> rank(List<OptimizedOffer> offers, double[] scores, int offset, int limit) {
+        validateArguments(offers, scores, offset, limit);
+
+        int candidates = offers.size();
+        if (offset >= candidates || limit == 0) {
+            return new ArrayList<>(0);
+        }
+
+        int k = (int) Math.min((long) offset + limit, candidates);
+        int[] heap = new int[k];
+        int size = 0;
+
+        // Keep the best k candidates; the heap root is the worst of them
+        for (int i = 0; i < candidates; i++) {
+            if (size < k) {
+                heap[size] = i;
+                siftUp(heap, size, scores);
+                size++;
+            } else if (ranksBefore(i, heap[0], scores)) {
+                heap[0] = i;
+                siftDown(heap, 0, k, scores);
+            }
+        }
+
+        // Move the worst remaining candidate to the back until the heap is sorted
+        for (int end = k - 1; end > 0; end--) {
+            swap(heap, 0, end);
+            siftDown(heap, 0, end, scores);
+        }
+
+        List<RankedOffer> page = new ArrayList<>(k - offset);
+        for (int position = offset; position < k; position++) {
+            int index = heap[position];
+            page.add(new RankedOfferImpl(offers.get(index), scores[index], position + 1));
+        }
+        return page;
+    }
+
+    /**
+     * Checks whether candidate {@code a} ranks ahead of candidate {@code b}.
+     *
+     * @param a Index of the first candidate
+     * @param b Index of the second candidate
+     * @param scores Candidate scores
+     * @return true if {@code a} has the higher score, or the same score and an earlier position
+     */
+    private static boolean ranksBefore(int a, int b, double[] scores) {
+        int comparison = Double.compare(scores[a], scores[b]);
+        return comparison > 0 || (comparison == 0 && a < b);
+    }
+
+    private static void siftUp(int[] heap, int position, double[] scores) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!ranksBefore(heap[parent], heap[position], scores)) {
+                return;
+            }
+            swap(heap, parent, position);
+            position = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int position, int size, double[] scores) {
+        while (true) {
+            int left = (position << 1) + 1;
+            if (left >= size) {
+                return;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && ranksBefore(heap[left], heap[right], scores)) {
+                worst = right;
+            }
+            if (!ranksBefore(heap[position], heap[worst], scores)) {
+                return;
+            }
+            swap(heap, position, worst);
+            position = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+    private static void validateArguments(List<OptimizedOffer> offers, double[] scores, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        if (scores.length != offers.size()) {
+            throw new IllegalArgumentException(
+                "Expected " + offers.size() + " scores, got: " + scores.length
+            );
+        }
+    }
+}
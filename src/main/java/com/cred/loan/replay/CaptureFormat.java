@@ -0,0 +1,171 @@
+package com.cred.loan.replay;
+
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.ResponseField;
+import com.cred.loan.core.model.UserData;
+import com.cred.loan.core.model.impl.UserDataImpl;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Reads and writes capture files: one JSON object per line, each a
+ * {@code "request"} with the snapshot of the user data it was served with
+ * nested under {@code "user"}. Records are written and read with the
+ * streaming API, so capture does not depend on reflection.
+ */
+public final class CaptureFormat {
+    static final String TYPE_REQUEST = "request";
+    static final String USER_FIELD = "user";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private CaptureFormat() {
+    }
+
+    /**
+     * Writes a captured request as one line.
+     *
+     * @param generator The generator to write to
+     * @param timestamp When the request was served, in epoch milliseconds
+     * @param request The request
+     * @param userData The user data it was served with, or null if unknown
+     * @throws IOException if writing fails
+     */
+    public static void writeRequest(JsonGenerator generator, long timestamp, LoanOfferRequest request,
+                                    UserData userData) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", TYPE_REQUEST);
+        generator.writeNumberField("timestamp", timestamp);
+        generator.writeStringField("userId", request.getUserId());
+        generator.writeNumberField("requestedAmount", request.getRequestedAmount());
+        generator.writeNumberField("preferredTenure", request.getPreferredTenure());
+        generator.writeStringField("purpose", request.getPurpose());
+        generator.writeStringField("source", request.getSource());
+        if (!request.getFields().isEmpty()) {
+            StringJoiner fields = new StringJoiner(",");
+            for (ResponseField field : request.getFields()) {
+                fields.add(field.getFieldName());
+            }
+            generator.writeStringField("fields", fields.toString());
+        }
+        if (userData != null) {
+            generator.writeFieldName(USER_FIELD);
+            writeUser(generator, userData);
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeUser(JsonGenerator generator, UserData userData) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("userId", userData.getUserId());
+        writeNumber(generator, "creditScore", userData.getCreditScore());
+        writeNumber(generator, "income", userData.getIncome());
+        writeNumber(generator, "existingDebt", userData.getExistingDebt());
+        writeNumber(generator, "age", userData.getAge());
+        writeString(generator, "employmentStatus", userData.getEmploymentStatus());
+        writeNumber(generator, "employmentTenure", userData.getEmploymentTenure());
+        writeString(generator, "city", userData.getCity());
+        writeString(generator, "deviceType", userData.getDeviceType());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Reads a capture file. Records of other types are skipped.
+     *
+     * @param path The capture file
+     * @return The captured requests in file order, each with its user snapshot
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static CaptureLog read(Path path) throws IOException {
+        List<CaptureLog.Entry> entries = new ArrayList<>();
+
+        try (InputStream in = Files.newInputStream(path);
+             JsonParser parser = JSON_FACTORY.createParser(in)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                Map<String, Object> record = readRecord(parser);
+                if (TYPE_REQUEST.equals(record.get("type"))) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> user = (Map<String, Object>) record.get(USER_FIELD);
+                    entries.add(new CaptureLog.Entry(toRequest(record), user != null ? toUserData(user) : null));
+                }
+            }
+        }
+        return new CaptureLog(entries);
+    }
+
+    private static Map<String, Object> readRecord(JsonParser parser) throws IOException {
+        Map<String, Object> record = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (value) {
+                case VALUE_STRING -> record.put(name, parser.getText());
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> record.put(name, parser.getDoubleValue());
+                case VALUE_NULL -> record.put(name, null);
+                case START_OBJECT -> record.put(name, readRecord(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return record;
+    }
+
+    private static LoanOfferRequest toRequest(Map<String, Object> record) {
+        return new LoanOfferRequest(
+            (String) record.get("userId"),
+            (Double) record.get("requestedAmount"),
+            toInteger(record.get("preferredTenure")),
+            (String) record.get("purpose"),
+            (String) record.get("source"),
+            ResponseField.parse((String) record.get("fields"))
+        );
+    }
+
+    private static UserData toUserData(Map<String, Object> record) {
+        return new UserDataImpl(
+            (String) record.get("userId"),
+            (Double) record.get("creditScore"),
+            (Double) record.get("income"),
+            (Double) record.get("existingDebt"),
+            toInteger(record.get("age")),
+            (String) record.get("employmentStatus"),
+            toInteger(record.get("employmentTenure")),
+            (String) record.get("city"),
+            (String) record.get("deviceType")
+        );
+    }
+
+    private static Integer toInteger(Object value) {
+        return value != null ? (int) Math.round((Double) value) : null;
+    }
+
+    private static void writeNumber(JsonGenerator generator, String name, Double value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator generator, String name, Integer value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeString(JsonGenerator generator, String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+}
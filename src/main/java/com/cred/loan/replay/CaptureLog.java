@@ -0,0 +1,42 @@
+package com.cred.loan.replay;
+
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.UserData;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The contents of a capture file: requests in the order they were served,
+ * each with the user data it was served with.
+ */
+public class CaptureLog {
+    private final List<Entry> entries;
+
+    /**
+     * Creates a new CaptureLog instance.
+     *
+     * @param entries The captured requests in order
+     */
+    public CaptureLog(List<Entry> entries) {
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Gets the captured requests.
+     *
+     * @return Unmodifiable list of captured requests in order
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * A captured request and the snapshot of its user's data.
+     *
+     * @param request The request
+     * @param userData The user data it was served with, or null if none was available
+     */
+    public record Entry(LoanOfferRequest request, UserData userData) {
+    }
+}
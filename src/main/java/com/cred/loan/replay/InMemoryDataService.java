@@ -0,0 +1,40 @@
+package com.cred.loan.replay;
+
+import com.cred.loan.core.model.UserData;
+import com.cred.loan.core.service.DataService;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DataService answering from in-memory user snapshots, so replayed requests
+ * never touch the database or cache. The replay harness stages the snapshot
+ * captured with each request before replaying it. Unknown users resolve to
+ * null, which the pipeline answers from its defaults.
+ */
+public class InMemoryDataService implements DataService {
+    private final Map<String, UserData> users = new ConcurrentHashMap<>();
+
+    /**
+     * Sets the data the next requests of a user are answered with.
+     *
+     * @param userId The user ID
+     * @param userData The user data, or null to answer the user as unknown
+     */
+    public void put(String userId, UserData userData) {
+        if (userId == null) {
+            return;
+        }
+        if (userData != null) {
+            users.put(userId, userData);
+        } else {
+            users.remove(userId);
+        }
+    }
+
+    @Override
+    public CompletableFuture<UserData> getUserData(String userId) {
+        return CompletableFuture.completedFuture(userId != null ? users.get(userId) : null);
+    }
+}
@@ -0,0 +1,199 @@
+package com.cred.loan.replay;
+
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.model.RankedOffer;
+import com.cred.loan.core.pipeline.Deadline;
+import com.cred.loan.core.service.OfferGenerationService;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Replays captured requests through two offer generation pipelines, typically
+ * the current configuration and a candidate change, and reports how their
+ * offers differ.
+ * Both pipelines are driven as fast as they complete, with a bound on the
+ * number of requests in flight. Both should read user data from the
+ * {@link InMemoryDataService} given to the harness, and be built without the
+ * serving layer so replay does not feed the live learner and bandit.
+ * Each request is replayed against the user data captured with it, so the
+ * requests of one user are replayed one after another in capture order,
+ * while those of different users run concurrently.
+ */
+public class ReplayHarness {
+    private static final String UNKNOWN_SEGMENT = "UNKNOWN";
+
+    private final OfferGenerationService baseline;
+    private final OfferGenerationService candidate;
+    private final InMemoryDataService userData;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+    private final Function<LoanOfferResponse, String> segmenter;
+
+    /**
+     * Creates a new ReplayHarness that segments results by the baseline risk level.
+     *
+     * @param baseline The current pipeline
+     * @param candidate The pipeline under test
+     * @param userData The data service both pipelines read user data from
+     * @param maxInFlight Maximum number of requests replayed concurrently
+     * @param requestTimeout Time budget of each request in each pipeline
+     */
+    public ReplayHarness(OfferGenerationService baseline, OfferGenerationService candidate,
+                         InMemoryDataService userData, int maxInFlight, Duration requestTimeout) {
+        this(baseline, candidate, userData, maxInFlight, requestTimeout, ReplayHarness::riskLevelSegment);
+    }
+
+    /**
+     * Creates a new ReplayHarness.
+     *
+     * @param baseline The current pipeline
+     * @param candidate The pipeline under test
+     * @param userData The data service both pipelines read user data from
+     * @param maxInFlight Maximum number of requests replayed concurrently
+     * @param requestTimeout Time budget of each request in each pipeline
+     * @param segmenter Maps a baseline response to the segment it is reported under
+     */
+    public ReplayHarness(OfferGenerationService baseline, OfferGenerationService candidate,
+                         InMemoryDataService userData, int maxInFlight, Duration requestTimeout,
+                         Function<LoanOfferResponse, String> segmenter) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in flight must be positive");
+        }
+        this.baseline = Objects.requireNonNull(baseline, "Baseline cannot be null");
+        this.candidate = Objects.requireNonNull(candidate, "Candidate cannot be null");
+        this.userData = Objects.requireNonNull(userData, "User data cannot be null");
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = Objects.requireNonNull(requestTimeout, "Request timeout cannot be null");
+        this.segmenter = Objects.requireNonNull(segmenter, "Segmenter cannot be null");
+    }
+
+    /**
+     * Replays every request of a capture log.
+     *
+     * @param log The capture log
+     * @return A CompletableFuture containing the report
+     */
+    public CompletableFuture<ReplayReport> replay(CaptureLog log) {
+        return replay(log.getEntries());
+    }
+
+    /**
+     * Replays captured requests through both pipelines.
+     *
+     * @param entries The captured requests, in replay order
+     * @return A CompletableFuture containing the report once every request has completed
+     */
+    public CompletableFuture<ReplayReport> replay(List<CaptureLog.Entry> entries) {
+        return CompletableFuture.supplyAsync(() -> {
+            long startTime = System.currentTimeMillis();
+            ConcurrentMap<String, ReplayReport.SegmentDiff> segments = new ConcurrentHashMap<>();
+            Semaphore permits = new Semaphore(maxInFlight);
+            // Last replay of each user, only touched by the driver thread
+            Map<String, CompletableFuture<Void>> lastByUser = new HashMap<>();
+
+            try {
+                for (CaptureLog.Entry entry : entries) {
+                    permits.acquire();
+                    String userId = entry.request().getUserId();
+                    CompletableFuture<Void> replayed = lastByUser
+                        .getOrDefault(userId, CompletableFuture.completedFuture(null))
+                        .thenCompose(v -> {
+                            userData.put(userId, entry.userData());
+                            return replayOne(entry.request(), segments);
+                        });
+                    lastByUser.put(userId, replayed);
+                    replayed.whenComplete((v, e) -> permits.release());
+                }
+                // Wait for the stragglers
+                permits.acquire(maxInFlight);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Failed to replay requests", e);
+            }
+
+            ReplayReport.SegmentDiff total = new ReplayReport.SegmentDiff();
+            Map<String, ReplayReport.SegmentDiff> sorted = new TreeMap<>(segments);
+            sorted.values().forEach(total::merge);
+            return new ReplayReport(sorted, total, System.currentTimeMillis() - startTime);
+        }, ReplayHarness::startDriver);
+    }
+
+    /**
+     * Runs the submission loop on its own thread, since it blocks on in-flight permits.
+     */
+    private static void startDriver(Runnable loop) {
+        Thread thread = new Thread(loop, "replay-driver");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private CompletableFuture<Void> replayOne(LoanOfferRequest request,
+                                              ConcurrentMap<String, ReplayReport.SegmentDiff> segments) {
+        // Composed so that a pipeline throwing synchronously counts as a failure
+        CompletableFuture<LoanOfferRequest> replayed = CompletableFuture.completedFuture(request);
+        CompletableFuture<LoanOfferResponse> baselineResponse =
+            replayed.thenCompose(r -> baseline.generateOffers(r, Deadline.after(requestTimeout)));
+        CompletableFuture<LoanOfferResponse> candidateResponse =
+            replayed.thenCompose(r -> candidate.generateOffers(r, Deadline.after(requestTimeout)));
+
+        return baselineResponse
+            .thenCombine(candidateResponse, (b, c) -> {
+                compare(b, c, segment(segments, segmenter.apply(b)));
+                return (Void) null;
+            })
+            .exceptionally(e -> {
+                segment(segments, UNKNOWN_SEGMENT).recordFailure();
+                return null;
+            });
+    }
+
+    private static void compare(LoanOfferResponse baseline, LoanOfferResponse candidate,
+                                ReplayReport.SegmentDiff diff) {
+        List<RankedOffer> baselineOffers = baseline.getOffers();
+        List<RankedOffer> candidateOffers = candidate.getOffers();
+        boolean bothHaveOffers = !baselineOffers.isEmpty() && !candidateOffers.isEmpty();
+
+        boolean topChanged = baselineOffers.isEmpty() != candidateOffers.isEmpty();
+        double roiDelta = 0.0;
+        double feeDelta = 0.0;
+        if (bothHaveOffers) {
+            RankedOffer baselineTop = baselineOffers.get(0);
+            RankedOffer candidateTop = candidateOffers.get(0);
+            topChanged = baselineTop.getOffer().adjustedTenure() != candidateTop.getOffer().adjustedTenure()
+                || baselineTop.getOffer().getBaseOffer().amount() != candidateTop.getOffer().getBaseOffer().amount();
+            roiDelta = candidateTop.getOffer().adjustedRoi() - baselineTop.getOffer().adjustedRoi();
+            feeDelta = candidateTop.getOffer().adjustedProcessingFee() - baselineTop.getOffer().adjustedProcessingFee();
+        }
+
+        diff.record(
+            baseline.isDegraded() || candidate.isDegraded(),
+            baselineOffers.size() != candidateOffers.size(),
+            topChanged,
+            bothHaveOffers,
+            roiDelta,
+            feeDelta
+        );
+    }
+
+    private static ReplayReport.SegmentDiff segment(ConcurrentMap<String, ReplayReport.SegmentDiff> segments,
+                                                    String name) {
+        return segments.computeIfAbsent(name, key -> new ReplayReport.SegmentDiff());
+    }
+
+    private static String riskLevelSegment(LoanOfferResponse response) {
+        return response.getRiskAssessment() != null && response.getRiskAssessment().getRiskLevel() != null
+            ? response.getRiskAssessment().getRiskLevel().name()
+            : UNKNOWN_SEGMENT;
+    }
+}
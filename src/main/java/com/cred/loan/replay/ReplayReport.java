@@ -0,0 +1,235 @@
+package com.cred.loan.replay;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Outcome of replaying captured requests through a baseline and a candidate
+ * pipeline: how often and by how much the candidate's offers differ, per
+ * segment, and how fast the replay ran.
+ */
+public class ReplayReport {
+    private final Map<String, SegmentDiff> segments;
+    private final SegmentDiff total;
+    private final long elapsedMillis;
+
+    /**
+     * Creates a new ReplayReport instance.
+     *
+     * @param segments Differences per segment
+     * @param total Differences over all requests
+     * @param elapsedMillis Wall-clock time of the replay
+     */
+    public ReplayReport(Map<String, SegmentDiff> segments, SegmentDiff total, long elapsedMillis) {
+        this.segments = Collections.unmodifiableMap(segments);
+        this.total = total;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Gets the differences per segment.
+     *
+     * @return Unmodifiable map of segment name to differences, sorted by name
+     */
+    public Map<String, SegmentDiff> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Gets the differences over all requests.
+     *
+     * @return The totals
+     */
+    public SegmentDiff getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the wall-clock time of the replay.
+     *
+     * @return Elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Gets the replay throughput. Each request runs through both pipelines.
+     *
+     * @return Requests replayed per second
+     */
+    public double getRequestsPerSecond() {
+        return elapsedMillis > 0 ? total.getRequests() * 1000.0 / elapsedMillis : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Replayed %d requests in %d ms (%.0f req/s)%n",
+            total.getRequests(), elapsedMillis, getRequestsPerSecond()));
+        segments.forEach((name, diff) -> sb.append(name).append(": ").append(diff).append(System.lineSeparator()));
+        sb.append("TOTAL: ").append(total);
+        return sb.toString();
+    }
+
+    /**
+     * Differences between the baseline and candidate responses of one segment.
+     * Offer deltas are candidate minus baseline and only cover requests where
+     * both pipelines returned at least one offer.
+     */
+    public static class SegmentDiff {
+        private long requests;
+        private long failures;
+        private long degraded;
+        private long offerCountChanged;
+        private long topOfferChanged;
+        private long compared;
+        private double roiDeltaSum;
+        private double roiDeltaAbsSum;
+        private double roiDeltaMaxAbs;
+        private double feeDeltaSum;
+        private double feeDeltaAbsSum;
+
+        synchronized void recordFailure() {
+            requests++;
+            failures++;
+        }
+
+        synchronized void record(boolean anyDegraded, boolean countChanged, boolean topChanged,
+                                 boolean bothHaveOffers, double roiDelta, double feeDelta) {
+            requests++;
+            if (anyDegraded) {
+                degraded++;
+            }
+            if (countChanged) {
+                offerCountChanged++;
+            }
+            if (topChanged) {
+                topOfferChanged++;
+            }
+            if (bothHaveOffers) {
+                compared++;
+                roiDeltaSum += roiDelta;
+                roiDeltaAbsSum += Math.abs(roiDelta);
+                roiDeltaMaxAbs = Math.max(roiDeltaMaxAbs, Math.abs(roiDelta));
+                feeDeltaSum += feeDelta;
+                feeDeltaAbsSum += Math.abs(feeDelta);
+            }
+        }
+
+        synchronized void merge(SegmentDiff other) {
+            synchronized (other) {
+                requests += other.requests;
+                failures += other.failures;
+                degraded += other.degraded;
+                offerCountChanged += other.offerCountChanged;
+                topOfferChanged += other.topOfferChanged;
+                compared += other.compared;
+                roiDeltaSum += other.roiDeltaSum;
+                roiDeltaAbsSum += other.roiDeltaAbsSum;
+                roiDeltaMaxAbs = Math.max(roiDeltaMaxAbs, other.roiDeltaMaxAbs);
+                feeDeltaSum += other.feeDeltaSum;
+                feeDeltaAbsSum += other.feeDeltaAbsSum;
+            }
+        }
+
+        /**
+         * Gets the number of replayed requests.
+         *
+         * @return Number of requests
+         */
+        public synchronized long getRequests() {
+            return requests;
+        }
+
+        /**
+         * Gets the number of requests where either pipeline failed.
+         *
+         * @return Number of failed requests
+         */
+        public synchronized long getFailures() {
+            return failures;
+        }
+
+        /**
+         * Gets the number of requests where either response was degraded.
+         *
+         * @return Number of degraded requests
+         */
+        public synchronized long getDegraded() {
+            return degraded;
+        }
+
+        /**
+         * Gets the number of requests where the pipelines returned a different number of offers.
+         *
+         * @return Number of requests with a changed offer count
+         */
+        public synchronized long getOfferCountChanged() {
+            return offerCountChanged;
+        }
+
+        /**
+         * Gets the number of requests where the top-ranked offer has a different amount or tenure.
+         *
+         * @return Number of requests with a changed top offer
+         */
+        public synchronized long getTopOfferChanged() {
+            return topOfferChanged;
+        }
+
+        /**
+         * Gets the mean change in the top offer's rate of interest.
+         *
+         * @return Mean ROI delta in percentage points
+         */
+        public synchronized double getMeanRoiDelta() {
+            return compared > 0 ? roiDeltaSum / compared : 0.0;
+        }
+
+        /**
+         * Gets the mean absolute change in the top offer's rate of interest.
+         *
+         * @return Mean absolute ROI delta in percentage points
+         */
+        public synchronized double getMeanAbsRoiDelta() {
+            return compared > 0 ? roiDeltaAbsSum / compared : 0.0;
+        }
+
+        /**
+         * Gets the largest absolute change in the top offer's rate of interest.
+         *
+         * @return Maximum absolute ROI delta in percentage points
+         */
+        public synchronized double getMaxAbsRoiDelta() {
+            return roiDeltaMaxAbs;
+        }
+
+        /**
+         * Gets the mean change in the top offer's processing fee.
+         *
+         * @return Mean fee delta
+         */
+        public synchronized double getMeanFeeDelta() {
+            return compared > 0 ? feeDeltaSum / compared : 0.0;
+        }
+
+        /**
+         * Gets the mean absolute change in the top offer's processing fee.
+         *
+         * @return Mean absolute fee delta
+         */
+        public synchronized double getMeanAbsFeeDelta() {
+            return compared > 0 ? feeDeltaAbsSum / compared : 0.0;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format(
+                "requests=%d, failures=%d, degraded=%d, offerCountChanged=%d, topOfferChanged=%d, "
+                    + "roiDelta[mean=%.4f, meanAbs=%.4f, maxAbs=%.4f], feeDelta[mean=%.2f, meanAbs=%.2f]",
+                requests, failures, degraded, offerCountChanged, topOfferChanged,
+                getMeanRoiDelta(), getMeanAbsRoiDelta(), roiDeltaMaxAbs, getMeanFeeDelta(), getMeanAbsFeeDelta());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.cred.loan.replay;
+
+import com.cred.loan.LoanOfferApplication;
+import com.cred.loan.core.service.OfferGenerationService;
+import com.cred.loan.core.service.impl.OfferGenerationServiceImpl;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Command line entry point replaying a capture file through a baseline and a
+ * candidate pipeline and printing the {@link ReplayReport}.
+ * Each pipeline is started as its own application context, without the web
+ * server, from the application configuration plus its own properties file,
+ * so the candidate differs from the baseline only in the properties it sets.
+ * Both read user data from one {@link InMemoryDataService}, so no database is
+ * configured and beans are created lazily, only those the pipeline needs.
+ * Capture is disabled, and the pipeline is used below the serving layer.
+ * Usage: {@code ReplayRunner <capture-file> <baseline.properties> <candidate.properties>
+ * [max-in-flight] [request-timeout-ms]}
+ */
+public final class ReplayRunner {
+    private static final String USAGE = "Usage: ReplayRunner <capture-file> <baseline.properties> "
+        + "<candidate.properties> [max-in-flight] [request-timeout-ms]";
+    private static final int DEFAULT_MAX_IN_FLIGHT = 64;
+    private static final long DEFAULT_REQUEST_TIMEOUT_MILLIS = 500;
+
+    private ReplayRunner() {
+    }
+
+    /**
+     * Replays a capture file and prints the report.
+     *
+     * @param args The capture file, the baseline and candidate properties files,
+     *             and optionally the maximum number of requests in flight and
+     *             the request timeout in milliseconds
+     * @throws Exception if the capture cannot be read or a pipeline cannot be started
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3 || args.length > 5) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        CaptureLog log = CaptureFormat.read(Path.of(args[0]));
+        int maxInFlight = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAX_IN_FLIGHT;
+        Duration requestTimeout = Duration.ofMillis(
+            args.length > 4 ? Long.parseLong(args[4]) : DEFAULT_REQUEST_TIMEOUT_MILLIS);
+
+        InMemoryDataService userData = new InMemoryDataService();
+        try (ConfigurableApplicationContext baseline = startPipeline(args[1], userData);
+             ConfigurableApplicationContext candidate = startPipeline(args[2], userData)) {
+            ReplayHarness harness = new ReplayHarness(pipeline(baseline), pipeline(candidate),
+                userData, maxInFlight, requestTimeout);
+            System.out.println(harness.replay(log).join());
+        }
+    }
+
+    /**
+     * Starts an application context for one pipeline.
+     *
+     * @param properties The properties file configuring the pipeline
+     * @param userData The data service the pipeline reads user data from
+     * @return The started context
+     */
+    private static ConfigurableApplicationContext startPipeline(String properties, InMemoryDataService userData) {
+        return new SpringApplicationBuilder(LoanOfferApplication.class)
+            .web(WebApplicationType.NONE)
+            .initializers(context -> context.getBeanFactory().registerSingleton("replayDataService", userData))
+            .run("--spring.config.additional-location=file:" + properties,
+                "--spring.autoconfigure.exclude=" + DataSourceAutoConfiguration.class.getName()
+                    + "," + HibernateJpaAutoConfiguration.class.getName(),
+                "--spring.main.lazy-initialization=true",
+                "--loan.capture.path=");
+    }
+
+    private static OfferGenerationService pipeline(ConfigurableApplicationContext context) {
+        return context.getBean(OfferGenerationServiceImpl.class);
+    }
+}
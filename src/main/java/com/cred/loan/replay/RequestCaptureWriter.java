@@ -0,0 +1,240 @@
+package com.cred.loan.replay;
+
+import com.cred.loan.core.cache.BoundedCache;
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.UserData;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Captures served requests, each with the user data its offers were computed
+ * from, to a file for replay through {@link ReplayHarness}.
+ * Capture is disabled unless {@code loan.capture.path} is set. The pipeline
+ * reports every user snapshot it fetches, and the latest one of each user is
+ * kept for a while, so a request answered from the cache is captured with the
+ * data the cached offers were computed from. Requests of users without a
+ * kept snapshot, such as those served from an entry cached by another
+ * instance, are counted as untracked and not captured, rather than fetching
+ * the user's current data on the request path.
+ * Request threads only enqueue an event; a single background thread
+ * serializes and writes. When the queue is full, events are dropped rather
+ * than slowing requests down. When the file cannot be written, the writer
+ * counts the lost events and reopens it after a pause.
+ */
+@Component
+public class RequestCaptureWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int DRAIN_BATCH = 256;
+    private static final long REOPEN_DELAY_MILLIS = 1_000;
+
+    private final Logger logger = LoggerFactory.getLogger(RequestCaptureWriter.class);
+    private final BlockingQueue<CaptureEvent> queue;
+    private final BoundedCache<String, UserData> servedUsers;
+    private final Path path;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    private final Counter capturedCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Counter untrackedCounter;
+
+    /**
+     * Creates a new instance of RequestCaptureWriter.
+     *
+     * @param registry The meter registry
+     * @param path File to append captured events to, empty to disable capture
+     * @param queueCapacity Maximum number of events waiting to be written
+     * @param maxTrackedUsers Maximum number of user snapshots kept
+     * @param userRetentionMinutes How long a user snapshot is kept after it was fetched
+     */
+    public RequestCaptureWriter(
+            MeterRegistry registry,
+            @Value("${loan.capture.path:}") String path,
+            @Value("${loan.capture.queue-capacity:65536}") int queueCapacity,
+            @Value("${loan.capture.max-tracked-users:10000}") int maxTrackedUsers,
+            @Value("${loan.capture.user-retention-minutes:30}") long userRetentionMinutes) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.path = path.isBlank() ? null : Path.of(path);
+        this.queue = this.path != null ? new ArrayBlockingQueue<>(queueCapacity) : null;
+        this.servedUsers = this.path != null
+            ? new BoundedCache<>(maxTrackedUsers, Duration.ofMinutes(userRetentionMinutes), false)
+            : null;
+
+        this.capturedCounter = eventCounter(registry, "captured");
+        this.droppedCounter = eventCounter(registry, "dropped");
+        this.failedCounter = eventCounter(registry, "failed");
+        this.untrackedCounter = eventCounter(registry, "untracked");
+
+        if (this.path != null) {
+            this.writerThread = new Thread(this::writeLoop, "request-capture");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        } else {
+            this.writerThread = null;
+        }
+    }
+
+    /**
+     * Whether capture is enabled.
+     *
+     * @return true if events are being written
+     */
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * Captures a served request with the user data its offers were computed
+     * from, if the snapshot of its user is kept.
+     *
+     * @param request The loan offer request
+     */
+    public void recordRequest(LoanOfferRequest request) {
+        if (path == null) {
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        UserData userData = servedUsers.get(request.getUserId());
+        if (userData == null) {
+            // Replayed as an unknown user, the request would not reproduce what was served
+            untrackedCounter.increment();
+            return;
+        }
+        enqueue(new CaptureEvent(timestamp, request, userData));
+    }
+
+    /**
+     * Keeps the user data the pipeline computed offers from, for the requests
+     * captured later.
+     *
+     * @param userData The user data
+     */
+    public void recordUser(UserData userData) {
+        if (path != null && userData != null && userData.getUserId() != null) {
+            servedUsers.put(userData.getUserId(), userData);
+        }
+    }
+
+    /**
+     * Stops capture after writing the events already queued.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(CaptureEvent event) {
+        if (!queue.offer(event)) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void writeLoop() {
+        List<CaptureEvent> batch = new ArrayList<>(DRAIN_BATCH);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    writeUntilStopped(batch);
+                } catch (IOException e) {
+                    failedCounter.increment(batch.size());
+                    batch.clear();
+                    if (!running) {
+                        logger.warn("Failed to write capture file {}, dropping {} queued events",
+                            path, queue.size(), e);
+                        failedCounter.increment(queue.size());
+                        return;
+                    }
+                    logger.warn("Failed to write capture file {}, reopening in {} ms",
+                        path, REOPEN_DELAY_MILLIS, e);
+                    Thread.sleep(REOPEN_DELAY_MILLIS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Opens the capture file and writes queued events to it until capture is
+     * stopped and the queue is empty.
+     *
+     * @param batch Buffer for the events being written, left holding them on failure
+     */
+    private void writeUntilStopped(List<CaptureEvent> batch) throws IOException, InterruptedException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(
+                 path, StandardOpenOption.CREATE, StandardOpenOption.APPEND), 1 << 16);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            while (running || !queue.isEmpty()) {
+                CaptureEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, DRAIN_BATCH - 1);
+                for (CaptureEvent event : batch) {
+                    write(generator, event);
+                }
+                batch.clear();
+                // Flush only once the queue is idle, so bursts share one write
+                if (queue.isEmpty()) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    private void write(JsonGenerator generator, CaptureEvent event) throws IOException {
+        try {
+            CaptureFormat.writeRequest(generator, event.timestamp(), event.request(), event.userData());
+            capturedCounter.increment();
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+        }
+    }
+
+    private static Counter eventCounter(MeterRegistry registry, String result) {
+        return Counter.builder("loan.capture.events")
+            .description("Captured requests by result")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    /**
+     * A served request and the user data it was computed from, waiting to be written.
+     */
+    private record CaptureEvent(long timestamp, LoanOfferRequest request, UserData userData) {
+    }
+}
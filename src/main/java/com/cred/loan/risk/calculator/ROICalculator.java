@@ -1,5 +1,6 @@
 package com.cred.loan.risk.calculator;
 
+import com.cred.loan.monitoring.context.ContextExecutors;
 import com.cred.loan.risk.model.ROIRange;
 import com.cred.loan.risk.model.RiskLevel;
 import com.cred.loan.risk.model.RiskScore;
@@ -52,7 +53,7 @@ public class ROICalculator {
             double step = calculateStep(range);
 
             return new ROIRange(min, max, baseROI, step);
-        });
+        }, ContextExecutors.async());
     }
 
     /**
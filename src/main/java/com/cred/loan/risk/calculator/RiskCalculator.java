@@ -1,11 +1,12 @@
 package com.cred.loan.risk.calculator;
 
 import com.cred.loan.core.model.UserData;
+import com.cred.loan.monitoring.context.ContextExecutors;
 import com.cred.loan.risk.model.RiskFactor;
 import com.cred.loan.risk.model.RiskScore;
 
 import java.time.LocalDateTime;
-import java.util.*;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -14,7 +15,9 @@ import java.util.concurrent.CompletableFuture;
  * contributes to the overall risk score based on its assigned weight.
  */
 public class RiskCalculator {
-    private final Map<RiskFactor, Double> factorWeights;
+    private static final RiskFactor[] FACTORS = RiskFactor.values();
+
+    private final double[] factorWeights;
 
     /**
      * Creates a new RiskCalculator instance.
@@ -24,7 +27,8 @@ public class RiskCalculator {
      */
     public RiskCalculator(Map<RiskFactor, Double> factorWeights) {
         validateWeights(factorWeights);
-        this.factorWeights = new HashMap<>(factorWeights);
+        this.factorWeights = new double[FACTORS.length];
+        factorWeights.forEach((factor, weight) -> this.factorWeights[factor.ordinal()] = weight);
     }
 
     /**
@@ -35,30 +39,53 @@ public class RiskCalculator {
      */
     public CompletableFuture<RiskScore> calculateRiskScore(UserData userData) {
         return CompletableFuture.supplyAsync(() -> {
-            Map<RiskFactor, Double> componentScores = new HashMap<>();
-            Set<RiskFactor> riskFactors = new HashSet<>();
-
-            // Calculate component scores for each risk factor
-            for (RiskFactor factor : RiskFactor.values()) {
-                double score = calculateComponentScore(factor, userData);
-                componentScores.put(factor, score);
-                
-                // Add to risk factors if score exceeds threshold
-                if (score > factor.getWeight()) {
-                    riskFactors.add(factor);
-                }
-            }
-
-            // Calculate overall score
-            double overallScore = calculateOverallScore(componentScores);
+            double[] componentScores = new double[FACTORS.length];
+            double overallScore = calculateComponentScores(userData, componentScores);
 
             return new RiskScore(
                 overallScore,
                 componentScores,
-                riskFactors,
+                identifyRiskFactors(componentScores),
                 LocalDateTime.now()
             );
-        });
+        }, ContextExecutors.async());
+    }
+
+    /**
+     * Calculates the component scores for a user into a caller-supplied buffer
+     * and returns the weighted overall score. This method does not allocate, so
+     * callers scoring many users can reuse one buffer.
+     *
+     * @param userData The user data to evaluate
+     * @param componentScores Buffer receiving the component scores, indexed by risk factor ordinal
+     * @return The overall risk score (0.0 to 1.0)
+     * @throws IllegalArgumentException if the buffer is smaller than the number of risk factors
+     */
+    public double calculateComponentScores(UserData userData, double[] componentScores) {
+        if (componentScores.length < FACTORS.length) {
+            throw new IllegalArgumentException("Component score buffer is too small");
+        }
+
+        for (RiskFactor factor : FACTORS) {
+            componentScores[factor.ordinal()] = calculateComponentScore(factor, userData);
+        }
+        return calculateOverallScore(componentScores);
+    }
+
+    /**
+     * Identifies the risk factors whose component score exceeds the factor's weight.
+     *
+     * @param componentScores Component scores indexed by risk factor ordinal
+     * @return Bitmask of identified risk factors by ordinal
+     */
+    public static int identifyRiskFactors(double[] componentScores) {
+        int mask = 0;
+        for (RiskFactor factor : FACTORS) {
+            if (componentScores[factor.ordinal()] > factor.getWeight()) {
+                mask |= 1 << factor.ordinal();
+            }
+        }
+        return mask;
     }
 
     /**
@@ -88,13 +115,15 @@ public class RiskCalculator {
     /**
      * Calculates the overall risk score from component scores.
      *
-     * @param componentScores Map of risk factors to their scores
+     * @param componentScores Component scores indexed by risk factor ordinal
      * @return The overall risk score (0.0 to 1.0)
      */
-    private double calculateOverallScore(Map<RiskFactor, Double> componentScores) {
-        return componentScores.entrySet().stream()
-            .mapToDouble(entry -> entry.getValue() * factorWeights.get(entry.getKey()))
-            .sum();
+    private double calculateOverallScore(double[] componentScores) {
+        double overallScore = 0.0;
+        for (int i = 0; i < factorWeights.length; i++) {
+            overallScore += componentScores[i] * factorWeights[i];
+        }
+        return overallScore;
     }
 
     private double calculateCreditScoreImpact(Double creditScore) {
@@ -1,19 +1,56 @@
 package com.cred.loan.risk.model;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Represents a comprehensive risk score for a user, including overall score,
  * component scores for different risk factors, and identified risk factors.
+ * Component scores are stored in an array indexed by {@link RiskFactor#ordinal()}
+ * and identified factors in a bitmask; map, set and name views are built only
+ * when first requested.
  */
 public class RiskScore {
+    private static final RiskFactor[] FACTORS = RiskFactor.values();
+
     private final double overallScore;
-    private final Map<RiskFactor, Double> componentScores;
-    private final Set<RiskFactor> riskFactors;
+    private final double[] componentScores;
+    private final int riskFactorMask;
     private final LocalDateTime calculatedAt;
 
+    // Lazily built views; racing threads build equal values, so no locking is needed
+    private Map<RiskFactor, Double> componentScoreView;
+    private Set<RiskFactor> riskFactorView;
+
+    /**
+     * Creates a new RiskScore instance from primitive component scores.
+     * The array is owned by the new instance and must not be modified afterwards.
+     *
+     * @param overallScore The overall risk score
+     * @param componentScores Component scores indexed by risk factor ordinal
+     * @param riskFactorMask Bitmask of identified risk factors by ordinal
+     * @param calculatedAt Timestamp when the score was calculated
+     * @throws IllegalArgumentException if the component array does not cover every risk factor
+     */
+    public RiskScore(double overallScore,
+                    double[] componentScores,
+                    int riskFactorMask,
+                    LocalDateTime calculatedAt) {
+        if (componentScores.length != FACTORS.length) {
+            throw new IllegalArgumentException(
+                "Expected " + FACTORS.length + " component scores, got: " + componentScores.length
+            );
+        }
+        this.overallScore = overallScore;
+        this.componentScores = componentScores;
+        this.riskFactorMask = riskFactorMask;
+        this.calculatedAt = calculatedAt;
+    }
+
     /**
      * Creates a new RiskScore instance.
      *
@@ -22,14 +59,11 @@ public class RiskScore {
      * @param riskFactors Set of identified risk factors
      * @param calculatedAt Timestamp when the score was calculated
      */
-    public RiskScore(double overallScore, 
+    public RiskScore(double overallScore,
                     Map<RiskFactor, Double> componentScores,
                     Set<RiskFactor> riskFactors,
                     LocalDateTime calculatedAt) {
-        this.overallScore = overallScore;
-        this.componentScores = Map.copyOf(componentScores);
-        this.riskFactors = Set.copyOf(riskFactors);
-        this.calculatedAt = calculatedAt;
+        this(overallScore, toArray(componentScores), toMask(riskFactors), calculatedAt);
     }
 
     /**
@@ -48,7 +82,7 @@ public class RiskScore {
      * @return The component score for the specified risk factor
      */
     public double getComponentScore(RiskFactor factor) {
-        return componentScores.getOrDefault(factor, 0.0);
+        return componentScores[factor.ordinal()];
     }
 
     /**
@@ -57,7 +91,35 @@ public class RiskScore {
      * @return An unmodifiable map of risk factors to their scores
      */
     public Map<RiskFactor, Double> getComponentScores() {
-        return componentScores;
+        Map<RiskFactor, Double> view = componentScoreView;
+        if (view == null) {
+            Map<RiskFactor, Double> scores = new EnumMap<>(RiskFactor.class);
+            for (RiskFactor factor : FACTORS) {
+                scores.put(factor, componentScores[factor.ordinal()]);
+            }
+            view = Collections.unmodifiableMap(scores);
+            componentScoreView = view;
+        }
+        return view;
+    }
+
+    /**
+     * Checks whether a risk factor was identified.
+     *
+     * @param factor The risk factor to check
+     * @return true if the factor was flagged
+     */
+    public boolean hasRiskFactor(RiskFactor factor) {
+        return (riskFactorMask & (1 << factor.ordinal())) != 0;
+    }
+
+    /**
+     * Gets the identified risk factors as a bitmask indexed by ordinal.
+     *
+     * @return The risk factor bitmask
+     */
+    public int getRiskFactorMask() {
+        return riskFactorMask;
     }
 
     /**
@@ -66,7 +128,18 @@ public class RiskScore {
      * @return An unmodifiable set of risk factors
      */
     public Set<RiskFactor> getRiskFactors() {
-        return riskFactors;
+        Set<RiskFactor> view = riskFactorView;
+        if (view == null) {
+            Set<RiskFactor> factors = EnumSet.noneOf(RiskFactor.class);
+            for (RiskFactor factor : FACTORS) {
+                if (hasRiskFactor(factor)) {
+                    factors.add(factor);
+                }
+            }
+            view = Collections.unmodifiableSet(factors);
+            riskFactorView = view;
+        }
+        return view;
     }
 
     /**
@@ -77,4 +150,18 @@ public class RiskScore {
     public LocalDateTime getCalculatedAt() {
         return calculatedAt;
     }
-} 
\ No newline at end of file
+
+    private static double[] toArray(Map<RiskFactor, Double> componentScores) {
+        double[] scores = new double[FACTORS.length];
+        componentScores.forEach((factor, score) -> scores[factor.ordinal()] = score);
+        return scores;
+    }
+
+    private static int toMask(Set<RiskFactor> riskFactors) {
+        int mask = 0;
+        for (RiskFactor factor : riskFactors) {
+            mask |= 1 << factor.ordinal();
+        }
+        return mask;
+    }
+}
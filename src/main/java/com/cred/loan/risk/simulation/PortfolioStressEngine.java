@@ -0,0 +1,340 @@
+package com.cred.loan.risk.simulation;
+
+import com.cred.loan.core.model.UserData;
+import com.cred.loan.optimization.matrix.MatrixConfigurationFactory;
+import com.cred.loan.optimization.matrix.TermAdjustmentMatrix;
+import com.cred.loan.optimization.model.TermAdjustment;
+import com.cred.loan.optimization.model.TermType;
+import com.cred.loan.optimization.model.UserProfile;
+import com.cred.loan.risk.calculator.RiskCalculator;
+import com.cred.loan.risk.model.RiskFactor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo stress test of the loan portfolio produced by a set of term matrices.
+ * Each user's offer is derived once from the matrices and the user's profile;
+ * every scenario then draws whether the user accepts, from the conversion
+ * probability adjusted for the offered rate, and whether an accepted loan
+ * defaults, from the risk score under the scenario's systematic shock.
+ * <p>
+ * The population is split into batches simulated as fork-join tasks. Each task
+ * owns a {@link SplittableRandom} split from its parent while the task tree is
+ * built, so results depend only on the seed and batch size, not on scheduling.
+ * Tasks accumulate per-scenario totals locally and merge them on the way up,
+ * so there is no shared mutable state and throughput scales with cores.
+ * Every user draws an acceptance and a credit shock in every scenario, accepted
+ * or not, so two configurations run with the same parameters use the same
+ * draws for each user and scenario, which isolates the effect of the change.
+ * <p>
+ * Processing fees from the fee matrix are taken as a percentage of the amount,
+ * and defaulted loans are assumed to earn no interest.
+ */
+public class PortfolioStressEngine {
+    private static final int FACTOR_COUNT = RiskFactor.values().length;
+
+    private final RiskCalculator riskCalculator;
+    private final MatrixConfigurationFactory matrices;
+    private final UserProfiler profiler;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a new PortfolioStressEngine running on the common pool.
+     *
+     * @param riskCalculator Calculator for user risk scores
+     * @param matrices The term matrices to evaluate
+     * @param profiler Derives user profiles for the matrices
+     */
+    public PortfolioStressEngine(
+            RiskCalculator riskCalculator,
+            MatrixConfigurationFactory matrices,
+            UserProfiler profiler) {
+        this(riskCalculator, matrices, profiler, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new PortfolioStressEngine.
+     *
+     * @param riskCalculator Calculator for user risk scores
+     * @param matrices The term matrices to evaluate
+     * @param profiler Derives user profiles for the matrices
+     * @param pool The fork-join pool to simulate on
+     */
+    public PortfolioStressEngine(
+            RiskCalculator riskCalculator,
+            MatrixConfigurationFactory matrices,
+            UserProfiler profiler,
+            ForkJoinPool pool) {
+        this.riskCalculator = riskCalculator;
+        this.matrices = matrices;
+        this.profiler = profiler;
+        this.pool = pool;
+    }
+
+    /**
+     * Runs a stress test over a population.
+     *
+     * @param population The users to simulate; copied first unless it supports random access
+     * @param parameters The simulation parameters
+     * @return A CompletableFuture containing the loss and yield distributions
+     */
+    public CompletableFuture<StressTestResult> run(List<UserData> population, StressTestParameters parameters) {
+        List<UserData> users = population instanceof RandomAccess ? population : new ArrayList<>(population);
+        return CompletableFuture.supplyAsync(() -> simulate(users, parameters), pool);
+    }
+
+    private StressTestResult simulate(List<UserData> users, StressTestParameters parameters) {
+        long startTime = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(parameters.getSeed());
+
+        double[] systematicShocks = new double[parameters.getScenarios()];
+        for (int i = 0; i < systematicShocks.length; i++) {
+            systematicShocks[i] = random.nextGaussian();
+        }
+
+        ScenarioTotals totals = new SimulationTask(
+            this, users, 0, users.size(), parameters, systematicShocks, random.split()).invoke();
+
+        int scenarios = parameters.getScenarios();
+        double[] losses = totals.losses.clone();
+        double[] netYields = new double[scenarios];
+        double disbursed = 0.0;
+        double accepted = 0.0;
+        for (int s = 0; s < scenarios; s++) {
+            netYields[s] = totals.disbursed[s] > 0
+                ? (totals.interest[s] + totals.fees[s] - totals.losses[s]) / totals.disbursed[s]
+                : 0.0;
+            disbursed += totals.disbursed[s];
+            accepted += totals.accepted[s];
+        }
+
+        return new StressTestResult(
+            users.size(),
+            losses,
+            netYields,
+            disbursed / scenarios,
+            users.isEmpty() ? 0.0 : accepted / scenarios / users.size(),
+            System.currentTimeMillis() - startTime
+        );
+    }
+
+    /**
+     * Simulates a batch of users across all scenarios.
+     *
+     * @param users The population
+     * @param from Index of the first user of the batch
+     * @param to Index after the last user of the batch
+     * @param parameters The simulation parameters
+     * @param systematicShocks The systematic shock of each scenario
+     * @param random The batch's random stream
+     * @return The batch's per-scenario totals
+     */
+    private ScenarioTotals simulateBatch(
+            List<UserData> users,
+            int from,
+            int to,
+            StressTestParameters parameters,
+            double[] systematicShocks,
+            SplittableRandom random) {
+        int scenarios = systematicShocks.length;
+        ScenarioTotals totals = new ScenarioTotals(scenarios);
+        double[] componentScores = new double[FACTOR_COUNT];
+
+        double loading = Math.sqrt(parameters.getDefaultCorrelation());
+        double idiosyncraticLoading = Math.sqrt(1.0 - parameters.getDefaultCorrelation());
+        double minProbability = parameters.getMinDefaultProbability();
+        double probabilityRatio = parameters.getMaxDefaultProbability() / minProbability;
+
+        for (int i = from; i < to; i++) {
+            UserData user = users.get(i);
+            UserProfile profile = profiler.profile(user);
+
+            double amount = adjustedValue(TermType.LOAN_AMOUNT, profile);
+            int tenure = (int) Math.round(adjustedValue(TermType.TENURE, profile));
+            TermAdjustment roiAdjustment = adjustment(TermType.ROI, profile);
+            double roi = roiAdjustment.getAdjustedValue();
+            double fee = amount * adjustedValue(TermType.PROCESSING_FEE, profile) / 100.0;
+            double interest = totalInterest(amount, roi, tenure);
+            double loss = amount * parameters.getLossGivenDefault();
+
+            double rateChange = (roi - roiAdjustment.getBaseValue()) / roiAdjustment.getBaseValue();
+            double acceptance = clamp(profile.getConversionProbability() * (1.0
+                - parameters.getPriceElasticity() * profile.getPriceSensitivity().getSensitivity() * rateChange));
+
+            double riskScore = clamp(riskCalculator.calculateComponentScores(user, componentScores));
+            double defaultProbability = minProbability * Math.pow(probabilityRatio, riskScore);
+            double defaultThreshold = inverseNormalCdf(defaultProbability);
+
+            for (int s = 0; s < scenarios; s++) {
+                // Both draws are taken whether or not the user accepts, so the
+                // stream stays in step across configurations that disagree
+                double acceptanceDraw = random.nextDouble();
+                double idiosyncraticShock = random.nextGaussian();
+                if (acceptanceDraw >= acceptance) {
+                    continue;
+                }
+                totals.accepted[s]++;
+                totals.disbursed[s] += amount;
+                totals.fees[s] += fee;
+                double creditQuality = loading * systematicShocks[s] + idiosyncraticLoading * idiosyncraticShock;
+                if (creditQuality < defaultThreshold) {
+                    totals.losses[s] += loss;
+                } else {
+                    totals.interest[s] += interest;
+                }
+            }
+        }
+        return totals;
+    }
+
+    private double adjustedValue(TermType termType, UserProfile profile) {
+        return adjustment(termType, profile).getAdjustedValue();
+    }
+
+    /**
+     * Gets a matrix adjustment, falling back to the base value when the
+     * matrix rejects its own adjustment, as the optimizer does.
+     */
+    private TermAdjustment adjustment(TermType termType, UserProfile profile) {
+        TermAdjustmentMatrix matrix = matrices.getMatrix(termType);
+        TermAdjustment adjustment = matrix.getAdjustment(termType, profile);
+        if (matrix.validateAdjustment(adjustment)) {
+            return adjustment;
+        }
+        return new TermAdjustment(termType, adjustment.getBaseValue(), adjustment.getBaseValue(), 0.0);
+    }
+
+    /**
+     * Calculates the interest paid over the life of an amortizing loan.
+     *
+     * @param amount The loan amount
+     * @param roi The annual rate of interest in percent
+     * @param tenure The tenure in months
+     * @return The total interest
+     */
+    private static double totalInterest(double amount, double roi, int tenure) {
+        if (tenure <= 0) {
+            return 0.0;
+        }
+        double monthlyRate = roi / 1200.0;
+        if (monthlyRate <= 0) {
+            return 0.0;
+        }
+        double installment = amount * monthlyRate / (1.0 - Math.pow(1.0 + monthlyRate, -tenure));
+        return installment * tenure - amount;
+    }
+
+    private static double clamp(double value) {
+        return Math.min(1.0, Math.max(0.0, value));
+    }
+
+    /**
+     * Inverse of the standard normal CDF using Acklam's rational approximation
+     * (relative error below 1.2e-9).
+     *
+     * @param p The probability (0.0 to 1.0, exclusive)
+     * @return The quantile
+     */
+    static double inverseNormalCdf(double p) {
+        final double pLow = 0.02425;
+        if (p < pLow) {
+            double q = Math.sqrt(-2.0 * Math.log(p));
+            return (((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838e+00) * q
+                - 2.549732539343734e+00) * q + 4.374664141464968e+00) * q + 2.938163982698783e+00)
+                / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996e+00) * q
+                + 3.754408661907416e+00) * q + 1.0);
+        }
+        if (p > 1.0 - pLow) {
+            return -inverseNormalCdf(1.0 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+            + 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239e+00) * q
+            / (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+            + 6.680131188771972e+01) * r - 1.328068155288572e+01) * r + 1.0);
+    }
+
+    /**
+     * Fork-join task simulating a range of the population.
+     */
+    private static final class SimulationTask extends RecursiveTask<ScenarioTotals> {
+        private static final long serialVersionUID = 1L;
+
+        private final PortfolioStressEngine engine;
+        private final List<UserData> users;
+        private final int from;
+        private final int to;
+        private final StressTestParameters parameters;
+        private final double[] systematicShocks;
+        private final SplittableRandom random;
+
+        SimulationTask(
+                PortfolioStressEngine engine,
+                List<UserData> users,
+                int from,
+                int to,
+                StressTestParameters parameters,
+                double[] systematicShocks,
+                SplittableRandom random) {
+            this.engine = engine;
+            this.users = users;
+            this.from = from;
+            this.to = to;
+            this.parameters = parameters;
+            this.systematicShocks = systematicShocks;
+            this.random = random;
+        }
+
+        @Override
+        protected ScenarioTotals compute() {
+            if (to - from <= parameters.getBatchSize()) {
+                return engine.simulateBatch(users, from, to, parameters, systematicShocks, random);
+            }
+            int middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(
+                engine, users, from, middle, parameters, systematicShocks, random.split());
+            SimulationTask right = new SimulationTask(
+                engine, users, middle, to, parameters, systematicShocks, random);
+            left.fork();
+            ScenarioTotals totals = right.compute();
+            totals.add(left.join());
+            return totals;
+        }
+    }
+
+    /**
+     * Per-scenario portfolio totals.
+     */
+    private static final class ScenarioTotals {
+        final double[] disbursed;
+        final double[] interest;
+        final double[] fees;
+        final double[] losses;
+        final long[] accepted;
+
+        ScenarioTotals(int scenarios) {
+            this.disbursed = new double[scenarios];
+            this.interest = new double[scenarios];
+            this.fees = new double[scenarios];
+            this.losses = new double[scenarios];
+            this.accepted = new long[scenarios];
+        }
+
+        void add(ScenarioTotals other) {
+            for (int s = 0; s < disbursed.length; s++) {
+                disbursed[s] += other.disbursed[s];
+                interest[s] += other.interest[s];
+                fees[s] += other.fees[s];
+                losses[s] += other.losses[s];
+                accepted[s] += other.accepted[s];
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.cred.loan.risk.simulation;
+
+/**
+ * Parameters of a portfolio stress test.
+ * Defaults follow a one-factor model: in each scenario a systematic shock
+ * moves all borrowers together, weighted by the default correlation, and
+ * each borrower adds an independent shock of their own.
+ */
+public class StressTestParameters {
+    private final int scenarios;
+    private final long seed;
+    private final double defaultCorrelation;
+    private final double lossGivenDefault;
+    private final double minDefaultProbability;
+    private final double maxDefaultProbability;
+    private final double priceElasticity;
+    private final int batchSize;
+
+    /**
+     * Creates new stress test parameters.
+     *
+     * @param scenarios Number of simulated scenarios
+     * @param seed Seed of the random streams; equal seeds give equal results
+     * @param defaultCorrelation Correlation of borrowers with the systematic shock (0.0 to 1.0, exclusive)
+     * @param lossGivenDefault Fraction of the amount lost on default (0.0 to 1.0)
+     * @param minDefaultProbability Default probability at a risk score of 0
+     * @param maxDefaultProbability Default probability at a risk score of 1
+     * @param priceElasticity Relative drop in acceptance per relative rate increase, scaled by price sensitivity
+     * @param batchSize Number of users simulated per fork-join task
+     * @throws IllegalArgumentException if a parameter is out of range
+     */
+    public StressTestParameters(
+            int scenarios,
+            long seed,
+            double defaultCorrelation,
+            double lossGivenDefault,
+            double minDefaultProbability,
+            double maxDefaultProbability,
+            double priceElasticity,
+            int batchSize) {
+        if (scenarios <= 0) {
+            throw new IllegalArgumentException("Scenario count must be positive");
+        }
+        if (defaultCorrelation < 0 || defaultCorrelation >= 1) {
+            throw new IllegalArgumentException("Default correlation must be in [0, 1)");
+        }
+        if (lossGivenDefault < 0 || lossGivenDefault > 1) {
+            throw new IllegalArgumentException("Loss given default must be between 0 and 1");
+        }
+        if (minDefaultProbability <= 0 || maxDefaultProbability >= 1
+                || minDefaultProbability > maxDefaultProbability) {
+            throw new IllegalArgumentException(
+                "Default probabilities must satisfy 0 < min <= max < 1");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.scenarios = scenarios;
+        this.seed = seed;
+        this.defaultCorrelation = defaultCorrelation;
+        this.lossGivenDefault = lossGivenDefault;
+        this.minDefaultProbability = minDefaultProbability;
+        this.maxDefaultProbability = maxDefaultProbability;
+        this.priceElasticity = priceElasticity;
+        this.batchSize = batchSize;
+    }
+
+    public int getScenarios() { return scenarios; }
+    public long getSeed() { return seed; }
+    public double getDefaultCorrelation() { return defaultCorrelation; }
+    public double getLossGivenDefault() { return lossGivenDefault; }
+    public double getMinDefaultProbability() { return minDefaultProbability; }
+    public double getMaxDefaultProbability() { return maxDefaultProbability; }
+    public double getPriceElasticity() { return priceElasticity; }
+    public int getBatchSize() { return batchSize; }
+}
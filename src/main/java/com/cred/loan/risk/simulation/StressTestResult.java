@@ -0,0 +1,186 @@
+package com.cred.loan.risk.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Outcome of a portfolio stress test: the distribution of credit losses and
+ * net yield across scenarios, plus average acceptance and volume.
+ * Net yield is interest and fees less losses, relative to the disbursed amount.
+ */
+public class StressTestResult {
+    private final int populationSize;
+    private final double[] losses;
+    private final double[] netYields;
+    private final double meanDisbursed;
+    private final double acceptanceRate;
+    private final long elapsedMillis;
+
+    /**
+     * Creates a new StressTestResult. The arrays are owned by the new instance.
+     *
+     * @param populationSize Number of simulated users
+     * @param losses Credit loss of each scenario
+     * @param netYields Net yield of each scenario
+     * @param meanDisbursed Average disbursed amount per scenario
+     * @param acceptanceRate Average fraction of users accepting their offer
+     * @param elapsedMillis Wall-clock time of the simulation
+     */
+    public StressTestResult(
+            int populationSize,
+            double[] losses,
+            double[] netYields,
+            double meanDisbursed,
+            double acceptanceRate,
+            long elapsedMillis) {
+        this.populationSize = populationSize;
+        this.losses = losses;
+        this.netYields = netYields;
+        Arrays.sort(this.losses);
+        Arrays.sort(this.netYields);
+        this.meanDisbursed = meanDisbursed;
+        this.acceptanceRate = acceptanceRate;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Gets the number of simulated users.
+     *
+     * @return The population size
+     */
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    /**
+     * Gets the number of simulated scenarios.
+     *
+     * @return The scenario count
+     */
+    public int getScenarios() {
+        return losses.length;
+    }
+
+    /**
+     * Gets the mean credit loss across scenarios.
+     *
+     * @return The expected loss
+     */
+    public double getExpectedLoss() {
+        return mean(losses);
+    }
+
+    /**
+     * Gets the loss not exceeded in the given fraction of scenarios (value at risk).
+     *
+     * @param quantile The quantile (0.0 to 1.0), e.g. 0.99
+     * @return The loss at the quantile
+     */
+    public double getLossAtQuantile(double quantile) {
+        return losses[index(quantile)];
+    }
+
+    /**
+     * Gets the mean loss of the scenarios at or beyond a quantile (expected shortfall).
+     *
+     * @param quantile The quantile (0.0 to 1.0), e.g. 0.99
+     * @return The expected shortfall
+     */
+    public double getExpectedShortfall(double quantile) {
+        int from = index(quantile);
+        double sum = 0.0;
+        for (int i = from; i < losses.length; i++) {
+            sum += losses[i];
+        }
+        return sum / (losses.length - from);
+    }
+
+    /**
+     * Gets the losses of all scenarios in ascending order.
+     *
+     * @return A copy of the loss distribution
+     */
+    public double[] getLossDistribution() {
+        return losses.clone();
+    }
+
+    /**
+     * Gets the mean net yield across scenarios.
+     *
+     * @return The mean net yield
+     */
+    public double getMeanNetYield() {
+        return mean(netYields);
+    }
+
+    /**
+     * Gets the net yield at a quantile, e.g. 0.05 for the yield exceeded in 95% of scenarios.
+     *
+     * @param quantile The quantile (0.0 to 1.0)
+     * @return The net yield at the quantile
+     */
+    public double getNetYieldAtQuantile(double quantile) {
+        return netYields[index(quantile)];
+    }
+
+    /**
+     * Gets the net yields of all scenarios in ascending order.
+     *
+     * @return A copy of the yield distribution
+     */
+    public double[] getNetYieldDistribution() {
+        return netYields.clone();
+    }
+
+    /**
+     * Gets the average disbursed amount per scenario.
+     *
+     * @return The mean disbursed amount
+     */
+    public double getMeanDisbursed() {
+        return meanDisbursed;
+    }
+
+    /**
+     * Gets the average fraction of users accepting their offer.
+     *
+     * @return The acceptance rate
+     */
+    public double getAcceptanceRate() {
+        return acceptanceRate;
+    }
+
+    /**
+     * Gets the wall-clock time of the simulation.
+     *
+     * @return The elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    private int index(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        int index = (int) Math.ceil(quantile * losses.length) - 1;
+        return Math.max(0, Math.min(losses.length - 1, index));
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0.0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "StressTestResult{population=%d, scenarios=%d, expectedLoss=%.2f, var99=%.2f, es99=%.2f, "
+                + "meanNetYield=%.4f, acceptanceRate=%.4f, elapsedMillis=%d}",
+            populationSize, getScenarios(), getExpectedLoss(), getLossAtQuantile(0.99),
+            getExpectedShortfall(0.99), getMeanNetYield(), acceptanceRate, elapsedMillis
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.cred.loan.risk.simulation;
+
+import com.cred.loan.core.model.UserData;
+import com.cred.loan.optimization.model.UserProfile;
+
+/**
+ * Derives the optimization profile of a simulated user.
+ * Implementations are called from many threads at once and should compute
+ * the profile synchronously.
+ */
+@FunctionalInterface
+public interface UserProfiler {
+    /**
+     * Derives a user's profile.
+     *
+     * @param userData The user data
+     * @return The user's profile
+     */
+    UserProfile profile(UserData userData);
+}
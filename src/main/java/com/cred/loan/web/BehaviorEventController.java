@@ -0,0 +1,133 @@
+package com.cred.loan.web;
+
+import com.cred.loan.core.model.LoanCalculator;
+import com.cred.loan.core.model.OfferInteraction;
+import com.cred.loan.core.model.PageView;
+import com.cred.loan.core.service.BehaviorEventService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * HTTP API for user behavior events.
+ * Each event is handed to the {@link BehaviorEventService}, which folds it
+ * into the user's aggregates, trains the learners on offer decisions and may
+ * trigger an offer precompute. Events without a timestamp are taken as
+ * happening now. Events are accepted once handled; nothing is returned.
+ */
+@RestController
+@RequestMapping("/api/v1/users/{userId}/events")
+public class BehaviorEventController {
+    private final BehaviorEventService eventService;
+
+    /**
+     * Creates a new instance of BehaviorEventController.
+     *
+     * @param eventService The behavior event service
+     */
+    public BehaviorEventController(BehaviorEventService eventService) {
+        this.eventService = eventService;
+    }
+
+    /**
+     * Records a page view.
+     *
+     * @param userId The ID of the user
+     * @param event The page view
+     */
+    @PostMapping(path = "/page-views", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void pageView(@PathVariable String userId, @RequestBody PageViewEvent event) {
+        if (event.pageId() == null || event.pageId().isBlank()) {
+            throw new IllegalArgumentException("Page ID is required");
+        }
+        eventService.onPageView(userId,
+            new PageView(event.pageId(), event.actionType(), event.actionData(), event.timestamp()));
+    }
+
+    /**
+     * Records a loan calculator use.
+     *
+     * @param userId The ID of the user
+     * @param event The calculator use
+     */
+    @PostMapping(path = "/calculator-uses", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void calculatorUse(@PathVariable String userId, @RequestBody CalculatorUseEvent event) {
+        eventService.onLoanCalculator(userId,
+            new LoanCalculator(event.amount(), event.tenure(), event.roi(), event.timestamp()));
+    }
+
+    /**
+     * Records an interaction with a served offer.
+     *
+     * @param userId The ID of the user
+     * @param event The offer interaction, identifying the offer by the offer ID it was served with
+     */
+    @PostMapping(path = "/offer-interactions", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void offerInteraction(@PathVariable String userId, @RequestBody OfferInteractionEvent event) {
+        if (event.offerId() == null || event.interactionType() == null) {
+            throw new IllegalArgumentException("Offer ID and interaction type are required");
+        }
+        eventService.onOfferInteraction(userId,
+            new OfferInteraction(event.offerId(), event.interactionType(), event.timestamp()));
+    }
+
+    /**
+     * Answers events with a malformed or invalid body.
+     *
+     * @param e The failure
+     * @return A 400 response describing the problem
+     */
+    @ExceptionHandler({HttpMessageNotReadableException.class, IllegalArgumentException.class})
+    public ResponseEntity<Map<String, String>> handleInvalid(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Map.of("error", e.getMessage() != null ? e.getMessage() : "Invalid event"));
+    }
+
+    /**
+     * Body of a page view event.
+     *
+     * @param pageId The ID of the page viewed
+     * @param actionType The action taken on the page, may be null
+     * @param actionData Data of the action, such as a requested amount, may be null
+     * @param timestamp When the page was viewed, null for now
+     */
+    public record PageViewEvent(
+            String pageId, String actionType, Map<String, Object> actionData, LocalDateTime timestamp) {
+    }
+
+    /**
+     * Body of a loan calculator event.
+     *
+     * @param amount The amount entered, may be null
+     * @param tenure The tenure entered, may be null
+     * @param roi The rate shown, may be null
+     * @param timestamp When the calculator was used, null for now
+     */
+    public record CalculatorUseEvent(Double amount, Integer tenure, Double roi, LocalDateTime timestamp) {
+    }
+
+    /**
+     * Body of an offer interaction event.
+     *
+     * @param offerId The offer ID the offer was served with
+     * @param interactionType The interaction, such as view, click, accept or reject
+     * @param timestamp When the interaction happened, null for now
+     */
+    public record OfferInteractionEvent(String offerId, String interactionType, LocalDateTime timestamp) {
+    }
+}
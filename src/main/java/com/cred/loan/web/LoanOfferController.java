@@ -0,0 +1,84 @@
+package com.cred.loan.web;
+
+import com.cred.loan.core.exception.OfferGenerationRejectedException;
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.service.OfferGenerationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP API for loan offer generation.
+ * The pipeline's future is returned as is, so the servlet thread is released
+ * as soon as the request has been read and validated, and the response is
+ * written by whichever thread completes the future. Requests are read by
+ * {@link LoanOfferRequestConverter} and responses written by
+ * {@link LoanOfferResponseConverter}.
+ */
+@RestController
+@RequestMapping("/api/v1/offers")
+public class LoanOfferController {
+    private final OfferGenerationService offerGenerationService;
+
+    /**
+     * Creates a new instance of LoanOfferController.
+     *
+     * @param offerGenerationService The offer generation service
+     */
+    public LoanOfferController(OfferGenerationService offerGenerationService) {
+        this.offerGenerationService = offerGenerationService;
+    }
+
+    /**
+     * Generates loan offers for a request.
+     *
+     * @param request The validated loan offer request
+     * @return A CompletableFuture containing the loan offer response
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<LoanOfferResponse> generateOffers(@RequestBody LoanOfferRequest request) {
+        return offerGenerationService.generateOffers(request);
+    }
+
+    /**
+     * Answers requests with a malformed or invalid body.
+     *
+     * @param e The read failure
+     * @return A 400 response describing the problem
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, String>> handleUnreadable(HttpMessageNotReadableException e) {
+        return error(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    /**
+     * Answers requests shed by the concurrency limiter.
+     *
+     * @param e The rejection
+     * @return A 503 response asking the caller to retry
+     */
+    @ExceptionHandler(OfferGenerationRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleRejected(OfferGenerationRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Map.of("error", e.getMessage()));
+    }
+
+    private static ResponseEntity<Map<String, String>> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Map.of("error", message != null ? message : status.getReasonPhrase()));
+    }
+}
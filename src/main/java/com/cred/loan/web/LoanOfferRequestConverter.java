@@ -0,0 +1,59 @@
+package com.cred.loan.web;
+
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.web.json.LoanOfferRequestReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+
+/**
+ * Reads {@link LoanOfferRequest} bodies with a {@link LoanOfferRequestReader},
+ * in place of the reflective Jackson binding of the default converter.
+ * Malformed JSON and invalid fields are both reported as unreadable messages.
+ */
+public class LoanOfferRequestConverter extends AbstractHttpMessageConverter<LoanOfferRequest> {
+    private final LoanOfferRequestReader reader;
+
+    /**
+     * Creates a new LoanOfferRequestConverter.
+     *
+     * @param reader The request reader
+     */
+    public LoanOfferRequestConverter(LoanOfferRequestReader reader) {
+        super(MediaType.APPLICATION_JSON);
+        this.reader = reader;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return LoanOfferRequest.class == clazz;
+    }
+
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected LoanOfferRequest readInternal(Class<? extends LoanOfferRequest> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        try {
+            return reader.read(inputMessage.getBody());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Malformed JSON: " + e.getOriginalMessage(), e, inputMessage);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(LoanOfferRequest request, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("Loan offer requests are not written");
+    }
+}
@@ -0,0 +1,50 @@
+package com.cred.loan.web;
+
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.web.json.LoanOfferResponseWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link LoanOfferResponse} bodies with a shared
+ * {@link LoanOfferResponseWriter}, streaming straight to the response so that
+ * only the selected sections are rendered.
+ */
+public class LoanOfferResponseConverter extends AbstractHttpMessageConverter<LoanOfferResponse> {
+    private final LoanOfferResponseWriter writer;
+
+    /**
+     * Creates a new LoanOfferResponseConverter.
+     *
+     * @param writer The response writer
+     */
+    public LoanOfferResponseConverter(LoanOfferResponseWriter writer) {
+        super(MediaType.APPLICATION_JSON);
+        this.writer = writer;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return LoanOfferResponse.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected LoanOfferResponse readInternal(Class<? extends LoanOfferResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Loan offer responses are not read", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(LoanOfferResponse response, HttpOutputMessage outputMessage) throws IOException {
+        writer.write(response, outputMessage.getBody());
+    }
+}
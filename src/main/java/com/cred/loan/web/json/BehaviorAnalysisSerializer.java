@@ -0,0 +1,63 @@
+package com.cred.loan.web.json;
+
+import com.cred.loan.core.model.BehaviorAnalysisResult;
+import com.cred.loan.core.model.PriceSensitivity;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Serializes a summary of a {@link BehaviorAnalysisResult}: the conversion
+ * probability, long-term value and price sensitivity, with the analysis time
+ * in ISO-8601 form, as the default Jackson date-time serializer writes it.
+ */
+public class BehaviorAnalysisSerializer extends StdSerializer<BehaviorAnalysisResult> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new BehaviorAnalysisSerializer.
+     */
+    public BehaviorAnalysisSerializer() {
+        super(BehaviorAnalysisResult.class);
+    }
+
+    @Override
+    public void serialize(BehaviorAnalysisResult behaviorAnalysis, JsonGenerator generator,
+                          SerializerProvider provider) throws IOException {
+        write(behaviorAnalysis, generator);
+    }
+
+    /**
+     * Writes a behavior analysis summary.
+     *
+     * @param behaviorAnalysis The behavior analysis
+     * @param generator The generator to write to
+     * @throws IOException if writing fails
+     */
+    public void write(BehaviorAnalysisResult behaviorAnalysis, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        JsonNumbers.writeField(generator, JsonFields.CONVERSION_PROBABILITY,
+            behaviorAnalysis.getConversionProbability());
+        JsonNumbers.writeField(generator, JsonFields.LONG_TERM_VALUE, behaviorAnalysis.getLongTermValue());
+
+        PriceSensitivity priceSensitivity = behaviorAnalysis.getPriceSensitivity();
+        if (priceSensitivity != null) {
+            generator.writeFieldName(JsonFields.PRICE_SENSITIVITY);
+            generator.writeStartObject();
+            JsonNumbers.writeField(generator, JsonFields.SENSITIVITY, priceSensitivity.getSensitivity());
+            JsonNumbers.writeField(generator, JsonFields.CONFIDENCE, priceSensitivity.getConfidence());
+            generator.writeEndObject();
+        }
+
+        LocalDateTime analyzedAt = behaviorAnalysis.getAnalyzedAt();
+        if (analyzedAt != null) {
+            generator.writeFieldName(JsonFields.ANALYZED_AT);
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(analyzedAt));
+        }
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,45 @@
+package com.cred.loan.web.json;
+
+import com.cred.loan.core.model.ResponseField;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * Pre-encoded field names shared by the serializers.
+ * Each name is quoted and UTF-8 encoded once, so writing a field copies its
+ * bytes instead of escaping and encoding the name on every response.
+ */
+final class JsonFields {
+    static final SerializedString REQUEST_ID = new SerializedString("requestId");
+    static final SerializedString GENERATION_TIME_MILLIS = new SerializedString("generationTimeMillis");
+    static final SerializedString DEGRADED = new SerializedString("degraded");
+    static final SerializedString DEGRADED_STAGES = new SerializedString("degradedStages");
+    static final SerializedString OFFERS = new SerializedString("offers");
+    static final SerializedString RISK_FACTORS = new SerializedString(ResponseField.RISK_FACTORS.getFieldName());
+    static final SerializedString RISK_EXPLANATIONS =
+        new SerializedString(ResponseField.RISK_EXPLANATIONS.getFieldName());
+    static final SerializedString TERM_ADJUSTMENTS =
+        new SerializedString(ResponseField.TERM_ADJUSTMENTS.getFieldName());
+
+    static final SerializedString OFFER_ID = new SerializedString("offerId");
+    static final SerializedString RANK = new SerializedString("rank");
+    static final SerializedString SCORE = new SerializedString("score");
+    static final SerializedString AMOUNT = new SerializedString("amount");
+    static final SerializedString TENURE = new SerializedString("tenure");
+    static final SerializedString ROI = new SerializedString("roi");
+    static final SerializedString PROCESSING_FEE = new SerializedString("processingFee");
+    static final SerializedString RISK_IMPACT = new SerializedString("riskImpact");
+    static final SerializedString CONVERSION_PROBABILITY = new SerializedString("conversionProbability");
+
+    static final SerializedString RISK_SCORE = new SerializedString("riskScore");
+    static final SerializedString RISK_LEVEL = new SerializedString("riskLevel");
+    static final SerializedString ROI_RANGE = new SerializedString("roiRange");
+
+    static final SerializedString LONG_TERM_VALUE = new SerializedString("longTermValue");
+    static final SerializedString PRICE_SENSITIVITY = new SerializedString("priceSensitivity");
+    static final SerializedString SENSITIVITY = new SerializedString("sensitivity");
+    static final SerializedString CONFIDENCE = new SerializedString("confidence");
+    static final SerializedString ANALYZED_AT = new SerializedString("analyzedAt");
+
+    private JsonFields() {
+    }
+}
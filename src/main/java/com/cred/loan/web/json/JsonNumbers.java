@@ -0,0 +1,96 @@
+package com.cred.loan.web.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+
+import java.io.IOException;
+
+/**
+ * Writes decimal numbers without allocating.
+ * {@link JsonGenerator#writeNumber(double)} formats through a new String for
+ * every value. Here a value is rounded to {@value #SCALE} decimal places,
+ * finer than any amount, rate, score or probability in a response, and its
+ * digits are written from a per-thread buffer. Values too large to scale
+ * exactly, and non-finite values, fall back to the generator.
+ */
+final class JsonNumbers {
+    private static final int SCALE = 6;
+    private static final long UNIT = 1_000_000L;
+    private static final double MAX_SCALED = 1e12;
+    private static final ThreadLocal<char[]> BUFFERS = ThreadLocal.withInitial(() -> new char[24]);
+
+    private JsonNumbers() {
+    }
+
+    /**
+     * Writes a decimal field.
+     *
+     * @param generator The generator to write to
+     * @param name The pre-encoded field name
+     * @param value The value
+     * @throws IOException if writing fails
+     */
+    static void writeField(JsonGenerator generator, SerializableString name, double value) throws IOException {
+        generator.writeFieldName(name);
+        write(generator, value);
+    }
+
+    /**
+     * Writes a decimal field that may be absent, as {@code null}.
+     *
+     * @param generator The generator to write to
+     * @param name The pre-encoded field name
+     * @param value The value, may be null
+     * @throws IOException if writing fails
+     */
+    static void writeField(JsonGenerator generator, SerializableString name, Double value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            write(generator, value);
+        }
+    }
+
+    /**
+     * Writes a decimal value, always with at least one fractional digit.
+     *
+     * @param generator The generator to write to
+     * @param value The value
+     * @throws IOException if writing fails
+     */
+    static void write(JsonGenerator generator, double value) throws IOException {
+        if (!(Math.abs(value) < MAX_SCALED)) {
+            generator.writeNumber(value);
+            return;
+        }
+
+        long scaled = Math.round(value * UNIT);
+        char[] buffer = BUFFERS.get();
+        int end = buffer.length;
+        int pos = end;
+        long magnitude = Math.abs(scaled);
+        long fraction = magnitude % UNIT;
+        long integer = magnitude / UNIT;
+
+        // Fractional digits, dropping trailing zeros but keeping at least one
+        int digits = SCALE;
+        while (digits > 1 && fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        for (int i = 0; i < digits; i++) {
+            buffer[--pos] = (char) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        buffer[--pos] = '.';
+        do {
+            buffer[--pos] = (char) ('0' + integer % 10);
+            integer /= 10;
+        } while (integer > 0);
+        if (scaled < 0) {
+            buffer[--pos] = '-';
+        }
+        generator.writeNumber(buffer, pos, end - pos);
+    }
+}
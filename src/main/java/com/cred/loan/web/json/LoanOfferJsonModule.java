@@ -0,0 +1,29 @@
+package com.cred.loan.web.json;
+
+import com.cred.loan.core.model.BehaviorAnalysisResult;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.model.RankedOffer;
+import com.cred.loan.core.model.RiskAssessmentResult;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Jackson module registering the hand-written serializers for offer
+ * responses, ranked offers and the risk and behavior summaries, so that an
+ * {@code ObjectMapper} writes them in the same format as
+ * {@link LoanOfferResponseWriter} instead of introspecting their interfaces.
+ */
+public class LoanOfferJsonModule extends SimpleModule {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new LoanOfferJsonModule.
+     */
+    public LoanOfferJsonModule() {
+        super("LoanOfferJsonModule");
+        RankedOfferSerializer offerSerializer = new RankedOfferSerializer();
+        addSerializer(LoanOfferResponse.class, new LoanOfferResponseSerializer(offerSerializer));
+        addSerializer(RankedOffer.class, offerSerializer);
+        addSerializer(RiskAssessmentResult.class, new RiskAssessmentSerializer());
+        addSerializer(BehaviorAnalysisResult.class, new BehaviorAnalysisSerializer());
+    }
+}
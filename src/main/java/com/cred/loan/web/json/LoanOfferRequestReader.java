@@ -0,0 +1,164 @@
+package com.cred.loan.web.json;
+
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.ResponseField;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Reads and validates a {@link LoanOfferRequest} from JSON.
+ * The body is walked token by token and each field is checked as it is read,
+ * so no intermediate object is bound by reflection. Unknown fields are
+ * skipped, and the optional {@code fields} array selects response sections by
+ * their serialized names.
+ */
+public class LoanOfferRequestReader {
+    private static final int MAX_ID_LENGTH = 64;
+    private static final int MAX_TEXT_LENGTH = 256;
+    private static final int MAX_TENURE_MONTHS = 360;
+
+    private final JsonFactory jsonFactory;
+
+    /**
+     * Creates a new LoanOfferRequestReader that leaves source streams open.
+     */
+    public LoanOfferRequestReader() {
+        this(JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build());
+    }
+
+    /**
+     * Creates a new LoanOfferRequestReader.
+     *
+     * @param jsonFactory Factory used to create parsers
+     */
+    public LoanOfferRequestReader(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Reads a request from a UTF-8 JSON stream.
+     *
+     * @param in The source stream
+     * @return The validated request
+     * @throws IOException if the stream cannot be read or is not valid JSON
+     * @throws IllegalArgumentException if a field is missing or invalid
+     */
+    public LoanOfferRequest read(InputStream in) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            return read(parser);
+        }
+    }
+
+    /**
+     * Reads a request from an existing parser.
+     *
+     * @param parser The parser, positioned before the request object
+     * @return The validated request
+     * @throws IOException if the input is not valid JSON
+     * @throws IllegalArgumentException if a field is missing or invalid
+     */
+    public LoanOfferRequest read(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Request body must be a JSON object");
+        }
+
+        String userId = null;
+        Double requestedAmount = null;
+        Integer preferredTenure = null;
+        String purpose = null;
+        String source = null;
+        Set<ResponseField> fields = Collections.emptySet();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (name) {
+                case "userId" -> userId = text(name, value, parser, MAX_ID_LENGTH);
+                case "requestedAmount" -> requestedAmount = amount(value, parser);
+                case "preferredTenure" -> preferredTenure = tenure(value, parser);
+                case "purpose" -> purpose = text(name, value, parser, MAX_TEXT_LENGTH);
+                case "source" -> source = text(name, value, parser, MAX_ID_LENGTH);
+                case "fields" -> fields = fields(value, parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new LoanOfferRequest(
+            required("userId", userId),
+            required("requestedAmount", requestedAmount),
+            required("preferredTenure", preferredTenure),
+            required("purpose", purpose),
+            required("source", source),
+            fields
+        );
+    }
+
+    private static String text(String name, JsonToken value, JsonParser parser, int maxLength)
+            throws IOException {
+        if (value != JsonToken.VALUE_STRING) {
+            throw new IllegalArgumentException(name + " must be a string");
+        }
+        String text = parser.getText().trim();
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException(name + " cannot be blank");
+        }
+        if (text.length() > maxLength) {
+            throw new IllegalArgumentException(name + " cannot be longer than " + maxLength + " characters");
+        }
+        return text;
+    }
+
+    private static Double amount(JsonToken value, JsonParser parser) throws IOException {
+        if (value != JsonToken.VALUE_NUMBER_INT && value != JsonToken.VALUE_NUMBER_FLOAT) {
+            throw new IllegalArgumentException("requestedAmount must be a number");
+        }
+        double amount = parser.getDoubleValue();
+        if (!Double.isFinite(amount) || amount <= 0.0) {
+            throw new IllegalArgumentException("requestedAmount must be positive");
+        }
+        return amount;
+    }
+
+    private static Integer tenure(JsonToken value, JsonParser parser) throws IOException {
+        if (value != JsonToken.VALUE_NUMBER_INT) {
+            throw new IllegalArgumentException("preferredTenure must be a whole number of months");
+        }
+        long tenure = parser.getLongValue();
+        if (tenure <= 0 || tenure > MAX_TENURE_MONTHS) {
+            throw new IllegalArgumentException("preferredTenure must be between 1 and " + MAX_TENURE_MONTHS);
+        }
+        return (int) tenure;
+    }
+
+    private static Set<ResponseField> fields(JsonToken value, JsonParser parser) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("fields must be an array of field names");
+        }
+        Set<ResponseField> fields = EnumSet.noneOf(ResponseField.class);
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_STRING) {
+                throw new IllegalArgumentException("fields must be an array of field names");
+            }
+            fields.add(ResponseField.fromFieldName(parser.getText()));
+        }
+        return fields;
+    }
+
+    private static <T> T required(String name, T value) {
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+}
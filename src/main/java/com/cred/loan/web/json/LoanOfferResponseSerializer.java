@@ -0,0 +1,103 @@
+package com.cred.loan.web.json;
+
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.model.OfferIds;
+import com.cred.loan.core.model.RankedOffer;
+import com.cred.loan.core.model.ResponseField;
+import com.cred.loan.core.pipeline.PipelineStage;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Serializes a {@link LoanOfferResponse}.
+ * Only the sections selected on the response are written; unselected sections
+ * are neither serialized nor computed, since risk explanations and term
+ * adjustments are rendered on first access. Each offer is written with its
+ * {@link OfferIds offer ID}, which clients send back on interactions.
+ */
+public class LoanOfferResponseSerializer extends StdSerializer<LoanOfferResponse> {
+    private static final long serialVersionUID = 1L;
+
+    private final RankedOfferSerializer offerSerializer;
+
+    /**
+     * Creates a new LoanOfferResponseSerializer.
+     */
+    public LoanOfferResponseSerializer() {
+        this(new RankedOfferSerializer());
+    }
+
+    /**
+     * Creates a new LoanOfferResponseSerializer.
+     *
+     * @param offerSerializer Serializer used for each ranked offer
+     */
+    public LoanOfferResponseSerializer(RankedOfferSerializer offerSerializer) {
+        super(LoanOfferResponse.class);
+        this.offerSerializer = offerSerializer;
+    }
+
+    @Override
+    public void serialize(LoanOfferResponse response, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        write(response, generator);
+    }
+
+    /**
+     * Writes a response.
+     *
+     * @param response The response to write
+     * @param generator The generator to write to
+     * @throws IOException if writing fails
+     */
+    public void write(LoanOfferResponse response, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(JsonFields.REQUEST_ID);
+        generator.writeString(response.getRequestId());
+        generator.writeFieldName(JsonFields.GENERATION_TIME_MILLIS);
+        generator.writeNumber(response.getGenerationTimeMillis());
+        generator.writeFieldName(JsonFields.DEGRADED);
+        generator.writeBoolean(response.isDegraded());
+        if (response.isDegraded()) {
+            generator.writeFieldName(JsonFields.DEGRADED_STAGES);
+            generator.writeStartArray();
+            for (PipelineStage stage : response.getDegradedStages()) {
+                generator.writeString(stage.name());
+            }
+            generator.writeEndArray();
+        }
+
+        boolean termAdjustments = response.isSelected(ResponseField.TERM_ADJUSTMENTS);
+        generator.writeFieldName(JsonFields.OFFERS);
+        generator.writeStartArray();
+        for (RankedOffer offer : response.getOffers()) {
+            offerSerializer.write(
+                offer, OfferIds.of(response.getRequestId(), offer.rank()), termAdjustments, generator);
+        }
+        generator.writeEndArray();
+
+        if (response.isSelected(ResponseField.RISK_FACTORS)) {
+            generator.writeFieldName(JsonFields.RISK_FACTORS);
+            generator.writeStartArray();
+            for (String factor : response.getRiskFactors()) {
+                generator.writeString(factor);
+            }
+            generator.writeEndArray();
+        }
+
+        if (response.isSelected(ResponseField.RISK_EXPLANATIONS)) {
+            generator.writeFieldName(JsonFields.RISK_EXPLANATIONS);
+            generator.writeStartObject();
+            for (Map.Entry<String, String> explanation : response.getRiskFactorExplanations().entrySet()) {
+                generator.writeStringField(explanation.getKey(), explanation.getValue());
+            }
+            generator.writeEndObject();
+        }
+
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,62 @@
+package com.cred.loan.web.json;
+
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams a {@link LoanOfferResponse} as JSON.
+ * Responses are written by a {@link LoanOfferResponseSerializer} directly to
+ * the target stream, without going through an {@code ObjectMapper}.
+ */
+public class LoanOfferResponseWriter {
+    private final JsonFactory jsonFactory;
+    private final LoanOfferResponseSerializer serializer = new LoanOfferResponseSerializer();
+
+    /**
+     * Creates a new LoanOfferResponseWriter that leaves target streams open.
+     */
+    public LoanOfferResponseWriter() {
+        this(JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build());
+    }
+
+    /**
+     * Creates a new LoanOfferResponseWriter.
+     *
+     * @param jsonFactory Factory used to create generators
+     */
+    public LoanOfferResponseWriter(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Writes a response as UTF-8 JSON to an output stream.
+     *
+     * @param response The response to write
+     * @param out The target stream
+     * @throws IOException if writing fails
+     */
+    public void write(LoanOfferResponse response, OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            write(response, generator);
+        }
+    }
+
+    /**
+     * Writes a response to an existing generator.
+     *
+     * @param response The response to write
+     * @param generator The generator to write to
+     * @throws IOException if writing fails
+     */
+    public void write(LoanOfferResponse response, JsonGenerator generator) throws IOException {
+        serializer.write(response, generator);
+    }
+}
@@ -0,0 +1,79 @@
+package com.cred.loan.web.json;
+
+import com.cred.loan.core.model.BaseOffer;
+import com.cred.loan.core.model.OptimizedOffer;
+import com.cred.loan.core.model.RankedOffer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializes a {@link RankedOffer} together with its optimized and base
+ * offer as a single flat object, reading the primitive accessors so that no
+ * getter is resolved reflectively and no value is boxed. Offers written as
+ * part of a response carry their offer ID.
+ */
+public class RankedOfferSerializer extends StdSerializer<RankedOffer> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new RankedOfferSerializer.
+     */
+    public RankedOfferSerializer() {
+        super(RankedOffer.class);
+    }
+
+    @Override
+    public void serialize(RankedOffer offer, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        write(offer, null, false, generator);
+    }
+
+    /**
+     * Writes a ranked offer.
+     *
+     * @param rankedOffer The ranked offer
+     * @param offerId The ID of the served offer, or null to leave it out
+     * @param termAdjustments Whether to include per-term adjustments
+     * @param generator The generator to write to
+     * @throws IOException if writing fails
+     */
+    public void write(RankedOffer rankedOffer, String offerId, boolean termAdjustments, JsonGenerator generator)
+            throws IOException {
+        OptimizedOffer offer = rankedOffer.getOffer();
+        BaseOffer baseOffer = offer.getBaseOffer();
+        double roi = offer.adjustedRoi();
+        double processingFee = offer.adjustedProcessingFee();
+        int tenure = offer.adjustedTenure();
+
+        generator.writeStartObject();
+        if (offerId != null) {
+            generator.writeFieldName(JsonFields.OFFER_ID);
+            generator.writeString(offerId);
+        }
+        generator.writeFieldName(JsonFields.RANK);
+        generator.writeNumber(rankedOffer.rank());
+        JsonNumbers.writeField(generator, JsonFields.SCORE, rankedOffer.score());
+        JsonNumbers.writeField(generator, JsonFields.AMOUNT, baseOffer.amount());
+        generator.writeFieldName(JsonFields.TENURE);
+        generator.writeNumber(tenure);
+        JsonNumbers.writeField(generator, JsonFields.ROI, roi);
+        JsonNumbers.writeField(generator, JsonFields.PROCESSING_FEE, processingFee);
+        JsonNumbers.writeField(generator, JsonFields.RISK_IMPACT, offer.riskImpact());
+        JsonNumbers.writeField(generator, JsonFields.CONVERSION_PROBABILITY, offer.conversionProbability());
+
+        if (termAdjustments) {
+            generator.writeFieldName(JsonFields.TERM_ADJUSTMENTS);
+            generator.writeStartObject();
+            JsonNumbers.writeField(generator, JsonFields.ROI, roi - baseOffer.roi());
+            JsonNumbers.writeField(generator, JsonFields.PROCESSING_FEE, processingFee - baseOffer.processingFee());
+            generator.writeFieldName(JsonFields.TENURE);
+            generator.writeNumber(tenure - baseOffer.tenure());
+            generator.writeEndObject();
+        }
+
+        generator.writeEndObject();
+    }
+}
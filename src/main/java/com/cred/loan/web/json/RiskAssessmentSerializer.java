@@ -0,0 +1,66 @@
+package com.cred.loan.web.json;
+
+import com.cred.loan.core.model.RiskAssessmentResult;
+import com.cred.loan.core.model.RiskLevel;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Serializes a summary of a {@link RiskAssessmentResult}: the score, level,
+ * ROI range and the names of the risk factors. Explanations are left out,
+ * since they are rendered on demand and only returned when a response
+ * selects them.
+ */
+public class RiskAssessmentSerializer extends StdSerializer<RiskAssessmentResult> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new RiskAssessmentSerializer.
+     */
+    public RiskAssessmentSerializer() {
+        super(RiskAssessmentResult.class);
+    }
+
+    @Override
+    public void serialize(RiskAssessmentResult riskAssessment, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        write(riskAssessment, generator);
+    }
+
+    /**
+     * Writes a risk assessment summary.
+     *
+     * @param riskAssessment The risk assessment
+     * @param generator The generator to write to
+     * @throws IOException if writing fails
+     */
+    public void write(RiskAssessmentResult riskAssessment, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        JsonNumbers.writeField(generator, JsonFields.RISK_SCORE, riskAssessment.getRiskScore());
+        RiskLevel riskLevel = riskAssessment.getRiskLevel();
+        generator.writeFieldName(JsonFields.RISK_LEVEL);
+        if (riskLevel == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(riskLevel.name());
+        }
+        JsonNumbers.writeField(generator, JsonFields.ROI_RANGE, riskAssessment.getROIRange());
+        writeRiskFactors(riskAssessment.getRiskFactors(), generator);
+        generator.writeEndObject();
+    }
+
+    private static void writeRiskFactors(Set<String> riskFactors, JsonGenerator generator) throws IOException {
+        generator.writeFieldName(JsonFields.RISK_FACTORS);
+        generator.writeStartArray();
+        if (riskFactors != null) {
+            for (String factor : riskFactors) {
+                generator.writeString(factor);
+            }
+        }
+        generator.writeEndArray();
+    }
+}
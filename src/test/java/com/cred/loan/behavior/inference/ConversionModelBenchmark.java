@@ -0,0 +1,155 @@
+package com.cred.loan.behavior.inference;
+
+import com.cred.loan.behavior.aggregate.BehaviorStats;
+import com.cred.loan.core.model.UserData;
+import com.cred.loan.core.model.impl.UserDataImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Measures the cost of one conversion prediction with a logistic regression
+ * model and with gradient-boosted trees of {@value #TREES} trees of depth
+ * {@value #DEPTH}, both read from memory-mapped model files: scoring a
+ * prepared feature vector, scoring rows of a batch, and extracting the
+ * features of a user before scoring, as the request path does. Prints the
+ * mean time per prediction after a warm-up. Run from the IDE or with
+ * {@code java -cp target/test-classes:target/classes:<deps> ...ConversionModelBenchmark}.
+ */
+public final class ConversionModelBenchmark {
+    private static final int TREES = 200;
+    private static final int DEPTH = 6;
+    private static final int ROWS = 1_024;
+    private static final long WARMUP_NANOS = 3_000_000_000L;
+    private static final long MEASURE_NANOS = 3_000_000_000L;
+
+    private ConversionModelBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        SplittableRandom random = new SplittableRandom(35);
+        Path directory = Files.createTempDirectory("conversion-model-benchmark");
+        Path lrPath = directory.resolve("lr.bin");
+        Path gbtPath = directory.resolve("gbt.bin");
+        double[] weights = new double[ConversionFeatures.COUNT];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = random.nextDouble(-2.0, 2.0);
+        }
+        ConversionModelFormat.writeLogisticRegression(lrPath, "lr", -1.0, weights);
+        writeTrees(gbtPath, random);
+        ConversionModel lr = ConversionModelFormat.load(lrPath);
+        ConversionModel gbt = ConversionModelFormat.load(gbtPath);
+
+        double[] rows = new double[ROWS * ConversionFeatures.COUNT];
+        for (int i = 0; i < rows.length; i++) {
+            // One value in ten is missing
+            rows[i] = random.nextInt(10) == 0 ? Double.NaN : random.nextDouble();
+        }
+        UserData user = new UserDataImpl("user-1", 720.0, 1_200_000.0, 150_000.0, 34, "permanent", 48,
+            "Pune", "android");
+        BehaviorStats stats = new BehaviorStats(12, 2, 5, 2, 1, 0, 300_000.0, 24.0);
+        double[] probabilities = new double[ROWS];
+
+        String[] names = {
+            "lr vector", "lr batch row", "lr with features", "gbt vector", "gbt batch row", "gbt with features"
+        };
+        Prediction[] predictions = {
+            row -> lr.score(rows, row * ConversionFeatures.COUNT),
+            row -> batchRow(lr, rows, probabilities, row),
+            row -> ConversionFeatures.score(lr, user, stats),
+            row -> gbt.score(rows, row * ConversionFeatures.COUNT),
+            row -> batchRow(gbt, rows, probabilities, row),
+            row -> ConversionFeatures.score(gbt, user, stats)
+        };
+        // Warm every variant before measuring any, so that none is measured
+        // against code compiled for the others
+        for (Prediction prediction : predictions) {
+            run(prediction, WARMUP_NANOS);
+        }
+        System.out.printf("%-18s %10s%n", "", "ns/pred");
+        for (int i = 0; i < predictions.length; i++) {
+            System.out.printf("%-18s %10.1f%n", names[i], run(predictions[i], MEASURE_NANOS));
+        }
+        Files.delete(lrPath);
+        Files.delete(gbtPath);
+        Files.delete(directory);
+    }
+
+    /**
+     * Scores the whole batch once per {@value #ROWS} calls, returning one row.
+     */
+    private static double batchRow(ConversionModel model, double[] rows, double[] probabilities, int row) {
+        if (row == 0) {
+            model.scoreBatch(rows, ROWS, probabilities);
+        }
+        return probabilities[row];
+    }
+
+    /**
+     * Writes complete trees with nodes in breadth-first order, so children
+     * follow their parents.
+     */
+    private static void writeTrees(Path path, SplittableRandom random) throws IOException {
+        int perTree = (1 << (DEPTH + 1)) - 1;
+        int internal = (1 << DEPTH) - 1;
+        int nodes = TREES * perTree;
+        int[] roots = new int[TREES];
+        double[] thresholds = new double[nodes];
+        int[] features = new int[nodes];
+        int[] left = new int[nodes];
+        int[] right = new int[nodes];
+        for (int tree = 0; tree < TREES; tree++) {
+            int root = tree * perTree;
+            roots[tree] = root;
+            for (int i = 0; i < perTree; i++) {
+                int node = root + i;
+                if (i < internal) {
+                    thresholds[node] = random.nextDouble();
+                    features[node] = random.nextInt(ConversionFeatures.COUNT);
+                    left[node] = root + 2 * i + 1;
+                    right[node] = root + 2 * i + 2;
+                } else {
+                    thresholds[node] = random.nextDouble(-0.1, 0.1);
+                    features[node] = -1;
+                    left[node] = -1;
+                    right[node] = -1;
+                }
+            }
+        }
+        ConversionModelFormat.writeGradientBoostedTrees(path, "gbt", ConversionFeatures.COUNT, -1.0,
+            roots, thresholds, features, left, right);
+    }
+
+    /**
+     * Makes predictions for successive rows until the duration has passed.
+     *
+     * @return The mean nanoseconds per prediction
+     */
+    private static double run(Prediction prediction, long durationNanos) {
+        long predictions = 0;
+        double sink = 0;
+        long elapsed;
+        long start = System.nanoTime();
+        do {
+            for (int row = 0; row < ROWS; row++) {
+                sink += prediction.score(row);
+            }
+            predictions += ROWS;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < durationNanos);
+        if (sink < 0) {
+            System.out.println(sink);
+        }
+        return elapsed / (double) predictions;
+    }
+
+    /**
+     * Makes one prediction for a row.
+     */
+    @FunctionalInterface
+    private interface Prediction {
+        double score(int row);
+    }
+}
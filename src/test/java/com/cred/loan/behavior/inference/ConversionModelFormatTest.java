@@ -0,0 +1,171 @@
+package com.cred.loan.behavior.inference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ConversionModelFormatTest {
+    @TempDir
+    Path directory;
+
+    /**
+     * Two trees over three features. The first splits feature 0 at 0.5 into
+     * leaves -1.0 and 2.0, the second feature 1 at 0.3 into 0.5 and -0.5.
+     */
+    static void writeTwoTrees(Path path, String version) throws IOException {
+        ConversionModelFormat.writeGradientBoostedTrees(path, version, 3, 0.25,
+            new int[] {0, 3},
+            new double[] {0.5, -1.0, 2.0, 0.3, 0.5, -0.5},
+            new int[] {0, -1, -1, 1, -1, -1},
+            new int[] {1, -1, -1, 4, -1, -1},
+            new int[] {2, -1, -1, 5, -1, -1});
+    }
+
+    static double sigmoid(double logit) {
+        return 1.0 / (1.0 + Math.exp(-logit));
+    }
+
+    @Test
+    void roundTripsALogisticRegressionModel() throws IOException {
+        Path path = directory.resolve("model.bin");
+        ConversionModelFormat.writeLogisticRegression(path, "lr-2026.03", -0.5, new double[] {1.0, -2.0, 0.5});
+
+        ConversionModel model = ConversionModelFormat.load(path);
+
+        assertThat(model).isInstanceOf(LogisticRegressionModel.class);
+        assertThat(model.getVersion()).isEqualTo("lr-2026.03");
+        assertThat(model.getFeatureCount()).isEqualTo(3);
+        assertThat(model.score(new double[] {0.4, 0.1, 1.0}, 0))
+            .isCloseTo(sigmoid(-0.5 + 0.4 - 0.2 + 0.5), within(1e-12));
+        // Missing features contribute nothing
+        assertThat(model.score(new double[] {Double.NaN, Double.NaN, 1.0}, 0))
+            .isCloseTo(sigmoid(0.0), within(1e-12));
+    }
+
+    @Test
+    void roundTripsAGradientBoostedTreesModel() throws IOException {
+        Path path = directory.resolve("model.bin");
+        // An odd-length version puts the payload behind padding
+        writeTwoTrees(path, "gbt-1");
+
+        ConversionModel model = ConversionModelFormat.load(path);
+
+        assertThat(model).isInstanceOf(GradientBoostedTreesModel.class);
+        assertThat(model.getVersion()).isEqualTo("gbt-1");
+        assertThat(model.getFeatureCount()).isEqualTo(3);
+        assertThat(model.score(new double[] {0.2, 0.1, 0.0}, 0)).isCloseTo(sigmoid(0.25 - 1.0 + 0.5), within(1e-12));
+    }
+
+    @Test
+    void replacesAnExistingFileWithoutLeavingATemporaryOne() throws IOException {
+        Path path = directory.resolve("model.bin");
+        ConversionModelFormat.writeLogisticRegression(path, "v1", 0.0, new double[] {1.0});
+        ConversionModelFormat.writeLogisticRegression(path, "v2", 0.0, new double[] {1.0});
+
+        assertThat(ConversionModelFormat.load(path).getVersion()).isEqualTo("v2");
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(path);
+        }
+    }
+
+    @Test
+    void rejectsAFileThatIsNotAModel() throws IOException {
+        Path path = directory.resolve("model.bin");
+        Files.writeString(path, "{\"weights\": [1.0, 2.0, 3.0]}");
+
+        assertThatThrownBy(() -> ConversionModelFormat.load(path))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Not a conversion model file");
+    }
+
+    @Test
+    void rejectsAnUnknownFormatVersionOrModelType() throws IOException {
+        Path path = directory.resolve("model.bin");
+        ConversionModelFormat.writeLogisticRegression(path, "v1", 0.0, new double[] {1.0});
+        byte[] bytes = Files.readAllBytes(path);
+
+        Files.write(path, withInt(bytes, 4, 2));
+        assertThatThrownBy(() -> ConversionModelFormat.load(path))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("format version");
+
+        Files.write(path, withInt(bytes, 8, 3));
+        assertThatThrownBy(() -> ConversionModelFormat.load(path))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("model type");
+    }
+
+    @Test
+    void rejectsACorruptHeader() throws IOException {
+        Path path = directory.resolve("model.bin");
+        ConversionModelFormat.writeLogisticRegression(path, "v1", 0.0, new double[] {1.0});
+        byte[] bytes = Files.readAllBytes(path);
+
+        Files.write(path, withInt(bytes, 12, 0));
+        assertThatThrownBy(() -> ConversionModelFormat.load(path)).isInstanceOf(IllegalArgumentException.class);
+
+        Files.write(path, withInt(bytes, 16, 1 << 20));
+        assertThatThrownBy(() -> ConversionModelFormat.load(path)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsTruncatedModels() throws IOException {
+        Path lr = directory.resolve("lr.bin");
+        ConversionModelFormat.writeLogisticRegression(lr, "v1", 0.0, new double[] {1.0, 2.0});
+        byte[] lrBytes = Files.readAllBytes(lr);
+        Files.write(lr, Arrays.copyOf(lrBytes, lrBytes.length - 1));
+
+        Path gbt = directory.resolve("gbt.bin");
+        writeTwoTrees(gbt, "v1");
+        byte[] gbtBytes = Files.readAllBytes(gbt);
+
+        assertThatThrownBy(() -> ConversionModelFormat.load(lr))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Truncated");
+        for (int length : new int[] {0, 19, 30, gbtBytes.length - 1}) {
+            Files.write(gbt, Arrays.copyOf(gbtBytes, length));
+            assertThatThrownBy(() -> ConversionModelFormat.load(gbt))
+                .as("%d of %d bytes", length, gbtBytes.length)
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void rejectsTreesThatCouldNotTerminateOrReadOutOfRange() throws IOException {
+        Path path = directory.resolve("model.bin");
+        double[] thresholds = {0.5, -1.0, 2.0};
+
+        // A child pointing back at its parent would loop forever
+        ConversionModelFormat.writeGradientBoostedTrees(path, "v1", 3, 0.0, new int[] {0}, thresholds,
+            new int[] {0, -1, -1}, new int[] {0, -1, -1}, new int[] {2, -1, -1});
+        assertThatThrownBy(() -> ConversionModelFormat.load(path)).hasMessageContaining("Invalid children");
+
+        ConversionModelFormat.writeGradientBoostedTrees(path, "v1", 3, 0.0, new int[] {0}, thresholds,
+            new int[] {0, -1, -1}, new int[] {1, -1, -1}, new int[] {3, -1, -1});
+        assertThatThrownBy(() -> ConversionModelFormat.load(path)).hasMessageContaining("Invalid children");
+
+        ConversionModelFormat.writeGradientBoostedTrees(path, "v1", 3, 0.0, new int[] {0}, thresholds,
+            new int[] {3, -1, -1}, new int[] {1, -1, -1}, new int[] {2, -1, -1});
+        assertThatThrownBy(() -> ConversionModelFormat.load(path)).hasMessageContaining("Invalid feature");
+
+        ConversionModelFormat.writeGradientBoostedTrees(path, "v1", 3, 0.0, new int[] {3}, thresholds,
+            new int[] {0, -1, -1}, new int[] {1, -1, -1}, new int[] {2, -1, -1});
+        assertThatThrownBy(() -> ConversionModelFormat.load(path)).hasMessageContaining("Invalid root");
+    }
+
+    private static byte[] withInt(byte[] bytes, int offset, int value) {
+        byte[] copy = bytes.clone();
+        ByteBuffer.wrap(copy).order(ByteOrder.LITTLE_ENDIAN).putInt(offset, value);
+        return copy;
+    }
+}
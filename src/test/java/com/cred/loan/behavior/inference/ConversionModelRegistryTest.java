@@ -0,0 +1,107 @@
+package com.cred.loan.behavior.inference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConversionModelRegistryTest {
+    @TempDir
+    Path directory;
+
+    private Path writeModel(String name, String version, double intercept) throws IOException {
+        Path path = directory.resolve(name);
+        ConversionModelFormat.writeLogisticRegression(path, version, intercept, new double[ConversionFeatures.COUNT]);
+        return path;
+    }
+
+    @Test
+    void startsWithoutAModelWhenNoneIsConfigured() {
+        ConversionModelRegistry registry = new ConversionModelRegistry("");
+
+        assertThat(registry.getActiveModel()).isNull();
+        assertThat(registry.getModelPath()).isNull();
+        assertThatThrownBy(registry::reload).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void loadsTheConfiguredModel() throws IOException {
+        Path path = writeModel("model.bin", "v1", 0.0);
+
+        ConversionModelRegistry registry = new ConversionModelRegistry(path.toString());
+
+        assertThat(registry.getActiveModel().getVersion()).isEqualTo("v1");
+        assertThat(registry.getModelPath()).isEqualTo(path);
+    }
+
+    @Test
+    void swapsInANewVersionWrittenToTheSamePath() throws IOException {
+        Path path = writeModel("model.bin", "v1", 0.0);
+        ConversionModelRegistry registry = new ConversionModelRegistry(path.toString());
+        ConversionModel previous = registry.getActiveModel();
+
+        writeModel("model.bin", "v2", 1.0);
+        ConversionModel reloaded = registry.reload();
+
+        assertThat(reloaded.getVersion()).isEqualTo("v2");
+        assertThat(registry.getActiveModel()).isSameAs(reloaded);
+        // A scorer still holding the previous model keeps reading its own mapping
+        double[] features = new double[ConversionFeatures.COUNT];
+        assertThat(previous.getVersion()).isEqualTo("v1");
+        assertThat(previous.score(features, 0)).isEqualTo(0.5);
+        assertThat(reloaded.score(features, 0)).isGreaterThan(0.5);
+    }
+
+    @Test
+    void loadsAModelFromAnotherPath() throws IOException {
+        ConversionModelRegistry registry = new ConversionModelRegistry(writeModel("v1.bin", "v1", 0.0).toString());
+        Path next = writeModel("v2.bin", "v2", 0.0);
+
+        registry.load(next);
+
+        assertThat(registry.getActiveModel().getVersion()).isEqualTo("v2");
+        assertThat(registry.getModelPath()).isEqualTo(next);
+    }
+
+    @Test
+    void keepsTheActiveModelWhenANewVersionIsInvalid() throws IOException {
+        Path path = writeModel("model.bin", "v1", 0.0);
+        ConversionModelRegistry registry = new ConversionModelRegistry(path.toString());
+        ConversionModel active = registry.getActiveModel();
+
+        Files.writeString(path, "not a model");
+        assertThatThrownBy(registry::reload).isInstanceOf(IllegalArgumentException.class);
+
+        Path tooFewFeatures = directory.resolve("small.bin");
+        ConversionModelFormat.writeLogisticRegression(tooFewFeatures, "small", 0.0, new double[3]);
+        assertThatThrownBy(() -> registry.load(tooFewFeatures))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("expects 3 features");
+
+        assertThat(registry.getActiveModel()).isSameAs(active);
+        assertThat(registry.getModelPath()).isEqualTo(path);
+    }
+
+    @Test
+    void failsToStartWithAMissingModelFile() {
+        String missing = directory.resolve("missing.bin").toString();
+
+        assertThatThrownBy(() -> new ConversionModelRegistry(missing))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining(missing);
+    }
+
+    @Test
+    void revertsToHeuristicsWhenCleared() throws IOException {
+        ConversionModelRegistry registry = new ConversionModelRegistry(writeModel("model.bin", "v1", 0.0).toString());
+
+        registry.clear();
+
+        assertThat(registry.getActiveModel()).isNull();
+    }
+}
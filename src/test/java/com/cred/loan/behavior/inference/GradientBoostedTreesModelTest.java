@@ -0,0 +1,73 @@
+package com.cred.loan.behavior.inference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static com.cred.loan.behavior.inference.ConversionModelFormatTest.sigmoid;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class GradientBoostedTreesModelTest {
+    @TempDir
+    Path directory;
+
+    private ConversionModel model;
+
+    @BeforeEach
+    void loadModel() throws IOException {
+        Path path = directory.resolve("model.bin");
+        ConversionModelFormatTest.writeTwoTrees(path, "gbt-1");
+        model = ConversionModelFormat.load(path);
+    }
+
+    @Test
+    void sumsTheLeafOfEveryTreeOntoTheBaseScore() {
+        assertThat(model.score(new double[] {0.2, 0.1, 0.0}, 0)).isCloseTo(sigmoid(0.25 - 1.0 + 0.5), within(1e-12));
+        assertThat(model.score(new double[] {0.2, 0.9, 0.0}, 0)).isCloseTo(sigmoid(0.25 - 1.0 - 0.5), within(1e-12));
+        assertThat(model.score(new double[] {0.8, 0.1, 0.0}, 0)).isCloseTo(sigmoid(0.25 + 2.0 + 0.5), within(1e-12));
+    }
+
+    @Test
+    void goesLeftOnlyBelowTheThreshold() {
+        assertThat(model.score(new double[] {0.5, 0.3, 0.0}, 0)).isCloseTo(sigmoid(0.25 + 2.0 - 0.5), within(1e-12));
+    }
+
+    @Test
+    void sendsMissingValuesRight() {
+        assertThat(model.score(new double[] {Double.NaN, Double.NaN, 0.0}, 0))
+            .isCloseTo(sigmoid(0.25 + 2.0 - 0.5), within(1e-12));
+    }
+
+    @Test
+    void scoresAtAnOffsetAndInBatches() {
+        double[] rows = {
+            0.2, 0.1, 0.0,
+            0.8, 0.9, 0.0,
+            Double.NaN, 0.1, 0.0
+        };
+        double[] probabilities = new double[3];
+
+        model.scoreBatch(rows, 3, probabilities);
+
+        assertThat(probabilities[0]).isCloseTo(sigmoid(0.25 - 1.0 + 0.5), within(1e-12));
+        assertThat(probabilities[1]).isCloseTo(sigmoid(0.25 + 2.0 - 0.5), within(1e-12));
+        assertThat(probabilities[2]).isCloseTo(sigmoid(0.25 + 2.0 + 0.5), within(1e-12));
+        assertThat(model.score(rows, 3)).isEqualTo(probabilities[1]);
+        assertThatThrownBy(() -> model.scoreBatch(rows, 4, new double[4]))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void scoresTheBaseScoreWithoutTrees() throws IOException {
+        Path path = directory.resolve("empty.bin");
+        ConversionModelFormat.writeGradientBoostedTrees(path, "empty", 3, 1.5,
+            new int[0], new double[0], new int[0], new int[0], new int[0]);
+
+        assertThat(ConversionModelFormat.load(path).score(new double[3], 0)).isCloseTo(sigmoid(1.5), within(1e-12));
+    }
+}
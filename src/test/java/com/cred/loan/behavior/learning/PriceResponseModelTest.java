@@ -0,0 +1,183 @@
+package com.cred.loan.behavior.learning;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class PriceResponseModelTest {
+    private static final int MAGIC = 0x4C505352;
+
+    private static byte[] snapshot(PriceResponseModel model) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            model.writeTo(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void restore(PriceResponseModel model, byte[] snapshot) throws IOException {
+        model.readFrom(new DataInputStream(new ByteArrayInputStream(snapshot)));
+    }
+
+    private static byte[] header(int magic, int version, int segments) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(magic);
+            out.writeInt(version);
+            out.writeInt(segments);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void train(PriceResponseModel model, int segment, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            model.observe(segment, -0.2, true);
+            model.observe(segment, 0.2, false);
+        }
+    }
+
+    @Test
+    void startsNeutralAndIndependentOfPrice() {
+        PriceResponseModel model = new PriceResponseModel(4, 0.1, 0.0);
+
+        assertThat(model.acceptanceProbability(0, -0.5)).isEqualTo(0.5);
+        assertThat(model.acceptanceProbability(0, 0.5)).isEqualTo(0.5);
+        assertThat(model.sensitivity(0)).isEqualTo(0.5);
+        assertThat(model.observations(0)).isZero();
+    }
+
+    @Test
+    void takesOneLogisticGradientStepPerDecision() {
+        PriceResponseModel model = new PriceResponseModel(1, 0.1, 0.0);
+
+        model.observe(0, 0.5, true);
+
+        // error = 1 - 0.5; intercept += 0.1 * 0.5, slope += 0.1 * 0.5 * 0.5
+        assertThat(model.acceptanceProbability(0, 0.0)).isCloseTo(sigmoid(0.05), within(1e-12));
+        assertThat(model.sensitivity(0)).isCloseTo(sigmoid(-0.025), within(1e-12));
+        assertThat(model.observations(0)).isEqualTo(1);
+    }
+
+    @Test
+    void shrinksTheSlopeByTheL2Penalty() {
+        PriceResponseModel model = new PriceResponseModel(1, 0.1, 0.5);
+        train(model, 0, 50);
+        double slope = -logit(model.sensitivity(0));
+
+        // At the reference price the error does not move the slope, only the penalty does
+        model.observe(0, 0.0, true);
+
+        assertThat(-logit(model.sensitivity(0))).isCloseTo(slope * (1 - 0.1 * 0.5), within(1e-9));
+    }
+
+    @Test
+    void learnsThatAcceptanceFallsWithPrice() {
+        PriceResponseModel model = new PriceResponseModel(4, 0.1, 0.0);
+
+        train(model, 2, 500);
+
+        assertThat(model.sensitivity(2)).isGreaterThan(0.9);
+        assertThat(model.acceptanceProbability(2, -0.2)).isGreaterThan(0.75);
+        assertThat(model.acceptanceProbability(2, 0.2)).isLessThan(0.25);
+        assertThat(model.observations(2)).isEqualTo(1_000);
+        // Other segments keep their priors
+        assertThat(model.sensitivity(1)).isEqualTo(0.5);
+        assertThat(model.observations(1)).isZero();
+    }
+
+    @Test
+    void losesNoObservationsUnderConcurrentUpdates() throws InterruptedException {
+        PriceResponseModel model = new PriceResponseModel(2, 0.01, 0.001);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            executor.execute(() -> train(model, 0, 10_000));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(model.observations(0)).isEqualTo(80_000);
+        assertThat(model.sensitivity(0)).isBetween(0.5, 1.0);
+    }
+
+    @Test
+    void restoresParametersAndCountsFromASnapshot() throws IOException {
+        PriceResponseModel model = new PriceResponseModel(3, 0.1, 0.0);
+        train(model, 1, 100);
+        model.observe(2, 0.3, true);
+
+        PriceResponseModel restored = new PriceResponseModel(3, 0.1, 0.0);
+        restore(restored, snapshot(model));
+
+        for (int segment = 0; segment < 3; segment++) {
+            assertThat(restored.sensitivity(segment)).isEqualTo(model.sensitivity(segment));
+            assertThat(restored.acceptanceProbability(segment, 0.1))
+                .isEqualTo(model.acceptanceProbability(segment, 0.1));
+            assertThat(restored.observations(segment)).isEqualTo(model.observations(segment));
+        }
+    }
+
+    @Test
+    void rejectsCorruptSnapshotsAndKeepsItsParameters() throws IOException {
+        PriceResponseModel model = new PriceResponseModel(2, 0.1, 0.0);
+        train(model, 0, 100);
+        byte[] valid = snapshot(model);
+        PriceResponseModel other = new PriceResponseModel(2, 0.1, 0.0);
+        other.observe(0, 0.1, false);
+        double sensitivity = other.sensitivity(0);
+
+        assertThatThrownBy(() -> restore(other, header(0x12345678, 1, 2)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Not a price response snapshot");
+        assertThatThrownBy(() -> restore(other, header(MAGIC, 2, 2)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("version");
+        assertThatThrownBy(() -> restore(other, header(MAGIC, 1, 3)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Expected 2 segments");
+        assertThatThrownBy(() -> restore(other, Arrays.copyOf(valid, valid.length - 4)))
+            .isInstanceOf(EOFException.class);
+
+        // Segment 1's intercept is overwritten with NaN; segment 0 was already read
+        byte[] notFinite = valid.clone();
+        long nan = Double.doubleToRawLongBits(Double.NaN);
+        int offset = 12 + 24;
+        for (int i = 0; i < 8; i++) {
+            notFinite[offset + i] = (byte) (nan >>> (56 - 8 * i));
+        }
+        assertThatThrownBy(() -> restore(other, notFinite))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("segment: 1");
+
+        assertThat(other.sensitivity(0)).isEqualTo(sensitivity);
+        assertThat(other.observations(0)).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new PriceResponseModel(0, 0.1, 0.0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PriceResponseModel(4, 0.0, 0.0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static double sigmoid(double x) {
+        return 1.0 / (1.0 + Math.exp(-x));
+    }
+
+    private static double logit(double p) {
+        return Math.log(p / (1.0 - p));
+    }
+}
@@ -0,0 +1,217 @@
+package com.cred.loan.behavior.learning;
+
+import com.cred.loan.behavior.model.PriceSensitivity;
+import com.cred.loan.core.model.OfferIds;
+import com.cred.loan.core.model.OfferInteraction;
+import com.cred.loan.core.model.RankedOffer;
+import com.cred.loan.core.model.UserData;
+import com.cred.loan.core.model.impl.BaseOfferImpl;
+import com.cred.loan.core.model.impl.OptimizedOfferImpl;
+import com.cred.loan.core.model.impl.RankedOfferImpl;
+import com.cred.loan.core.model.impl.UserDataImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class PriceSensitivityLearnerTest {
+    private static final double REFERENCE_ROI = 18.0;
+    private static final double PRIOR_OBSERVATIONS = 10;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UserData user = new UserDataImpl("user-1", 720.0, 1_200_000.0, 150_000.0, 34, "permanent", 48,
+        "Pune", "android");
+    private final int segment = PriceSegments.of(user);
+
+    @TempDir
+    Path directory;
+
+    private PriceSensitivityLearner learner(String snapshotPath) {
+        return new PriceSensitivityLearner(registry, 0.5, 0.0, REFERENCE_ROI, PRIOR_OBSERVATIONS, 60, 100,
+            snapshotPath, 3_600);
+    }
+
+    /**
+     * Offers in rank order at the given rates.
+     */
+    private static List<RankedOffer> offers(double... rois) {
+        List<RankedOffer> offers = new ArrayList<>();
+        for (double roi : rois) {
+            BaseOfferImpl base = new BaseOfferImpl(100_000.0, 12, roi, 2_000.0);
+            offers.add(new RankedOfferImpl(new OptimizedOfferImpl(base, roi, 0.0, 0.4), 1.0, offers.size() + 1));
+        }
+        return offers;
+    }
+
+    private static OfferInteraction decision(String requestId, int rank, String type) {
+        return new OfferInteraction(OfferIds.of(requestId, rank), type, LocalDateTime.now());
+    }
+
+    private double count(String name, String... tags) {
+        return registry.get(name).tags(tags).counter().count();
+    }
+
+    @Test
+    void labelsTheDecisionWithTheRateOfTheOfferDecidedOn() {
+        PriceSensitivityLearner cheapAccepted = learner("");
+        cheapAccepted.recordExposure("user-1", segment, "req-1", offers(9.0, 27.0));
+        cheapAccepted.onInteraction("user-1", decision("req-1", 1, "accept"));
+
+        PriceSensitivityLearner dearAccepted = learner("");
+        dearAccepted.recordExposure("user-1", segment, "req-1", offers(9.0, 27.0));
+        dearAccepted.onInteraction("user-1", decision("req-1", 2, "accepted"));
+
+        // Accepting the cheaper offer (-50%) teaches sensitivity, the dearer one (+50%) the opposite
+        assertThat(cheapAccepted.estimate(user).getSensitivity()).isGreaterThan(0.5);
+        assertThat(dearAccepted.estimate(user).getSensitivity()).isLessThan(0.5);
+        assertThat(count("loan.behavior.price.updates", "outcome", "accepted")).isEqualTo(2.0);
+    }
+
+    @Test
+    void learnsFromRejections() {
+        PriceSensitivityLearner learner = learner("");
+        learner.recordExposure("user-1", segment, "req-1", offers(27.0));
+
+        learner.onInteraction("user-1", decision("req-1", 1, "dismissed"));
+
+        // Rejecting a dear offer also points to price sensitivity
+        assertThat(learner.estimate(user).getSensitivity()).isGreaterThan(0.5);
+        assertThat(count("loan.behavior.price.updates", "outcome", "rejected")).isEqualTo(1.0);
+    }
+
+    @Test
+    void labelsEachExposureOnce() {
+        PriceSensitivityLearner learner = learner("");
+        learner.recordExposure("user-1", segment, "req-1", offers(9.0, 27.0));
+
+        learner.onInteraction("user-1", decision("req-1", 1, "accept"));
+        learner.onInteraction("user-1", decision("req-1", 2, "reject"));
+
+        assertThat(learner.estimate(user).getConfidence()).isCloseTo(1 / 11.0, within(1e-12));
+        assertThat(count("loan.behavior.price.unmatched")).isEqualTo(1.0);
+    }
+
+    @Test
+    void countsDecisionsThatMatchNoExposureAsUnmatched() {
+        PriceSensitivityLearner learner = learner("");
+        learner.onInteraction("user-1", decision("req-1", 1, "accept"));
+        learner.recordExposure("user-1", segment, "req-2", offers(9.0, 27.0));
+
+        learner.onInteraction("user-1", decision("req-1", 1, "accept"));
+        learner.onInteraction("user-1", decision("req-2", 3, "accept"));
+        learner.onInteraction("user-1", new OfferInteraction("req-2", "accept", LocalDateTime.now()));
+        learner.onInteraction("user-2", decision("req-2", 1, "accept"));
+
+        assertThat(count("loan.behavior.price.unmatched")).isEqualTo(5.0);
+        assertThat(learner.estimate(user).getConfidence()).isZero();
+
+        // The exposure is still pending for a decision that matches it
+        learner.onInteraction("user-1", decision("req-2", 2, "accept"));
+        assertThat(learner.estimate(user).getConfidence()).isGreaterThan(0.0);
+    }
+
+    @Test
+    void replacesAnEarlierExposureOfTheSameUser() {
+        PriceSensitivityLearner learner = learner("");
+        learner.recordExposure("user-1", segment, "req-1", offers(9.0));
+        learner.recordExposure("user-1", segment, "req-2", offers(27.0));
+
+        learner.onInteraction("user-1", decision("req-1", 1, "accept"));
+        learner.onInteraction("user-1", decision("req-2", 1, "accept"));
+
+        assertThat(count("loan.behavior.price.unmatched")).isEqualTo(1.0);
+        assertThat(learner.estimate(user).getSensitivity()).isLessThan(0.5);
+    }
+
+    @Test
+    void ignoresViewsAndClicks() {
+        PriceSensitivityLearner learner = learner("");
+        learner.recordExposure("user-1", segment, "req-1", offers(9.0));
+
+        learner.onInteraction("user-1", decision("req-1", 1, "view"));
+        learner.onInteraction("user-1", decision("req-1", 1, "click"));
+        learner.onInteraction("user-1", decision("req-1", 1, "share"));
+
+        assertThat(learner.estimate(user).getConfidence()).isZero();
+        assertThat(count("loan.behavior.price.unmatched")).isZero();
+        learner.onInteraction("user-1", decision("req-1", 1, "accept"));
+        assertThat(learner.estimate(user).getConfidence()).isGreaterThan(0.0);
+    }
+
+    @Test
+    void blendsInTheLearnedSensitivityByTheEvidenceBehindIt() {
+        PriceSensitivityLearner learner = learner("");
+        assertThat(learner.blend(user, 0.2)).isEqualTo(0.2);
+
+        for (int i = 0; i < 30; i++) {
+            learner.observe(user, 12.0, true);
+            learner.observe(user, 24.0, false);
+        }
+        PriceSensitivity learned = learner.estimate(user);
+
+        // 60 observations against a prior of 10
+        assertThat(learned.getConfidence()).isCloseTo(60 / 70.0, within(1e-12));
+        assertThat(learner.blend(user, 0.2))
+            .isCloseTo(0.2 + (learned.getSensitivity() - 0.2) * 60 / 70.0, within(1e-12));
+        assertThat(learner.blend(user, 0.2)).isBetween(0.2, learned.getSensitivity());
+    }
+
+    @Test
+    void restoresTheModelFromItsSnapshot() throws IOException {
+        Path path = directory.resolve("price.bin");
+        PriceSensitivityLearner learner = learner(path.toString());
+        for (int i = 0; i < 20; i++) {
+            learner.observe(user, 12.0, true);
+        }
+        learner.snapshot();
+        learner.shutdown();
+
+        PriceSensitivityLearner restored = learner(path.toString());
+
+        assertThat(restored.estimate(user).getSensitivity()).isEqualTo(learner.estimate(user).getSensitivity());
+        assertThat(restored.estimate(user).getConfidence()).isEqualTo(learner.estimate(user).getConfidence());
+        assertThat(Files.exists(directory.resolve("price.bin.tmp"))).isFalse();
+        restored.shutdown();
+    }
+
+    @Test
+    void writesASnapshotOnShutdown() {
+        Path path = directory.resolve("price.bin");
+        PriceSensitivityLearner learner = learner(path.toString());
+        learner.observe(user, 12.0, true);
+
+        learner.shutdown();
+
+        PriceSensitivityLearner restored = learner(path.toString());
+        assertThat(restored.estimate(user).getConfidence()).isCloseTo(1 / 11.0, within(1e-12));
+        restored.shutdown();
+    }
+
+    @Test
+    void startsFromThePriorsWhenTheSnapshotIsCorrupt() throws IOException {
+        Path path = directory.resolve("price.bin");
+        Files.writeString(path, "not a snapshot");
+
+        PriceSensitivityLearner learner = learner(path.toString());
+
+        assertThat(learner.estimate(user).getSensitivity()).isEqualTo(0.5);
+        assertThat(learner.estimate(user).getConfidence()).isZero();
+        assertThat(count("loan.behavior.price.restore.failed")).isEqualTo(1.0);
+        learner.shutdown();
+    }
+
+    @Test
+    void snapshotsOnlyWithAPathConfigured() {
+        assertThatThrownBy(learner("")::snapshot).isInstanceOf(IllegalStateException.class);
+    }
+}
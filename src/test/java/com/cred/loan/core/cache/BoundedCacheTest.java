@@ -0,0 +1,92 @@
+package com.cred.loan.core.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedCacheTest {
+    private final AtomicLong now = new AtomicLong();
+    private final List<String> evicted = new ArrayList<>();
+
+    private BoundedCache<String, String> cache(int maximumSize, boolean refreshOnAccess) {
+        return new BoundedCache<>(maximumSize, Duration.ofNanos(100), refreshOnAccess,
+            now::get, (key, value) -> evicted.add(key));
+    }
+
+    @Test
+    void dropsOldestEntryWhenFull() {
+        BoundedCache<String, String> cache = cache(2, false);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("c")).isEqualTo("3");
+        assertThat(evicted).containsExactly("a");
+    }
+
+    @Test
+    void expiresEntriesAfterWrite() {
+        BoundedCache<String, String> cache = cache(10, false);
+        cache.put("a", "1");
+        now.addAndGet(50);
+        assertThat(cache.get("a")).isEqualTo("1");
+        now.addAndGet(50);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(evicted).containsExactly("a");
+    }
+
+    @Test
+    void readsRestartExpiryWhenRefreshingOnAccess() {
+        BoundedCache<String, String> cache = cache(2, true);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        now.addAndGet(60);
+        cache.get("a");
+        now.addAndGet(60);
+
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("b")).isNull();
+    }
+
+    @Test
+    void keepsPlaceOfUnchangedValueOnCompute() {
+        BoundedCache<String, String> cache = cache(2, false);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.compute("a", (key, previous) -> previous);
+        cache.put("c", "3");
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo("2");
+    }
+
+    @Test
+    void doesNotNotifyForExplicitRemoval() {
+        BoundedCache<String, String> cache = cache(2, false);
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        assertThat(cache.remove("a", "other")).isFalse();
+        assertThat(cache.remove("a")).isEqualTo("1");
+        cache.compute("b", (key, previous) -> null);
+        assertThat(cache.size()).isZero();
+        assertThat(evicted).isEmpty();
+    }
+
+    @Test
+    void rejectsInvalidBounds() {
+        assertThatThrownBy(() -> new BoundedCache<String, String>(0, Duration.ofSeconds(1), false))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BoundedCache<String, String>(1, Duration.ZERO, false))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
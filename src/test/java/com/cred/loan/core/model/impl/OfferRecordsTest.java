@@ -0,0 +1,92 @@
+package com.cred.loan.core.model.impl;
+
+import com.cred.loan.core.model.BaseOffer;
+import com.cred.loan.core.model.OfferData;
+import com.cred.loan.core.model.OptimizedOffer;
+import com.cred.loan.core.model.RankedOffer;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OfferRecordsTest {
+    private final BaseOffer base = new BaseOfferImpl(150_000.0, 24, 13.5, 1.25);
+
+    @Test
+    void exposeTheSameTermsThroughBoxedAndPrimitiveAccessors() {
+        OptimizedOffer optimized = new OptimizedOfferImpl(base, 12.75, 1.0, 18, 0.2, 0.65);
+        RankedOffer ranked = new RankedOfferImpl(optimized, 0.8, 2);
+
+        assertThat(base.getAmount()).isEqualTo(base.amount());
+        assertThat(base.getTenure()).isEqualTo(base.tenure());
+        assertThat(base.getROI()).isEqualTo(base.roi());
+        assertThat(base.getProcessingFee()).isEqualTo(base.processingFee());
+        assertThat(optimized.getAdjustedROI()).isEqualTo(12.75);
+        assertThat(optimized.adjustedProcessingFee()).isEqualTo(1.0);
+        assertThat(optimized.adjustedTenure()).isEqualTo(18);
+        assertThat(optimized.getRiskImpact()).isEqualTo(optimized.riskImpact());
+        assertThat(optimized.getConversionProbability()).isEqualTo(optimized.conversionProbability());
+        assertThat(ranked.getScore()).isEqualTo(ranked.score());
+        assertThat(ranked.getRank()).isEqualTo(ranked.rank());
+    }
+
+    @Test
+    void keepsTheBaseFeeAndTenureUnlessAdjusted() {
+        OptimizedOffer optimized = new OptimizedOfferImpl(base, 12.75, 0.2, 0.65);
+
+        assertThat(optimized.adjustedProcessingFee()).isEqualTo(1.25);
+        assertThat(optimized.adjustedTenure()).isEqualTo(24);
+    }
+
+    @Test
+    void compareByValue() {
+        OptimizedOffer first = new OptimizedOfferImpl(base, 12.75, 0.2, 0.65);
+        OptimizedOffer second = new OptimizedOfferImpl(new BaseOfferImpl(150_000.0, 24, 13.5, 1.25), 12.75, 0.2, 0.65);
+
+        assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+        assertThat(new RankedOfferImpl(first, 0.8, 1)).isNotEqualTo(new RankedOfferImpl(first, 0.8, 2));
+    }
+
+    @Test
+    void primitiveAccessorsDefaultToTheBoxedGetters() {
+        // An implementation written against the original interface only
+        BaseOffer legacy = new BaseOffer() {
+            @Override
+            public Double getAmount() {
+                return 50_000.0;
+            }
+
+            @Override
+            public Integer getTenure() {
+                return 6;
+            }
+
+            @Override
+            public Double getROI() {
+                return 16.0;
+            }
+
+            @Override
+            public Double getProcessingFee() {
+                return 2.0;
+            }
+        };
+
+        assertThat(legacy.amount()).isEqualTo(50_000.0);
+        assertThat(legacy.tenure()).isEqualTo(6);
+        assertThat(legacy.roi()).isEqualTo(16.0);
+        assertThat(legacy.processingFee()).isEqualTo(2.0);
+    }
+
+    @Test
+    void offerDataKeepsBaseAndAdjustedRates() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 10, 0);
+        OfferData data = new OfferDataImpl("offer-1", "user-1", 150_000.0, 24, 13.5, 12.75, 1.25, 0.3, 0.65, createdAt);
+
+        assertThat(data.getBaseROI()).isEqualTo(data.baseRoi()).isEqualTo(13.5);
+        assertThat(data.getAdjustedROI()).isEqualTo(data.adjustedRoi()).isEqualTo(12.75);
+        assertThat(data.getTenure()).isEqualTo(24);
+        assertThat(data.getCreatedAt()).isEqualTo(createdAt);
+    }
+}
@@ -0,0 +1,160 @@
+package com.cred.loan.core.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimitTest {
+    private static final long MS = 1_000_000L;
+
+    private long now;
+
+    /**
+     * Feeds a run admitted at the current time that took the given latency,
+     * then moves the clock past it.
+     */
+    private void sample(AdaptiveConcurrencyLimit limit, long rttNanos, int inFlight, boolean dropped) {
+        limit.onSample(now, rttNanos, inFlight, dropped);
+        now += rttNanos;
+    }
+
+    @Test
+    void growsWhileLatencyStaysAtTheNoLoadLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, 0.9);
+
+        for (int i = 0; i < 50; i++) {
+            sample(limit, 10 * MS, limit.getLimit(), false);
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(40);
+    }
+
+    @Test
+    void growsByAboutTheSquareRootPerRun() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 4, 200, 0.9);
+
+        sample(limit, 10 * MS, 100, false);
+
+        // 0.8 * 100 + 0.2 * (100 + sqrt(100))
+        assertThat(limit.getLimit()).isEqualTo(102);
+    }
+
+    @Test
+    void doesNotGrowWhileMostPermitsAreUnused() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, 0.9);
+
+        for (int i = 0; i < 50; i++) {
+            sample(limit, 10 * MS, 9, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void shrinksAsQueueingInflatesLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 4, 200, 0.9);
+        sample(limit, 10 * MS, 100, false);
+        int grown = limit.getLimit();
+
+        // Within twice the no-load latency the limit still grows
+        sample(limit, 15 * MS, grown, false);
+        assertThat(limit.getLimit()).isGreaterThan(grown);
+
+        for (int i = 0; i < 20; i++) {
+            sample(limit, 60 * MS, limit.getLimit(), false);
+        }
+        assertThat(limit.getLimit()).isLessThan(grown / 2);
+    }
+
+    @Test
+    void shrinksByAtMostATenthPerRun() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 4, 200, 0.9);
+        sample(limit, 10 * MS, 100, false);
+        int before = limit.getLimit();
+
+        sample(limit, 10_000 * MS, before, false);
+
+        // The gradient is floored at one half, smoothed to 0.8 + 0.2 * 0.5
+        assertThat(limit.getLimit()).isEqualTo((int) (before * 0.9));
+    }
+
+    @Test
+    void backsOffOnAFailedOrDegradedRun() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, 0.5);
+
+        sample(limit, 10 * MS, 20, true);
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void runsInFlightAtABackoffDoNotCutAgain() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 4, 200, 0.5);
+        limit.onSample(0, 10 * MS, 40, true);
+        assertThat(limit.getLimit()).isEqualTo(20);
+
+        // Admitted before the first dropped run completed at 10 ms
+        limit.onSample(2 * MS, 12 * MS, 40, true);
+        limit.onSample(9 * MS, 5 * MS, 40, true);
+        assertThat(limit.getLimit()).isEqualTo(20);
+
+        // Admitted after it, so it ran under the cut limit
+        limit.onSample(11 * MS, 10 * MS, 20, true);
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void staysWithinItsBounds() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 5, 12, 0.5);
+
+        for (int i = 0; i < 5; i++) {
+            sample(limit, 10 * MS, 12, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(5);
+
+        for (int i = 0; i < 100; i++) {
+            sample(limit, 10 * MS, 12, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(12);
+    }
+
+    @Test
+    void reprobesTheNoLoadLatencyEveryWindow() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 4, 200, 0.9);
+        sample(limit, MS, 100, false);
+
+        // The backend slowed down for good; against the old minimum this looks like queueing
+        for (int i = 1; i < 1000; i++) {
+            sample(limit, 10 * MS, 100, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(4);
+
+        // The next window starts from the new latency and lets the limit recover
+        for (int i = 0; i < 100; i++) {
+            sample(limit, 10 * MS, 200, false);
+        }
+        assertThat(limit.getLimit()).isGreaterThan(50);
+    }
+
+    @Test
+    void ignoresRunsWithoutALatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, 0.5);
+
+        limit.onSample(now, 0, 20, true);
+
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void rejectsInconsistentConfiguration() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(20, 0, 200, 0.9))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(2, 4, 200, 0.9))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(20, 4, 10, 0.9))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(20, 4, 200, 1.0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,83 @@
+package com.cred.loan.core.service.impl;
+
+import com.cred.loan.behavior.aggregate.BehaviorAggregateStore;
+import com.cred.loan.core.model.LoanCalculator;
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.model.OfferCacheLookup;
+import com.cred.loan.core.model.PageView;
+import com.cred.loan.core.service.OfferPrecomputeService;
+import com.cred.loan.core.service.OfferResponseCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BehaviorEventServiceImplTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private final List<String> calls = new ArrayList<>();
+    private final CompletableFuture<Void> invalidation = new CompletableFuture<>();
+    private final BehaviorAggregateStore aggregateStore = new BehaviorAggregateStore(
+        null, 168, 60, 100, Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    private final OfferResponseCache responseCache = new OfferResponseCache() {
+        @Override
+        public CompletableFuture<OfferCacheLookup> get(LoanOfferRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Void> put(LoanOfferRequest request, LoanOfferResponse response,
+                                           OfferCacheLookup lookup) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Void> invalidate(String userId) {
+            calls.add("invalidate " + userId);
+            return invalidation;
+        }
+    };
+    private final OfferPrecomputeService precomputeService = new OfferPrecomputeService() {
+        @Override
+        public void onPageView(String userId, PageView pageView) {
+            calls.add("page view " + userId);
+        }
+
+        @Override
+        public void onLoanCalculator(String userId, LoanCalculator calculator) {
+            calls.add("calculator " + userId);
+        }
+    };
+    private final BehaviorEventServiceImpl service =
+        new BehaviorEventServiceImpl(aggregateStore, precomputeService, responseCache, null, null);
+
+    @Test
+    void triggersPrecomputeOnlyAfterCachedOffersAreInvalidated() {
+        service.onPageView("u1", new PageView("offers", "view", Map.of(), NOW));
+
+        assertThat(aggregateStore.snapshot("u1").pageViews()).isEqualTo(1.0);
+        assertThat(calls).containsExactly("invalidate u1");
+
+        invalidation.complete(null);
+
+        assertThat(calls).containsExactly("invalidate u1", "page view u1");
+    }
+
+    @Test
+    void invalidatesBeforeCalculatorPrecompute() {
+        invalidation.complete(null);
+
+        service.onLoanCalculator("u1", new LoanCalculator(200_000.0, 24, 12.0, NOW));
+
+        assertThat(aggregateStore.snapshot("u1").calculatorUses()).isEqualTo(1.0);
+        assertThat(calls).containsExactly("invalidate u1", "calculator u1");
+    }
+}
@@ -0,0 +1,181 @@
+package com.cred.loan.core.service.impl;
+
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.pipeline.Deadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoalescingOfferGenerationServiceTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<Run> runs = new ArrayList<>();
+    private RuntimeException thrown;
+    private final CachingOfferGenerationService delegate =
+        new CachingOfferGenerationService(null, null, registry, 20) {
+            @Override
+            public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request) {
+                return generateOffers(request, null);
+            }
+
+            @Override
+            public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request, Deadline deadline) {
+                if (thrown != null) {
+                    throw thrown;
+                }
+                Run run = new Run(request, deadline, new CompletableFuture<>());
+                runs.add(run);
+                return run.response();
+            }
+        };
+    private final CoalescingOfferGenerationService service = new CoalescingOfferGenerationService(delegate, registry);
+
+    private static LoanOfferRequest request(String userId) {
+        return new LoanOfferRequest(userId, 100_000.0, 12, "EDUCATION", "app");
+    }
+
+    private static LoanOfferResponse response() {
+        return new LoanOfferResponse(List.of(), "pipeline-id", 5);
+    }
+
+    private double inFlight() {
+        return registry.get("loan.offers.in.flight").gauge().value();
+    }
+
+    private double count(String name) {
+        return registry.get(name).counter().count();
+    }
+
+    @Test
+    void sharesOneRunBetweenIdenticalRequests() {
+        Deadline deadline = Deadline.after(Duration.ofSeconds(1));
+        CompletableFuture<LoanOfferResponse> first = service.generateOffers(request("u1"), deadline);
+        CompletableFuture<LoanOfferResponse> second = service.generateOffers(request("u1"));
+
+        assertThat(runs).hasSize(1);
+        // The first caller's deadline bounds the shared run
+        assertThat(runs.get(0).deadline()).isSameAs(deadline);
+        assertThat(inFlight()).isEqualTo(1.0);
+
+        runs.get(0).response().complete(response());
+
+        assertThat(first.join().getOffers()).isSameAs(second.join().getOffers());
+        assertThat(first.join().getGenerationTimeMillis()).isEqualTo(5);
+    }
+
+    @Test
+    void givesEveryCallerItsOwnRequestId() {
+        CompletableFuture<LoanOfferResponse> first = service.generateOffers(request("u1"));
+        CompletableFuture<LoanOfferResponse> second = service.generateOffers(request("u1"));
+        runs.get(0).response().complete(response());
+
+        assertThat(first.join().getRequestId())
+            .isNotEqualTo("pipeline-id")
+            .isNotEqualTo(second.join().getRequestId());
+        assertThat(second.join().getRequestId()).isNotEqualTo("pipeline-id");
+    }
+
+    @Test
+    void runsDifferentRequestsSeparately() {
+        service.generateOffers(request("u1"));
+        service.generateOffers(request("u2"));
+        service.generateOffers(new LoanOfferRequest("u1", 100_000.0, 24, "EDUCATION", "app"));
+
+        assertThat(runs).hasSize(3);
+        assertThat(inFlight()).isEqualTo(3.0);
+    }
+
+    @Test
+    void startsAFreshRunOnceTheSharedOneCompletes() {
+        service.generateOffers(request("u1"));
+        runs.get(0).response().complete(response());
+
+        assertThat(inFlight()).isZero();
+
+        service.generateOffers(request("u1"));
+        assertThat(runs).hasSize(2);
+    }
+
+    @Test
+    void failsEveryCallerAndForgetsAFailedRun() {
+        CompletableFuture<LoanOfferResponse> first = service.generateOffers(request("u1"));
+        CompletableFuture<LoanOfferResponse> second = service.generateOffers(request("u1"));
+
+        runs.get(0).response().completeExceptionally(new IllegalStateException("pipeline failed"));
+
+        assertThatThrownBy(first::join).isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(second::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(inFlight()).isZero();
+
+        service.generateOffers(request("u1"));
+        assertThat(runs).hasSize(2);
+    }
+
+    @Test
+    void forgetsARunWhoseDelegateThrows() {
+        thrown = new IllegalStateException("rejected synchronously");
+
+        CompletableFuture<LoanOfferResponse> result = service.generateOffers(request("u1"));
+
+        assertThatThrownBy(result::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void keepsTheSharedRunWhenOneCallerCancels() {
+        CompletableFuture<LoanOfferResponse> first = service.generateOffers(request("u1"));
+        CompletableFuture<LoanOfferResponse> second = service.generateOffers(request("u1"));
+
+        first.cancel(true);
+
+        assertThat(runs.get(0).response()).isNotCancelled();
+        runs.get(0).response().complete(response());
+        assertThat(second.join().getOffers()).isEmpty();
+    }
+
+    @Test
+    void countsRequestsAndCoalescedDuplicates() {
+        service.generateOffers(request("u1"));
+        service.generateOffers(request("u1"));
+        service.generateOffers(request("u1"));
+        service.generateOffers(request("u2"));
+
+        assertThat(count("loan.offers.requests")).isEqualTo(4.0);
+        assertThat(count("loan.offers.coalesced")).isEqualTo(2.0);
+        assertThat(registry.get("loan.offers.coalescing.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void sharesWithSpeculativeRequestsButLeavesThemOutOfTheMetrics() {
+        service.generateOffers(request("u1").asSpeculative());
+        CompletableFuture<LoanOfferResponse> user = service.generateOffers(request("u1"));
+        service.generateOffers(request("u1").asSpeculative());
+
+        assertThat(runs).hasSize(1);
+        assertThat(count("loan.offers.requests")).isEqualTo(1.0);
+        assertThat(count("loan.offers.coalesced")).isEqualTo(1.0);
+
+        runs.get(0).response().complete(response());
+        assertThat(user.join().getOffers()).isEmpty();
+    }
+
+    @Test
+    void reportsNoCoalescingBeforeAnyRequest() {
+        assertThat(service.coalescingRatio()).isZero();
+    }
+
+    /**
+     * A pipeline run handed to the delegate, completed by the test.
+     */
+    private record Run(LoanOfferRequest request, Deadline deadline, CompletableFuture<LoanOfferResponse> response) {
+    }
+}
@@ -0,0 +1,259 @@
+package com.cred.loan.core.service.impl;
+
+import com.cred.loan.core.exception.OfferGenerationRejectedException;
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.pipeline.Deadline;
+import com.cred.loan.core.pipeline.PipelineStage;
+import com.cred.loan.core.pipeline.RequestPriority;
+import com.cred.loan.core.pipeline.StageBudgets;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LimitingOfferGenerationServiceTest {
+    private static final long MS = 1_000_000L;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+    private final BlockingQueue<Run> runs = new LinkedBlockingQueue<>();
+    private final OfferGenerationServiceImpl delegate =
+        new OfferGenerationServiceImpl(null, null, null, null, null, null, null, null, null, null) {
+            @Override
+            public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request, Deadline deadline) {
+                Run run = new Run(request, new CompletableFuture<>());
+                runs.add(run);
+                return run.response();
+            }
+
+            @Override
+            public LoanOfferResponse degradedOffers(LoanOfferRequest request) {
+                return response(EnumSet.allOf(PipelineStage.class));
+            }
+        };
+
+    private static StageBudgets budgets(Duration total) {
+        Map<PipelineStage, Duration> stages = new EnumMap<>(PipelineStage.class);
+        for (PipelineStage stage : PipelineStage.values()) {
+            stages.put(stage, total);
+        }
+        return new StageBudgets(total, stages);
+    }
+
+    private static LoanOfferResponse response(Set<PipelineStage> degradedStages) {
+        return new LoanOfferResponse(List.of(), "response", 0, null, Collections.emptySet(), degradedStages);
+    }
+
+    private static LoanOfferRequest request(String userId, String source) {
+        return new LoanOfferRequest(userId, 100_000.0, 12, "EDUCATION", source);
+    }
+
+    private LimitingOfferGenerationService service(int initialLimit, long maxQueueWaitMillis, int maxQueued) {
+        return new LimitingOfferGenerationService(delegate, budgets(Duration.ofSeconds(30)), registry,
+            initialLimit, 1, 100, 0.5, new String[] {"app"}, new String[] {"batch", " Partner "}, 0.5,
+            maxQueueWaitMillis, maxQueued, now::get);
+    }
+
+    private Run nextRun() throws InterruptedException {
+        Run run = runs.poll(5, TimeUnit.SECONDS);
+        assertThat(run).as("a pipeline run").isNotNull();
+        return run;
+    }
+
+    private double rejections(String priority) {
+        return registry.get("loan.offers.limiter.rejections").tag("priority", priority).counter().count();
+    }
+
+    private double inFlight() {
+        return registry.get("loan.offers.limiter.in.flight").gauge().value();
+    }
+
+    @Test
+    void classesRequestsBySourceAndSpeculation() {
+        LimitingOfferGenerationService service = service(4, 0, 0);
+
+        assertThat(service.priorityOf(request("u1", "APP"))).isEqualTo(RequestPriority.CRITICAL);
+        assertThat(service.priorityOf(request("u1", "partner"))).isEqualTo(RequestPriority.SHEDDABLE);
+        assertThat(service.priorityOf(request("u1", "web"))).isEqualTo(RequestPriority.STANDARD);
+        assertThat(service.priorityOf((String) null)).isEqualTo(RequestPriority.STANDARD);
+        assertThat(service.priorityOf(request("u1", "app").asSpeculative())).isEqualTo(RequestPriority.SHEDDABLE);
+    }
+
+    @Test
+    void servesDegradedOffersToCriticalAndStandardRequestsOverTheLimit() {
+        LimitingOfferGenerationService service = service(2, 0, 0);
+        service.generateOffers(request("u1", "app"));
+        service.generateOffers(request("u2", "web"));
+
+        CompletableFuture<LoanOfferResponse> critical = service.generateOffers(request("u3", "app"));
+        CompletableFuture<LoanOfferResponse> standard = service.generateOffers(request("u4", "web"));
+
+        assertThat(runs).hasSize(2);
+        assertThat(critical.join().isDegraded()).isTrue();
+        assertThat(standard.join().isDegraded()).isTrue();
+        assertThat(rejections("critical")).isEqualTo(1.0);
+        assertThat(rejections("standard")).isEqualTo(1.0);
+    }
+
+    @Test
+    void admitsSheddableRequestsOnlyWithinTheirShareOfTheLimit() {
+        LimitingOfferGenerationService service = service(4, 50, 10);
+        service.generateOffers(request("u1", "batch"));
+        service.generateOffers(request("u2", "batch"));
+
+        CompletableFuture<LoanOfferResponse> overShare = service.generateOffers(request("u3", "batch"));
+        CompletableFuture<LoanOfferResponse> precompute =
+            service.generateOffers(request("u4", "app").asSpeculative());
+        CompletableFuture<LoanOfferResponse> critical = service.generateOffers(request("u5", "app"));
+
+        // Permits are free, but not for sheddable work, which is rejected rather than queued
+        assertThat(overShare).isCompletedExceptionally();
+        assertThat(precompute).isCompletedExceptionally();
+        assertThatThrownBy(precompute::join).hasCauseInstanceOf(OfferGenerationRejectedException.class);
+        assertThat(critical).isNotDone();
+        assertThat(runs).extracting(run -> run.request().getUserId()).containsExactly("u1", "u2", "u5");
+        assertThat(rejections("sheddable")).isEqualTo(2.0);
+    }
+
+    @Test
+    void handsFreedPermitsToCriticalWaitersFirst() throws InterruptedException {
+        LimitingOfferGenerationService service = service(1, 10_000, 10);
+        service.generateOffers(request("u1", "web"));
+        Run first = nextRun();
+
+        CompletableFuture<LoanOfferResponse> standard = service.generateOffers(request("u2", "web"));
+        now.addAndGet(3 * MS);
+        CompletableFuture<LoanOfferResponse> critical = service.generateOffers(request("u3", "app"));
+        assertThat(registry.get("loan.offers.limiter.queued").gauge().value()).isEqualTo(2.0);
+
+        now.addAndGet(4 * MS);
+        first.response().complete(response(Set.of()));
+        Run second = nextRun();
+        assertThat(second.request().getUserId()).isEqualTo("u3");
+        assertThat(registry.get("loan.offers.limiter.queue.time").tag("priority", "critical").timer()
+            .max(TimeUnit.MILLISECONDS)).isEqualTo(4.0);
+
+        second.response().complete(response(Set.of()));
+        assertThat(nextRun().request().getUserId()).isEqualTo("u2");
+        assertThat(registry.get("loan.offers.limiter.queue.time").tag("priority", "standard").timer()
+            .max(TimeUnit.MILLISECONDS)).isEqualTo(7.0);
+        assertThat(critical).isCompleted();
+        assertThat(standard).isNotDone();
+    }
+
+    @Test
+    void degradesRequestsThatFindTheQueueFull() {
+        LimitingOfferGenerationService service = service(1, 10_000, 1);
+        service.generateOffers(request("u1", "web"));
+        service.generateOffers(request("u2", "web"));
+
+        CompletableFuture<LoanOfferResponse> overflow = service.generateOffers(request("u3", "app"));
+
+        assertThat(overflow.join().isDegraded()).isTrue();
+        assertThat(rejections("critical")).isEqualTo(1.0);
+    }
+
+    @Test
+    void degradesWaitersWhoseWaitRunsOutAndKeepsNoPermitForThem() throws InterruptedException {
+        LimitingOfferGenerationService service = service(1, 20, 10);
+        service.generateOffers(request("u1", "web"));
+        Run first = nextRun();
+
+        LoanOfferResponse waited = service.generateOffers(request("u2", "app")).join();
+
+        assertThat(waited.isDegraded()).isTrue();
+        assertThat(rejections("critical")).isEqualTo(1.0);
+        first.response().complete(response(Set.of()));
+        assertThat(inFlight()).isZero();
+        assertThat(registry.get("loan.offers.limiter.queued").gauge().value()).isZero();
+    }
+
+    @Test
+    void growsTheLimitWhileRunsKeepTheirNoLoadLatency() throws InterruptedException {
+        LimitingOfferGenerationService service = service(4, 0, 0);
+
+        for (int round = 0; round < 20; round++) {
+            runRound(service, service.getLimit(), 10 * MS, Set.of());
+        }
+
+        assertThat(service.getLimit()).isGreaterThan(20);
+        assertThat(registry.get("loan.offers.limiter.limit").gauge().value())
+            .isEqualTo((double) service.getLimit());
+    }
+
+    @Test
+    void shrinksTheLimitAsRunLatencyGrows() throws InterruptedException {
+        LimitingOfferGenerationService service = service(40, 0, 0);
+        runRound(service, 40, 10 * MS, Set.of());
+        int settled = service.getLimit();
+
+        for (int round = 0; round < 5; round++) {
+            runRound(service, service.getLimit(), 100 * MS, Set.of());
+        }
+
+        assertThat(service.getLimit()).isLessThan(settled / 2);
+    }
+
+    @Test
+    void backsOffWhenRunsComeBackDegraded() throws InterruptedException {
+        LimitingOfferGenerationService service = service(40, 0, 0);
+
+        // Every run of a round was admitted before the first cut, so the round cuts once
+        runRound(service, 40, 10 * MS, Set.of(PipelineStage.RISK_ASSESSMENT));
+        assertThat(service.getLimit()).isEqualTo(20);
+
+        now.addAndGet(MS);
+        runRound(service, 20, 10 * MS, Set.of(PipelineStage.OPTIMIZATION));
+        assertThat(service.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void backsOffAndReleasesThePermitWhenRunsFail() throws InterruptedException {
+        LimitingOfferGenerationService service = service(40, 0, 0);
+        CompletableFuture<LoanOfferResponse> result = service.generateOffers(request("u1", "web"));
+
+        now.addAndGet(10 * MS);
+        nextRun().response().completeExceptionally(new IllegalStateException("risk service down"));
+
+        assertThat(result).isCompletedExceptionally();
+        assertThat(service.getLimit()).isEqualTo(20);
+        assertThat(inFlight()).isZero();
+    }
+
+    /**
+     * Admits the given number of requests at once, advances the clock by the
+     * latency and completes them all with the given degraded stages.
+     */
+    private void runRound(LimitingOfferGenerationService service, int requests, long latencyNanos,
+                          Set<PipelineStage> degradedStages) throws InterruptedException {
+        for (int i = 0; i < requests; i++) {
+            service.generateOffers(request("u" + i, "web"));
+        }
+        now.addAndGet(latencyNanos);
+        for (int i = 0; i < requests; i++) {
+            nextRun().response().complete(response(degradedStages));
+        }
+        assertThat(inFlight()).isZero();
+    }
+
+    /**
+     * A pipeline run handed to the delegate, completed by the test.
+     */
+    private record Run(LoanOfferRequest request, CompletableFuture<LoanOfferResponse> response) {
+    }
+}
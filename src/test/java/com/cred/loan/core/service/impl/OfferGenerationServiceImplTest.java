@@ -0,0 +1,307 @@
+package com.cred.loan.core.service.impl;
+
+import com.cred.loan.core.model.BaseOffer;
+import com.cred.loan.core.model.BehaviorAnalysisResult;
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.model.OptimizedOffer;
+import com.cred.loan.core.model.RankedOffer;
+import com.cred.loan.core.model.RiskAssessmentResult;
+import com.cred.loan.core.model.RiskLevel;
+import com.cred.loan.core.model.UserData;
+import com.cred.loan.core.model.impl.BehaviorAnalysisResultImpl;
+import com.cred.loan.core.model.impl.OptimizedOfferImpl;
+import com.cred.loan.core.model.impl.PriceSensitivityImpl;
+import com.cred.loan.core.model.impl.RiskAssessmentResultImpl;
+import com.cred.loan.core.model.impl.UserDataImpl;
+import com.cred.loan.core.pipeline.Deadline;
+import com.cred.loan.core.pipeline.DegradedDefaults;
+import com.cred.loan.core.pipeline.PipelineStage;
+import com.cred.loan.core.pipeline.StageBudgets;
+import com.cred.loan.core.service.DataService;
+import com.cred.loan.core.service.OfferOptimizationService;
+import com.cred.loan.core.service.RiskAssessmentService;
+import com.cred.loan.core.service.UserBehaviorService;
+import com.cred.loan.monitoring.distribution.OfferDistributions;
+import com.cred.loan.monitoring.latency.StageLatencyRecorder;
+import com.cred.loan.monitoring.service.impl.MetricsServiceImpl;
+import com.cred.loan.replay.RequestCaptureWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class OfferGenerationServiceImplTest {
+    private static final Duration STAGE_BUDGET = Duration.ofSeconds(5);
+    private static final Duration SHORT_BUDGET = Duration.ofMillis(50);
+    private static final double FALLBACK_ROI = 24.0;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DegradedDefaults defaults = new DegradedDefaults(FALLBACK_ROI);
+    private final UserData user = new UserDataImpl("user-1", 720.0, 1_200_000.0, 150_000.0, 34, "permanent", 48,
+        "Pune", "android");
+    private final RiskAssessmentResult risk =
+        new RiskAssessmentResultImpl(0.2, 12.0, RiskLevel.LOW, Collections.emptySet(), Collections.emptyMap());
+    private final BehaviorAnalysisResult behavior =
+        new BehaviorAnalysisResultImpl(new PriceSensitivityImpl(0.3, 0.8), 0.7, 0.9, LocalDateTime.now());
+    private final AtomicInteger assessments = new AtomicInteger();
+
+    private CompletableFuture<UserData> fetched = CompletableFuture.completedFuture(user);
+    private CompletableFuture<RiskAssessmentResult> assessed = CompletableFuture.completedFuture(risk);
+    private CompletableFuture<BehaviorAnalysisResult> analyzed = CompletableFuture.completedFuture(behavior);
+    private CompletableFuture<Void> optimized = CompletableFuture.completedFuture(null);
+    private RuntimeException fetchThrows;
+
+    private final DataService dataService = userId -> {
+        if (fetchThrows != null) {
+            throw fetchThrows;
+        }
+        return fetched;
+    };
+
+    private final RiskAssessmentService riskService = new RiskAssessmentService() {
+        @Override
+        public CompletableFuture<RiskAssessmentResult> assessRisk(UserData userData) {
+            assessments.incrementAndGet();
+            return assessed;
+        }
+
+        @Override
+        public CompletableFuture<Double> calculateRiskScore(UserData userData) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Double> calculateROIRange(Double riskScore) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private final UserBehaviorService behaviorService = new UserBehaviorService() {
+        @Override
+        public CompletableFuture<BehaviorAnalysisResult> analyzeBehavior(UserData userData) {
+            assessments.incrementAndGet();
+            return analyzed;
+        }
+
+        @Override
+        public CompletableFuture<Double> calculatePriceSensitivity(UserData userData) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Double> calculateConversionProbability(UserData userData) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    // Lowers every ROI by one point, so optimized offers are told apart from the fallback
+    private final OfferOptimizationService optimizationService = new OfferOptimizationService() {
+        @Override
+        public CompletableFuture<List<OptimizedOffer>> optimizeOffers(
+                List<BaseOffer> baseOffers,
+                RiskAssessmentResult riskAssessment,
+                BehaviorAnalysisResult behaviorAnalysis) {
+            return optimized.thenApply(ignored -> baseOffers.stream()
+                .map(offer -> (OptimizedOffer) new OptimizedOfferImpl(offer, offer.roi() - 1.0, 0.1, 0.6))
+                .toList());
+        }
+
+        @Override
+        public CompletableFuture<OptimizedOffer> optimizeOffer(
+                BaseOffer baseOffer,
+                RiskAssessmentResult riskAssessment,
+                BehaviorAnalysisResult behaviorAnalysis) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private static StageBudgets budgets(PipelineStage shortStage) {
+        Map<PipelineStage, Duration> stages = new EnumMap<>(PipelineStage.class);
+        for (PipelineStage stage : PipelineStage.values()) {
+            stages.put(stage, stage == shortStage ? SHORT_BUDGET : STAGE_BUDGET);
+        }
+        stages.put(PipelineStage.RANKING, Duration.ofMillis(10));
+        return new StageBudgets(Duration.ofSeconds(30), stages);
+    }
+
+    private static LoanOfferRequest request() {
+        return new LoanOfferRequest("user-1", 100_000.0, 12, "EDUCATION", "app");
+    }
+
+    private OfferGenerationServiceImpl service(StageBudgets budgets) {
+        Timer offerTimer = Timer.builder("loan.offers.time").register(registry);
+        return new OfferGenerationServiceImpl(riskService, behaviorService, optimizationService, dataService,
+            new MetricsServiceImpl(registry, 100), budgets, defaults,
+            new RequestCaptureWriter(registry, "", 16, 16, 30),
+            new StageLatencyRecorder(registry, offerTimer, 500, 10), new OfferDistributions(0.02));
+    }
+
+    private LoanOfferResponse generate(PipelineStage shortStage) {
+        return service(budgets(shortStage)).generateOffers(request()).join();
+    }
+
+    private double degraded(PipelineStage stage) {
+        Counter counter = registry.find("loan.offers.degraded").tag("stage", stage.name()).counter();
+        return counter != null ? counter.count() : 0.0;
+    }
+
+    @Test
+    void servesEveryStageThatMeetsItsBudget() {
+        LoanOfferResponse response = generate(PipelineStage.RISK_ASSESSMENT);
+
+        assertThat(response.isDegraded()).isFalse();
+        assertThat(response.getDegradedStages()).isEmpty();
+        assertThat(response.getRiskAssessment()).isSameAs(risk);
+        assertThat(response.getOffers()).isNotEmpty()
+            .allSatisfy(offer -> assertThat(offer.getOffer().getAdjustedROI()).isEqualTo(11.0));
+        assertThat(registry.find("loan.offers.degraded").counters()).isEmpty();
+    }
+
+    @Test
+    void fallsBackToTheConservativeRiskAssessmentWhenRiskMissesItsBudget() {
+        assessed = new CompletableFuture<>();
+
+        LoanOfferResponse response = generate(PipelineStage.RISK_ASSESSMENT);
+
+        assertThat(response.getDegradedStages()).containsExactly(PipelineStage.RISK_ASSESSMENT);
+        assertThat(response.getRiskAssessment()).isSameAs(defaults.riskAssessment());
+        // Offers are priced from the fallback ROI, then optimized as usual
+        assertThat(response.getOffers())
+            .allSatisfy(offer -> assertThat(offer.getOffer().getAdjustedROI()).isEqualTo(FALLBACK_ROI - 1.0));
+        assertThat(degraded(PipelineStage.RISK_ASSESSMENT)).isEqualTo(1.0);
+        assertThat(degraded(PipelineStage.BEHAVIOR_ANALYSIS)).isZero();
+    }
+
+    @Test
+    void ranksWithTheNeutralBehaviorWhenBehaviorMissesItsBudget() {
+        analyzed = new CompletableFuture<>();
+
+        LoanOfferResponse response = generate(PipelineStage.BEHAVIOR_ANALYSIS);
+
+        assertThat(response.getDegradedStages()).containsExactly(PipelineStage.BEHAVIOR_ANALYSIS);
+        assertThat(response.getRiskAssessment()).isSameAs(risk);
+        // 0.4 * neutral conversion + 0.3 * (1 - risk impact) + 0.3 * neutral value
+        assertThat(response.getOffers()).extracting(RankedOffer::getScore)
+            .allSatisfy(score -> assertThat(score).isCloseTo(0.2 + 0.27 + 0.15, within(1e-9)));
+        assertThat(degraded(PipelineStage.BEHAVIOR_ANALYSIS)).isEqualTo(1.0);
+    }
+
+    @Test
+    void servesUnoptimizedOffersWhenOptimizationMissesItsBudget() {
+        optimized = new CompletableFuture<>();
+
+        LoanOfferResponse response = generate(PipelineStage.OPTIMIZATION);
+
+        assertThat(response.getDegradedStages()).containsExactly(PipelineStage.OPTIMIZATION);
+        assertThat(response.getOffers()).isNotEmpty().allSatisfy(offer -> {
+            assertThat(offer.getOffer().getAdjustedROI()).isEqualTo(12.0);
+            assertThat(offer.getOffer().getRiskImpact()).isZero();
+            assertThat(offer.getOffer().getConversionProbability()).isEqualTo(0.7);
+        });
+        assertThat(degraded(PipelineStage.OPTIMIZATION)).isEqualTo(1.0);
+    }
+
+    @Test
+    void usesDefaultsForBothAssessmentsWhenTheDataFetchMissesItsBudget() {
+        fetched = new CompletableFuture<>();
+
+        LoanOfferResponse response = generate(PipelineStage.DATA_FETCH);
+
+        // Only the data fetch missed its budget; the assessments never ran
+        assertThat(response.getDegradedStages()).containsExactly(PipelineStage.DATA_FETCH);
+        assertThat(response.getRiskAssessment()).isSameAs(defaults.riskAssessment());
+        assertThat(assessments).hasValue(0);
+        assertThat(response.getPriceSegment()).isEqualTo(-1);
+        assertThat(degraded(PipelineStage.DATA_FETCH)).isEqualTo(1.0);
+    }
+
+    @Test
+    void recordsEveryStageThatMissesItsBudget() {
+        assessed = new CompletableFuture<>();
+        analyzed = new CompletableFuture<>();
+        optimized = new CompletableFuture<>();
+        Map<PipelineStage, Duration> stages = new EnumMap<>(PipelineStage.class);
+        for (PipelineStage stage : PipelineStage.values()) {
+            stages.put(stage, SHORT_BUDGET);
+        }
+
+        LoanOfferResponse response = service(new StageBudgets(Duration.ofSeconds(30), stages))
+            .generateOffers(request()).join();
+
+        assertThat(response.getDegradedStages()).containsExactlyInAnyOrder(
+            PipelineStage.RISK_ASSESSMENT, PipelineStage.BEHAVIOR_ANALYSIS, PipelineStage.OPTIMIZATION);
+        assertThat(response.getOffers()).isNotEmpty()
+            .allSatisfy(offer -> assertThat(offer.getOffer().getAdjustedROI()).isEqualTo(FALLBACK_ROI));
+    }
+
+    @Test
+    void boundsStagesByTheTimeLeftUntilTheDeadline() {
+        assessed = new CompletableFuture<>();
+        OfferGenerationServiceImpl service = service(budgets(null));
+
+        long start = System.nanoTime();
+        LoanOfferResponse response = service.generateOffers(request(), Deadline.after(Duration.ofMillis(200))).join();
+
+        assertThat(response.getDegradedStages()).containsExactly(PipelineStage.RISK_ASSESSMENT);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(STAGE_BUDGET);
+    }
+
+    @Test
+    void leavesTheStageFutureRunningAfterFallingBack() {
+        CompletableFuture<RiskAssessmentResult> pending = new CompletableFuture<>();
+        assessed = pending;
+
+        generate(PipelineStage.RISK_ASSESSMENT);
+
+        assertThat(pending).isNotDone();
+    }
+
+    @Test
+    void propagatesStageFailuresOtherThanTimeouts() {
+        assessed = CompletableFuture.failedFuture(new IllegalStateException("risk service down"));
+
+        CompletableFuture<LoanOfferResponse> result =
+            service(budgets(PipelineStage.RISK_ASSESSMENT)).generateOffers(request());
+
+        assertThatThrownBy(result::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(registry.find("loan.offers.degraded").counters()).isEmpty();
+    }
+
+    @Test
+    void failsTheRunWhenAStageThrowsBeforeReturningItsFuture() {
+        fetchThrows = new IllegalStateException("connection pool closed");
+
+        CompletableFuture<LoanOfferResponse> result =
+            service(budgets(PipelineStage.DATA_FETCH)).generateOffers(request());
+
+        assertThatThrownBy(result::join).hasCauseInstanceOf(IllegalStateException.class)
+            .hasRootCauseMessage("connection pool closed");
+        assertThat(degraded(PipelineStage.DATA_FETCH)).isZero();
+    }
+
+    @Test
+    void servesShedRequestsFromTheDefaultsAlone() {
+        LoanOfferResponse response = service(budgets(null)).degradedOffers(request());
+
+        assertThat(response.getDegradedStages()).containsExactlyInAnyOrder(PipelineStage.DATA_FETCH,
+            PipelineStage.RISK_ASSESSMENT, PipelineStage.BEHAVIOR_ANALYSIS, PipelineStage.OPTIMIZATION);
+        assertThat(response.getRiskAssessment()).isSameAs(defaults.riskAssessment());
+        assertThat(response.getOffers()).isNotEmpty();
+        assertThat(assessments).hasValue(0);
+    }
+}
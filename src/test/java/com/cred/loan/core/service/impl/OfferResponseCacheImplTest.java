@@ -0,0 +1,77 @@
+package com.cred.loan.core.service.impl;
+
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.model.OfferCacheLookup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OfferResponseCacheImplTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OfferResponseCacheImpl cache = new OfferResponseCacheImpl(
+        new ConcurrentMapCacheManager("offerData"), registry, "1", 1000);
+
+    @Test
+    void servesStoredResponseWithFreshRequestId() {
+        LoanOfferRequest request = request(50_000.0, 12);
+        OfferCacheLookup miss = cache.get(request).join();
+        assertThat(miss.cached()).isEmpty();
+        assertThat(miss.version()).isNotNull();
+
+        cache.put(request, response("original"), miss).join();
+
+        OfferCacheLookup hit = cache.get(request).join();
+        assertThat(hit.cached()).isPresent();
+        assertThat(hit.response().getRequestId()).isNotEqualTo("original");
+        assertThat(hit.version()).isEqualTo(miss.version());
+    }
+
+    @Test
+    void dropsResponsesStoredUnderAnInvalidatedVersion() {
+        LoanOfferRequest request = request(50_000.0, 12);
+        OfferCacheLookup before = cache.get(request).join();
+
+        cache.invalidate("user-1").join();
+        cache.put(request, response("stale"), before).join();
+
+        OfferCacheLookup after = cache.get(request).join();
+        assertThat(after.cached()).isEmpty();
+        assertThat(after.version()).isNotEqualTo(before.version());
+    }
+
+    @Test
+    void keepsVariantsStoredFromTheSameLookupVersion() {
+        LoanOfferRequest shortTenure = request(50_000.0, 12);
+        LoanOfferRequest longTenure = request(50_000.0, 36);
+        OfferCacheLookup first = cache.get(shortTenure).join();
+        OfferCacheLookup second = cache.get(longTenure).join();
+
+        cache.put(shortTenure, response("short"), first).join();
+        cache.put(longTenure, response("long"), second).join();
+
+        assertThat(cache.get(shortTenure).join().cached()).isPresent();
+        assertThat(cache.get(longTenure).join().cached()).isPresent();
+    }
+
+    @Test
+    void skipsStoreWithoutVersion() {
+        LoanOfferRequest request = request(50_000.0, 12);
+
+        cache.put(request, response("unversioned"), OfferCacheLookup.UNAVAILABLE).join();
+
+        assertThat(cache.get(request).join().cached()).isEmpty();
+    }
+
+    private static LoanOfferRequest request(double amount, int tenure) {
+        return new LoanOfferRequest("user-1", amount, tenure, "personal", "app");
+    }
+
+    private static LoanOfferResponse response(String requestId) {
+        return new LoanOfferResponse(List.of(), requestId, 5L);
+    }
+}
@@ -0,0 +1,106 @@
+package com.cred.loan.data.repository.impl;
+
+import com.cred.loan.behavior.aggregate.BehaviorAggregateStore;
+import com.cred.loan.behavior.aggregate.BehaviorStats;
+import com.cred.loan.core.model.BehaviorData;
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.model.OfferCacheLookup;
+import com.cred.loan.core.model.PageView;
+import com.cred.loan.core.model.impl.BehaviorDataImpl;
+import com.cred.loan.core.service.OfferResponseCache;
+import com.cred.loan.data.repository.BehaviorRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidatingBehaviorRepositoryTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private final Map<String, BehaviorData> stored = new HashMap<>();
+    private final BehaviorRepository delegate = new BehaviorRepository() {
+        @Override
+        public Optional<BehaviorData> findByUserId(String userId) {
+            return Optional.ofNullable(stored.get(userId));
+        }
+
+        @Override
+        public BehaviorData save(BehaviorData behaviorData) {
+            stored.put(behaviorData.getUserId(), behaviorData);
+            return behaviorData;
+        }
+    };
+    private final BehaviorAggregateStore aggregateStore = new BehaviorAggregateStore(
+        delegate, 168, 60, 100, Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    private final List<String> invalidated = new ArrayList<>();
+    private final List<BehaviorStats> statsAtInvalidation = new ArrayList<>();
+    private final OfferResponseCache responseCache = new OfferResponseCache() {
+        @Override
+        public CompletableFuture<OfferCacheLookup> get(LoanOfferRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Void> put(LoanOfferRequest request, LoanOfferResponse response,
+                                           OfferCacheLookup lookup) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Void> invalidate(String userId) {
+            invalidated.add(userId);
+            statsAtInvalidation.add(aggregateStore.snapshot(userId));
+            return CompletableFuture.completedFuture(null);
+        }
+    };
+    private final CacheInvalidatingBehaviorRepository repository =
+        new CacheInvalidatingBehaviorRepository(delegate, responseCache, aggregateStore);
+
+    @Test
+    void rebuildsTheAggregateOfAUserHeldAsEmpty() {
+        assertThat(aggregateStore.snapshot("u1")).isEqualTo(BehaviorStats.EMPTY);
+
+        repository.save(behavior("u1", 3));
+
+        assertThat(aggregateStore.snapshot("u1").pageViews()).isEqualTo(3.0);
+    }
+
+    @Test
+    void replacesAHeldAggregateWithTheSavedData() {
+        repository.save(behavior("u1", 2));
+        assertThat(aggregateStore.snapshot("u1").pageViews()).isEqualTo(2.0);
+
+        repository.save(behavior("u1", 5));
+
+        assertThat(aggregateStore.snapshot("u1").pageViews()).isEqualTo(5.0);
+        assertThat(stored.get("u1").getPageViews()).hasSize(5);
+    }
+
+    @Test
+    void invalidatesCachedOffersAfterTheAggregateIsRebuilt() {
+        aggregateStore.snapshot("u1");
+
+        repository.save(behavior("u1", 4));
+
+        assertThat(invalidated).containsExactly("u1");
+        assertThat(statsAtInvalidation.get(0).pageViews()).isEqualTo(4.0);
+    }
+
+    private static BehaviorData behavior(String userId, int pageViews) {
+        List<PageView> views = new ArrayList<>();
+        for (int i = 0; i < pageViews; i++) {
+            views.add(new PageView("offers", "view", Map.of(), NOW));
+        }
+        return new BehaviorDataImpl(userId, views, List.of(), List.of(), NOW);
+    }
+}
@@ -0,0 +1,71 @@
+package com.cred.loan.monitoring.aspect;
+
+import com.cred.loan.monitoring.service.LoggingService;
+import com.cred.loan.monitoring.service.impl.MetricsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Measures the per-call overhead {@link MonitoringAspect} adds to a handler:
+ * a direct call, and calls through a Spring AOP proxy with entry and exit
+ * logging off, at the default 1% sample rate and on every call. The logging
+ * service discards lines without formatting them, so the figures are the
+ * aspect's own cost. Prints the mean time per call after a warm-up. Run from
+ * the IDE or with
+ * {@code java -cp target/test-classes:target/classes:<deps> ...MonitoringAspectBenchmark}.
+ */
+public final class MonitoringAspectBenchmark {
+    private static final long WARMUP_NANOS = 3_000_000_000L;
+    private static final long MEASURE_NANOS = 3_000_000_000L;
+
+    private MonitoringAspectBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        String[] names = {"direct", "proxied, no logging", "proxied, 1% logged", "proxied, all logged"};
+        MonitoringAspectTest.Handler[] handlers = {
+            new MonitoringAspectTest.Handler(null),
+            proxied(0.0),
+            proxied(0.01),
+            proxied(1.0)
+        };
+        // Warm every variant before measuring any, so that none is measured
+        // against code compiled for the others
+        for (MonitoringAspectTest.Handler handler : handlers) {
+            run(handler, WARMUP_NANOS);
+        }
+        System.out.printf("%-22s %10s%n", "", "ns/call");
+        for (int i = 0; i < handlers.length; i++) {
+            System.out.printf("%-22s %10.0f%n", names[i], run(handlers[i], MEASURE_NANOS));
+        }
+    }
+
+    private static MonitoringAspectTest.Handler proxied(double logSampleRate) {
+        LoggingService loggingService = MonitoringAspectTest.recordingLoggingService(null);
+        MonitoringAspect aspect = new MonitoringAspect(loggingService,
+            new MetricsServiceImpl(new SimpleMeterRegistry(), 1_000), logSampleRate, 512, "X-Correlation-Id");
+        return MonitoringAspectTest.proxy(aspect, new MonitoringAspectTest.Handler(null));
+    }
+
+    /**
+     * Calls the handler until the duration has passed.
+     *
+     * @return The mean nanoseconds per call
+     */
+    private static double run(MonitoringAspectTest.Handler handler, long durationNanos) {
+        long calls = 0;
+        long sink = 0;
+        long elapsed;
+        long start = System.nanoTime();
+        do {
+            for (int i = 0; i < 10_000; i++) {
+                sink += handler.offers("u1").length();
+            }
+            calls += 10_000;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < durationNanos);
+        if (sink == 42) {
+            System.out.println();
+        }
+        return elapsed / (double) calls;
+    }
+}
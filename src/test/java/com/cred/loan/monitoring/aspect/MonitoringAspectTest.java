@@ -0,0 +1,275 @@
+package com.cred.loan.monitoring.aspect;
+
+import com.cred.loan.monitoring.context.RequestContext;
+import com.cred.loan.monitoring.service.LoggingService;
+import com.cred.loan.monitoring.service.impl.MetricsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MonitoringAspectTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<Logged> logged = new ArrayList<>();
+    private final LoggingService loggingService = recordingLoggingService(logged);
+    private final CompletableFuture<String> pending = new CompletableFuture<>();
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private Handler handler(double logSampleRate, int maxLoggedChars) {
+        MonitoringAspect aspect = new MonitoringAspect(loggingService, new MetricsServiceImpl(registry, 100),
+            logSampleRate, maxLoggedChars, "X-Correlation-Id");
+        return proxy(aspect, new Handler(pending));
+    }
+
+    /**
+     * Proxies a handler through the aspect, as Spring does for controllers.
+     */
+    static Handler proxy(MonitoringAspect aspect, Handler handler) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(handler);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    /**
+     * Logging service keeping every line logged with a correlation ID, without
+     * formatting its arguments.
+     */
+    static LoggingService recordingLoggingService(List<Logged> logged) {
+        return new LoggingService() {
+            @Override
+            public void debug(String message, Object... args) {
+            }
+
+            @Override
+            public void info(String message, Object... args) {
+            }
+
+            @Override
+            public void warn(String message, Object... args) {
+            }
+
+            @Override
+            public void error(String message, Object... args) {
+            }
+
+            @Override
+            public void error(String message, Throwable throwable, Object... args) {
+            }
+
+            @Override
+            public void logWithCorrelationId(String correlationId, LogLevel level, String message, Object... args) {
+                if (logged != null) {
+                    logged.add(new Logged(correlationId, level, message, args));
+                }
+            }
+        };
+    }
+
+    private double timed(String method) {
+        return registry.get("method.execution.time").tag("class", "Handler").tag("method", method)
+            .timer().count();
+    }
+
+    @Test
+    void timesEveryCallButLogsNoneWhenSamplingIsOff() {
+        Handler handler = handler(0.0, 512);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(handler.offers("u1")).isEqualTo("offers for u1");
+        }
+
+        assertThat(timed("offers")).isEqualTo(10.0);
+        assertThat(logged).isEmpty();
+    }
+
+    @Test
+    void logsEntryAndExitOfSampledCalls() {
+        Handler handler = handler(1.0, 512);
+
+        handler.offers("u1");
+
+        assertThat(logged).extracting(Logged::message).containsExactly(
+            "Entering method: {}.{} with args: {}", "Exiting method: {}.{} with result: {}");
+        assertThat(logged.get(0).args()[0]).isEqualTo("Handler");
+        assertThat(logged.get(0).args()[1]).isEqualTo("offers");
+        assertThat(logged.get(0).args()[2]).hasToString("[u1]");
+        assertThat(logged.get(1).args()[2]).hasToString("offers for u1");
+    }
+
+    @Test
+    void truncatesLoggedArgumentsAndResults() {
+        Handler handler = handler(1.0, 10);
+
+        handler.offers("x".repeat(100));
+
+        // The argument array prints as [xxx...], two characters longer than the argument
+        assertThat(logged.get(0).args()[2]).hasToString("[" + "x".repeat(9) + "... (102 chars)");
+        assertThat(logged.get(1).args()[2]).hasToString("offers for... (111 chars)");
+    }
+
+    @Test
+    void formatsArgumentsOnlyWhenTheLineIsWritten() {
+        Handler handler = handler(1.0, 512);
+        int[] formatted = new int[1];
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                formatted[0]++;
+                return "argument";
+            }
+        };
+
+        handler.submit(argument);
+
+        assertThat(formatted[0]).isZero();
+        assertThat(logged.get(0).args()[2]).hasToString("[argument]");
+        assertThat(formatted[0]).isEqualTo(1);
+    }
+
+    @Test
+    void takesTheCorrelationIdFromTheRequestHeader() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Correlation-Id", "corr-42");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        Handler handler = handler(1.0, 512);
+
+        assertThat(handler.correlationId()).isEqualTo("corr-42");
+        assertThat(logged).extracting(Logged::correlationId).containsOnly("corr-42");
+        assertThat(RequestContext.current()).isNull();
+    }
+
+    @Test
+    void generatesACorrelationIdWithoutTheHeader() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Correlation-Id", " ");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        Handler handler = handler(0.0, 512);
+
+        String first = handler.correlationId();
+        String second = handler.correlationId();
+
+        assertThat(first).isNotBlank();
+        assertThat(second).isNotBlank().isNotEqualTo(first);
+    }
+
+    @Test
+    void keepsTheContextOfAnEnclosingCall() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Correlation-Id", "corr-42");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        Handler handler = handler(0.0, 512);
+
+        try (RequestContext.Scope scope = RequestContext.open("outer")) {
+            assertThat(handler.correlationId()).isEqualTo("outer");
+        }
+    }
+
+    @Test
+    void logsAndCountsFailuresRegardlessOfSampling() {
+        Handler handler = handler(0.0, 512);
+
+        assertThatThrownBy(handler::fail).isInstanceOf(IllegalStateException.class);
+
+        assertThat(logged).extracting(Logged::level).containsExactly(LoggingService.LogLevel.ERROR);
+        assertThat(registry.get("method.execution.error").tag("method", "fail")
+            .tag("exception", "IllegalStateException").counter().count()).isEqualTo(1.0);
+        assertThat(timed("fail")).isZero();
+    }
+
+    @Test
+    void timesAsynchronousHandlersWhenTheirResultCompletes() {
+        Handler handler = handler(1.0, 512);
+
+        CompletableFuture<String> result = handler.async();
+
+        assertThat(timed("async")).isZero();
+        assertThat(logged).hasSize(1);
+
+        pending.complete("done");
+
+        assertThat(timed("async")).isEqualTo(1.0);
+        assertThat(logged.get(1).args()[2]).hasToString("done");
+        assertThat(result).isCompletedWithValue("done");
+    }
+
+    @Test
+    void countsTheCauseOfAFailedAsynchronousResult() {
+        Handler handler = handler(0.0, 512);
+
+        handler.async();
+        pending.completeExceptionally(new IllegalArgumentException("bad"));
+
+        assertThat(registry.get("method.execution.error").tag("method", "async")
+            .tag("exception", "IllegalArgumentException").counter().count()).isEqualTo(1.0);
+        assertThat(timed("async")).isZero();
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        MetricsServiceImpl metrics = new MetricsServiceImpl(registry, 100);
+
+        assertThatThrownBy(() -> new MonitoringAspect(loggingService, metrics, 1.5, 512, "X-Correlation-Id"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MonitoringAspect(loggingService, metrics, 0.1, 0, "X-Correlation-Id"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Controller-like target whose mapped methods the aspect advises.
+     */
+    static class Handler {
+        private final CompletableFuture<String> pending;
+
+        Handler(CompletableFuture<String> pending) {
+            this.pending = pending;
+        }
+
+        @GetMapping("/offers")
+        public String offers(String userId) {
+            return "offers for " + userId;
+        }
+
+        @GetMapping("/correlation")
+        public String correlationId() {
+            return RequestContext.currentCorrelationId();
+        }
+
+        @GetMapping("/async")
+        public CompletableFuture<String> async() {
+            return pending;
+        }
+
+        @PostMapping("/submit")
+        public String submit(Object body) {
+            return "submitted";
+        }
+
+        @PostMapping("/fail")
+        public String fail() {
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    /**
+     * A line logged through {@link LoggingService#logWithCorrelationId}.
+     */
+    record Logged(String correlationId, LoggingService.LogLevel level, String message, Object[] args) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.cred.loan.monitoring.distribution;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Measures the recording throughput of {@link QuantileSketch} with 1, 2, 4,
+ * ... threads up to the available processors, and the cost of a snapshot.
+ * Run from the IDE or with
+ * {@code java -cp target/test-classes:target/classes:<deps> ...QuantileSketchBenchmark}.
+ */
+public final class QuantileSketchBenchmark {
+    private static final int VALUES = 1 << 16;
+    private static final int RECORDS_PER_THREAD = 20_000_000;
+    private static final int SNAPSHOTS = 2_000;
+
+    private QuantileSketchBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(9);
+        double[] values = new double[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = Math.exp(3.0 + 2.0 * random.nextGaussian());
+        }
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= processors; threads = threads == processors ? threads + 1
+                : Math.min(threads * 2, processors)) {
+            QuantileSketch sketch = new QuantileSketch(0.01, 1e-3, 1e9);
+            // First run warms up, second is measured
+            record(sketch, values, threads);
+            double nanos = record(sketch, values, threads);
+            System.out.printf("%3d threads: %6.1f ns/record per thread, %8.1f M records/s%n",
+                threads, nanos / RECORDS_PER_THREAD, threads * RECORDS_PER_THREAD / nanos * 1e3);
+        }
+
+        QuantileSketch sketch = new QuantileSketch(0.01, 1e-3, 1e9);
+        for (double value : values) {
+            sketch.record(value);
+        }
+        long start = System.nanoTime();
+        long total = 0;
+        for (int i = 0; i < SNAPSHOTS; i++) {
+            total += sketch.snapshot().getCount();
+        }
+        System.out.printf("snapshot: %.1f us (%d)%n", (System.nanoTime() - start) / 1e3 / SNAPSHOTS, total);
+    }
+
+    private static double record(QuantileSketch sketch, double[] values, int threads) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 7919;
+            executor.execute(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < RECORDS_PER_THREAD; i++) {
+                    sketch.record(values[(offset + i) & (VALUES - 1)]);
+                }
+                done.countDown();
+            });
+        }
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        return elapsed;
+    }
+}
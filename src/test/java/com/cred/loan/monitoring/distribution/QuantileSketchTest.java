@@ -0,0 +1,136 @@
+package com.cred.loan.monitoring.distribution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class QuantileSketchTest {
+    private static final double ACCURACY = 0.01;
+    private static final double[] QUANTILES = {0.0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1.0};
+
+    private static QuantileSketch sketch() {
+        return new QuantileSketch(ACCURACY, 1e-3, 1e9);
+    }
+
+    private static double[] logNormal(SplittableRandom random, int count) {
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.exp(3.0 + 2.0 * random.nextGaussian());
+        }
+        return values;
+    }
+
+    private static void assertWithinAccuracy(SketchSnapshot snapshot, double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double quantile : QUANTILES) {
+            double exact = sorted[(int) (quantile * (sorted.length - 1))];
+            // A hair of slack for values on a bucket boundary
+            assertThat(snapshot.getQuantile(quantile))
+                .as("quantile %s", quantile)
+                .isCloseTo(exact, within(exact * ACCURACY * (1 + 1e-9)));
+        }
+    }
+
+    @Test
+    void quantilesAreWithinTheRelativeAccuracy() {
+        QuantileSketch sketch = sketch();
+        double[] values = logNormal(new SplittableRandom(1), 100_000);
+        for (double value : values) {
+            sketch.record(value);
+        }
+
+        SketchSnapshot snapshot = sketch.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(values.length);
+        assertWithinAccuracy(snapshot, values);
+    }
+
+    @Test
+    void mergedSnapshotsMatchASketchOfAllValues() {
+        SplittableRandom random = new SplittableRandom(2);
+        double[] first = logNormal(random, 20_000);
+        double[] second = Arrays.stream(logNormal(random, 30_000)).map(value -> value * 10).toArray();
+        QuantileSketch left = sketch();
+        QuantileSketch right = sketch();
+        QuantileSketch all = sketch();
+        for (double value : first) {
+            left.record(value);
+            all.record(value);
+        }
+        for (double value : second) {
+            right.record(value);
+            all.record(value);
+        }
+
+        SketchSnapshot merged = left.snapshot().merge(right.snapshot());
+        SketchSnapshot expected = all.snapshot();
+        assertThat(merged.getCount()).isEqualTo(expected.getCount());
+        for (double quantile : QUANTILES) {
+            assertThat(merged.getQuantile(quantile)).isEqualTo(expected.getQuantile(quantile));
+        }
+        double[] combined = new double[first.length + second.length];
+        System.arraycopy(first, 0, combined, 0, first.length);
+        System.arraycopy(second, 0, combined, first.length, second.length);
+        assertWithinAccuracy(merged, combined);
+    }
+
+    @Test
+    void refusesToMergeDifferentLayouts() {
+        SketchSnapshot snapshot = sketch().snapshot();
+
+        assertThatThrownBy(() -> snapshot.merge(new QuantileSketch(0.02, 1e-3, 1e9).snapshot()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> snapshot.merge(new QuantileSketch(ACCURACY, 1e-3, 1e6).snapshot()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void countsValuesOutsideTheDomainSeparately() {
+        QuantileSketch sketch = sketch();
+        sketch.record(-5.0);
+        sketch.record(Double.NaN);
+        sketch.record(0.0);
+        sketch.record(42.0);
+
+        SketchSnapshot snapshot = sketch.snapshot();
+        assertThat(snapshot.getNegativeCount()).isEqualTo(1);
+        assertThat(snapshot.getCount()).isEqualTo(2);
+        assertThat(snapshot.getQuantile(0.0)).isZero();
+        assertThat(snapshot.getQuantile(1.0)).isCloseTo(42.0, within(42.0 * ACCURACY));
+        assertThat(snapshot.getBuckets()).extracting(HistogramBucket::getCount).containsExactly(1L, 1L);
+    }
+
+    @Test
+    void emptySnapshotHasNoQuantiles() {
+        SketchSnapshot snapshot = sketch().snapshot();
+
+        assertThat(snapshot.getQuantile(0.5)).isNaN();
+        assertThat(snapshot.getBuckets()).isEmpty();
+        assertThatThrownBy(() -> snapshot.getQuantile(1.5)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void countsEveryValueFromConcurrentWriters() throws InterruptedException {
+        QuantileSketch sketch = sketch();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 1; i <= 25_000; i++) {
+                    sketch.record(i);
+                }
+            });
+        }
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(sketch.snapshot().getCount()).isEqualTo(200_000);
+    }
+}
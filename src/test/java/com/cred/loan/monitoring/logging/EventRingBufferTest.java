@@ -0,0 +1,116 @@
+package com.cred.loan.monitoring.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventRingBufferTest {
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertThat(new EventRingBuffer<String>(1).capacity()).isEqualTo(2);
+        assertThat(new EventRingBuffer<String>(5).capacity()).isEqualTo(8);
+        assertThat(new EventRingBuffer<String>(8).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    void doesNotOverwriteUnreadElementAtMinimumCapacity() {
+        EventRingBuffer<String> buffer = new EventRingBuffer<>(1);
+        assertThat(buffer.offer("a")).isTrue();
+        assertThat(buffer.offer("b")).isTrue();
+        assertThat(buffer.offer("c")).isFalse();
+
+        List<String> drained = new ArrayList<>();
+        buffer.drain(drained::add, 10);
+        assertThat(drained).containsExactly("a", "b");
+    }
+
+    @Test
+    void rejectsOffersWhenFull() {
+        EventRingBuffer<String> buffer = new EventRingBuffer<>(2);
+        assertThat(buffer.offer("a")).isTrue();
+        assertThat(buffer.offer("b")).isTrue();
+        assertThat(buffer.offer("c")).isFalse();
+
+        List<String> drained = new ArrayList<>();
+        buffer.drain(drained::add, 10);
+        assertThat(drained).containsExactly("a", "b");
+        assertThat(buffer.offer("c")).isTrue();
+    }
+
+    @Test
+    void keepsOrderAcrossWraparound() {
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+            if (i % 3 == 2) {
+                buffer.drain(drained::add, 2);
+            }
+            if (i % 3 == 0) {
+                buffer.drain(drained::add, 1);
+            }
+        }
+        buffer.drain(drained::add, Integer.MAX_VALUE);
+
+        assertThat(drained).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(drained.get(i)).isEqualTo(i);
+        }
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void deliversEveryElementFromConcurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 20_000;
+        EventRingBuffer<long[]> buffer = new EventRingBuffer<>(256);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (long i = 0; i < perProducer; i++) {
+                    long[] element = {producer, i};
+                    while (!buffer.offer(element)) {
+                        // Yield rather than spin, so the consumer gets to run on few cores
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+
+        long[] next = new long[producers];
+        int received = 0;
+        start.countDown();
+        while (received < producers * perProducer) {
+            int drained = buffer.drain(element -> {
+                // Each producer's elements arrive in the order it offered them
+                assertThat(element[1]).isEqualTo(next[(int) element[0]]);
+                next[(int) element[0]]++;
+            }, 128);
+            if (drained == 0) {
+                Thread.yield();
+            }
+            received += drained;
+        }
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(next).containsOnly(perProducer);
+        assertThat(buffer.size()).isZero();
+    }
+}
@@ -0,0 +1,51 @@
+package com.cred.loan.monitoring.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonLogEncoderTest {
+    private final LoggerContext context = new LoggerContext();
+    private final JsonLogEncoder encoder = new JsonLogEncoder();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private String encode(String message, Map<String, String> mdc) {
+        LoggingEvent event = new LoggingEvent(JsonLogEncoderTest.class.getName(),
+            context.getLogger("com.cred.loan.Test"), Level.WARN, message, null, null);
+        event.setThreadName("worker-1");
+        event.setMDCPropertyMap(mdc);
+        return new String(encoder.encode(event), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void writesOneObjectPerLine() throws Exception {
+        String line = encode("hello", Map.of());
+
+        assertThat(line).endsWith("}\n").doesNotContain("\"mdc\"");
+        JsonNode json = mapper.readTree(line);
+        assertThat(json.get("level").asText()).isEqualTo("WARN");
+        assertThat(json.get("logger").asText()).isEqualTo("com.cred.loan.Test");
+        assertThat(json.get("thread").asText()).isEqualTo("worker-1");
+        assertThat(json.get("message").asText()).isEqualTo("hello");
+    }
+
+    @Test
+    void escapesQuotesBackslashesAndControlCharacters() throws Exception {
+        String message = "say \"hi\"\\ \n\r\t\u0001 é";
+        String line = encode(message, Map.of("user\"Id", "a\\b"));
+
+        assertThat(line.indexOf('\n')).isEqualTo(line.length() - 1);
+        assertThat(line).contains("\\u0001");
+        JsonNode json = mapper.readTree(line);
+        assertThat(json.get("message").asText()).isEqualTo(message);
+        assertThat(json.get("mdc").get("user\"Id").asText()).isEqualTo("a\\b");
+    }
+}
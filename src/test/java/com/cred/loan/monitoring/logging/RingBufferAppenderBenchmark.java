@@ -0,0 +1,146 @@
+package com.cred.loan.monitoring.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Measures the latency a request thread sees when logging, writing JSON lines
+ * to a file synchronously, as the component loggers used to, and through a
+ * {@link RingBufferAppender} with the DROP and BLOCK overflow policies. Every
+ * thread logs a fixed number of formatted events as fast as it can, which
+ * saturates the writer, and the percentiles of the per-call times are
+ * printed with the share of events that reached the file. Run from the IDE or with
+ * {@code java -cp target/test-classes:target/classes:<deps> ...RingBufferAppenderBenchmark
+ * [threads] [events-per-thread]}.
+ */
+public final class RingBufferAppenderBenchmark {
+    private static final int DEFAULT_THREADS = 4;
+    private static final int DEFAULT_EVENTS = 100_000;
+    private static final int CAPACITY = 8192;
+
+    private RingBufferAppenderBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_THREADS;
+        int events = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_EVENTS;
+        String[] modes = {"sync", "DROP", "BLOCK"};
+        // Warm every setup before measuring any, so that none is measured
+        // against code compiled for the others
+        for (String mode : modes) {
+            run(mode, threads, events);
+        }
+        System.out.printf("%d threads x %d events%n", threads, events);
+        System.out.printf("%-12s %9s %9s %9s %9s %9s%n", "", "p50 us", "p99 us", "p99.9 us", "max us", "written");
+        for (String mode : modes) {
+            Result result = run(mode, threads, events);
+            long[] latencies = result.latencies();
+            Arrays.sort(latencies);
+            System.out.printf("%-12s %9.2f %9.2f %9.2f %9.2f %8.1f%%%n", mode,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                latencies[latencies.length - 1] / 1e3, 100.0 * result.written() / latencies.length);
+        }
+    }
+
+    private static Result run(String mode, int threads, int events) throws Exception {
+        Path file = Files.createTempFile("ring-buffer-benchmark", ".log");
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        Logger logger = context.getLogger("benchmark");
+        logger.setAdditive(false);
+        logger.addAppender(appender(context, mode, file));
+
+        long[][] latencies = new long[threads][events];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            long[] own = latencies[t];
+            String userId = "user-" + t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < events; i++) {
+                        long begin = System.nanoTime();
+                        logger.info("Generated {} offers for user {} in {} ms", 3, userId, i % 250);
+                        own[i] = System.nanoTime() - begin;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        done.await();
+        executor.shutdown();
+        // Stopping drains the ring into the file
+        context.stop();
+
+        long written;
+        try (Stream<String> lines = Files.lines(file)) {
+            written = lines.count();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        long[] all = new long[threads * events];
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(latencies[t], 0, all, t * events, events);
+        }
+        return new Result(all, written);
+    }
+
+    private static Appender<ILoggingEvent> appender(LoggerContext context, String mode, Path file)
+            throws IOException {
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setName("FILE");
+        fileAppender.setFile(file.toString());
+        fileAppender.setAppend(false);
+        fileAppender.setEncoder(encoder);
+        if (mode.equals("sync")) {
+            fileAppender.start();
+            return fileAppender;
+        }
+        // Flushed by the ring buffer appender once per batch, as in LoggingConfig
+        fileAppender.setImmediateFlush(false);
+        fileAppender.start();
+
+        RingBufferAppender ring = new RingBufferAppender();
+        ring.setContext(context);
+        ring.setName("RING");
+        ring.setCapacity(CAPACITY);
+        ring.setOverflowPolicy(RingBufferAppender.OverflowPolicy.valueOf(mode));
+        ring.addAppender(fileAppender);
+        ring.start();
+        return ring;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.min(sorted.length - 1L, (long) Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e3;
+    }
+
+    /**
+     * Per-call latencies of one run and the number of lines that reached the file.
+     */
+    private record Result(long[] latencies, long written) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.cred.loan.monitoring.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferAppenderTest {
+    private final LoggerContext context = new LoggerContext();
+    private final CountDownLatch firstReceived = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final RingBufferAppender appender = new RingBufferAppender();
+
+    @BeforeEach
+    void shareMdc() {
+        context.setMDCAdapter(MDC.getMDCAdapter());
+    }
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        appender.stop();
+    }
+
+    private void start(int capacity, RingBufferAppender.OverflowPolicy overflowPolicy) {
+        AppenderBase<ILoggingEvent> downstream = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                received.add(event.getFormattedMessage());
+                firstReceived.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        downstream.setContext(context);
+        downstream.start();
+        appender.setContext(context);
+        appender.setName("test");
+        appender.setCapacity(capacity);
+        appender.setOverflowPolicy(overflowPolicy);
+        appender.addAppender(downstream);
+        appender.start();
+    }
+
+    private void log(String message) {
+        appender.doAppend(new LoggingEvent(RingBufferAppenderTest.class.getName(),
+            context.getLogger("test"), Level.INFO, message, null, null));
+    }
+
+    @Test
+    void dropsAndCountsEventsWhenFull() throws InterruptedException {
+        start(2, RingBufferAppender.OverflowPolicy.DROP);
+        log("1");
+        // The worker holds the first event, leaving the whole buffer to fill
+        assertThat(firstReceived.await(5, TimeUnit.SECONDS)).isTrue();
+        log("2");
+        log("3");
+        log("4");
+
+        assertThat(appender.getDroppedEvents()).isEqualTo(1);
+        assertThat(appender.getBacklog()).isEqualTo(2);
+        release.countDown();
+        appender.stop();
+        assertThat(received).containsExactly("1", "2", "3");
+        assertThat(appender.getWrittenEvents()).isEqualTo(3);
+    }
+
+    @Test
+    void blocksUntilSpaceFrees() throws InterruptedException {
+        start(2, RingBufferAppender.OverflowPolicy.BLOCK);
+        log("1");
+        assertThat(firstReceived.await(5, TimeUnit.SECONDS)).isTrue();
+        log("2");
+        log("3");
+        Thread producer = new Thread(() -> log("4"));
+        producer.start();
+        producer.join(100);
+        assertThat(producer.isAlive()).isTrue();
+
+        release.countDown();
+        producer.join(5_000);
+        assertThat(producer.isAlive()).isFalse();
+        appender.stop();
+        assertThat(received).containsExactly("1", "2", "3", "4");
+        assertThat(appender.getDroppedEvents()).isZero();
+    }
+
+    @Test
+    void writesBufferedEventsOnStop() {
+        release.countDown();
+        start(1024, RingBufferAppender.OverflowPolicy.DROP);
+        for (int i = 0; i < 500; i++) {
+            log(Integer.toString(i));
+        }
+        appender.stop();
+
+        assertThat(received).hasSize(500);
+        assertThat(appender.getBacklog()).isZero();
+    }
+}
@@ -0,0 +1,97 @@
+package com.cred.loan.monitoring.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MetricsServiceImplTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MetricsServiceImpl metrics = new MetricsServiceImpl(registry, 2);
+
+    @Test
+    void reusesTheMeterForEqualNameAndTags() {
+        Counter first = metrics.getCounter("loan.requests", "source", "web");
+        Counter second = metrics.getCounter("loan.requests", new String[] {"source", "web"});
+
+        assertThat(second).isSameAs(first);
+        assertThat(metrics.getTimer("loan.latency", "stage", "risk"))
+            .isSameAs(metrics.getTimer("loan.latency", "stage", "risk"));
+        assertThat(registry.find("loan.requests").counters()).hasSize(1);
+    }
+
+    @Test
+    void isNotAffectedByCallersReusingTheirTagArray() {
+        String[] tags = {"source", "web"};
+        metrics.incrementCounter("loan.requests", tags);
+        tags[1] = "app";
+        metrics.incrementCounter("loan.requests", tags);
+
+        assertThat(registry.get("loan.requests").tag("source", "web").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("loan.requests").tag("source", "app").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void foldsTagSetsOverTheLimitIntoAnOverflowMeter() {
+        metrics.incrementCounter("loan.requests", "source", "web");
+        metrics.incrementCounter("loan.requests", "source", "app");
+        metrics.incrementCounter("loan.requests", "source", "partner");
+        metrics.incrementCounter("loan.requests", "source", "batch");
+        // Tag sets admitted before the limit keep their own meter
+        metrics.incrementCounter("loan.requests", "source", "web");
+
+        assertThat(registry.find("loan.requests").counters()).hasSize(3);
+        assertThat(registry.get("loan.requests").tag("source", "web").counter().count()).isEqualTo(2.0);
+        assertThat(registry.get("loan.requests").tag("source", MetricsServiceImpl.OVERFLOW_TAG_VALUE)
+            .counter().count()).isEqualTo(2.0);
+        assertThat(registry.get("loan.metrics.tags.overflow").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void limitsTagSetsPerName() {
+        metrics.incrementCounter("loan.requests", "source", "web");
+        metrics.incrementCounter("loan.requests", "source", "app");
+        metrics.incrementCounter("loan.errors", "source", "web");
+
+        assertThat(registry.get("loan.errors").tag("source", "web").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("loan.metrics.tags.overflow").counter().count()).isZero();
+    }
+
+    @Test
+    void gaugesReportTheLastRecordedValue() {
+        metrics.recordGauge("loan.queue.size", 3.0, "queue=precompute");
+        metrics.recordGauge("loan.queue.size", 7.0, "queue=precompute");
+        System.gc();
+
+        Gauge gauge = registry.get("loan.queue.size").tag("queue", "precompute").gauge();
+        assertThat(gauge.value()).isEqualTo(7.0);
+        assertThat(registry.find("loan.queue.size").gauges()).hasSize(1);
+    }
+
+    @Test
+    void foldsGaugeTagSetsOverTheLimit() {
+        metrics.recordGauge("loan.queue.size", 1.0, "queue=a");
+        metrics.recordGauge("loan.queue.size", 2.0, "queue=b");
+        metrics.recordGauge("loan.queue.size", 3.0, "queue=c");
+
+        assertThat(registry.get("loan.queue.size").tag("queue", MetricsServiceImpl.OVERFLOW_TAG_VALUE)
+            .gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void rejectsGaugeTagsWithoutKey() {
+        assertThatThrownBy(() -> metrics.recordGauge("loan.queue.size", 1.0, "precompute"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> metrics.recordGauge("loan.queue.size", 1.0, "=precompute"))
+            .isInstanceOf(IllegalArgumentException.class);
+        // Rejected tag sets do not use up the limit
+        metrics.recordGauge("loan.queue.size", 1.0, "queue=a");
+        metrics.recordGauge("loan.queue.size", 2.0, "queue=b");
+        assertThat(registry.get("loan.queue.size").tag("queue", "b").gauge().value()).isEqualTo(2.0);
+        assertThatThrownBy(() -> new MetricsServiceImpl(registry, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
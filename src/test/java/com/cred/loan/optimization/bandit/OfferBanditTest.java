@@ -0,0 +1,166 @@
+package com.cred.loan.optimization.bandit;
+
+import com.cred.loan.core.model.OfferIds;
+import com.cred.loan.core.model.OfferInteraction;
+import com.cred.loan.core.model.RankedOffer;
+import com.cred.loan.core.model.impl.BaseOfferImpl;
+import com.cred.loan.core.model.impl.OptimizedOfferImpl;
+import com.cred.loan.core.model.impl.RankedOfferImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OfferBanditTest {
+    private static final int[] ARM_TENURES = {12, 24, 36};
+    private static final int SEGMENT = 0;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private OfferBandit bandit(double explorationRate) {
+        return new OfferBandit(registry, ARM_TENURES, explorationRate, 60, 100, 50);
+    }
+
+    /**
+     * Offers in rank order with the given base tenures.
+     */
+    static List<RankedOffer> ranking(int... tenures) {
+        List<RankedOffer> offers = new ArrayList<>();
+        for (int tenure : tenures) {
+            BaseOfferImpl base = new BaseOfferImpl(100_000.0, tenure, 14.0, 1.5);
+            offers.add(new RankedOfferImpl(new OptimizedOfferImpl(base, 14.0, 0.0, 0.4), 1.0 / (offers.size() + 1),
+                offers.size() + 1));
+        }
+        return offers;
+    }
+
+    private static void record(OfferBandit bandit, int arm, int shown, int accepted) {
+        for (int i = 0; i < shown; i++) {
+            bandit.getStatistics().recordImpression(SEGMENT, arm);
+        }
+        for (int i = 0; i < accepted; i++) {
+            bandit.getStatistics().recordAcceptance(SEGMENT, arm);
+        }
+    }
+
+    private static List<Integer> tenures(List<RankedOffer> offers) {
+        return offers.stream().map(offer -> offer.getOffer().getBaseOffer().tenure()).toList();
+    }
+
+    private static OfferInteraction interaction(String requestId, int rank, String type) {
+        return new OfferInteraction(OfferIds.of(requestId, rank), type, LocalDateTime.of(2026, 3, 1, 12, 0));
+    }
+
+    @Test
+    void keepsTheRankingWithoutEnoughEvidence() {
+        OfferBandit bandit = bandit(0.0);
+        record(bandit, 1, 49, 49);
+
+        List<RankedOffer> served = bandit.select("u1", "req-1", SEGMENT, ranking(12, 24, 36));
+
+        assertThat(tenures(served)).containsExactly(12, 24, 36);
+        assertThat(bandit.getStatistics().impressions(SEGMENT, 0)).isEqualTo(1);
+    }
+
+    @Test
+    void promotesTheBestPosteriorMeanWhenExploiting() {
+        OfferBandit bandit = bandit(0.0);
+        record(bandit, 0, 200, 10);
+        record(bandit, 1, 200, 60);
+        record(bandit, 2, 200, 120);
+
+        List<RankedOffer> served = bandit.select("u1", "req-1", SEGMENT, ranking(12, 24, 36));
+
+        assertThat(tenures(served)).containsExactly(36, 12, 24);
+        assertThat(served).extracting(RankedOffer::rank).containsExactly(1, 2, 3);
+        assertThat(bandit.getStatistics().impressions(SEGMENT, 2)).isEqualTo(201);
+        assertThat(registry.get("loan.offers.bandit.promoted").tag("mode", "exploit").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void keepsTheTopOfferWhenItsArmConvertsBest() {
+        OfferBandit bandit = bandit(0.0);
+        record(bandit, 0, 200, 100);
+        record(bandit, 1, 200, 60);
+
+        assertThat(tenures(bandit.select("u1", "req-1", SEGMENT, ranking(12, 24)))).containsExactly(12, 24);
+    }
+
+    @Test
+    void leavesOffersOutsideTheArmsInPlace() {
+        OfferBandit bandit = bandit(1.0);
+        record(bandit, 1, 1_000, 1_000);
+
+        List<RankedOffer> served = bandit.select("u1", "req-1", SEGMENT, ranking(48, 24));
+
+        assertThat(tenures(served)).containsExactly(24, 48);
+        assertThat(registry.get("loan.offers.bandit.selections").tag("mode", "explore").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void creditsAnAcceptOfTheOfferShownOnTop() {
+        OfferBandit bandit = bandit(0.0);
+        record(bandit, 1, 200, 150);
+        bandit.select("u1", "req-1", SEGMENT, ranking(12, 24));
+
+        bandit.onInteraction("u1", interaction("req-1", 1, "accept"));
+
+        assertThat(bandit.getStatistics().acceptances(SEGMENT, 1)).isEqualTo(151);
+        assertThat(bandit.getStatistics().acceptances(SEGMENT, 0)).isZero();
+    }
+
+    @Test
+    void doesNotCreditAnAcceptOfALowerRankedOffer() {
+        OfferBandit bandit = bandit(0.0);
+        bandit.select("u1", "req-1", SEGMENT, ranking(12, 24));
+
+        bandit.onInteraction("u1", interaction("req-1", 2, "accept"));
+        bandit.onInteraction("u1", interaction("req-1", 1, "accept"));
+
+        // The first accept settled the impression, so the second finds none
+        assertThat(bandit.getStatistics().acceptances(SEGMENT, 0)).isZero();
+        assertThat(bandit.getStatistics().acceptances(SEGMENT, 1)).isZero();
+    }
+
+    @Test
+    void settlesAnImpressionOnlyWithInteractionsFromItsResponse() {
+        OfferBandit bandit = bandit(0.0);
+        bandit.select("u1", "req-1", SEGMENT, ranking(12, 24));
+
+        bandit.onInteraction("u1", interaction("req-0", 1, "accept"));
+        bandit.onInteraction("u1", interaction("req-1", 1, "view"));
+        bandit.onInteraction("u1", interaction("req-1", 1, "accepted"));
+
+        assertThat(bandit.getStatistics().acceptances(SEGMENT, 0)).isEqualTo(1);
+    }
+
+    @Test
+    void settlesAnImpressionWithoutCreditOnReject() {
+        OfferBandit bandit = bandit(0.0);
+        bandit.select("u1", "req-1", SEGMENT, ranking(12, 24));
+
+        bandit.onInteraction("u1", interaction("req-1", 1, "reject"));
+        bandit.onInteraction("u1", interaction("req-1", 1, "accept"));
+
+        assertThat(bandit.getStatistics().acceptances(SEGMENT, 0)).isZero();
+    }
+
+    @Test
+    void creditsOnlyTheLatestResponseOfAUser() {
+        OfferBandit bandit = bandit(0.0);
+        bandit.select("u1", "req-1", SEGMENT, ranking(12, 24));
+        bandit.select("u1", "req-2", SEGMENT, ranking(24, 12));
+
+        bandit.onInteraction("u1", interaction("req-1", 1, "accept"));
+        bandit.onInteraction("u1", interaction("req-2", 1, "accept"));
+
+        assertThat(bandit.getStatistics().acceptances(SEGMENT, 0)).isZero();
+        assertThat(bandit.getStatistics().acceptances(SEGMENT, 1)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.cred.loan.optimization.service;
+
+import com.cred.loan.core.model.OptimizedOffer;
+import com.cred.loan.core.model.RankedOffer;
+import com.cred.loan.core.model.impl.RankedOfferImpl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Compares the bounded top-K ranking of {@link OfferRankingEngine} with a
+ * full sort of every candidate, for several candidate counts and page sizes.
+ * Prints the mean time per ranking after a warm-up. Run from the IDE or with
+ * {@code java -cp target/test-classes:target/classes:<deps> ...OfferRankingEngineBenchmark}.
+ */
+public final class OfferRankingEngineBenchmark {
+    private static final int[] CANDIDATES = {10, 100, 1_000, 10_000, 100_000};
+    private static final int[] PAGE_SIZES = {3, 10};
+    private static final long WARMUP_NANOS = 2_000_000_000L;
+    private static final long MEASURE_NANOS = 2_000_000_000L;
+
+    private static volatile Object sink;
+
+    private OfferRankingEngineBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(5);
+        System.out.printf("%10s %5s %14s %14s%n", "candidates", "page", "top-k ns/op", "sort ns/op");
+        for (int candidates : CANDIDATES) {
+            List<OptimizedOffer> offers = OfferRankingEngineTest.offers(candidates);
+            double[] scores = random.doubles(candidates).toArray();
+            for (int pageSize : PAGE_SIZES) {
+                Runnable topK = () -> sink = OfferRankingEngine.rank(offers, scores, 0, pageSize);
+                Runnable sort = () -> sink = fullSort(offers, scores, pageSize);
+                // Read the clock about once per 100k candidates ranked
+                int batch = Math.max(1, 100_000 / candidates);
+                System.out.printf("%10d %5d %14.0f %14.0f%n", candidates, pageSize,
+                    measure(topK, batch), measure(sort, batch));
+            }
+        }
+    }
+
+    /**
+     * Ranks by sorting every candidate, as the ranking paths did before the
+     * shared engine.
+     */
+    private static List<RankedOffer> fullSort(List<OptimizedOffer> offers, double[] scores, int pageSize) {
+        List<RankedOffer> ranked = new ArrayList<>(offers.size());
+        for (int i = 0; i < offers.size(); i++) {
+            ranked.add(new RankedOfferImpl(offers.get(i), scores[i], 0));
+        }
+        ranked.sort(Comparator.comparingDouble(RankedOffer::score).reversed());
+        List<RankedOffer> page = new ArrayList<>(pageSize);
+        for (int i = 0; i < Math.min(pageSize, ranked.size()); i++) {
+            RankedOffer offer = ranked.get(i);
+            page.add(new RankedOfferImpl(offer.getOffer(), offer.score(), i + 1));
+        }
+        return page;
+    }
+
+    private static double measure(Runnable operation, int batch) {
+        run(operation, batch, WARMUP_NANOS);
+        return run(operation, batch, MEASURE_NANOS);
+    }
+
+    private static double run(Runnable operation, int batch, long durationNanos) {
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < batch; i++) {
+                operation.run();
+            }
+            operations += batch;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < durationNanos);
+        return (double) elapsed / operations;
+    }
+}
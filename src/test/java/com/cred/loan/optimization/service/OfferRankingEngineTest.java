@@ -0,0 +1,116 @@
+package com.cred.loan.optimization.service;
+
+import com.cred.loan.core.model.OptimizedOffer;
+import com.cred.loan.core.model.RankedOffer;
+import com.cred.loan.core.model.impl.BaseOfferImpl;
+import com.cred.loan.core.model.impl.OptimizedOfferImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OfferRankingEngineTest {
+
+    static List<OptimizedOffer> offers(int count) {
+        List<OptimizedOffer> offers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            offers.add(new OptimizedOfferImpl(new BaseOfferImpl(10_000.0 * (i + 1), 12, 14.0, 1.5), 14.0, 0.1, 0.5));
+        }
+        return offers;
+    }
+
+    private static List<Integer> positions(List<OptimizedOffer> offers, List<RankedOffer> ranked) {
+        return ranked.stream().map(offer -> offers.indexOf(offer.getOffer())).toList();
+    }
+
+    @Test
+    void ranksByDescendingScore() {
+        List<OptimizedOffer> offers = offers(4);
+        List<RankedOffer> ranked = OfferRankingEngine.rank(offers, new double[] {0.2, 0.9, 0.5, 0.1}, 0, 4);
+
+        assertThat(positions(offers, ranked)).containsExactly(1, 2, 0, 3);
+        assertThat(ranked).extracting(RankedOffer::rank).containsExactly(1, 2, 3, 4);
+        assertThat(ranked).extracting(RankedOffer::score).containsExactly(0.9, 0.5, 0.2, 0.1);
+    }
+
+    @Test
+    void breaksTiesByInputPosition() {
+        List<OptimizedOffer> offers = offers(5);
+        List<RankedOffer> ranked = OfferRankingEngine.rank(offers, new double[] {0.5, 0.7, 0.5, 0.7, 0.5}, 0, 5);
+
+        assertThat(positions(offers, ranked)).containsExactly(1, 3, 0, 2, 4);
+    }
+
+    @Test
+    void returnsEveryOfferWhenThePageCoversThemAll() {
+        List<OptimizedOffer> offers = offers(3);
+        List<RankedOffer> ranked = OfferRankingEngine.rank(offers, new double[] {0.1, 0.3, 0.2}, 0, 10);
+
+        assertThat(positions(offers, ranked)).containsExactly(1, 2, 0);
+    }
+
+    @Test
+    void returnsPagesWithGlobalRanks() {
+        List<OptimizedOffer> offers = offers(6);
+        double[] scores = {0.6, 0.5, 0.4, 0.3, 0.2, 0.1};
+
+        List<RankedOffer> page = OfferRankingEngine.rank(offers, scores, 2, 2);
+        assertThat(positions(offers, page)).containsExactly(2, 3);
+        assertThat(page).extracting(RankedOffer::rank).containsExactly(3, 4);
+
+        assertThat(OfferRankingEngine.rank(offers, scores, 5, 10)).hasSize(1);
+        assertThat(OfferRankingEngine.rank(offers, scores, 6, 10)).isEmpty();
+        assertThat(OfferRankingEngine.rank(offers, scores, 0, 0)).isEmpty();
+        assertThat(OfferRankingEngine.rank(List.of(), new double[0], 0, 10)).isEmpty();
+    }
+
+    @Test
+    void matchesAFullSort() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int run = 0; run < 200; run++) {
+            int count = random.nextInt(1, 60);
+            List<OptimizedOffer> offers = offers(count);
+            double[] scores = new double[count];
+            for (int i = 0; i < count; i++) {
+                // Few distinct values, so ties are common
+                scores[i] = random.nextInt(8) / 8.0;
+            }
+            int offset = random.nextInt(0, count + 2);
+            int limit = random.nextInt(0, count + 2);
+
+            List<Integer> expected = IntStream.range(0, count).boxed()
+                .sorted(Comparator.<Integer>comparingDouble(i -> -scores[i]).thenComparingInt(i -> i))
+                .skip(offset)
+                .limit(limit)
+                .toList();
+            assertThat(positions(offers, OfferRankingEngine.rank(offers, scores, offset, limit)))
+                .containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void scoresWithTheGivenFunction() {
+        List<OptimizedOffer> offers = offers(3);
+        List<RankedOffer> ranked = OfferRankingEngine.rank(offers, offer -> -offer.getBaseOffer().amount());
+
+        assertThat(positions(offers, ranked)).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        List<OptimizedOffer> offers = offers(2);
+
+        assertThatThrownBy(() -> OfferRankingEngine.rank(offers, new double[2], -1, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OfferRankingEngine.rank(offers, new double[2], 0, -1))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OfferRankingEngine.rank(offers, new double[3], 0, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.cred.loan.replay;
+
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.UserData;
+import com.cred.loan.core.model.impl.UserDataImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCaptureWriterTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @TempDir
+    Path directory;
+
+    private static UserData user(String userId, double income) {
+        return new UserDataImpl(userId, 720.0, income, 150_000.0, 34, "permanent", 48, "Pune", "android");
+    }
+
+    private static LoanOfferRequest request(String userId) {
+        return new LoanOfferRequest(userId, 100_000.0, 12, "EDUCATION", "app");
+    }
+
+    private double events(String result) {
+        return registry.get("loan.capture.events").tag("result", result).counter().count();
+    }
+
+    private List<CaptureLog.Entry> captured(Path path) throws IOException {
+        return CaptureFormat.read(path).getEntries();
+    }
+
+    @Test
+    void capturesARequestWithTheLatestSnapshotThePipelineUsed() throws IOException {
+        Path path = directory.resolve("capture.json");
+        RequestCaptureWriter writer = new RequestCaptureWriter(registry, path.toString(), 16, 16, 30);
+
+        writer.recordUser(user("user-1", 1_000_000.0));
+        writer.recordUser(user("user-1", 1_200_000.0));
+        writer.recordRequest(request("user-1"));
+        writer.shutdown();
+
+        List<CaptureLog.Entry> entries = captured(path);
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).request().getUserId()).isEqualTo("user-1");
+        assertThat(entries.get(0).userData().getIncome()).isEqualTo(1_200_000.0);
+        assertThat(events("captured")).isEqualTo(1.0);
+    }
+
+    @Test
+    void skipsRequestsOfUsersWithoutAKeptSnapshot() throws IOException {
+        Path path = directory.resolve("capture.json");
+        RequestCaptureWriter writer = new RequestCaptureWriter(registry, path.toString(), 16, 16, 30);
+        writer.recordUser(user("user-1", 1_200_000.0));
+
+        writer.recordRequest(request("user-2"));
+        writer.recordRequest(request("user-1"));
+        writer.shutdown();
+
+        assertThat(captured(path)).extracting(entry -> entry.request().getUserId()).containsExactly("user-1");
+        assertThat(events("untracked")).isEqualTo(1.0);
+    }
+
+    @Test
+    void capturesNothingWhenDisabled() throws IOException {
+        RequestCaptureWriter writer = new RequestCaptureWriter(registry, "", 16, 16, 30);
+
+        writer.recordUser(user("user-1", 1_200_000.0));
+        writer.recordRequest(request("user-1"));
+        writer.shutdown();
+
+        assertThat(writer.isEnabled()).isFalse();
+        assertThat(events("captured")).isZero();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
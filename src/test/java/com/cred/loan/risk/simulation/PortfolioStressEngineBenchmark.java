@@ -0,0 +1,66 @@
+package com.cred.loan.risk.simulation;
+
+import com.cred.loan.core.model.UserData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how stress test throughput scales with the number of cores.
+ * Runs the same simulation on fork-join pools of 1, 2, 4, ... threads up to
+ * the available processors, after a warm-up, and prints the median time and
+ * the speedup over one thread. Run from the IDE or with
+ * {@code java -cp target/test-classes:target/classes:<deps> ...PortfolioStressEngineBenchmark
+ * [users] [scenarios] [batch-size]}.
+ */
+public final class PortfolioStressEngineBenchmark {
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    private PortfolioStressEngineBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int scenarios = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        List<UserData> population = PortfolioStressEngineTest.population(users, 1L);
+        StressTestParameters parameters = PortfolioStressEngineTest.parameters(scenarios, batchSize);
+
+        List<Integer> threadCounts = new ArrayList<>();
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads < processors; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(processors);
+
+        System.out.printf("%d users x %d scenarios, batch size %d%n", users, scenarios, batchSize);
+        double baselineMillis = 0.0;
+        for (int threads : threadCounts) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                PortfolioStressEngine engine = PortfolioStressEngineTest.engine(pool);
+                for (int i = 0; i < WARMUP_RUNS; i++) {
+                    engine.run(population, parameters).join();
+                }
+                long[] nanos = new long[MEASURED_RUNS];
+                for (int i = 0; i < MEASURED_RUNS; i++) {
+                    long start = System.nanoTime();
+                    engine.run(population, parameters).join();
+                    nanos[i] = System.nanoTime() - start;
+                }
+                Arrays.sort(nanos);
+                double millis = nanos[MEASURED_RUNS / 2] / 1e6;
+                if (threads == 1) {
+                    baselineMillis = millis;
+                }
+                System.out.printf("%3d threads: %9.1f ms  %10.0f user-scenarios/s  speedup %.2fx%n",
+                    threads, millis, users * (double) scenarios / (millis / 1000.0), baselineMillis / millis);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
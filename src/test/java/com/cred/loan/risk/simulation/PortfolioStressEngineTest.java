@@ -0,0 +1,137 @@
+package com.cred.loan.risk.simulation;
+
+import com.cred.loan.behavior.model.PriceSensitivity;
+import com.cred.loan.core.model.UserData;
+import com.cred.loan.core.model.impl.UserDataImpl;
+import com.cred.loan.optimization.matrix.MatrixConfigurationFactory;
+import com.cred.loan.optimization.model.UserProfile;
+import com.cred.loan.risk.calculator.RiskCalculator;
+import com.cred.loan.risk.model.RiskFactor;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PortfolioStressEngineTest {
+    private static final LocalDateTime CALCULATED_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    static PortfolioStressEngine engine(ForkJoinPool pool) {
+        return engine(pool, null);
+    }
+
+    /**
+     * Creates an engine in which one user never accepts an offer.
+     */
+    static PortfolioStressEngine engine(ForkJoinPool pool, String decliningUser) {
+        Map<RiskFactor, Double> weights = new EnumMap<>(RiskFactor.class);
+        for (RiskFactor factor : RiskFactor.values()) {
+            weights.put(factor, factor.getWeight());
+        }
+        MatrixConfigurationFactory matrices = new MatrixConfigurationFactory(
+            new MatrixConfigurationFactory.ROIMatrixConfig(16.0, 10.0, 24.0, 6.0),
+            new MatrixConfigurationFactory.ProcessingFeeMatrixConfig(2.0, 0.5, 3.5, 1.0),
+            new MatrixConfigurationFactory.TenureMatrixConfig(List.of(3, 6, 9, 12, 18, 24, 36), 12, 3, 36, 0.5),
+            new MatrixConfigurationFactory.LoanAmountMatrixConfig(
+                List.of(50_000.0, 100_000.0, 200_000.0, 500_000.0), 100_000.0, 10_000.0, 500_000.0, 0.5));
+        // Derive the profile from the user ID so every run sees the same population
+        UserProfiler profiler = user -> {
+            SplittableRandom random = new SplittableRandom(user.getUserId().hashCode());
+            return new UserProfile(
+                new PriceSensitivity(random.nextDouble(), random.nextDouble(), CALCULATED_AT),
+                user.getUserId().equals(decliningUser) ? 0.0 : random.nextDouble(0.05, 0.6),
+                random.nextDouble(0.0, 50_000.0));
+        };
+        return new PortfolioStressEngine(new RiskCalculator(weights), matrices, profiler, pool);
+    }
+
+    static List<UserData> population(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<UserData> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(new UserDataImpl(
+                "user-" + i,
+                random.nextDouble(550, 850),
+                random.nextDouble(20_000, 200_000),
+                random.nextDouble(0, 50_000),
+                random.nextInt(21, 65),
+                random.nextBoolean() ? "SALARIED" : "SELF_EMPLOYED",
+                random.nextInt(0, 240),
+                "Bengaluru",
+                "ANDROID"));
+        }
+        return users;
+    }
+
+    static StressTestParameters parameters(int scenarios, int batchSize) {
+        return new StressTestParameters(scenarios, 42L, 0.2, 0.6, 0.005, 0.25, 1.5, batchSize);
+    }
+
+    @Test
+    void givesTheSameResultOnAnyNumberOfThreads() {
+        List<UserData> users = population(2_000, 7L);
+        StressTestParameters parameters = parameters(200, 64);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            StressTestResult sequential = engine(single).run(users, parameters).join();
+            StressTestResult parallel = engine(several).run(users, parameters).join();
+
+            assertThat(parallel.getLossDistribution()).containsExactly(sequential.getLossDistribution());
+            assertThat(parallel.getNetYieldDistribution()).containsExactly(sequential.getNetYieldDistribution());
+            assertThat(parallel.getAcceptanceRate()).isEqualTo(sequential.getAcceptanceRate());
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    @Test
+    void pairsTheDrawsOfTwoConfigurations() {
+        List<UserData> users = population(2_000, 7L);
+        StressTestParameters parameters = parameters(200, 4_096);
+
+        double[] usual = engine(ForkJoinPool.commonPool()).run(users, parameters).join().getLossDistribution();
+        double[] declining = engine(ForkJoinPool.commonPool(), "user-0").run(users, parameters).join()
+            .getLossDistribution();
+
+        // Only the first user's loans change, so with paired draws a scenario
+        // loses either the same amount or exactly that user's default less
+        Set<Long> differences = new HashSet<>();
+        for (int s = 0; s < usual.length; s++) {
+            assertThat(usual[s]).isGreaterThanOrEqualTo(declining[s] - 1e-6);
+            differences.add(Math.round(usual[s] - declining[s]));
+        }
+        assertThat(differences).contains(0L).hasSizeLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void summarizesEveryScenario() {
+        StressTestResult result = engine(ForkJoinPool.commonPool())
+            .run(population(500, 3L), parameters(100, 32)).join();
+
+        assertThat(result.getPopulationSize()).isEqualTo(500);
+        assertThat(result.getScenarios()).isEqualTo(100);
+        assertThat(result.getLossDistribution()).hasSize(100);
+        assertThat(Arrays.stream(result.getLossDistribution()).min().orElseThrow()).isGreaterThanOrEqualTo(0.0);
+        assertThat(result.getAcceptanceRate()).isBetween(0.0, 1.0);
+        assertThat(result.getExpectedShortfall(0.95)).isGreaterThanOrEqualTo(result.getExpectedLoss());
+    }
+
+    @Test
+    void handlesAnEmptyPopulation() {
+        StressTestResult result = engine(ForkJoinPool.commonPool()).run(List.of(), parameters(10, 32)).join();
+
+        assertThat(result.getAcceptanceRate()).isZero();
+        assertThat(result.getLossDistribution()).containsOnly(0.0);
+    }
+}
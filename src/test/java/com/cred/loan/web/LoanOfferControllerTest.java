@@ -0,0 +1,144 @@
+package com.cred.loan.web;
+
+import com.cred.loan.core.exception.OfferGenerationRejectedException;
+import com.cred.loan.core.model.LoanOfferRequest;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.pipeline.Deadline;
+import com.cred.loan.core.service.OfferGenerationService;
+import com.cred.loan.web.json.LoanOfferRequestReader;
+import com.cred.loan.web.json.LoanOfferResponseWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class LoanOfferControllerTest {
+    private static final String OFFERS = "/api/v1/offers";
+
+    private final AtomicReference<Function<LoanOfferRequest, CompletableFuture<LoanOfferResponse>>> answer =
+        new AtomicReference<>();
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        OfferGenerationService service = new OfferGenerationService() {
+            @Override
+            public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request) {
+                return answer.get().apply(request);
+            }
+
+            @Override
+            public CompletableFuture<LoanOfferResponse> generateOffers(LoanOfferRequest request, Deadline deadline) {
+                return answer.get().apply(request);
+            }
+        };
+        mvc = MockMvcBuilders.standaloneSetup(new LoanOfferController(service))
+            .setMessageConverters(
+                new LoanOfferRequestConverter(new LoanOfferRequestReader()),
+                new LoanOfferResponseConverter(new LoanOfferResponseWriter()),
+                new MappingJackson2HttpMessageConverter())
+            .build();
+    }
+
+    static String body(String userId) {
+        return "{\"userId\":\"" + userId + "\",\"requestedAmount\":50000,\"preferredTenure\":12,"
+            + "\"purpose\":\"EDUCATION\",\"source\":\"app\"}";
+    }
+
+    @Test
+    void answersMalformedJsonWithBadRequest() throws Exception {
+        answer.set(request -> {
+            throw new AssertionError("service must not be called");
+        });
+
+        mvc.perform(post(OFFERS).contentType(MediaType.APPLICATION_JSON).content("{\"userId\":"))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.error").value(startsWith("Malformed JSON")));
+    }
+
+    @Test
+    void answersInvalidFieldsWithBadRequest() throws Exception {
+        answer.set(request -> {
+            throw new AssertionError("service must not be called");
+        });
+
+        mvc.perform(post(OFFERS).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":\"u1\",\"requestedAmount\":-5}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("requestedAmount must be positive"));
+
+        mvc.perform(post(OFFERS).contentType(MediaType.APPLICATION_JSON).content("{\"userId\":\"u1\"}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("requestedAmount is required"));
+    }
+
+    @Test
+    void answersRejectedRequestWithServiceUnavailable() throws Exception {
+        answer.set(request -> CompletableFuture.failedFuture(
+            new OfferGenerationRejectedException("Too many offer requests in flight")));
+
+        MvcResult started = mvc.perform(post(OFFERS).contentType(MediaType.APPLICATION_JSON).content(body("u1")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "1"))
+            .andExpect(jsonPath("$.error").value("Too many offer requests in flight"));
+    }
+
+    @Test
+    void unwrapsRejectionCompletedFromAnotherStage() throws Exception {
+        CompletableFuture<LoanOfferResponse> pending = new CompletableFuture<>();
+        answer.set(request -> pending.thenApply(Function.identity()));
+
+        MvcResult started = mvc.perform(post(OFFERS).contentType(MediaType.APPLICATION_JSON).content(body("u1")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        pending.completeExceptionally(new CompletionException(new OfferGenerationRejectedException("shed")));
+
+        mvc.perform(asyncDispatch(started))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void writesGeneratedResponse() throws Exception {
+        AtomicReference<LoanOfferRequest> received = new AtomicReference<>();
+        answer.set(request -> {
+            received.set(request);
+            return CompletableFuture.completedFuture(new LoanOfferResponse(List.of(), "req-1", 7));
+        });
+
+        MvcResult started = mvc.perform(post(OFFERS).contentType(MediaType.APPLICATION_JSON).content(body("u1")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.requestId").value("req-1"))
+            .andExpect(jsonPath("$.offers").isEmpty());
+        assertThat(received.get().getUserId()).isEqualTo("u1");
+        assertThat(received.get().getPreferredTenure()).isEqualTo(12);
+    }
+}
@@ -0,0 +1,121 @@
+package com.cred.loan.web;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives {@code POST /api/v1/offers} of a running application with a fixed
+ * number of requests in flight, and prints the throughput, the latency
+ * percentiles of answered requests and the count of each status code, so
+ * that shed (503) and rejected (400) requests are seen rather than hidden in
+ * the latencies. Requests cycle through a set of user ids. By default 5000
+ * requests are kept in flight, the concurrency the endpoint is meant to
+ * hold without a servlet thread per request. Each request holds its own
+ * connection, so the open file limit of both processes must allow that many
+ * sockets. Start the application, with its PostgreSQL and Redis, first,
+ * then run from the IDE or with
+ * {@code java -cp target/test-classes:target/classes:<deps> ...LoanOfferEndpointBenchmark
+ * [base-url] [in-flight] [seconds] [users]}.
+ */
+public final class LoanOfferEndpointBenchmark {
+    private static final String DEFAULT_BASE_URL = "http://localhost:8080";
+    private static final int DEFAULT_IN_FLIGHT = 5_000;
+    private static final int DEFAULT_SECONDS = 30;
+    private static final int DEFAULT_USERS = 1_000;
+    private static final int WARMUP_SECONDS = 5;
+    private static final int MAX_SAMPLES = 1 << 22;
+
+    private LoanOfferEndpointBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        URI uri = URI.create((args.length > 0 ? args[0] : DEFAULT_BASE_URL) + "/api/v1/offers");
+        int inFlight = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_IN_FLIGHT;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SECONDS;
+        int users = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_USERS;
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        run(client, uri, inFlight, WARMUP_SECONDS, users);
+        Result result = run(client, uri, inFlight, seconds, users);
+
+        System.out.printf("in-flight %d, %d s, %d users%n", inFlight, seconds, users);
+        System.out.printf("throughput %.0f req/s%n", result.completed / (double) seconds);
+        System.out.printf("latency ms p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+            result.percentile(0.50), result.percentile(0.90), result.percentile(0.99),
+            result.percentile(0.999), result.percentile(1.0));
+        System.out.println("status " + new TreeMap<>(result.statuses));
+    }
+
+    /**
+     * Keeps {@code inFlight} requests outstanding for the given time, then
+     * waits for the outstanding ones.
+     */
+    private static Result run(HttpClient client, URI uri, int inFlight, int seconds, int users)
+            throws InterruptedException {
+        Semaphore permits = new Semaphore(inFlight);
+        long[] latencies = new long[MAX_SAMPLES];
+        AtomicInteger samples = new AtomicInteger();
+        LongAdder completed = new LongAdder();
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        long end = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        for (long sent = 0; System.nanoTime() < end; sent++) {
+            permits.acquire();
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(LoanOfferControllerTest.body("user-" + (sent % users))))
+                .build();
+            long start = System.nanoTime();
+            CompletableFuture<HttpResponse<Void>> response =
+                client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+            response.whenComplete((answer, failure) -> {
+                int status = failure != null ? -1 : answer.statusCode();
+                statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                if (status == 200) {
+                    int sample = samples.getAndIncrement();
+                    if (sample < latencies.length) {
+                        latencies[sample] = System.nanoTime() - start;
+                    }
+                }
+                completed.increment();
+                permits.release();
+            });
+        }
+        permits.acquire(inFlight);
+
+        long[] sorted = Arrays.copyOf(latencies, Math.min(samples.get(), latencies.length));
+        Arrays.sort(sorted);
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return new Result(completed.sum(), sorted, counts);
+    }
+
+    /**
+     * Outcome of one run; status -1 counts requests that failed without an answer.
+     */
+    private record Result(long completed, long[] sortedLatencies, Map<Integer, Long> statuses) {
+        double percentile(double quantile) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.min(sortedLatencies.length - 1L,
+                (long) Math.ceil(quantile * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.cred.loan.web.json;
+
+import com.cred.loan.core.model.BaseOffer;
+import com.cred.loan.core.model.BehaviorAnalysisResult;
+import com.cred.loan.core.model.LoanOfferResponse;
+import com.cred.loan.core.model.OfferIds;
+import com.cred.loan.core.model.RankedOffer;
+import com.cred.loan.core.model.ResponseField;
+import com.cred.loan.core.model.RiskAssessmentResult;
+import com.cred.loan.core.model.RiskLevel;
+import com.cred.loan.core.model.impl.BaseOfferImpl;
+import com.cred.loan.core.model.impl.BehaviorAnalysisResultImpl;
+import com.cred.loan.core.model.impl.OptimizedOfferImpl;
+import com.cred.loan.core.model.impl.PriceSensitivityImpl;
+import com.cred.loan.core.model.impl.RankedOfferImpl;
+import com.cred.loan.core.model.impl.RiskAssessmentResultImpl;
+import com.cred.loan.core.pipeline.PipelineStage;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LoanOfferJsonModuleTest {
+    /** Half of the last decimal place kept by {@link JsonNumbers}. */
+    private static final double ROUNDING = 5e-7;
+
+    private final ObjectMapper defaultMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final ObjectMapper moduleMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .registerModule(new LoanOfferJsonModule());
+
+    /**
+     * Offers with values carrying float noise, such as sums of rates, so
+     * that the rounding is exercised.
+     */
+    static List<RankedOffer> offers(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<RankedOffer> offers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BaseOffer base = new BaseOfferImpl(
+                10_000.0 + random.nextInt(490_000) + 0.1 + 0.2,
+                6 * (1 + random.nextInt(10)),
+                10.0 + random.nextDouble() * 14.0,
+                0.5 + random.nextDouble() * 2.0);
+            OptimizedOfferImpl optimized = new OptimizedOfferImpl(
+                base,
+                base.roi() - random.nextDouble(),
+                base.processingFee() - 0.1 * random.nextDouble(),
+                base.tenure() + 6 * (random.nextInt(3) - 1),
+                -0.3 + random.nextDouble() * 0.6,
+                random.nextDouble());
+            offers.add(new RankedOfferImpl(optimized, random.nextDouble() - 0.5, i + 1));
+        }
+        return offers;
+    }
+
+    static LoanOfferResponse response(Set<ResponseField> fields, Set<PipelineStage> degradedStages) {
+        Map<String, String> explanations = new LinkedHashMap<>();
+        explanations.put("FOIR", "Obligations are \"high\" relative to income");
+        explanations.put("CREDIT_SCORE", "Score below 700");
+        RiskAssessmentResult risk = new RiskAssessmentResultImpl(
+            0.1 + 0.2, 3.5, RiskLevel.MEDIUM, new LinkedHashSet<>(explanations.keySet()), explanations);
+        return new LoanOfferResponse(offers(8, 11), "req-7", 42, risk, fields, degradedStages);
+    }
+
+    @Test
+    void writesRankedOfferWithTheValuesOfTheDefaultBeanOutput() throws IOException {
+        for (RankedOffer offer : offers(50, 3)) {
+            JsonNode written = moduleMapper.readTree(moduleMapper.writeValueAsString(offer));
+            JsonNode bean = defaultMapper.readTree(defaultMapper.writeValueAsString(offer));
+
+            assertThat(written.has("offerId")).isFalse();
+            assertThat(written.has("termAdjustments")).isFalse();
+            assertOffer(written, bean);
+        }
+    }
+
+    @Test
+    void writesResponseWithTheValuesOfTheDefaultBeanOutput() throws IOException {
+        LoanOfferResponse response = response(EnumSet.allOf(ResponseField.class),
+            EnumSet.of(PipelineStage.BEHAVIOR_ANALYSIS));
+
+        JsonNode written = moduleMapper.readTree(moduleMapper.writeValueAsString(response));
+        JsonNode bean = defaultMapper.readTree(defaultMapper.writeValueAsString(response));
+
+        assertThat(written.get("requestId")).isEqualTo(bean.get("requestId"));
+        assertThat(written.get("generationTimeMillis")).isEqualTo(bean.get("generationTimeMillis"));
+        assertThat(written.get("degraded")).isEqualTo(bean.get("degraded"));
+        assertThat(written.get("degradedStages")).isEqualTo(bean.get("degradedStages"));
+        assertThat(written.get("riskFactors")).isEqualTo(bean.get("riskFactors"));
+        assertThat(written.get("riskExplanations")).isEqualTo(bean.get("riskFactorExplanations"));
+
+        assertThat(written.get("offers")).hasSameSizeAs(bean.get("offers"));
+        for (int i = 0; i < bean.get("offers").size(); i++) {
+            JsonNode offer = written.get("offers").get(i);
+            JsonNode beanOffer = bean.get("offers").get(i);
+            assertOffer(offer, beanOffer);
+            assertThat(offer.get("offerId").asText()).isEqualTo(OfferIds.of("req-7", beanOffer.get("rank").asInt()));
+
+            JsonNode adjustments = offer.get("termAdjustments");
+            JsonNode optimized = beanOffer.get("offer");
+            JsonNode base = optimized.get("baseOffer");
+            assertNumber(adjustments.get("roi"),
+                optimized.get("adjustedRoi").asDouble() - base.get("roi").asDouble());
+            assertNumber(adjustments.get("processingFee"),
+                optimized.get("adjustedProcessingFee").asDouble() - base.get("processingFee").asDouble());
+            assertThat(adjustments.get("tenure").asInt())
+                .isEqualTo(optimized.get("adjustedTenure").asInt() - base.get("tenure").asInt());
+        }
+    }
+
+    @Test
+    void leavesOutUnselectedSections() throws IOException {
+        JsonNode written = moduleMapper.readTree(
+            moduleMapper.writeValueAsString(response(EnumSet.noneOf(ResponseField.class), Set.of())));
+
+        assertThat(written.get("degraded").asBoolean()).isFalse();
+        assertThat(written.has("degradedStages")).isFalse();
+        assertThat(written.has("riskFactors")).isFalse();
+        assertThat(written.has("riskExplanations")).isFalse();
+        assertThat(written.get("offers").get(0).has("termAdjustments")).isFalse();
+    }
+
+    @Test
+    void streamsTheSameDocumentAsTheModule() throws IOException {
+        LoanOfferResponse response = response(EnumSet.allOf(ResponseField.class),
+            EnumSet.of(PipelineStage.OPTIMIZATION));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new LoanOfferResponseWriter().write(response, out);
+
+        assertThat(out.toByteArray()).isEqualTo(moduleMapper.writeValueAsBytes(response));
+    }
+
+    @Test
+    void writesRiskSummaryWithTheValuesOfTheDefaultBeanOutput() throws IOException {
+        RiskAssessmentResult risk = response(Set.of(), Set.of()).getRiskAssessment();
+
+        JsonNode written = moduleMapper.readTree(moduleMapper.writeValueAsString(risk));
+        JsonNode bean = defaultMapper.readTree(defaultMapper.writeValueAsString(risk));
+
+        assertNumber(written.get("riskScore"), bean.get("riskScore").asDouble());
+        assertThat(written.get("riskLevel")).isEqualTo(bean.get("riskLevel"));
+        assertNumber(written.get("roiRange"), bean.get("roirange").asDouble());
+        assertThat(written.get("riskFactors")).isEqualTo(bean.get("riskFactors"));
+        assertThat(written.has("riskFactorExplanations")).isFalse();
+    }
+
+    @Test
+    void writesBehaviorSummaryWithTheValuesOfTheDefaultBeanOutput() throws IOException {
+        BehaviorAnalysisResult behavior = new BehaviorAnalysisResultImpl(
+            new PriceSensitivityImpl(0.7 - 0.4, 0.9), 0.65, 12_000.0 / 7, LocalDateTime.of(2026, 1, 2, 3, 4, 5, 600));
+
+        JsonNode written = moduleMapper.readTree(moduleMapper.writeValueAsString(behavior));
+        JsonNode bean = defaultMapper.readTree(defaultMapper.writeValueAsString(behavior));
+
+        assertNumber(written.get("conversionProbability"), bean.get("conversionProbability").asDouble());
+        assertNumber(written.get("longTermValue"), bean.get("longTermValue").asDouble());
+        assertNumber(written.get("priceSensitivity").get("sensitivity"),
+            bean.get("priceSensitivity").get("sensitivity").asDouble());
+        assertNumber(written.get("priceSensitivity").get("confidence"),
+            bean.get("priceSensitivity").get("confidence").asDouble());
+        assertThat(written.get("analyzedAt")).isEqualTo(bean.get("analyzedAt"));
+    }
+
+    @Test
+    void writesNumbersWithinRoundingOfTheGenerator() throws IOException {
+        SplittableRandom random = new SplittableRandom(17);
+        for (int i = 0; i < 10_000; i++) {
+            double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(-8, 12));
+            String written = write(value, true);
+
+            assertThat(written).contains(".");
+            assertThat(Double.parseDouble(written))
+                .isCloseTo(Double.parseDouble(write(value, false)), within(tolerance(value)));
+        }
+        assertThat(write(0.1 + 0.2, true)).isEqualTo("0.3");
+        assertThat(write(-0.370000000000001, true)).isEqualTo("-0.37");
+        assertThat(write(-0.0000001, true)).isEqualTo("0.0");
+        assertThat(write(12.0, true)).isEqualTo("12.0");
+    }
+
+    @Test
+    void leavesLargeAndNonFiniteNumbersToTheGenerator() throws IOException {
+        for (double value : new double[] {1e12, -3.5e15, Double.MAX_VALUE, Double.NaN, Double.NEGATIVE_INFINITY}) {
+            assertThat(write(value, true)).isEqualTo(write(value, false));
+        }
+    }
+
+    private void assertOffer(JsonNode written, JsonNode bean) {
+        JsonNode optimized = bean.get("offer");
+        JsonNode base = optimized.get("baseOffer");
+        assertThat(written.get("rank")).isEqualTo(bean.get("rank"));
+        assertNumber(written.get("score"), bean.get("score").asDouble());
+        assertNumber(written.get("amount"), base.get("amount").asDouble());
+        assertThat(written.get("tenure")).isEqualTo(optimized.get("adjustedTenure"));
+        assertNumber(written.get("roi"), optimized.get("adjustedRoi").asDouble());
+        assertNumber(written.get("processingFee"), optimized.get("adjustedProcessingFee").asDouble());
+        assertNumber(written.get("riskImpact"), optimized.get("riskImpact").asDouble());
+        assertNumber(written.get("conversionProbability"), optimized.get("conversionProbability").asDouble());
+    }
+
+    private static void assertNumber(JsonNode written, double expected) {
+        assertThat(written.isNumber()).as("%s is a number", written).isTrue();
+        assertThat(written.asDouble()).isCloseTo(expected, within(tolerance(expected)));
+    }
+
+    /**
+     * Rounding to the kept decimal places, or the precision of the scaled
+     * value once it exceeds a double's exact integer range.
+     */
+    private static double tolerance(double value) {
+        return Math.max(ROUNDING, Math.abs(value) * 1e-15);
+    }
+
+    private String write(double value, boolean rounded) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = defaultMapper.getFactory().createGenerator(out)) {
+            if (rounded) {
+                JsonNumbers.write(generator, value);
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+        return out.toString();
+    }
+}